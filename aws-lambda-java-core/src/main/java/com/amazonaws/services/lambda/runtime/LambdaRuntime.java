@@ -3,9 +3,18 @@ package com.amazonaws.services.lambda.runtime;
 
 import java.io.IOException;
 
+import com.amazonaws.services.lambda.runtime.logging.LogLevel;
+
 public final class LambdaRuntime {
     private LambdaRuntime() {}
 
+    /**
+     * Environment variable holding the minimum level of the function's application logs
+     */
+    public static final String LOG_LEVEL_ENV = "AWS_LAMBDA_LOG_LEVEL";
+
+    private static final LogLevel logLevel = LogLevel.fromString(System.getenv(LOG_LEVEL_ENV));
+
     private static volatile LambdaLogger logger = new LambdaLogger() {
 
         public void log(String message) {
@@ -29,4 +38,13 @@ public final class LambdaRuntime {
 	public static LambdaLogger getLogger() {
         return logger;
     }
+
+    /**
+     * Returns the minimum level of application logs configured for the function,
+     * or UNDEFINED when logging libraries should apply their own configuration
+     *
+     */
+    public static LogLevel getLogLevel() {
+        return logLevel;
+    }
 }
@@ -0,0 +1,45 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.logging;
+
+import java.util.Locale;
+
+/**
+ * Log levels understood by the Lambda logging libraries, from least to most severe
+ */
+public enum LogLevel {
+    // UNDEFINED log level is used when the legacy LambdaLogger::log(String) function is called
+    // where the loglevel is not defined. In this case we're not filtering the message in the runtime
+    UNDEFINED,
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    FATAL;
+
+    /**
+     * Parses a level name, case insensitively
+     * @param logLevel level name, may be null
+     * @return the matching level, or UNDEFINED if the name is null or unknown
+     */
+    public static LogLevel fromString(String logLevel) {
+        if (logLevel == null) {
+            return UNDEFINED;
+        }
+        try {
+            return LogLevel.valueOf(logLevel.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return UNDEFINED;
+        }
+    }
+
+    /**
+     * Returns whether a message at the given level passes this threshold
+     * @param level level of the message
+     * @return true if the message should be logged
+     */
+    public boolean isEnabled(LogLevel level) {
+        return this == UNDEFINED || level == UNDEFINED || level.compareTo(this) >= 0;
+    }
+}
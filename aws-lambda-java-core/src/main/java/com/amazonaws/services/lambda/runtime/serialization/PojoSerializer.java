@@ -0,0 +1,30 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.serialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Converts a handler input or output type from and to its JSON representation
+ *
+ * @param <T> The type converted
+ */
+public interface PojoSerializer<T> {
+    /**
+     * Reads a value
+     * @param input JSON to read; the serializer does not close it
+     * @return the value read
+     * @throws IOException if the input cannot be read or is not valid for the type
+     */
+    public T fromJson(InputStream input) throws IOException;
+
+    /**
+     * Writes a value
+     * @param value the value to write
+     * @param output where to write the JSON; the serializer flushes it but does not close it
+     * @throws IOException if the output cannot be written
+     */
+    public void toJson(T value, OutputStream output) throws IOException;
+}
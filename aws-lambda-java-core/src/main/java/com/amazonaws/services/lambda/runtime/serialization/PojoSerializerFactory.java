@@ -0,0 +1,17 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.serialization;
+
+/**
+ * Service provider for {@link PojoSerializer}s. Implementations are found with {@link java.util.ServiceLoader},
+ * listed in META-INF/services/com.amazonaws.services.lambda.runtime.serialization.PojoSerializerFactory,
+ * and must have a public no-arg constructor.
+ */
+public interface PojoSerializerFactory {
+    /**
+     * Returns a serializer for a type
+     * @param type the type to serialize
+     * @return a serializer, or null if this factory does not handle the type
+     */
+    public <T> PojoSerializer<T> getSerializer(Class<T> type);
+}
@@ -0,0 +1,91 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.serialization;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Looks up {@link PojoSerializer}s from the {@link PojoSerializerFactory} implementations on the class path.
+ * Factories are loaded once, and asked in class path order; the serializer found for a type, or its absence,
+ * is cached.
+ */
+public final class PojoSerializers {
+    private PojoSerializers() {}
+
+    private static final PojoSerializer<Object> NONE = new PojoSerializer<Object>() {
+        public Object fromJson(InputStream input) {
+            throw new UnsupportedOperationException();
+        }
+
+        public void toJson(Object value, OutputStream output) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private static final ConcurrentMap<Class<?>, PojoSerializer<?>> serializers =
+            new ConcurrentHashMap<Class<?>, PojoSerializer<?>>();
+
+    private static volatile List<PojoSerializerFactory> factories;
+
+    /**
+     * Returns the serializer for a type
+     * @param type the type to serialize
+     * @return the serializer of the first factory handling the type
+     * @throws IllegalArgumentException if no factory handles the type
+     */
+    public static <T> PojoSerializer<T> forType(Class<T> type) {
+        PojoSerializer<T> serializer = find(type);
+        if (serializer == null) {
+            throw new IllegalArgumentException("No PojoSerializerFactory handles " + type.getName());
+        }
+        return serializer;
+    }
+
+    /**
+     * Returns the serializer for a type, if any
+     * @param type the type to serialize
+     * @return the serializer of the first factory handling the type, or null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PojoSerializer<T> find(Class<T> type) {
+        PojoSerializer<?> serializer = serializers.get(type);
+        if (serializer == null) {
+            serializer = lookup(type);
+            PojoSerializer<?> existing = serializers.putIfAbsent(type, serializer == null ? NONE : serializer);
+            if (existing != null) {
+                serializer = existing;
+            }
+        }
+        return serializer == NONE ? null : (PojoSerializer<T>) serializer;
+    }
+
+    private static <T> PojoSerializer<T> lookup(Class<T> type) {
+        for (PojoSerializerFactory factory : factories()) {
+            PojoSerializer<T> serializer = factory.getSerializer(type);
+            if (serializer != null) {
+                return serializer;
+            }
+        }
+        return null;
+    }
+
+    private static List<PojoSerializerFactory> factories() {
+        List<PojoSerializerFactory> loaded = factories;
+        if (loaded == null) {
+            List<PojoSerializerFactory> list = new ArrayList<PojoSerializerFactory>();
+            for (PojoSerializerFactory factory : ServiceLoader.load(PojoSerializerFactory.class,
+                    PojoSerializers.class.getClassLoader())) {
+                list.add(factory);
+            }
+            factories = loaded = Collections.unmodifiableList(list);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,71 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+/**
+ * Runs a {@link RequestHandler} as a {@link RequestStreamHandler}, converting its input and output with
+ * {@link PojoSerializer}s instead of the runtime's reflective binding. The output is serialized into a buffer
+ * that is kept between invocations, then written to the response stream in one call.
+ *
+ * <pre>
+ * public class Handler extends RequestStreamHandlerAdapter&lt;APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent&gt; {
+ *     public Handler() {
+ *         super(new OrderHandler(), APIGatewayProxyRequestEvent.class, APIGatewayProxyResponseEvent.class);
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <I> The input parameter type
+ * @param <O> The output parameter type
+ */
+public class RequestStreamHandlerAdapter<I, O> implements RequestStreamHandler {
+
+    private final RequestHandler<I, O> handler;
+    private final PojoSerializer<I> inputSerializer;
+    private final PojoSerializer<O> outputSerializer;
+
+    private final ThreadLocal<ByteArrayOutputStream> buffer = new ThreadLocal<ByteArrayOutputStream>() {
+        @Override
+        protected ByteArrayOutputStream initialValue() {
+            return new ByteArrayOutputStream(8192);
+        }
+    };
+
+    /**
+     * Uses the serializers {@link PojoSerializers} finds for the input and output types
+     * @throws IllegalArgumentException if there is no serializer for one of the types
+     */
+    public RequestStreamHandlerAdapter(RequestHandler<I, O> handler, Class<I> inputType, Class<O> outputType) {
+        this(handler, PojoSerializers.forType(inputType), PojoSerializers.forType(outputType));
+    }
+
+    public RequestStreamHandlerAdapter(RequestHandler<I, O> handler, PojoSerializer<I> inputSerializer,
+                                       PojoSerializer<O> outputSerializer) {
+        if (handler == null || inputSerializer == null || outputSerializer == null) {
+            throw new NullPointerException();
+        }
+        this.handler = handler;
+        this.inputSerializer = inputSerializer;
+        this.outputSerializer = outputSerializer;
+    }
+
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        I request = inputSerializer.fromJson(input);
+        O response = handler.handleRequest(request, context);
+
+        ByteArrayOutputStream out = buffer.get();
+        out.reset();
+        outputSerializer.toJson(response, out);
+        out.writeTo(output);
+        output.flush();
+    }
+}
@@ -0,0 +1,129 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent.ProxyRequestContext;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent.RequestIdentity;
+
+/**
+ * REST API proxy integration requests. The header count sets the number of headers,
+ * the attribute count the number of query string parameters, and the payload size
+ * the body; a zero payload size gives a GET without body.
+ */
+final class APIGatewayProxyRequestEventGenerator extends SingleEventGenerator<APIGatewayProxyRequestEvent> {
+
+    private static final String[] METHODS = {"POST", "PUT", "PATCH"};
+
+    APIGatewayProxyRequestEventGenerator(GeneratorSettings settings) {
+        super(APIGatewayProxyRequestEvent.class, settings);
+    }
+
+    @Override
+    APIGatewayProxyRequestEvent newEvent(RandomData random) {
+        String apiId = random.alphanumeric(10).toLowerCase();
+        String sourceIp = random.ipv4();
+        String proxy = "resource-" + random.nextInt(settings.getKeyCardinality()) + "/" + random.nextInt(100000);
+        String method = settings.getPayloadSize() == 0 ? "GET" : random.pick(METHODS);
+
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setResource("/{proxy+}");
+        event.setPath("/" + proxy);
+        event.setHttpMethod(method);
+        Map<String, String> headers = HttpHeaders.request(random, settings.getHeaderCount(),
+                apiId + ".execute-api." + random.region() + ".amazonaws.com", sourceIp);
+        event.setHeaders(headers);
+        event.setMultiValueHeaders(multiValue(headers));
+        Map<String, String> query = new LinkedHashMap<String, String>();
+        for (int i = 0; i < settings.getAttributeCount(); i++) {
+            query.put("param" + i, random.alphanumeric(8));
+        }
+        event.setQueryStringParameters(query.isEmpty() ? null : query);
+        event.setMultiValueQueryStringParameters(query.isEmpty() ? null : multiValue(query));
+        event.setPathParameters(Collections.singletonMap("proxy", proxy));
+        event.setStageVariables(Collections.singletonMap("environment", "prod"));
+
+        RequestIdentity identity = new RequestIdentity();
+        identity.setSourceIp(sourceIp);
+        identity.setUserAgent(headers.get("User-Agent"));
+        ProxyRequestContext context = new ProxyRequestContext();
+        context.setAccountId(random.accountId());
+        context.setResourceId(random.alphanumeric(6).toLowerCase());
+        context.setStage("prod");
+        context.setRequestId(random.uuid());
+        context.setIdentity(identity);
+        context.setResourcePath("/{proxy+}");
+        context.setHttpMethod(method);
+        context.setApiId(apiId);
+        context.setPath("/prod/" + proxy);
+        Map<String, Object> authorizer = new LinkedHashMap<String, Object>();
+        authorizer.put("principalId", "user-" + random.alphanumeric(8));
+        authorizer.put("integrationLatency", random.nextInt(1, 200));
+        context.setAuthorizer(authorizer);
+        event.setRequestContext(context);
+
+        if (settings.getPayloadSize() > 0) {
+            event.setBody(random.document(settings.getPayloadSize(), 0));
+        }
+        event.setIsBase64Encoded(false);
+        return event;
+    }
+
+    static Map<String, List<String>> multiValue(Map<String, String> values) {
+        Map<String, List<String>> multi = new LinkedHashMap<String, List<String>>();
+        for (Map.Entry<String, String> e : values.entrySet()) {
+            multi.put(e.getKey(), Collections.singletonList(e.getValue()));
+        }
+        return multi;
+    }
+
+    @Override
+    void writeEvent(JsonWriter json, APIGatewayProxyRequestEvent event) throws IOException {
+        ProxyRequestContext context = event.getRequestContext();
+        RequestIdentity identity = context.getIdentity();
+        json.beginObject()
+                .field("resource", event.getResource())
+                .field("path", event.getPath())
+                .field("httpMethod", event.getHttpMethod())
+                .stringMap("headers", event.getHeaders())
+                .stringListMap("multiValueHeaders", event.getMultiValueHeaders())
+                .stringMap("queryStringParameters", event.getQueryStringParameters())
+                .stringListMap("multiValueQueryStringParameters", event.getMultiValueQueryStringParameters())
+                .stringMap("pathParameters", event.getPathParameters())
+                .stringMap("stageVariables", event.getStageVariables())
+                .name("requestContext").beginObject()
+                .field("accountId", context.getAccountId())
+                .field("resourceId", context.getResourceId())
+                .field("stage", context.getStage())
+                .field("requestId", context.getRequestId())
+                .name("identity").beginObject()
+                .field("cognitoIdentityPoolId", identity.getCognitoIdentityPoolId())
+                .field("accountId", identity.getAccountId())
+                .field("cognitoIdentityId", identity.getCognitoIdentityId())
+                .field("caller", identity.getCaller())
+                .field("apiKey", identity.getApiKey())
+                .field("sourceIp", identity.getSourceIp())
+                .field("cognitoAuthenticationType", identity.getCognitoAuthenticationType())
+                .field("cognitoAuthenticationProvider", identity.getCognitoAuthenticationProvider())
+                .field("userArn", identity.getUserArn())
+                .field("userAgent", identity.getUserAgent())
+                .field("user", identity.getUser())
+                .field("accessKey", identity.getAccessKey())
+                .endObject()
+                .field("resourcePath", context.getResourcePath())
+                .field("httpMethod", context.getHttpMethod())
+                .field("apiId", context.getApiId())
+                .field("path", context.getPath())
+                .name("authorizer").object(context.getAuthorizer())
+                .endObject()
+                .field("body", event.getBody())
+                .field("isBase64Encoded", event.getIsBase64Encoded())
+                .endObject();
+    }
+}
@@ -0,0 +1,36 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+
+/**
+ * REST API proxy integration responses
+ */
+final class APIGatewayProxyResponseEventGenerator extends SingleEventGenerator<APIGatewayProxyResponseEvent> {
+
+    APIGatewayProxyResponseEventGenerator(GeneratorSettings settings) {
+        super(APIGatewayProxyResponseEvent.class, settings);
+    }
+
+    @Override
+    APIGatewayProxyResponseEvent newEvent(RandomData random) {
+        return new APIGatewayProxyResponseEvent()
+                .withStatusCode(random.chance(0.9) ? 200 : 404)
+                .withHeaders(HttpHeaders.response(random, settings.getHeaderCount()))
+                .withBody(random.document(settings.getPayloadSize(), 0))
+                .withIsBase64Encoded(false);
+    }
+
+    @Override
+    void writeEvent(JsonWriter json, APIGatewayProxyResponseEvent event) throws IOException {
+        json.beginObject()
+                .field("statusCode", event.getStatusCode())
+                .stringMap("headers", event.getHeaders())
+                .field("body", event.getBody())
+                .field("isBase64Encoded", event.getIsBase64Encoded())
+                .endObject();
+    }
+}
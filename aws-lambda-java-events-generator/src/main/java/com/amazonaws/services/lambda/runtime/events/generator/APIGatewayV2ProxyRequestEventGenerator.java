@@ -0,0 +1,100 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2ProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2ProxyRequestEvent.RequestContext;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2ProxyRequestEvent.RequestIdentity;
+
+/**
+ * WebSocket API requests. With a payload size of zero the event is a $connect
+ * carrying the handshake headers, otherwise a MESSAGE with a body of that size and,
+ * as API Gateway sends it, no headers.
+ */
+final class APIGatewayV2ProxyRequestEventGenerator extends SingleEventGenerator<APIGatewayV2ProxyRequestEvent> {
+
+    APIGatewayV2ProxyRequestEventGenerator(GeneratorSettings settings) {
+        super(APIGatewayV2ProxyRequestEvent.class, settings);
+    }
+
+    @Override
+    APIGatewayV2ProxyRequestEvent newEvent(RandomData random) {
+        boolean connect = settings.getPayloadSize() == 0;
+        String apiId = random.alphanumeric(10).toLowerCase();
+        String domainName = apiId + ".execute-api." + random.region() + ".amazonaws.com";
+        String sourceIp = random.ipv4();
+        long requestTime = RandomData.BASE_EPOCH_MILLIS + random.nextInt(3600000);
+
+        APIGatewayV2ProxyRequestEvent event = new APIGatewayV2ProxyRequestEvent();
+        RequestIdentity identity = new RequestIdentity();
+        identity.setSourceIp(sourceIp);
+        RequestContext context = new RequestContext();
+        context.setRouteKey(connect ? "$connect" : "$default");
+        context.setEventType(connect ? "CONNECT" : "MESSAGE");
+        context.setExtendedRequestId(random.alphanumeric(15) + "=");
+        context.setRequestTime(new DateTime(requestTime, DateTimeZone.UTC)
+                .toString("dd/MMM/yyyy:HH:mm:ss Z", Locale.US));
+        context.setMessageDirection("IN");
+        context.setStage("prod");
+        context.setConnectedAt(requestTime - random.nextInt(60000));
+        context.setRequestTimeEpoch(requestTime);
+        context.setIdentity(identity);
+        context.setRequestId(context.getExtendedRequestId());
+        context.setDomainName(domainName);
+        context.setConnectionId(random.alphanumeric(15) + "=");
+        context.setApiId(apiId);
+        if (connect) {
+            event.setHeaders(HttpHeaders.request(random, settings.getHeaderCount(), domainName, sourceIp));
+            event.setMultiValueHeaders(APIGatewayProxyRequestEventGenerator.multiValue(event.getHeaders()));
+            identity.setUserAgent(event.getHeaders().get("User-Agent"));
+        } else {
+            context.setMessageId(random.alphanumeric(15) + "=");
+            event.setBody(random.document(settings.getPayloadSize(), 0));
+        }
+        event.setRequestContext(context);
+        event.setIsBase64Encoded(false);
+        return event;
+    }
+
+    @Override
+    void writeEvent(JsonWriter json, APIGatewayV2ProxyRequestEvent event) throws IOException {
+        RequestContext context = event.getRequestContext();
+        json.beginObject();
+        if (event.getHeaders() != null) {
+            json.stringMap("headers", event.getHeaders())
+                    .stringListMap("multiValueHeaders", event.getMultiValueHeaders());
+        }
+        json.name("requestContext").beginObject()
+                .field("routeKey", context.getRouteKey())
+                .field("messageId", context.getMessageId())
+                .field("eventType", context.getEventType())
+                .field("extendedRequestId", context.getExtendedRequestId())
+                .field("requestTime", context.getRequestTime())
+                .field("messageDirection", context.getMessageDirection())
+                .field("stage", context.getStage())
+                .field("connectedAt", context.getConnectedAt())
+                .field("requestTimeEpoch", context.getRequestTimeEpoch())
+                .name("identity").beginObject()
+                .field("sourceIp", context.getIdentity().getSourceIp());
+        if (context.getIdentity().getUserAgent() != null) {
+            json.field("userAgent", context.getIdentity().getUserAgent());
+        }
+        json.endObject()
+                .field("requestId", context.getRequestId())
+                .field("domainName", context.getDomainName())
+                .field("connectionId", context.getConnectionId())
+                .field("apiId", context.getApiId())
+                .endObject();
+        if (event.getBody() != null) {
+            json.field("body", event.getBody());
+        }
+        json.field("isBase64Encoded", event.isIsBase64Encoded())
+                .endObject();
+    }
+}
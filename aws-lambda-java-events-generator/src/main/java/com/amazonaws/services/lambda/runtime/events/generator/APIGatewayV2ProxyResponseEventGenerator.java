@@ -0,0 +1,54 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2ProxyResponseEvent;
+
+/**
+ * WebSocket API route responses
+ */
+final class APIGatewayV2ProxyResponseEventGenerator extends SingleEventGenerator<APIGatewayV2ProxyResponseEvent> {
+
+    APIGatewayV2ProxyResponseEventGenerator(GeneratorSettings settings) {
+        super(APIGatewayV2ProxyResponseEvent.class, settings);
+    }
+
+    @Override
+    APIGatewayV2ProxyResponseEvent newEvent(RandomData random) {
+        Map<String, String> headers = HttpHeaders.response(random, settings.getHeaderCount());
+        Map<String, String[]> multiValueHeaders = new LinkedHashMap<String, String[]>();
+        for (Map.Entry<String, String> e : headers.entrySet()) {
+            multiValueHeaders.put(e.getKey(), new String[] {e.getValue()});
+        }
+        APIGatewayV2ProxyResponseEvent event = new APIGatewayV2ProxyResponseEvent();
+        event.setStatusCode(200);
+        event.setHeaders(headers);
+        event.setMultiValueHeaders(multiValueHeaders);
+        event.setBody(random.document(settings.getPayloadSize(), 0));
+        event.setIsBase64Encoded(false);
+        return event;
+    }
+
+    @Override
+    void writeEvent(JsonWriter json, APIGatewayV2ProxyResponseEvent event) throws IOException {
+        json.beginObject()
+                .field("statusCode", event.getStatusCode())
+                .stringMap("headers", event.getHeaders())
+                .name("multiValueHeaders").beginObject();
+        for (Map.Entry<String, String[]> e : event.getMultiValueHeaders().entrySet()) {
+            json.name(e.getKey()).beginArray();
+            for (String value : e.getValue()) {
+                json.value(value);
+            }
+            json.endArray();
+        }
+        json.endObject()
+                .field("body", event.getBody())
+                .field("isBase64Encoded", event.isIsBase64Encoded())
+                .endObject();
+    }
+}
@@ -0,0 +1,113 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Generator of an event that carries a list of records.
+ *
+ * Records are produced one at a time from their own random sequence, so
+ * {@link #records()} and {@link #writeJson(java.io.OutputStream)} can stream batches
+ * of any size in constant memory.
+ *
+ * @param <T> the event class
+ * @param <R> the record class
+ */
+public abstract class BatchEventGenerator<T, R> extends EventGenerator<T> {
+
+    BatchEventGenerator(Class<T> eventType, GeneratorSettings settings) {
+        super(eventType, settings);
+    }
+
+    /**
+     * Returns the number of records in the generated batch
+     * @return the record count
+     */
+    public int getRecordCount() {
+        return settings.getRecordCount();
+    }
+
+    @Override
+    public final T generate() {
+        List<R> records = new ArrayList<R>(getRecordCount());
+        for (Iterator<R> it = records(); it.hasNext(); ) {
+            records.add(it.next());
+        }
+        return newEvent(random(0), records);
+    }
+
+    /**
+     * Returns the records of the batch, each built as it is requested. They are equal to
+     * the records of {@link #generate()}.
+     * @return an iterator over new record instances
+     */
+    public final Iterator<R> records() {
+        final RandomData random = random(1);
+        final int count = getRecordCount();
+        return new Iterator<R>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public R next() {
+                if (index >= count) {
+                    throw new NoSuchElementException();
+                }
+                return newRecord(random, index++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    final void write(JsonWriter json) throws IOException {
+        json.beginObject();
+        writeEnvelope(json, newEvent(random(0), Collections.<R>emptyList()));
+        json.name(recordsField()).beginArray();
+        for (Iterator<R> it = records(); it.hasNext(); ) {
+            writeRecord(json, it.next());
+        }
+        json.endArray().endObject();
+    }
+
+    /**
+     * Builds the event around the given records. The JSON writer calls it with an
+     * empty list to get the envelope fields.
+     */
+    abstract T newEvent(RandomData random, List<R> records);
+
+    abstract R newRecord(RandomData random, int index);
+
+    /**
+     * Writes the fields of the envelope, the records array is written after them
+     */
+    void writeEnvelope(JsonWriter json, T event) throws IOException {
+    }
+
+    String recordsField() {
+        return "Records";
+    }
+
+    abstract void writeRecord(JsonWriter json, R record) throws IOException;
+
+    /**
+     * Picks the ordering key of a record, so that records of one key are spread over the batch
+     */
+    int key(RandomData random) {
+        return random.nextInt(settings.getKeyCardinality());
+    }
+}
@@ -0,0 +1,97 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent;
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent.CF;
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent.Config;
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent.Header;
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent.Record;
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent.Request;
+
+/**
+ * Lambda@Edge viewer requests. CloudFront always sends exactly one record, so the
+ * record count is ignored; the header count sets the number of request headers.
+ */
+final class CloudFrontEventGenerator extends BatchEventGenerator<CloudFrontEvent, Record> {
+
+    private final String distributionId;
+    private final String domainName;
+
+    CloudFrontEventGenerator(GeneratorSettings settings) {
+        super(CloudFrontEvent.class, settings);
+        RandomData random = random(2);
+        this.distributionId = "E" + random.alphanumeric(13).toUpperCase();
+        this.domainName = "d" + random.alphanumeric(13).toLowerCase() + ".cloudfront.net";
+    }
+
+    @Override
+    public int getRecordCount() {
+        return 1;
+    }
+
+    @Override
+    CloudFrontEvent newEvent(RandomData random, List<Record> records) {
+        CloudFrontEvent event = new CloudFrontEvent();
+        event.setRecords(records);
+        return event;
+    }
+
+    @Override
+    Record newRecord(RandomData random, int index) {
+        String clientIp = random.ipv4();
+        Map<String, List<Header>> headers = new LinkedHashMap<String, List<Header>>();
+        for (Map.Entry<String, String> e : HttpHeaders.request(random, settings.getHeaderCount(), domainName, clientIp).entrySet()) {
+            headers.put(e.getKey().toLowerCase(),
+                    Collections.singletonList(new Header().withKey(e.getKey()).withValue(e.getValue())));
+        }
+        Request request = new Request()
+                .withClientIp(clientIp)
+                .withUri("/assets/asset-" + key(random) + ".jpg")
+                .withMethod("GET")
+                .withHttpVersion("2.0")
+                .withHeaders(headers);
+        CF cf = new CF();
+        cf.setConfig(new Config().withDistributionId(distributionId));
+        cf.setRequest(request);
+        Record record = new Record();
+        record.setCf(cf);
+        return record;
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, Record record) throws IOException {
+        Request request = record.getCf().getRequest();
+        json.beginObject()
+                .name("cf").beginObject()
+                .name("config").beginObject()
+                .field("distributionId", record.getCf().getConfig().getDistributionId())
+                .endObject()
+                .name("request").beginObject()
+                .field("clientIp", request.getClientIp())
+                .field("uri", request.getUri())
+                .field("method", request.getMethod())
+                .field("httpVersion", request.getHttpVersion())
+                .name("headers").beginObject();
+        for (Map.Entry<String, List<Header>> e : request.getHeaders().entrySet()) {
+            json.name(e.getKey()).beginArray();
+            for (Header header : e.getValue()) {
+                json.beginObject()
+                        .field("key", header.getKey())
+                        .field("value", header.getValue())
+                        .endObject();
+            }
+            json.endArray();
+        }
+        json.endObject()
+                .endObject()
+                .endObject()
+                .endObject();
+    }
+}
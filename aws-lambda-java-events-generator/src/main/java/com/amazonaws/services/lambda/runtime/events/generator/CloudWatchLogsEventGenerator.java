@@ -0,0 +1,73 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+import com.amazonaws.services.lambda.runtime.events.CloudWatchLogsEvent;
+import com.amazonaws.services.lambda.runtime.events.CloudWatchLogsEvent.AWSLogs;
+
+/**
+ * CloudWatch Logs subscription deliveries. The record count sets the number of log
+ * events and the payload size the length of each message; as delivered by the
+ * service, the batch is gzipped and base64 encoded.
+ */
+final class CloudWatchLogsEventGenerator extends SingleEventGenerator<CloudWatchLogsEvent> {
+
+    CloudWatchLogsEventGenerator(GeneratorSettings settings) {
+        super(CloudWatchLogsEvent.class, settings);
+    }
+
+    @Override
+    CloudWatchLogsEvent newEvent(RandomData random) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+            OutputStreamWriter writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+            writeLogs(new JsonWriter(writer), random);
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        AWSLogs logs = new AWSLogs();
+        logs.setData(Base64.getEncoder().encodeToString(bytes.toByteArray()));
+        CloudWatchLogsEvent event = new CloudWatchLogsEvent();
+        event.setAwsLogs(logs);
+        return event;
+    }
+
+    private void writeLogs(JsonWriter json, RandomData random) throws IOException {
+        String logGroup = "/aws/lambda/function-" + random.alphanumeric(8);
+        json.beginObject()
+                .field("messageType", "DATA_MESSAGE")
+                .field("owner", random.accountId())
+                .field("logGroup", logGroup)
+                .field("logStream", "2019/09/01/[$LATEST]" + random.hex(32))
+                .name("subscriptionFilters").beginArray().value("filter-" + random.alphanumeric(6)).endArray()
+                .name("logEvents").beginArray();
+        String idPrefix = random.digits(24);
+        for (int i = 0; i < settings.getRecordCount(); i++) {
+            json.beginObject()
+                    .field("id", idPrefix + String.format("%032d", i))
+                    .field("timestamp", RandomData.BASE_EPOCH_MILLIS + i)
+                    .field("message", random.document(settings.getPayloadSize(), i))
+                    .endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    @Override
+    void writeEvent(JsonWriter json, CloudWatchLogsEvent event) throws IOException {
+        json.beginObject()
+                .name("awslogs").beginObject()
+                .field("data", event.getAwsLogs().getData())
+                .endObject()
+                .endObject();
+    }
+}
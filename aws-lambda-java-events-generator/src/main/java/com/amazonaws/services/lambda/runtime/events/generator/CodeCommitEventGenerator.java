@@ -0,0 +1,104 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import com.amazonaws.services.lambda.runtime.events.CodeCommitEvent;
+import com.amazonaws.services.lambda.runtime.events.CodeCommitEvent.CodeCommit;
+import com.amazonaws.services.lambda.runtime.events.CodeCommitEvent.Record;
+import com.amazonaws.services.lambda.runtime.events.CodeCommitEvent.Reference;
+
+/**
+ * CodeCommit trigger events, one pushed reference per record
+ */
+final class CodeCommitEventGenerator extends BatchEventGenerator<CodeCommitEvent, Record> {
+
+    private final String region;
+    private final String repositoryArn;
+    private final String userArn;
+    private final String triggerConfigId;
+
+    CodeCommitEventGenerator(GeneratorSettings settings) {
+        super(CodeCommitEvent.class, settings);
+        RandomData random = random(2);
+        this.region = random.region();
+        String account = random.accountId();
+        this.repositoryArn = "arn:aws:codecommit:" + region + ":" + account + ":repository-" + random.alphanumeric(8);
+        this.userArn = "arn:aws:iam::" + account + ":user/user-" + random.alphanumeric(6);
+        this.triggerConfigId = random.uuid();
+    }
+
+    @Override
+    CodeCommitEvent newEvent(RandomData random, List<Record> records) {
+        CodeCommitEvent event = new CodeCommitEvent();
+        event.setRecords(records);
+        return event;
+    }
+
+    @Override
+    Record newRecord(RandomData random, int index) {
+        Reference reference = new Reference();
+        reference.setCommit(random.hex(40));
+        reference.setRef("refs/heads/branch-" + key(random));
+        if (random.chance(0.1)) {
+            reference.setCreated(Boolean.TRUE);
+        }
+        CodeCommit codeCommit = new CodeCommit();
+        codeCommit.setReferences(Collections.singletonList(reference));
+
+        Record record = new Record();
+        record.setAwsRegion(region);
+        record.setCodeCommit(codeCommit);
+        record.setCustomData(random.text(Math.min(settings.getPayloadSize(), 1024)));
+        record.setEventId(random.uuid());
+        record.setEventName("ReferenceChanges");
+        record.setEventPartNumber(1);
+        record.setEventSource("aws:codecommit");
+        record.setEventSourceArn(repositoryArn);
+        record.setEventTime(new DateTime(RandomData.BASE_EPOCH_MILLIS + index * 1000L, DateTimeZone.UTC));
+        record.setEventTotalParts(1);
+        record.setEventTriggerConfigId(triggerConfigId);
+        record.setEventTriggerName("trigger-" + random.alphanumeric(6));
+        record.setEventVersion("1.0");
+        record.setUserIdentityArn(userArn);
+        return record;
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, Record record) throws IOException {
+        json.beginObject()
+                .field("awsRegion", record.getAwsRegion())
+                .name("codecommit").beginObject()
+                .name("references").beginArray();
+        for (Reference reference : record.getCodeCommit().getReferences()) {
+            json.beginObject()
+                    .field("commit", reference.getCommit())
+                    .field("ref", reference.getRef());
+            if (reference.getCreated() != null) {
+                json.field("created", reference.getCreated());
+            }
+            json.endObject();
+        }
+        json.endArray()
+                .endObject()
+                .field("customData", record.getCustomData())
+                .field("eventId", record.getEventId())
+                .field("eventName", record.getEventName())
+                .field("eventPartNumber", record.getEventPartNumber())
+                .field("eventSource", record.getEventSource())
+                .field("eventSourceARN", record.getEventSourceArn())
+                .field("eventTime", record.getEventTime().toString())
+                .field("eventTotalParts", record.getEventTotalParts())
+                .field("eventTriggerConfigId", record.getEventTriggerConfigId())
+                .field("eventTriggerName", record.getEventTriggerName())
+                .field("eventVersion", record.getEventVersion())
+                .field("userIdentityARN", record.getUserIdentityArn())
+                .endObject();
+    }
+}
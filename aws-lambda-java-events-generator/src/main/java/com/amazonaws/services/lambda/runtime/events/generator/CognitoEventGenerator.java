@@ -0,0 +1,63 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.events.CognitoEvent;
+import com.amazonaws.services.lambda.runtime.events.CognitoEvent.DatasetRecord;
+
+/**
+ * Cognito Sync triggers, with one dataset record per configured attribute
+ */
+final class CognitoEventGenerator extends SingleEventGenerator<CognitoEvent> {
+
+    CognitoEventGenerator(GeneratorSettings settings) {
+        super(CognitoEvent.class, settings);
+    }
+
+    @Override
+    CognitoEvent newEvent(RandomData random) {
+        String region = random.region();
+        Map<String, DatasetRecord> records = new LinkedHashMap<String, DatasetRecord>();
+        for (int i = 0; i < settings.getAttributeCount(); i++) {
+            DatasetRecord record = new DatasetRecord();
+            record.setOldValue(random.text(16));
+            record.setNewValue(random.text(16));
+            record.setOp("replace");
+            records.put("key" + i, record);
+        }
+        CognitoEvent event = new CognitoEvent();
+        event.setVersion(2);
+        event.setEventType("SyncTrigger");
+        event.setRegion(region);
+        event.setIdentityPoolId(region + ":" + random.uuid());
+        event.setIdentityId(region + ":" + random.uuid());
+        event.setDatasetName("dataset-" + random.alphanumeric(6));
+        event.setDatasetRecords(records);
+        return event;
+    }
+
+    @Override
+    void writeEvent(JsonWriter json, CognitoEvent event) throws IOException {
+        json.beginObject()
+                .field("version", event.getVersion())
+                .field("eventType", event.getEventType())
+                .field("region", event.getRegion())
+                .field("identityPoolId", event.getIdentityPoolId())
+                .field("identityId", event.getIdentityId())
+                .field("datasetName", event.getDatasetName())
+                .name("datasetRecords").beginObject();
+        for (Map.Entry<String, DatasetRecord> e : event.getDatasetRecords().entrySet()) {
+            json.name(e.getKey()).beginObject()
+                    .field("oldValue", e.getValue().getOldValue())
+                    .field("newValue", e.getValue().getNewValue())
+                    .field("op", e.getValue().getOp())
+                    .endObject();
+        }
+        json.endObject()
+                .endObject();
+    }
+}
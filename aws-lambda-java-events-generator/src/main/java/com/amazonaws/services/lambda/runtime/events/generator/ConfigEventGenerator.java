@@ -0,0 +1,81 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+import com.amazonaws.services.lambda.runtime.events.ConfigEvent;
+
+/**
+ * AWS Config rule evaluations triggered by a configuration change. The invoking
+ * event embeds a configuration item whose configuration document has the payload
+ * size; rule parameters hold one entry per configured attribute.
+ */
+final class ConfigEventGenerator extends SingleEventGenerator<ConfigEvent> {
+
+    ConfigEventGenerator(GeneratorSettings settings) {
+        super(ConfigEvent.class, settings);
+    }
+
+    @Override
+    ConfigEvent newEvent(RandomData random) {
+        String region = random.region();
+        String account = random.accountId();
+        String ruleId = "config-rule-" + random.alphanumeric(6).toLowerCase();
+        StringWriter invokingEvent = new StringWriter();
+        StringWriter ruleParameters = new StringWriter();
+        try {
+            new JsonWriter(invokingEvent).beginObject()
+                    .name("configurationItem").beginObject()
+                    .field("configurationItemCaptureTime", "2019-09-01T00:00:00.000Z")
+                    .field("awsAccountId", account)
+                    .field("configurationItemStatus", "OK")
+                    .field("resourceId", "i-" + random.hex(17))
+                    .field("resourceType", "AWS::EC2::Instance")
+                    .field("awsRegion", region)
+                    .field("configuration", random.document(settings.getPayloadSize(), 0))
+                    .endObject()
+                    .field("notificationCreationTime", "2019-09-01T00:00:01.000Z")
+                    .field("messageType", "ConfigurationItemChangeNotification")
+                    .field("recordVersion", "1.3")
+                    .endObject();
+            JsonWriter parameters = new JsonWriter(ruleParameters).beginObject();
+            for (int i = 0; i < settings.getAttributeCount(); i++) {
+                parameters.field("parameter" + i, random.alphanumeric(8));
+            }
+            parameters.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ConfigEvent event = new ConfigEvent();
+        event.setVersion("1.0");
+        event.setInvokingEvent(invokingEvent.toString());
+        event.setRuleParameters(ruleParameters.toString());
+        event.setResultToken(random.alphanumeric(64));
+        event.setEventLeftScope(random.chance(0.05));
+        event.setExecutionRoleArn("arn:aws:iam::" + account + ":role/config-role");
+        event.setConfigRuleArn("arn:aws:config:" + region + ":" + account + ":config-rule/" + ruleId);
+        event.setConfigRuleName("rule-" + random.alphanumeric(6));
+        event.setConfigRuleId(ruleId);
+        event.setAccountId(account);
+        return event;
+    }
+
+    @Override
+    void writeEvent(JsonWriter json, ConfigEvent event) throws IOException {
+        json.beginObject()
+                .field("version", event.getVersion())
+                .field("invokingEvent", event.getInvokingEvent())
+                .field("ruleParameters", event.getRuleParameters())
+                .field("resultToken", event.getResultToken())
+                .field("eventLeftScope", event.getEventLeftScope())
+                .field("executionRoleArn", event.getExecutionRoleArn())
+                .field("configRuleArn", event.getConfigRuleArn())
+                .field("configRuleName", event.getConfigRuleName())
+                .field("configRuleId", event.getConfigRuleId())
+                .field("accountId", event.getAccountId())
+                .endObject();
+    }
+}
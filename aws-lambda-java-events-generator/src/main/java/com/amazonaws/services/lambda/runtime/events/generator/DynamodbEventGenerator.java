@@ -0,0 +1,187 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Identity;
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+
+/**
+ * DynamoDB stream batches with NEW_AND_OLD_IMAGES. The mix is mostly MODIFY, with
+ * INSERTs and REMOVEs, half of the REMOVEs being TTL deletions by the service.
+ * Items carry a payload attribute of the configured size plus the configured number
+ * of extra attributes.
+ */
+final class DynamodbEventGenerator extends BatchEventGenerator<DynamodbEvent, DynamodbStreamRecord> {
+
+    private final String region;
+    private final String streamArn;
+    private final String sequencePrefix;
+
+    DynamodbEventGenerator(GeneratorSettings settings) {
+        super(DynamodbEvent.class, settings);
+        RandomData random = random(2);
+        this.region = random.region();
+        this.streamArn = "arn:aws:dynamodb:" + region + ":" + random.accountId() + ":table/table-"
+                + random.alphanumeric(8) + "/stream/2019-09-01T00:00:00.000";
+        this.sequencePrefix = random.digits(6);
+    }
+
+
+    @Override
+    DynamodbStreamRecord newRecord(RandomData random, int index) {
+        DynamodbStreamRecord record = new DynamodbStreamRecord();
+        record.setEventID(random.hex(32));
+        record.setEventVersion("1.1");
+        record.setEventSource("aws:dynamodb");
+        record.setAwsRegion(region);
+        record.setEventSourceARN(streamArn);
+
+        int roll = random.nextInt(100);
+        String eventName = roll < 60 ? "MODIFY" : roll < 85 ? "INSERT" : "REMOVE";
+        record.setEventName(eventName);
+        if (roll >= 93) {
+            Identity identity = new Identity();
+            identity.setPrincipalId("dynamodb.amazonaws.com");
+            identity.setType("Service");
+            record.setUserIdentity(identity);
+        }
+
+        Map<String, AttributeValue> keys = new LinkedHashMap<String, AttributeValue>();
+        keys.put("pk", new AttributeValue().withS("item-" + key(random)));
+        keys.put("sk", new AttributeValue().withN(Integer.toString(index)));
+
+        StreamRecord dynamodb = new StreamRecord();
+        dynamodb.setApproximateCreationDateTime(new Date(RandomData.BASE_EPOCH_MILLIS / 1000 * 1000 + index / 100 * 1000L));
+        dynamodb.setKeys(keys);
+        long size = 0;
+        if (!"REMOVE".equals(eventName)) {
+            dynamodb.setNewImage(image(random, keys, index));
+            size += settings.getPayloadSize() + 32L * settings.getAttributeCount();
+        }
+        if (!"INSERT".equals(eventName)) {
+            dynamodb.setOldImage(image(random, keys, index));
+            size += settings.getPayloadSize() + 32L * settings.getAttributeCount();
+        }
+        dynamodb.setSequenceNumber(sequencePrefix + String.format("%015d", index * 100L + random.nextInt(100)));
+        dynamodb.setSizeBytes(size + 24);
+        dynamodb.setStreamViewType("NEW_AND_OLD_IMAGES");
+        record.setDynamodb(dynamodb);
+        return record;
+    }
+
+    private Map<String, AttributeValue> image(RandomData random, Map<String, AttributeValue> keys, int index) {
+        Map<String, AttributeValue> image = new LinkedHashMap<String, AttributeValue>(keys);
+        image.put("payload", new AttributeValue().withS(random.document(settings.getPayloadSize(), index)));
+        for (int i = 0; i < settings.getAttributeCount(); i++) {
+            AttributeValue value;
+            switch (i % 4) {
+                case 0:
+                    value = new AttributeValue().withN(Integer.toString(random.nextInt(1000000)));
+                    break;
+                case 1:
+                    value = new AttributeValue().withBOOL(random.chance(0.5));
+                    break;
+                case 2:
+                    value = new AttributeValue().withSS(Arrays.asList(random.text(6), random.text(9)));
+                    break;
+                default:
+                    value = new AttributeValue().withS(random.text(24));
+            }
+            image.put("attribute" + i, value);
+        }
+        return image;
+    }
+
+    @Override
+    DynamodbEvent newEvent(RandomData random, List<DynamodbStreamRecord> records) {
+        DynamodbEvent event = new DynamodbEvent();
+        event.setRecords(records);
+        return event;
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, DynamodbStreamRecord record) throws IOException {
+        StreamRecord dynamodb = record.getDynamodb();
+        json.beginObject()
+                .field("eventID", record.getEventID())
+                .field("eventName", record.getEventName())
+                .field("eventVersion", record.getEventVersion())
+                .field("eventSource", record.getEventSource())
+                .field("awsRegion", record.getAwsRegion())
+                .name("dynamodb").beginObject()
+                .field("ApproximateCreationDateTime", dynamodb.getApproximateCreationDateTime().getTime() / 1000);
+        writeItem(json, "Keys", dynamodb.getKeys());
+        if (dynamodb.getNewImage() != null) {
+            writeItem(json, "NewImage", dynamodb.getNewImage());
+        }
+        if (dynamodb.getOldImage() != null) {
+            writeItem(json, "OldImage", dynamodb.getOldImage());
+        }
+        json.field("SequenceNumber", dynamodb.getSequenceNumber())
+                .field("SizeBytes", dynamodb.getSizeBytes())
+                .field("StreamViewType", dynamodb.getStreamViewType())
+                .endObject();
+        if (record.getUserIdentity() != null) {
+            json.name("userIdentity").beginObject()
+                    .field("principalId", record.getUserIdentity().getPrincipalId())
+                    .field("type", record.getUserIdentity().getType())
+                    .endObject();
+        }
+        json.field("eventSourceARN", record.getEventSourceARN())
+                .endObject();
+    }
+
+    private static void writeItem(JsonWriter json, String name, Map<String, AttributeValue> item) throws IOException {
+        json.name(name).beginObject();
+        for (Map.Entry<String, AttributeValue> e : item.entrySet()) {
+            json.name(e.getKey());
+            writeValue(json, e.getValue());
+        }
+        json.endObject();
+    }
+
+    private static void writeValue(JsonWriter json, AttributeValue value) throws IOException {
+        json.beginObject();
+        if (value.getS() != null) {
+            json.field("S", value.getS());
+        } else if (value.getN() != null) {
+            json.field("N", value.getN());
+        } else if (value.getB() != null) {
+            json.field("B", value.getB());
+        } else if (value.getSS() != null) {
+            json.name("SS").stringList(value.getSS());
+        } else if (value.getNS() != null) {
+            json.name("NS").stringList(value.getNS());
+        } else if (value.getBS() != null) {
+            json.name("BS").beginArray();
+            for (ByteBuffer b : value.getBS()) {
+                json.value(b);
+            }
+            json.endArray();
+        } else if (value.getM() != null) {
+            writeItem(json, "M", value.getM());
+        } else if (value.getL() != null) {
+            json.name("L").beginArray();
+            for (AttributeValue v : value.getL()) {
+                writeValue(json, v);
+            }
+            json.endArray();
+        } else if (value.getBOOL() != null) {
+            json.field("BOOL", value.getBOOL());
+        } else if (value.getNULL() != null) {
+            json.field("NULL", value.getNULL());
+        }
+        json.endObject();
+    }
+}
@@ -0,0 +1,88 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Produces a synthetic event of one type, either as an instance of its event class
+ * or as the JSON Lambda would deliver for it.
+ *
+ * Generation is deterministic: for given settings, {@link #generate()} always returns
+ * an equal event and {@link #writeJson(OutputStream)} always writes the same bytes,
+ * which bind to that event.
+ *
+ * @param <T> the event class
+ */
+public abstract class EventGenerator<T> {
+
+    private final Class<T> eventType;
+    final GeneratorSettings settings;
+
+    EventGenerator(Class<T> eventType, GeneratorSettings settings) {
+        if (settings == null) {
+            throw new NullPointerException("settings");
+        }
+        this.eventType = eventType;
+        this.settings = settings;
+    }
+
+    public Class<T> getEventType() {
+        return eventType;
+    }
+
+    public GeneratorSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Builds the event
+     * @return a new instance of the event class
+     */
+    public abstract T generate();
+
+    /**
+     * Writes the event as UTF-8 JSON. Batch events are written one record at a time,
+     * so the batch is never held in memory as a whole. The stream is flushed, not closed.
+     * @param out destination of the JSON
+     * @throws IOException if writing to out fails
+     */
+    public void writeJson(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+        JsonWriter json = new JsonWriter(writer);
+        write(json);
+        json.flush();
+    }
+
+    /**
+     * Returns the event as UTF-8 JSON
+     * @return the JSON bytes
+     */
+    public byte[] toJson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        try {
+            writeJson(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    abstract void write(JsonWriter json) throws IOException;
+
+    RandomData random(int stream) {
+        return RandomData.forStream(settings.getSeed(), stream);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + settings + "}";
+    }
+}
@@ -0,0 +1,163 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2ProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2ProxyResponseEvent;
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent;
+import com.amazonaws.services.lambda.runtime.events.CloudWatchLogsEvent;
+import com.amazonaws.services.lambda.runtime.events.CodeCommitEvent;
+import com.amazonaws.services.lambda.runtime.events.CognitoEvent;
+import com.amazonaws.services.lambda.runtime.events.ConfigEvent;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.IoTButtonEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsFirehoseInputPreprocessingEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsInputPreprocessingResponse;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryResponse;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsStreamsInputPreprocessingEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisFirehoseEvent;
+import com.amazonaws.services.lambda.runtime.events.LexEvent;
+import com.amazonaws.services.lambda.runtime.events.S3Event;
+import com.amazonaws.services.lambda.runtime.events.SNSEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+
+/**
+ * Entry point of the generator library.
+ *
+ * <pre>
+ * GeneratorSettings settings = GeneratorSettings.builder()
+ *         .withRecordCount(10000)
+ *         .withPayloadSize(1024)
+ *         .build();
+ * EventGenerators.forType(KinesisEvent.class, settings).writeJson(out);
+ * </pre>
+ *
+ * Generators of Kinesis, DynamoDB and S3 events need the matching AWS SDK module on
+ * the classpath, as the event classes do.
+ */
+public final class EventGenerators {
+    private EventGenerators() {}
+
+    private static final Set<Class<?>> SUPPORTED_TYPES = Collections.unmodifiableSet(new LinkedHashSet<Class<?>>(Arrays.asList(
+            APIGatewayProxyRequestEvent.class,
+            APIGatewayProxyResponseEvent.class,
+            APIGatewayV2ProxyRequestEvent.class,
+            APIGatewayV2ProxyResponseEvent.class,
+            CloudFrontEvent.class,
+            CloudWatchLogsEvent.class,
+            CodeCommitEvent.class,
+            CognitoEvent.class,
+            ConfigEvent.class,
+            DynamodbEvent.class,
+            IoTButtonEvent.class,
+            KinesisAnalyticsFirehoseInputPreprocessingEvent.class,
+            KinesisAnalyticsInputPreprocessingResponse.class,
+            KinesisAnalyticsOutputDeliveryEvent.class,
+            KinesisAnalyticsOutputDeliveryResponse.class,
+            KinesisAnalyticsStreamsInputPreprocessingEvent.class,
+            KinesisEvent.class,
+            KinesisFirehoseEvent.class,
+            LexEvent.class,
+            S3Event.class,
+            SNSEvent.class,
+            SQSEvent.class,
+            ScheduledEvent.class)));
+
+    /**
+     * Returns the event classes a generator exists for
+     * @return every class of aws-lambda-java-events that models a whole event or response
+     */
+    public static Set<Class<?>> supportedTypes() {
+        return SUPPORTED_TYPES;
+    }
+
+    /**
+     * Returns a generator of the given event class
+     * @param type an event class, one of {@link #supportedTypes()}
+     * @param settings record counts, sizes and seed
+     * @param <T> the event class
+     * @return a new generator
+     * @throws IllegalArgumentException if the class is not supported
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EventGenerator<T> forType(Class<T> type, GeneratorSettings settings) {
+        return (EventGenerator<T>) create(type, settings);
+    }
+
+    /**
+     * Returns a generator of the given event class, for classes that carry a list of records
+     * @param type an event class with records, such as {@link SQSEvent} or {@link KinesisEvent}
+     * @param settings record counts, sizes and seed
+     * @param <T> the event class
+     * @return a new generator
+     * @throws IllegalArgumentException if the class is not supported or has no records
+     */
+    public static <T> BatchEventGenerator<T, ?> forBatchType(Class<T> type, GeneratorSettings settings) {
+        EventGenerator<T> generator = forType(type, settings);
+        if (!(generator instanceof BatchEventGenerator)) {
+            throw new IllegalArgumentException(type.getName() + " does not carry records");
+        }
+        return (BatchEventGenerator<T, ?>) generator;
+    }
+
+    private static EventGenerator<?> create(Class<?> type, GeneratorSettings settings) {
+        if (type == SQSEvent.class) {
+            return new SQSEventGenerator(settings);
+        } else if (type == KinesisEvent.class) {
+            return new KinesisEventGenerator(settings);
+        } else if (type == DynamodbEvent.class) {
+            return new DynamodbEventGenerator(settings);
+        } else if (type == SNSEvent.class) {
+            return new SNSEventGenerator(settings);
+        } else if (type == S3Event.class) {
+            return new S3EventGenerator(settings);
+        } else if (type == KinesisFirehoseEvent.class) {
+            return new KinesisFirehoseEventGenerator(settings);
+        } else if (type == CodeCommitEvent.class) {
+            return new CodeCommitEventGenerator(settings);
+        } else if (type == KinesisAnalyticsFirehoseInputPreprocessingEvent.class) {
+            return new KinesisAnalyticsFirehoseInputPreprocessingEventGenerator(settings);
+        } else if (type == KinesisAnalyticsStreamsInputPreprocessingEvent.class) {
+            return new KinesisAnalyticsStreamsInputPreprocessingEventGenerator(settings);
+        } else if (type == KinesisAnalyticsOutputDeliveryEvent.class) {
+            return new KinesisAnalyticsOutputDeliveryEventGenerator(settings);
+        } else if (type == KinesisAnalyticsInputPreprocessingResponse.class) {
+            return new KinesisAnalyticsInputPreprocessingResponseGenerator(settings);
+        } else if (type == KinesisAnalyticsOutputDeliveryResponse.class) {
+            return new KinesisAnalyticsOutputDeliveryResponseGenerator(settings);
+        } else if (type == CloudFrontEvent.class) {
+            return new CloudFrontEventGenerator(settings);
+        } else if (type == APIGatewayProxyRequestEvent.class) {
+            return new APIGatewayProxyRequestEventGenerator(settings);
+        } else if (type == APIGatewayProxyResponseEvent.class) {
+            return new APIGatewayProxyResponseEventGenerator(settings);
+        } else if (type == APIGatewayV2ProxyRequestEvent.class) {
+            return new APIGatewayV2ProxyRequestEventGenerator(settings);
+        } else if (type == APIGatewayV2ProxyResponseEvent.class) {
+            return new APIGatewayV2ProxyResponseEventGenerator(settings);
+        } else if (type == CloudWatchLogsEvent.class) {
+            return new CloudWatchLogsEventGenerator(settings);
+        } else if (type == CognitoEvent.class) {
+            return new CognitoEventGenerator(settings);
+        } else if (type == ConfigEvent.class) {
+            return new ConfigEventGenerator(settings);
+        } else if (type == IoTButtonEvent.class) {
+            return new IoTButtonEventGenerator(settings);
+        } else if (type == LexEvent.class) {
+            return new LexEventGenerator(settings);
+        } else if (type == ScheduledEvent.class) {
+            return new ScheduledEventGenerator(settings);
+        }
+        throw new IllegalArgumentException("No generator for " + (type == null ? null : type.getName()));
+    }
+}
@@ -0,0 +1,168 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+/**
+ * Knobs shared by every {@link EventGenerator}. Settings an event type has no use
+ * for are ignored; for example the IoT button event has neither records nor headers.
+ */
+public final class GeneratorSettings {
+
+    private final long seed;
+    private final int recordCount;
+    private final int payloadSize;
+    private final int headerCount;
+    private final int attributeCount;
+    private final int keyCardinality;
+    private final boolean fifo;
+
+    private GeneratorSettings(Builder builder) {
+        this.seed = builder.seed;
+        this.recordCount = builder.recordCount;
+        this.payloadSize = builder.payloadSize;
+        this.headerCount = builder.headerCount;
+        this.attributeCount = builder.attributeCount;
+        this.keyCardinality = builder.keyCardinality;
+        this.fifo = builder.fifo;
+    }
+
+    /**
+     * Returns settings with every knob at its default
+     * @return default settings
+     */
+    public static GeneratorSettings defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Seed of the pseudo random sequence. Two generators of the same type built with
+     * equal settings produce equal events and identical JSON.
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Number of records in batch events (SQS messages, Kinesis records, log events, ...)
+     * @return the record count
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Size in bytes of each record's payload (message body, decoded data blob) or of the
+     * request or response body
+     * @return the payload size
+     */
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    /**
+     * Number of HTTP headers on API Gateway and CloudFront events
+     * @return the header count
+     */
+    public int getHeaderCount() {
+        return headerCount;
+    }
+
+    /**
+     * Number of message attributes, item attributes, query parameters or slots,
+     * depending on the event type
+     * @return the attribute count
+     */
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    /**
+     * Number of distinct ordering keys (Kinesis partition keys, DynamoDB item keys,
+     * SQS FIFO message groups) records are spread over
+     * @return the key cardinality
+     */
+    public int getKeyCardinality() {
+        return keyCardinality;
+    }
+
+    /**
+     * Whether SQS messages come from a FIFO queue and carry a message group id
+     * @return true for FIFO queues
+     */
+    public boolean isFifo() {
+        return fifo;
+    }
+
+    @Override
+    public String toString() {
+        return "seed=" + seed + ", recordCount=" + recordCount + ", payloadSize=" + payloadSize
+                + ", headerCount=" + headerCount + ", attributeCount=" + attributeCount
+                + ", keyCardinality=" + keyCardinality + ", fifo=" + fifo;
+    }
+
+    public static final class Builder {
+        private long seed = 42L;
+        private int recordCount = 10;
+        private int payloadSize = 256;
+        private int headerCount = 12;
+        private int attributeCount = 2;
+        private int keyCardinality = 16;
+        private boolean fifo;
+
+        private Builder() {}
+
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder withRecordCount(int recordCount) {
+            this.recordCount = requireNonNegative("recordCount", recordCount);
+            return this;
+        }
+
+        public Builder withPayloadSize(int payloadSize) {
+            this.payloadSize = requireNonNegative("payloadSize", payloadSize);
+            return this;
+        }
+
+        public Builder withHeaderCount(int headerCount) {
+            this.headerCount = requireNonNegative("headerCount", headerCount);
+            return this;
+        }
+
+        public Builder withAttributeCount(int attributeCount) {
+            this.attributeCount = requireNonNegative("attributeCount", attributeCount);
+            return this;
+        }
+
+        public Builder withKeyCardinality(int keyCardinality) {
+            if (keyCardinality <= 0) {
+                throw new IllegalArgumentException("keyCardinality must be positive: " + keyCardinality);
+            }
+            this.keyCardinality = keyCardinality;
+            return this;
+        }
+
+        public Builder withFifo(boolean fifo) {
+            this.fifo = fifo;
+            return this;
+        }
+
+        public GeneratorSettings build() {
+            return new GeneratorSettings(this);
+        }
+
+        private static int requireNonNegative(String name, int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException(name + " must not be negative: " + value);
+            }
+            return value;
+        }
+    }
+}
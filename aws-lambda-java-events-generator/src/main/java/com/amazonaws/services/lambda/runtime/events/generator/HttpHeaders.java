@@ -0,0 +1,67 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Request and response headers as API Gateway and CloudFront forward them. The first
+ * headers are the ones browsers and CloudFront actually send; past those, custom
+ * X-Custom-Header-n headers are added up to the requested count.
+ */
+final class HttpHeaders {
+    private HttpHeaders() {}
+
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/76.0.3809.132 Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_14_6) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/12.1.2 Safari/605.1.15",
+            "curl/7.64.1",
+            "okhttp/3.14.2"
+    };
+
+    static String userAgent(RandomData random) {
+        return random.pick(USER_AGENTS);
+    }
+
+    static Map<String, String> request(RandomData random, int count, String host, String sourceIp) {
+        Map<String, String> headers = new LinkedHashMap<String, String>();
+        for (int i = 0; headers.size() < count; i++) {
+            switch (i) {
+                case 0: headers.put("Accept", "application/json"); break;
+                case 1: headers.put("Host", host); break;
+                case 2: headers.put("User-Agent", userAgent(random)); break;
+                case 3: headers.put("X-Forwarded-For", sourceIp + ", " + random.ipv4()); break;
+                case 4: headers.put("X-Forwarded-Port", "443"); break;
+                case 5: headers.put("X-Forwarded-Proto", "https"); break;
+                case 6: headers.put("X-Amzn-Trace-Id", "Root=1-" + random.hex(8) + "-" + random.hex(24)); break;
+                case 7: headers.put("Accept-Encoding", "gzip, deflate, br"); break;
+                case 8: headers.put("Accept-Language", "en-US,en;q=0.9"); break;
+                case 9: headers.put("Content-Type", "application/json"); break;
+                case 10: headers.put("CloudFront-Forwarded-Proto", "https"); break;
+                case 11: headers.put("CloudFront-Is-Desktop-Viewer", "true"); break;
+                case 12: headers.put("CloudFront-Is-Mobile-Viewer", "false"); break;
+                case 13: headers.put("CloudFront-Viewer-Country", "US"); break;
+                case 14: headers.put("Via", "2.0 " + random.hex(32) + ".cloudfront.net (CloudFront)"); break;
+                case 15: headers.put("X-Amz-Cf-Id", random.alphanumeric(54) + "=="); break;
+                default: headers.put("X-Custom-Header-" + (i - 16), random.alphanumeric(16));
+            }
+        }
+        return headers;
+    }
+
+    static Map<String, String> response(RandomData random, int count) {
+        Map<String, String> headers = new LinkedHashMap<String, String>();
+        for (int i = 0; headers.size() < count; i++) {
+            switch (i) {
+                case 0: headers.put("Content-Type", "application/json"); break;
+                case 1: headers.put("Cache-Control", "no-cache"); break;
+                case 2: headers.put("X-Request-Id", random.uuid()); break;
+                case 3: headers.put("Strict-Transport-Security", "max-age=31536000; includeSubDomains"); break;
+                case 4: headers.put("X-Content-Type-Options", "nosniff"); break;
+                default: headers.put("X-Custom-Header-" + (i - 5), random.alphanumeric(16));
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,37 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+
+import com.amazonaws.services.lambda.runtime.events.IoTButtonEvent;
+
+/**
+ * AWS IoT button presses
+ */
+final class IoTButtonEventGenerator extends SingleEventGenerator<IoTButtonEvent> {
+
+    private static final String[] CLICK_TYPES = {"SINGLE", "DOUBLE", "LONG"};
+
+    IoTButtonEventGenerator(GeneratorSettings settings) {
+        super(IoTButtonEvent.class, settings);
+    }
+
+    @Override
+    IoTButtonEvent newEvent(RandomData random) {
+        IoTButtonEvent event = new IoTButtonEvent();
+        event.setSerialNumber("G030" + random.alphanumeric(12).toUpperCase());
+        event.setClickType(random.pick(CLICK_TYPES));
+        event.setBatteryVoltage(random.nextInt(1500, 2100) + "mV");
+        return event;
+    }
+
+    @Override
+    void writeEvent(JsonWriter json, IoTButtonEvent event) throws IOException {
+        json.beginObject()
+                .field("serialNumber", event.getSerialNumber())
+                .field("clickType", event.getClickType())
+                .field("batteryVoltage", event.getBatteryVoltage())
+                .endObject();
+    }
+}
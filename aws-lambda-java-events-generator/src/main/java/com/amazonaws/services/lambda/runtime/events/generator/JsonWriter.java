@@ -0,0 +1,285 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal streaming JSON writer. It inserts separators but does not validate
+ * nesting; the generators that drive it always produce well formed output.
+ */
+final class JsonWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    // first[depth] is true until the current object or array has its first member
+    private boolean[] first = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    JsonWriter beginObject() throws IOException {
+        beforeValue();
+        out.write('{');
+        push();
+        return this;
+    }
+
+    JsonWriter endObject() throws IOException {
+        out.write('}');
+        depth--;
+        return this;
+    }
+
+    JsonWriter beginArray() throws IOException {
+        beforeValue();
+        out.write('[');
+        push();
+        return this;
+    }
+
+    JsonWriter endArray() throws IOException {
+        out.write(']');
+        depth--;
+        return this;
+    }
+
+    JsonWriter name(String name) throws IOException {
+        separator();
+        string(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        string(value);
+        return this;
+    }
+
+    JsonWriter value(long value) throws IOException {
+        beforeValue();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        out.write(value.toString());
+        return this;
+    }
+
+    JsonWriter value(Boolean value) throws IOException {
+        return value == null ? nullValue() : value(value.booleanValue());
+    }
+
+    /**
+     * Writes a base64 string for the remaining bytes of the buffer, leaving its position unchanged
+     */
+    JsonWriter value(ByteBuffer value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        out.write('"');
+        out.write(Base64.getEncoder().encodeToString(bytes(value)));
+        out.write('"');
+        return this;
+    }
+
+    /**
+     * Writes milliseconds as fractional epoch seconds, the way Kinesis and DynamoDB streams do
+     */
+    JsonWriter epochSeconds(long millis) throws IOException {
+        beforeValue();
+        out.write(Long.toString(millis / 1000));
+        long fraction = millis % 1000;
+        if (fraction != 0) {
+            out.write('.');
+            out.write((char) ('0' + fraction / 100));
+            out.write((char) ('0' + fraction / 10 % 10));
+            out.write((char) ('0' + fraction % 10));
+        }
+        return this;
+    }
+
+    JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.write("null");
+        return this;
+    }
+
+    JsonWriter field(String name, String value) throws IOException {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, long value) throws IOException {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, Number value) throws IOException {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, Boolean value) throws IOException {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, ByteBuffer value) throws IOException {
+        return name(name).value(value);
+    }
+
+    JsonWriter stringMap(String name, Map<String, String> map) throws IOException {
+        name(name);
+        if (map == null) {
+            return nullValue();
+        }
+        beginObject();
+        for (Map.Entry<String, String> e : map.entrySet()) {
+            field(e.getKey(), e.getValue());
+        }
+        return endObject();
+    }
+
+    JsonWriter stringList(List<String> list) throws IOException {
+        if (list == null) {
+            return nullValue();
+        }
+        beginArray();
+        for (String s : list) {
+            value(s);
+        }
+        return endArray();
+    }
+
+    JsonWriter stringListMap(String name, Map<String, List<String>> map) throws IOException {
+        name(name);
+        if (map == null) {
+            return nullValue();
+        }
+        beginObject();
+        for (Map.Entry<String, List<String>> e : map.entrySet()) {
+            name(e.getKey()).stringList(e.getValue());
+        }
+        return endObject();
+    }
+
+    /**
+     * Writes strings, numbers, booleans, maps and lists, as found in free-form event fields
+     */
+    @SuppressWarnings("unchecked")
+    JsonWriter object(Object value) throws IOException {
+        if (value == null || value instanceof String) {
+            return value((String) value);
+        }
+        if (value instanceof Number) {
+            return value((Number) value);
+        }
+        if (value instanceof Boolean) {
+            return value((Boolean) value);
+        }
+        if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<String, Object> e : ((Map<String, Object>) value).entrySet()) {
+                name(e.getKey()).object(e.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof List) {
+            beginArray();
+            for (Object o : (List<Object>) value) {
+                object(o);
+            }
+            return endArray();
+        }
+        return value(value.toString());
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    static byte[] bytes(ByteBuffer buffer) {
+        ByteBuffer b = buffer.duplicate();
+        byte[] bytes = new byte[b.remaining()];
+        b.get(bytes);
+        return bytes;
+    }
+
+    private void push() {
+        if (++depth == first.length) {
+            first = Arrays.copyOf(first, depth * 2);
+        }
+        first[depth] = true;
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+        } else {
+            separator();
+        }
+    }
+
+    private void separator() throws IOException {
+        if (depth > 0) {
+            if (first[depth]) {
+                first[depth] = false;
+            } else {
+                out.write(',');
+            }
+        }
+    }
+
+    private void string(String s) throws IOException {
+        out.write('"');
+        int start = 0;
+        int len = s.length();
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            out.write(s, start, i - start);
+            start = i + 1;
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                case '\b': out.write("\\b"); break;
+                case '\f': out.write("\\f"); break;
+                default:
+                    out.write("\\u00");
+                    out.write(HEX[c >> 4]);
+                    out.write(HEX[c & 0xF]);
+            }
+        }
+        out.write(s, start, len - start);
+        out.write('"');
+    }
+}
@@ -0,0 +1,69 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsFirehoseInputPreprocessingEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsFirehoseInputPreprocessingEvent.Record;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsFirehoseInputPreprocessingEvent.Record.KinesisFirehoseRecordMetadata;
+
+/**
+ * Kinesis Analytics preprocessing batches read from a Firehose delivery stream
+ */
+final class KinesisAnalyticsFirehoseInputPreprocessingEventGenerator
+        extends BatchEventGenerator<KinesisAnalyticsFirehoseInputPreprocessingEvent, Record> {
+
+    private final String applicationArn;
+    private final String streamArn;
+    private final String recordPrefix;
+
+    KinesisAnalyticsFirehoseInputPreprocessingEventGenerator(GeneratorSettings settings) {
+        super(KinesisAnalyticsFirehoseInputPreprocessingEvent.class, settings);
+        RandomData random = random(2);
+        String region = random.region();
+        String account = random.accountId();
+        this.applicationArn = "arn:aws:kinesisanalytics:" + region + ":" + account + ":application/application-"
+                + random.alphanumeric(8);
+        this.streamArn = "arn:aws:firehose:" + region + ":" + account + ":deliverystream/delivery-stream-"
+                + random.alphanumeric(8);
+        this.recordPrefix = "4957" + random.digits(32);
+    }
+
+    @Override
+    KinesisAnalyticsFirehoseInputPreprocessingEvent newEvent(RandomData random, List<Record> records) {
+        return new KinesisAnalyticsFirehoseInputPreprocessingEvent(random.uuid(), applicationArn, streamArn, records);
+    }
+
+    @Override
+    Record newRecord(RandomData random, int index) {
+        return new Record(recordPrefix + String.format("%020d", index),
+                new KinesisFirehoseRecordMetadata(RandomData.BASE_EPOCH_MILLIS + index * 5L + random.nextInt(5)),
+                ByteBuffer.wrap(random.documentBytes(settings.getPayloadSize(), index)));
+    }
+
+    @Override
+    void writeEnvelope(JsonWriter json, KinesisAnalyticsFirehoseInputPreprocessingEvent event) throws IOException {
+        json.field("invocationId", event.getInvocationId())
+                .field("applicationArn", event.getApplicationArn())
+                .field("streamArn", event.getStreamArn());
+    }
+
+    @Override
+    String recordsField() {
+        return "records";
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, Record record) throws IOException {
+        json.beginObject()
+                .field("recordId", record.getRecordId())
+                .name("kinesisFirehoseRecordMetadata").beginObject()
+                .field("approximateArrivalTimestamp", record.getKinesisFirehoseRecordMetadata().getApproximateArrivalTimestamp())
+                .endObject()
+                .field("data", record.getData())
+                .endObject();
+    }
+}
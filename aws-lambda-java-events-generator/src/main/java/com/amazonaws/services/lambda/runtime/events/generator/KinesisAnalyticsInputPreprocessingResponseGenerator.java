@@ -0,0 +1,56 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsInputPreprocessingResponse;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsInputPreprocessingResponse.Record;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsInputPreprocessingResponse.Result;
+
+/**
+ * Responses of a Kinesis Analytics preprocessing function, mostly Ok with some
+ * records dropped or failed
+ */
+final class KinesisAnalyticsInputPreprocessingResponseGenerator
+        extends BatchEventGenerator<KinesisAnalyticsInputPreprocessingResponse, Record> {
+
+    private final String recordPrefix;
+
+    KinesisAnalyticsInputPreprocessingResponseGenerator(GeneratorSettings settings) {
+        super(KinesisAnalyticsInputPreprocessingResponse.class, settings);
+        this.recordPrefix = "4957" + random(2).digits(32);
+    }
+
+    @Override
+    KinesisAnalyticsInputPreprocessingResponse newEvent(RandomData random, List<Record> records) {
+        return new KinesisAnalyticsInputPreprocessingResponse(records);
+    }
+
+    @Override
+    Record newRecord(RandomData random, int index) {
+        int roll = random.nextInt(100);
+        Result result = roll < 90 ? Result.Ok : roll < 97 ? Result.Dropped : Result.ProcessingFailed;
+        ByteBuffer data = result == Result.Ok
+                ? ByteBuffer.wrap(random.documentBytes(settings.getPayloadSize(), index)) : null;
+        return new Record(recordPrefix + String.format("%020d", index), result, data);
+    }
+
+    @Override
+    String recordsField() {
+        return "records";
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, Record record) throws IOException {
+        json.beginObject()
+                .field("recordId", record.getRecordId())
+                .field("result", record.getResult().name());
+        if (record.getData() != null) {
+            json.field("data", record.getData());
+        }
+        json.endObject();
+    }
+}
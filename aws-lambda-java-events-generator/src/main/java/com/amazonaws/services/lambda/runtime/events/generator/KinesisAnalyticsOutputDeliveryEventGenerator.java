@@ -0,0 +1,64 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryEvent.Record;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryEvent.Record.LambdaDeliveryRecordMetadata;
+
+/**
+ * Kinesis Analytics output batches delivered to a Lambda destination. A few records
+ * are retries.
+ */
+final class KinesisAnalyticsOutputDeliveryEventGenerator
+        extends BatchEventGenerator<KinesisAnalyticsOutputDeliveryEvent, Record> {
+
+    private final String applicationArn;
+    private final String recordPrefix;
+
+    KinesisAnalyticsOutputDeliveryEventGenerator(GeneratorSettings settings) {
+        super(KinesisAnalyticsOutputDeliveryEvent.class, settings);
+        RandomData random = random(2);
+        this.applicationArn = "arn:aws:kinesisanalytics:" + random.region() + ":" + random.accountId()
+                + ":application/application-" + random.alphanumeric(8);
+        this.recordPrefix = random.uuid() + "-";
+    }
+
+    @Override
+    KinesisAnalyticsOutputDeliveryEvent newEvent(RandomData random, List<Record> records) {
+        return new KinesisAnalyticsOutputDeliveryEvent(random.uuid(), applicationArn, records);
+    }
+
+    @Override
+    Record newRecord(RandomData random, int index) {
+        return new Record(recordPrefix + index,
+                new LambdaDeliveryRecordMetadata(random.chance(0.02) ? 1 : 0),
+                ByteBuffer.wrap(random.documentBytes(settings.getPayloadSize(), index)));
+    }
+
+    @Override
+    void writeEnvelope(JsonWriter json, KinesisAnalyticsOutputDeliveryEvent event) throws IOException {
+        json.field("invocationId", event.getInvocationId())
+                .field("applicationArn", event.getApplicationArn());
+    }
+
+    @Override
+    String recordsField() {
+        return "records";
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, Record record) throws IOException {
+        json.beginObject()
+                .field("recordId", record.getRecordId())
+                .name("lambdaDeliveryRecordMetadata").beginObject()
+                .field("retryHint", record.getLambdaDeliveryRecordMetadata().getRetryHint())
+                .endObject()
+                .field("data", record.getData())
+                .endObject();
+    }
+}
@@ -0,0 +1,47 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryResponse;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryResponse.Record;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryResponse.Result;
+
+/**
+ * Responses of a Kinesis Analytics output function, with a few failed deliveries
+ */
+final class KinesisAnalyticsOutputDeliveryResponseGenerator
+        extends BatchEventGenerator<KinesisAnalyticsOutputDeliveryResponse, Record> {
+
+    private final String recordPrefix;
+
+    KinesisAnalyticsOutputDeliveryResponseGenerator(GeneratorSettings settings) {
+        super(KinesisAnalyticsOutputDeliveryResponse.class, settings);
+        this.recordPrefix = random(2).uuid() + "-";
+    }
+
+    @Override
+    KinesisAnalyticsOutputDeliveryResponse newEvent(RandomData random, List<Record> records) {
+        return new KinesisAnalyticsOutputDeliveryResponse(records);
+    }
+
+    @Override
+    Record newRecord(RandomData random, int index) {
+        return new Record(recordPrefix + index, random.chance(0.03) ? Result.DeliveryFailed : Result.Ok);
+    }
+
+    @Override
+    String recordsField() {
+        return "records";
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, Record record) throws IOException {
+        json.beginObject()
+                .field("recordId", record.getRecordId())
+                .field("result", record.getResult().name())
+                .endObject();
+    }
+}
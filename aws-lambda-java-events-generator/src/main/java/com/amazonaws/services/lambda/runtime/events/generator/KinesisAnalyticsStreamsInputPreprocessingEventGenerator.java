@@ -0,0 +1,76 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsStreamsInputPreprocessingEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsStreamsInputPreprocessingEvent.Record;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsStreamsInputPreprocessingEvent.Record.KinesisStreamRecordMetadata;
+
+/**
+ * Kinesis Analytics preprocessing batches read from a Kinesis stream
+ */
+final class KinesisAnalyticsStreamsInputPreprocessingEventGenerator
+        extends BatchEventGenerator<KinesisAnalyticsStreamsInputPreprocessingEvent, Record> {
+
+    private final String applicationArn;
+    private final String streamArn;
+    private final String shardId;
+    private final String sequencePrefix;
+
+    KinesisAnalyticsStreamsInputPreprocessingEventGenerator(GeneratorSettings settings) {
+        super(KinesisAnalyticsStreamsInputPreprocessingEvent.class, settings);
+        RandomData random = random(2);
+        String region = random.region();
+        String account = random.accountId();
+        this.applicationArn = "arn:aws:kinesisanalytics:" + region + ":" + account + ":application/application-"
+                + random.alphanumeric(8);
+        this.streamArn = "arn:aws:kinesis:" + region + ":" + account + ":stream/stream-" + random.alphanumeric(8);
+        this.shardId = String.format("shardId-%012d", random.nextInt(64));
+        this.sequencePrefix = "4957" + random.digits(32);
+    }
+
+    @Override
+    KinesisAnalyticsStreamsInputPreprocessingEvent newEvent(RandomData random, List<Record> records) {
+        return new KinesisAnalyticsStreamsInputPreprocessingEvent(random.uuid(), applicationArn, streamArn, records);
+    }
+
+    @Override
+    Record newRecord(RandomData random, int index) {
+        String sequenceNumber = sequencePrefix + String.format("%020d", index * 16L + random.nextInt(16));
+        KinesisStreamRecordMetadata metadata = new KinesisStreamRecordMetadata(sequenceNumber,
+                "key-" + key(random), shardId, RandomData.BASE_EPOCH_MILLIS + index * 5L + random.nextInt(5));
+        return new Record(sequenceNumber, metadata,
+                ByteBuffer.wrap(random.documentBytes(settings.getPayloadSize(), index)));
+    }
+
+    @Override
+    void writeEnvelope(JsonWriter json, KinesisAnalyticsStreamsInputPreprocessingEvent event) throws IOException {
+        json.field("invocationId", event.getInvocationId())
+                .field("applicationArn", event.getApplicationArn())
+                .field("streamArn", event.getStreamArn());
+    }
+
+    @Override
+    String recordsField() {
+        return "records";
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, Record record) throws IOException {
+        KinesisStreamRecordMetadata metadata = record.getKinesisStreamRecordMetadata();
+        json.beginObject()
+                .field("recordId", record.getRecordId())
+                .name("kinesisStreamRecordMetadata").beginObject()
+                .field("sequenceNumber", metadata.getSequenceNumber())
+                .field("partitionKey", metadata.getPartitionKey())
+                .field("shardId", metadata.getShardId())
+                .field("approximateArrivalTimestamp", metadata.getApproximateArrivalTimestamp())
+                .endObject()
+                .field("data", record.getData())
+                .endObject();
+    }
+}
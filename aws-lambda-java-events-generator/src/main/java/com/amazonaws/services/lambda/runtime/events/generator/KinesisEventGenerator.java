@@ -0,0 +1,85 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.List;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent.KinesisEventRecord;
+
+/**
+ * Kinesis batches. As in Lambda, every record of a batch comes from one shard and
+ * sequence numbers increase; partition keys are drawn from the configured cardinality.
+ */
+final class KinesisEventGenerator extends BatchEventGenerator<KinesisEvent, KinesisEventRecord> {
+
+    private final String region;
+    private final String streamArn;
+    private final String roleArn;
+    private final String shardId;
+    private final String sequencePrefix;
+
+    KinesisEventGenerator(GeneratorSettings settings) {
+        super(KinesisEvent.class, settings);
+        RandomData random = random(2);
+        this.region = random.region();
+        String account = random.accountId();
+        this.streamArn = "arn:aws:kinesis:" + region + ":" + account + ":stream/stream-" + random.alphanumeric(8);
+        this.roleArn = "arn:aws:iam::" + account + ":role/lambda-role";
+        this.shardId = String.format("shardId-%012d", random.nextInt(64));
+        this.sequencePrefix = "4959" + random.digits(32);
+    }
+
+
+    @Override
+    KinesisEventRecord newRecord(RandomData random, int index) {
+        KinesisEvent.Record kinesis = new KinesisEvent.Record();
+        kinesis.setKinesisSchemaVersion("1.0");
+        kinesis.setPartitionKey("key-" + key(random));
+        kinesis.setSequenceNumber(sequencePrefix + String.format("%020d", index * 16L + random.nextInt(16)));
+        kinesis.setData(ByteBuffer.wrap(random.documentBytes(settings.getPayloadSize(), index)));
+        kinesis.setApproximateArrivalTimestamp(new Date(RandomData.BASE_EPOCH_MILLIS + index * 5L + random.nextInt(5)));
+
+        KinesisEventRecord record = new KinesisEventRecord();
+        record.setKinesis(kinesis);
+        record.setEventSource("aws:kinesis");
+        record.setEventVersion("1.0");
+        record.setEventID(shardId + ":" + kinesis.getSequenceNumber());
+        record.setEventName("aws:kinesis:record");
+        record.setInvokeIdentityArn(roleArn);
+        record.setAwsRegion(region);
+        record.setEventSourceARN(streamArn);
+        return record;
+    }
+
+    @Override
+    KinesisEvent newEvent(RandomData random, List<KinesisEventRecord> records) {
+        KinesisEvent event = new KinesisEvent();
+        event.setRecords(records);
+        return event;
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, KinesisEventRecord record) throws IOException {
+        KinesisEvent.Record kinesis = record.getKinesis();
+        json.beginObject()
+                .name("kinesis").beginObject()
+                .field("kinesisSchemaVersion", kinesis.getKinesisSchemaVersion())
+                .field("partitionKey", kinesis.getPartitionKey())
+                .field("sequenceNumber", kinesis.getSequenceNumber())
+                .field("data", kinesis.getData())
+                .name("approximateArrivalTimestamp").epochSeconds(kinesis.getApproximateArrivalTimestamp().getTime())
+                .endObject()
+                .field("eventSource", record.getEventSource())
+                .field("eventVersion", record.getEventVersion())
+                .field("eventID", record.getEventID())
+                .field("eventName", record.getEventName())
+                .field("invokeIdentityArn", record.getInvokeIdentityArn())
+                .field("awsRegion", record.getAwsRegion())
+                .field("eventSourceARN", record.getEventSourceARN())
+                .endObject();
+    }
+}
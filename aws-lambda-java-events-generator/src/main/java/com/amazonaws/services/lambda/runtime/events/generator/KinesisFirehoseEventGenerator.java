@@ -0,0 +1,86 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisFirehoseEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisFirehoseEvent.Record;
+
+/**
+ * Firehose transformation batches read from a Kinesis stream, so every record carries
+ * its source metadata. Multi-megabyte invocations are obtained with a large record
+ * count or payload size; {@link #writeJson(java.io.OutputStream)} streams them.
+ */
+final class KinesisFirehoseEventGenerator extends BatchEventGenerator<KinesisFirehoseEvent, Record> {
+
+    private final String region;
+    private final String deliveryStreamArn;
+    private final String shardId;
+    private final String sequencePrefix;
+
+    KinesisFirehoseEventGenerator(GeneratorSettings settings) {
+        super(KinesisFirehoseEvent.class, settings);
+        RandomData random = random(2);
+        this.region = random.region();
+        this.deliveryStreamArn = "arn:aws:firehose:" + region + ":" + random.accountId()
+                + ":deliverystream/delivery-stream-" + random.alphanumeric(8);
+        this.shardId = String.format("shardId-%012d", random.nextInt(64));
+        this.sequencePrefix = "4954" + random.digits(32);
+    }
+
+    @Override
+    KinesisFirehoseEvent newEvent(RandomData random, List<Record> records) {
+        KinesisFirehoseEvent event = new KinesisFirehoseEvent();
+        event.setInvocationId(random.uuid());
+        event.setDeliveryStreamArn(deliveryStreamArn);
+        event.setRegion(region);
+        event.setRecords(records);
+        return event;
+    }
+
+    @Override
+    Record newRecord(RandomData random, int index) {
+        long arrival = RandomData.BASE_EPOCH_MILLIS + index * 5L + random.nextInt(5);
+        String sequenceNumber = sequencePrefix + String.format("%020d", index * 16L + random.nextInt(16));
+        Map<String, String> metadata = new LinkedHashMap<String, String>();
+        metadata.put("shardId", shardId);
+        metadata.put("partitionKey", "key-" + key(random));
+        metadata.put("approximateArrivalTimestamp", Long.toString(arrival));
+        metadata.put("sequenceNumber", sequenceNumber);
+        metadata.put("subsequenceNumber", "");
+
+        Record record = new Record();
+        record.setRecordId(sequenceNumber + "000000000000000000" + index % 10);
+        record.setApproximateArrivalTimestamp(arrival);
+        record.setData(ByteBuffer.wrap(random.documentBytes(settings.getPayloadSize(), index)));
+        record.setKinesisRecordMetadata(metadata);
+        return record;
+    }
+
+    @Override
+    void writeEnvelope(JsonWriter json, KinesisFirehoseEvent event) throws IOException {
+        json.field("invocationId", event.getInvocationId())
+                .field("deliveryStreamArn", event.getDeliveryStreamArn())
+                .field("region", event.getRegion());
+    }
+
+    @Override
+    String recordsField() {
+        return "records";
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, Record record) throws IOException {
+        json.beginObject()
+                .field("recordId", record.getRecordId())
+                .field("approximateArrivalTimestamp", record.getApproximateArrivalTimestamp())
+                .field("data", record.getData())
+                .stringMap("kinesisRecordMetadata", record.getKinesisRecordMetadata())
+                .endObject();
+    }
+}
@@ -0,0 +1,74 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.events.LexEvent;
+import com.amazonaws.services.lambda.runtime.events.LexEvent.Bot;
+import com.amazonaws.services.lambda.runtime.events.LexEvent.CurrentIntent;
+
+/**
+ * Amazon Lex fulfillment hooks, with one slot and one session attribute per
+ * configured attribute
+ */
+final class LexEventGenerator extends SingleEventGenerator<LexEvent> {
+
+    LexEventGenerator(GeneratorSettings settings) {
+        super(LexEvent.class, settings);
+    }
+
+    @Override
+    LexEvent newEvent(RandomData random) {
+        Map<String, String> slots = new LinkedHashMap<String, String>();
+        Map<String, String> session = new LinkedHashMap<String, String>();
+        for (int i = 0; i < settings.getAttributeCount(); i++) {
+            slots.put("Slot" + i, random.text(10));
+            session.put("attribute" + i, random.alphanumeric(12));
+        }
+        LexEvent event = new LexEvent();
+        // Bot and CurrentIntent are inner, not nested, classes of LexEvent
+        CurrentIntent intent = event.new CurrentIntent();
+        intent.setName("Intent" + random.alphanumeric(6));
+        intent.setSlots(slots);
+        intent.setConfirmationStatus("None");
+        Bot bot = event.new Bot();
+        bot.setName("Bot" + random.alphanumeric(6));
+        bot.setAlias("$LATEST");
+        bot.setVersion("$LATEST");
+
+        event.setMessageVersion("1.0");
+        event.setInvocationSource("FulfillmentCodeHook");
+        event.setUserId("user-" + random.alphanumeric(10));
+        event.setSessionAttributes(session);
+        event.setOutputDialogMode("Text");
+        event.setCurrentIntent(intent);
+        event.setBot(bot);
+        return event;
+    }
+
+    @Override
+    void writeEvent(JsonWriter json, LexEvent event) throws IOException {
+        CurrentIntent intent = event.getCurrentIntent();
+        Bot bot = event.getBot();
+        json.beginObject()
+                .field("messageVersion", event.getMessageVersion())
+                .field("invocationSource", event.getInvocationSource())
+                .field("userId", event.getUserId())
+                .stringMap("sessionAttributes", event.getSessionAttributes())
+                .field("outputDialogMode", event.getOutputDialogMode())
+                .name("currentIntent").beginObject()
+                .field("name", intent.getName())
+                .stringMap("slots", intent.getSlots())
+                .field("confirmationStatus", intent.getConfirmationStatus())
+                .endObject()
+                .name("bot").beginObject()
+                .field("name", bot.getName())
+                .field("alias", bot.getAlias())
+                .field("version", bot.getVersion())
+                .endObject()
+                .endObject();
+    }
+}
@@ -0,0 +1,154 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded source of the identifiers, names and payloads events are made of.
+ * Only ASCII is produced, so the length of every string is also its UTF-8 size.
+ */
+final class RandomData {
+
+    /**
+     * 2019-09-01T00:00:00Z, the instant generated timestamps start from
+     */
+    static final long BASE_EPOCH_MILLIS = 1567296000000L;
+
+    static final String[] REGIONS = {
+            "us-east-1", "us-east-2", "us-west-2", "eu-west-1", "eu-central-1", "ap-northeast-1"
+    };
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final char[] ALPHANUMERIC =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+    private static final String[] WORDS = {
+            "lorem", "ipsum", "dolor", "sit", "amet", "order", "customer", "device", "reading",
+            "status", "created", "updated", "shipped", "payment", "invoice", "region", "latency"
+    };
+
+    private final SplittableRandom random;
+
+    RandomData(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Returns an independent sequence, so that the envelope of a batch and its records
+     * can be produced in any order and still come out the same
+     */
+    static RandomData forStream(long seed, int stream) {
+        return new RandomData(seed * 0x9E3779B97F4A7C15L + stream);
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    int nextInt(int origin, int bound) {
+        return random.nextInt(origin, bound);
+    }
+
+    long nextLong() {
+        return random.nextLong();
+    }
+
+    double nextDouble() {
+        return random.nextDouble();
+    }
+
+    boolean chance(double probability) {
+        return random.nextDouble() < probability;
+    }
+
+    <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    String region() {
+        return pick(REGIONS);
+    }
+
+    String accountId() {
+        return digits(12);
+    }
+
+    String uuid() {
+        char[] c = new char[36];
+        int j = 0;
+        for (int i = 0; i < 32; i++) {
+            if (i == 8 || i == 12 || i == 16 || i == 20) {
+                c[j++] = '-';
+            }
+            c[j++] = HEX[i == 12 ? 4 : i == 16 ? 8 + random.nextInt(4) : random.nextInt(16)];
+        }
+        return new String(c);
+    }
+
+    String hex(int length) {
+        return fill(HEX, length);
+    }
+
+    String alphanumeric(int length) {
+        return fill(ALPHANUMERIC, length);
+    }
+
+    String digits(int length) {
+        char[] c = new char[length];
+        for (int i = 0; i < length; i++) {
+            c[i] = (char) ('0' + random.nextInt(10));
+        }
+        if (length > 0 && c[0] == '0') {
+            c[0] = '1';
+        }
+        return new String(c);
+    }
+
+    String ipv4() {
+        return random.nextInt(1, 224) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(1, 255);
+    }
+
+    /**
+     * Returns space separated words, exactly length characters long
+     */
+    String text(int length) {
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(pick(WORDS));
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    /**
+     * Returns a small JSON document exactly size bytes long, or plain text when size is
+     * too small to hold one. Records carry these as their body or data blob.
+     */
+    String document(int size, int index) {
+        StringBuilder sb = new StringBuilder(size + 16);
+        sb.append("{\"id\":\"").append(uuid()).append("\",\"seq\":").append(index)
+                .append(",\"status\":\"").append(pick(WORDS)).append("\",\"data\":\"");
+        int filler = size - sb.length() - 2;
+        if (filler < 0) {
+            return alphanumeric(size);
+        }
+        sb.append(fill(ALPHANUMERIC, filler)).append("\"}");
+        return sb.toString();
+    }
+
+    byte[] documentBytes(int size, int index) {
+        return document(size, index).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private String fill(char[] alphabet, int length) {
+        char[] c = new char[length];
+        for (int i = 0; i < length; i++) {
+            c[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return new String(c);
+    }
+}
@@ -0,0 +1,99 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import com.amazonaws.services.lambda.runtime.events.S3Event;
+import com.amazonaws.services.s3.event.S3EventNotification.RequestParametersEntity;
+import com.amazonaws.services.s3.event.S3EventNotification.ResponseElementsEntity;
+import com.amazonaws.services.s3.event.S3EventNotification.S3BucketEntity;
+import com.amazonaws.services.s3.event.S3EventNotification.S3Entity;
+import com.amazonaws.services.s3.event.S3EventNotification.S3EventNotificationRecord;
+import com.amazonaws.services.s3.event.S3EventNotification.S3ObjectEntity;
+import com.amazonaws.services.s3.event.S3EventNotification.UserIdentityEntity;
+
+/**
+ * S3 object created notifications for one bucket. The payload size is used as the
+ * object size.
+ */
+final class S3EventGenerator extends BatchEventGenerator<S3Event, S3EventNotificationRecord> {
+
+    private final String region;
+    private final String bucket;
+    private final String owner;
+    private final String configurationId;
+
+    S3EventGenerator(GeneratorSettings settings) {
+        super(S3Event.class, settings);
+        RandomData random = random(2);
+        this.region = random.region();
+        this.bucket = "bucket-" + random.hex(16);
+        this.owner = random.alphanumeric(14).toUpperCase();
+        this.configurationId = random.uuid();
+    }
+
+    @Override
+    S3Event newEvent(RandomData random, List<S3EventNotificationRecord> records) {
+        return new S3Event(records);
+    }
+
+    @Override
+    S3EventNotificationRecord newRecord(RandomData random, int index) {
+        String eventTime = new DateTime(RandomData.BASE_EPOCH_MILLIS + index * 10L, DateTimeZone.UTC).toString();
+        S3ObjectEntity object = new S3ObjectEntity("objects/key-" + key(random) + "/" + random.uuid() + ".json",
+                (long) settings.getPayloadSize(), random.hex(32), null, random.hex(18).toUpperCase());
+        S3Entity s3 = new S3Entity(configurationId,
+                new S3BucketEntity(bucket, new UserIdentityEntity(owner), "arn:aws:s3:::" + bucket), object, "1.0");
+        return new S3EventNotificationRecord(region, "ObjectCreated:Put", "aws:s3", eventTime, "2.1",
+                new RequestParametersEntity(random.ipv4()),
+                new ResponseElementsEntity(random.alphanumeric(76), random.hex(16).toUpperCase()),
+                s3,
+                new UserIdentityEntity("AWS:AIDA" + random.alphanumeric(17).toUpperCase()));
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, S3EventNotificationRecord record) throws IOException {
+        S3Entity s3 = record.getS3();
+        S3BucketEntity bucket = s3.getBucket();
+        S3ObjectEntity object = s3.getObject();
+        json.beginObject()
+                .field("eventVersion", record.getEventVersion())
+                .field("eventSource", record.getEventSource())
+                .field("awsRegion", record.getAwsRegion())
+                .field("eventTime", record.getEventTime().toString())
+                .field("eventName", record.getEventName())
+                .name("userIdentity").beginObject()
+                .field("principalId", record.getUserIdentity().getPrincipalId())
+                .endObject()
+                .name("requestParameters").beginObject()
+                .field("sourceIPAddress", record.getRequestParameters().getSourceIPAddress())
+                .endObject()
+                .name("responseElements").beginObject()
+                .field("x-amz-request-id", record.getResponseElements().getxAmzRequestId())
+                .field("x-amz-id-2", record.getResponseElements().getxAmzId2())
+                .endObject()
+                .name("s3").beginObject()
+                .field("s3SchemaVersion", s3.getS3SchemaVersion())
+                .field("configurationId", s3.getConfigurationId())
+                .name("bucket").beginObject()
+                .field("name", bucket.getName())
+                .name("ownerIdentity").beginObject()
+                .field("principalId", bucket.getOwnerIdentity().getPrincipalId())
+                .endObject()
+                .field("arn", bucket.getArn())
+                .endObject()
+                .name("object").beginObject()
+                .field("key", object.getKey())
+                .field("size", object.getSizeAsLong())
+                .field("eTag", object.geteTag())
+                .field("sequencer", object.getSequencer())
+                .endObject()
+                .endObject()
+                .endObject();
+    }
+}
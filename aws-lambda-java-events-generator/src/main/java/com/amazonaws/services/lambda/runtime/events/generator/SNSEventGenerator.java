@@ -0,0 +1,104 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import com.amazonaws.services.lambda.runtime.events.SNSEvent;
+import com.amazonaws.services.lambda.runtime.events.SNSEvent.MessageAttribute;
+import com.amazonaws.services.lambda.runtime.events.SNSEvent.SNS;
+import com.amazonaws.services.lambda.runtime.events.SNSEvent.SNSRecord;
+
+/**
+ * SNS notifications. Lambda delivers one per invocation, but the record count is
+ * honoured so that the binding cost of larger lists can be measured too.
+ */
+final class SNSEventGenerator extends BatchEventGenerator<SNSEvent, SNSRecord> {
+
+    private final String region;
+    private final String topicArn;
+    private final String subscriptionArn;
+
+    SNSEventGenerator(GeneratorSettings settings) {
+        super(SNSEvent.class, settings);
+        RandomData random = random(2);
+        this.region = random.region();
+        this.topicArn = "arn:aws:sns:" + region + ":" + random.accountId() + ":topic-" + random.alphanumeric(8);
+        this.subscriptionArn = topicArn + ":" + random.uuid();
+    }
+
+    @Override
+    SNSEvent newEvent(RandomData random, List<SNSRecord> records) {
+        SNSEvent event = new SNSEvent();
+        event.setRecords(records);
+        return event;
+    }
+
+    @Override
+    SNSRecord newRecord(RandomData random, int index) {
+        SNS sns = new SNS();
+        sns.setSignatureVersion("1");
+        sns.setTimestamp(new DateTime(RandomData.BASE_EPOCH_MILLIS + index * 10L, DateTimeZone.UTC));
+        sns.setSignature(random.alphanumeric(342) + "==");
+        sns.setSigningCertUrl("https://sns." + region + ".amazonaws.com/SimpleNotificationService-"
+                + random.hex(32) + ".pem");
+        sns.setMessageId(random.uuid());
+        sns.setMessage(random.document(settings.getPayloadSize(), index));
+        Map<String, MessageAttribute> attributes = new LinkedHashMap<String, MessageAttribute>();
+        for (int i = 0; i < settings.getAttributeCount(); i++) {
+            MessageAttribute attribute = new MessageAttribute();
+            attribute.setType("String");
+            attribute.setValue(random.alphanumeric(12));
+            attributes.put("attribute" + i, attribute);
+        }
+        sns.setMessageAttributes(attributes);
+        sns.setType("Notification");
+        sns.setUnsubscribeUrl("https://sns." + region + ".amazonaws.com/?Action=Unsubscribe&SubscriptionArn="
+                + subscriptionArn);
+        sns.setTopicArn(topicArn);
+        sns.setSubject(random.text(20));
+
+        SNSRecord record = new SNSRecord();
+        record.setEventVersion("1.0");
+        record.setEventSubscriptionArn(subscriptionArn);
+        record.setEventSource("aws:sns");
+        record.setSns(sns);
+        return record;
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, SNSRecord record) throws IOException {
+        SNS sns = record.getSNS();
+        json.beginObject()
+                .field("EventVersion", record.getEventVersion())
+                .field("EventSubscriptionArn", record.getEventSubscriptionArn())
+                .field("EventSource", record.getEventSource())
+                .name("Sns").beginObject()
+                .field("SignatureVersion", sns.getSignatureVersion())
+                .field("Timestamp", sns.getTimestamp().toString())
+                .field("Signature", sns.getSignature())
+                .field("SigningCertUrl", sns.getSigningCertUrl())
+                .field("MessageId", sns.getMessageId())
+                .field("Message", sns.getMessage())
+                .name("MessageAttributes").beginObject();
+        for (Map.Entry<String, MessageAttribute> e : sns.getMessageAttributes().entrySet()) {
+            json.name(e.getKey()).beginObject()
+                    .field("Type", e.getValue().getType())
+                    .field("Value", e.getValue().getValue())
+                    .endObject();
+        }
+        json.endObject()
+                .field("Type", sns.getType())
+                .field("UnsubscribeUrl", sns.getUnsubscribeUrl())
+                .field("TopicArn", sns.getTopicArn())
+                .field("Subject", sns.getSubject())
+                .endObject()
+                .endObject();
+    }
+}
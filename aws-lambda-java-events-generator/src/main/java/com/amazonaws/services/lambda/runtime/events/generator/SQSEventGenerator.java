@@ -0,0 +1,131 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent.MessageAttribute;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
+
+/**
+ * SQS batches. Bodies are JSON documents of the configured payload size, with a
+ * matching MD5. FIFO batches carry MessageGroupId, one group per ordering key.
+ */
+final class SQSEventGenerator extends BatchEventGenerator<SQSEvent, SQSMessage> {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String region;
+    private final String queueArn;
+    private final String senderId;
+
+    SQSEventGenerator(GeneratorSettings settings) {
+        super(SQSEvent.class, settings);
+        RandomData random = random(2);
+        this.region = random.region();
+        this.queueArn = "arn:aws:sqs:" + region + ":" + random.accountId() + ":queue-" + random.alphanumeric(8)
+                + (settings.isFifo() ? ".fifo" : "");
+        this.senderId = "AIDA" + random.alphanumeric(17).toUpperCase();
+    }
+
+
+    @Override
+    SQSMessage newRecord(RandomData random, int index) {
+        SQSMessage message = new SQSMessage();
+        message.setMessageId(random.uuid());
+        message.setReceiptHandle("AQEB" + random.alphanumeric(152));
+        String body = random.document(settings.getPayloadSize(), index);
+        message.setBody(body);
+        message.setMd5OfBody(md5Hex(body));
+
+        long sent = RandomData.BASE_EPOCH_MILLIS + index * 10L + random.nextInt(10);
+        Map<String, String> attributes = new LinkedHashMap<String, String>();
+        attributes.put("ApproximateReceiveCount", random.chance(0.05) ? "2" : "1");
+        attributes.put("SentTimestamp", Long.toString(sent));
+        attributes.put("SenderId", senderId);
+        attributes.put("ApproximateFirstReceiveTimestamp", Long.toString(sent + random.nextInt(1, 50)));
+        if (settings.isFifo()) {
+            attributes.put("SequenceNumber", "188" + String.format("%017d", index));
+            attributes.put("MessageGroupId", "group-" + key(random));
+            attributes.put("MessageDeduplicationId", random.hex(64));
+        }
+        message.setAttributes(attributes);
+
+        int count = settings.getAttributeCount();
+        Map<String, MessageAttribute> messageAttributes = new LinkedHashMap<String, MessageAttribute>();
+        for (int i = 0; i < count; i++) {
+            MessageAttribute attribute = new MessageAttribute();
+            attribute.setDataType("String");
+            attribute.setStringValue(random.alphanumeric(12));
+            attribute.setStringListValues(Collections.<String>emptyList());
+            attribute.setBinaryListValues(Collections.<java.nio.ByteBuffer>emptyList());
+            messageAttributes.put("attribute" + i, attribute);
+        }
+        message.setMessageAttributes(messageAttributes);
+        if (count > 0) {
+            message.setMd5OfMessageAttributes(random.hex(32));
+        }
+        message.setEventSource("aws:sqs");
+        message.setEventSourceArn(queueArn);
+        message.setAwsRegion(region);
+        return message;
+    }
+
+    @Override
+    SQSEvent newEvent(RandomData random, List<SQSMessage> records) {
+        SQSEvent event = new SQSEvent();
+        event.setRecords(records);
+        return event;
+    }
+
+    @Override
+    void writeRecord(JsonWriter json, SQSMessage message) throws IOException {
+        json.beginObject()
+                .field("messageId", message.getMessageId())
+                .field("receiptHandle", message.getReceiptHandle())
+                .field("body", message.getBody())
+                .stringMap("attributes", message.getAttributes())
+                .name("messageAttributes").beginObject();
+        for (Map.Entry<String, MessageAttribute> e : message.getMessageAttributes().entrySet()) {
+            MessageAttribute attribute = e.getValue();
+            json.name(e.getKey()).beginObject()
+                    .field("stringValue", attribute.getStringValue())
+                    .name("stringListValues").stringList(attribute.getStringListValues())
+                    .name("binaryListValues").beginArray().endArray()
+                    .field("dataType", attribute.getDataType())
+                    .endObject();
+        }
+        json.endObject()
+                .field("md5OfBody", message.getMd5OfBody());
+        if (message.getMd5OfMessageAttributes() != null) {
+            json.field("md5OfMessageAttributes", message.getMd5OfMessageAttributes());
+        }
+        json.field("eventSource", message.getEventSource())
+                .field("eventSourceARN", message.getEventSourceArn())
+                .field("awsRegion", message.getAwsRegion())
+                .endObject();
+    }
+
+    private static String md5Hex(String s) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("MD5").digest(s.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        char[] c = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            c[2 * i] = HEX[(digest[i] >> 4) & 0xF];
+            c[2 * i + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(c);
+    }
+}
@@ -0,0 +1,59 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+
+/**
+ * CloudWatch Events deliveries, with one detail entry per configured attribute
+ */
+final class ScheduledEventGenerator extends SingleEventGenerator<ScheduledEvent> {
+
+    ScheduledEventGenerator(GeneratorSettings settings) {
+        super(ScheduledEvent.class, settings);
+    }
+
+    @Override
+    ScheduledEvent newEvent(RandomData random) {
+        String region = random.region();
+        String account = random.accountId();
+        Map<String, Object> detail = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < settings.getAttributeCount(); i++) {
+            detail.put("field" + i, random.text(12));
+        }
+        ScheduledEvent event = new ScheduledEvent();
+        event.setId(random.uuid());
+        event.setDetailType("Scheduled Event");
+        event.setSource("aws.events");
+        event.setAccount(account);
+        event.setTime(new DateTime(RandomData.BASE_EPOCH_MILLIS + random.nextInt(86400) * 1000L, DateTimeZone.UTC));
+        event.setRegion(region);
+        event.setResources(Collections.singletonList(
+                "arn:aws:events:" + region + ":" + account + ":rule/rule-" + random.alphanumeric(8)));
+        event.setDetail(detail);
+        return event;
+    }
+
+    @Override
+    void writeEvent(JsonWriter json, ScheduledEvent event) throws IOException {
+        json.beginObject()
+                .field("version", "0")
+                .field("id", event.getId())
+                .field("detail-type", event.getDetailType())
+                .field("source", event.getSource())
+                .field("account", event.getAccount())
+                .field("time", event.getTime().toString())
+                .field("region", event.getRegion())
+                .name("resources").stringList(event.getResources())
+                .name("detail").object(event.getDetail())
+                .endObject();
+    }
+}
@@ -0,0 +1,29 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.generator;
+
+import java.io.IOException;
+
+/**
+ * Base of the generators for events that describe a single request or notification
+ */
+abstract class SingleEventGenerator<T> extends EventGenerator<T> {
+
+    SingleEventGenerator(Class<T> eventType, GeneratorSettings settings) {
+        super(eventType, settings);
+    }
+
+    @Override
+    public final T generate() {
+        return newEvent(random(0));
+    }
+
+    @Override
+    final void write(JsonWriter json) throws IOException {
+        writeEvent(json, generate());
+    }
+
+    abstract T newEvent(RandomData random);
+
+    abstract void writeEvent(JsonWriter json, T event) throws IOException;
+}
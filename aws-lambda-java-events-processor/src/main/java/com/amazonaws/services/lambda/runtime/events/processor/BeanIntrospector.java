@@ -0,0 +1,492 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.processor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Finds the JSON properties of the root types and of every bean type reachable from them
+ */
+final class BeanIntrospector {
+
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+    private static final String JSON_CREATOR = "com.fasterxml.jackson.annotation.JsonCreator";
+
+    /**
+     * A property entry of the GenerateCodecs annotation
+     */
+    static final class PropertyOverride {
+        final String json;
+        final boolean ignore;
+        final String encoded;
+
+        PropertyOverride(String json, boolean ignore, String encoded) {
+            this.json = json;
+            this.ignore = ignore;
+            this.encoded = encoded;
+        }
+    }
+
+    private final Elements elements;
+    private final Types types;
+    private final Messager messager;
+    private final Set<String> upperCamelCase;
+    // qualified type name -> lower case property name -> override
+    private final Map<String, Map<String, PropertyOverride>> overrides;
+
+    private final Map<String, BeanModel> beans = new LinkedHashMap<String, BeanModel>();
+    private final Map<String, String> codecNames = new HashMap<String, String>();
+    private final Deque<TypeElement> pending = new ArrayDeque<TypeElement>();
+    private boolean failed;
+
+    BeanIntrospector(Elements elements, Types types, Messager messager, Set<String> upperCamelCase,
+                     Map<String, Map<String, PropertyOverride>> overrides) {
+        this.elements = elements;
+        this.types = types;
+        this.messager = messager;
+        this.upperCamelCase = upperCamelCase;
+        this.overrides = overrides;
+    }
+
+    /**
+     * @return the models of all types needing a codec, or null if an error was reported
+     */
+    Collection<BeanModel> introspect(List<TypeElement> roots) {
+        for (TypeElement root : roots) {
+            enqueue(root);
+        }
+        while (!pending.isEmpty()) {
+            introspect(pending.poll());
+        }
+        return failed ? null : beans.values();
+    }
+
+    private void enqueue(TypeElement type) {
+        String name = type.getQualifiedName().toString();
+        if (!beans.containsKey(name) && !pending.contains(type)) {
+            pending.add(type);
+        }
+    }
+
+    private void introspect(TypeElement type) {
+        String qualifiedName = type.getQualifiedName().toString();
+        if (beans.containsKey(qualifiedName)) {
+            return;
+        }
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !isAccessible(type)) {
+            error(type, "Cannot generate a codec for " + qualifiedName + ": not a public concrete class");
+            return;
+        }
+        String codecName = codecName(type);
+        String clash = codecNames.put(codecName, qualifiedName);
+        if (clash != null) {
+            error(type, "Codec name " + codecName + " is used by both " + clash + " and " + qualifiedName);
+            return;
+        }
+        TypeElement outer = null;
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            outer = (TypeElement) type.getEnclosingElement();
+        }
+
+        DeclaredType declared = (DeclaredType) type.asType();
+        Map<String, ExecutableElement> getters = new LinkedHashMap<String, ExecutableElement>();
+        Map<String, List<ExecutableElement>> setters = new HashMap<String, List<ExecutableElement>>();
+        collectAccessors(type, getters, setters);
+
+        ExecutableElement creator = null;
+        List<String> creatorNames = null;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC) && hasAnnotation(constructor, JSON_CREATOR)) {
+                creator = constructor;
+                creatorNames = parameterNames(constructor);
+            }
+        }
+        if (creator == null) {
+            // a subclass of a type bound through its constructor, such as S3Event, passing the same arguments on
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                ExecutableElement inherited = inheritedCreator(type, constructor);
+                if (constructor.getModifiers().contains(Modifier.PUBLIC) && inherited != null) {
+                    creator = constructor;
+                    creatorNames = parameterNames(inherited);
+                }
+            }
+        }
+        if (creator == null && !hasPublicNoArgConstructor(type)) {
+            error(type, "Cannot generate a codec for " + qualifiedName
+                    + ": it has neither a public no-arg constructor nor a @JsonCreator constructor");
+            return;
+        }
+        if (creator != null && outer != null) {
+            error(type, "Cannot generate a codec for inner class " + qualifiedName + " bound through its constructor");
+            return;
+        }
+        if (creatorNames != null && creatorNames.contains(null)) {
+            error(creator, "Every parameter of a @JsonCreator constructor needs a @JsonProperty name");
+            return;
+        }
+
+        BeanModel bean = new BeanModel(type, elements.getBinaryName(type).toString(), codecName, outer,
+                creator == null ? -1 : creator.getParameters().size());
+        beans.put(qualifiedName, bean);
+        Map<String, PropertyOverride> typeOverrides = overrides.get(qualifiedName);
+        List<String> taken = new ArrayList<String>();
+
+        if (creator != null) {
+            List<? extends TypeMirror> parameterTypes = ((ExecutableType) types.asMemberOf(declared, creator)).getParameterTypes();
+            for (int i = 0; i < creatorNames.size(); i++) {
+                String json = creatorNames.get(i);
+                ValueType readType = classify(parameterTypes.get(i), creator.getParameters().get(i));
+                ExecutableElement getter = getterFor(json, getters);
+                ValueType writeType = getter == null ? null : classify(returnType(declared, getter), getter);
+                if (readType == null || (getter != null && writeType == null)) {
+                    return;
+                }
+                bean.properties.add(new BeanModel.Property(json, readType, writeType,
+                        getter == null ? null : getter.getSimpleName().toString(), null, i, null, false, null));
+                taken.add(json.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        for (Map.Entry<String, ExecutableElement> entry : getters.entrySet()) {
+            ExecutableElement getter = entry.getValue();
+            ExecutableElement setter = setterFor(declared, getter, setters.get(entry.getKey()));
+            if (setter == null || hasAnnotation(getter, JSON_IGNORE) || hasAnnotation(setter, JSON_IGNORE)) {
+                continue;
+            }
+            // the setter decides the name when the two disagree on case, as in getSNS() and setSns()
+            String name = propertyName(setter.getSimpleName().toString().substring(3));
+            PropertyOverride override = typeOverrides == null ? null : typeOverrides.get(name.toLowerCase(Locale.ROOT));
+            if (override != null && override.ignore) {
+                continue;
+            }
+            String json = override != null && !override.json.isEmpty() ? override.json
+                    : annotationValue(getter, JSON_PROPERTY) != null ? annotationValue(getter, JSON_PROPERTY)
+                    : upperCamelCase.contains(qualifiedName) ? Character.toUpperCase(name.charAt(0)) + name.substring(1)
+                    : name;
+            if (taken.contains(json.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            ValueType valueType = classify(returnType(declared, getter), getter);
+            if (valueType == null) {
+                return;
+            }
+            String encoded = override == null || override.encoded.isEmpty() ? null : override.encoded;
+            if (encoded != null && (valueType.kind != ValueType.Kind.BYTE_BUFFER || !hasEncodedAccessors(type, encoded))) {
+                error(getter, "Property " + name + " kept encoded needs to be a ByteBuffer, with " + encoded
+                        + "() and " + encoded + "(ByteBuffer, PayloadArena)");
+                return;
+            }
+            if (valueType.kind == ValueType.Kind.BEAN && valueType.element.getNestingKind() == NestingKind.MEMBER
+                    && !valueType.element.getModifiers().contains(Modifier.STATIC)
+                    && (creator != null || !types.isSubtype(declared, types.erasure(valueType.element.getEnclosingElement().asType())))) {
+                error(getter, "Inner class " + valueType.name() + " can only be a property of its enclosing class");
+                return;
+            }
+            taken.add(json.toLowerCase(Locale.ROOT));
+            ExecutableType setterType = (ExecutableType) types.asMemberOf(declared, setter);
+            boolean overridable = !getter.getModifiers().contains(Modifier.FINAL)
+                    && !setter.getModifiers().contains(Modifier.FINAL)
+                    && setterType.getReturnType().getKind() == TypeKind.VOID;
+            bean.properties.add(new BeanModel.Property(json, valueType, valueType, getter.getSimpleName().toString(),
+                    setter.getSimpleName().toString(), -1, setterType.getParameterTypes().get(0).toString(), overridable, encoded));
+        }
+    }
+
+    private boolean hasEncodedAccessors(TypeElement type, String encoded) {
+        boolean getter = false;
+        boolean setter = false;
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(encoded) && method.getModifiers().contains(Modifier.PUBLIC)) {
+                getter |= method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID;
+                setter |= method.getParameters().size() == 2;
+            }
+        }
+        return getter && setter;
+    }
+
+    private void collectAccessors(TypeElement type, Map<String, ExecutableElement> getters,
+                                  Map<String, List<ExecutableElement>> setters) {
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+                    || ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object")) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            int parameters = method.getParameters().size();
+            TypeMirror returnType = method.getReturnType();
+            if (parameters == 0 && name.startsWith("get") && name.length() > 3 && returnType.getKind() != TypeKind.VOID) {
+                getters.put(propertyName(name.substring(3)).toLowerCase(Locale.ROOT), method);
+            } else if (parameters == 0 && name.startsWith("is") && name.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+                String key = propertyName(name.substring(2)).toLowerCase(Locale.ROOT);
+                if (!getters.containsKey(key)) {
+                    getters.put(key, method);
+                }
+            } else if (parameters == 1 && name.startsWith("set") && name.length() > 3) {
+                String key = propertyName(name.substring(3)).toLowerCase(Locale.ROOT);
+                List<ExecutableElement> candidates = setters.get(key);
+                if (candidates == null) {
+                    candidates = new ArrayList<ExecutableElement>();
+                    setters.put(key, candidates);
+                }
+                candidates.add(method);
+            }
+        }
+    }
+
+    /**
+     * Picks the setter taking the getter's type, or a supertype of it such as a Collection for a List
+     */
+    private ExecutableElement setterFor(DeclaredType declared, ExecutableElement getter, List<ExecutableElement> candidates) {
+        if (candidates == null) {
+            return null;
+        }
+        TypeMirror type = types.erasure(returnType(declared, getter));
+        ExecutableElement assignable = null;
+        for (ExecutableElement setter : candidates) {
+            TypeMirror parameter = types.erasure(((ExecutableType) types.asMemberOf(declared, setter)).getParameterTypes().get(0));
+            if (types.isSameType(type, parameter)) {
+                return setter;
+            }
+            if (assignable == null && types.isAssignable(type, parameter)) {
+                assignable = setter;
+            }
+        }
+        return assignable;
+    }
+
+    private ExecutableElement getterFor(String json, Map<String, ExecutableElement> getters) {
+        for (ExecutableElement getter : getters.values()) {
+            if (json.equals(annotationValue(getter, JSON_PROPERTY))) {
+                return getter;
+            }
+        }
+        ExecutableElement getter = getters.get(json.toLowerCase(Locale.ROOT));
+        return getter == null || hasAnnotation(getter, JSON_IGNORE) || annotationValue(getter, JSON_PROPERTY) != null
+                ? null : getter;
+    }
+
+    private ExecutableElement inheritedCreator(TypeElement type, ExecutableElement constructor) {
+        TypeMirror superclass = type.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+            for (ExecutableElement candidate : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+                if (hasAnnotation(candidate, JSON_CREATOR) && sameParameters(candidate, constructor)) {
+                    return candidate;
+                }
+            }
+            superclass = element.getSuperclass();
+        }
+        return null;
+    }
+
+    private boolean sameParameters(ExecutableElement a, ExecutableElement b) {
+        if (a.getParameters().size() != b.getParameters().size()) {
+            return false;
+        }
+        for (int i = 0; i < a.getParameters().size(); i++) {
+            if (!types.isSameType(types.erasure(a.getParameters().get(i).asType()),
+                    types.erasure(b.getParameters().get(i).asType()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<String> parameterNames(ExecutableElement constructor) {
+        List<String> names = new ArrayList<String>();
+        for (VariableElement parameter : constructor.getParameters()) {
+            names.add(annotationValue(parameter, JSON_PROPERTY));
+        }
+        return names;
+    }
+
+    private ValueType classify(TypeMirror type, Element context) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return new ValueType(ValueType.Kind.BOOLEAN, type, true, null, null);
+            case INT:
+                return new ValueType(ValueType.Kind.INT, type, true, null, null);
+            case LONG:
+                return new ValueType(ValueType.Kind.LONG, type, true, null, null);
+            case FLOAT:
+                return new ValueType(ValueType.Kind.FLOAT, type, true, null, null);
+            case DOUBLE:
+                return new ValueType(ValueType.Kind.DOUBLE, type, true, null, null);
+            case ARRAY: {
+                TypeMirror componentType = ((ArrayType) type).getComponentType();
+                ValueType component = componentType.getKind().isPrimitive() ? null : classify(componentType, context);
+                if (component == null || component.type.getKind() != TypeKind.DECLARED
+                        || !((DeclaredType) component.type).getTypeArguments().isEmpty()) {
+                    return unsupported(type, context);
+                }
+                return new ValueType(ValueType.Kind.ARRAY, type, false, null, component);
+            }
+            case DECLARED:
+                break;
+            default:
+                return unsupported(type, context);
+        }
+        DeclaredType declared = (DeclaredType) type;
+        TypeElement element = (TypeElement) declared.asElement();
+        List<? extends TypeMirror> arguments = declared.getTypeArguments();
+        switch (element.getQualifiedName().toString()) {
+            case "java.lang.String":
+                return new ValueType(ValueType.Kind.STRING, type, false, null, null);
+            case "java.lang.Boolean":
+                return new ValueType(ValueType.Kind.BOOLEAN, type, false, null, null);
+            case "java.lang.Integer":
+                return new ValueType(ValueType.Kind.INT, type, false, null, null);
+            case "java.lang.Long":
+                return new ValueType(ValueType.Kind.LONG, type, false, null, null);
+            case "java.lang.Float":
+                return new ValueType(ValueType.Kind.FLOAT, type, false, null, null);
+            case "java.lang.Double":
+                return new ValueType(ValueType.Kind.DOUBLE, type, false, null, null);
+            case "java.nio.ByteBuffer":
+                return new ValueType(ValueType.Kind.BYTE_BUFFER, type, false, null, null);
+            case "java.util.Date":
+                return new ValueType(ValueType.Kind.DATE, type, false, null, null);
+            case "org.joda.time.DateTime":
+                return new ValueType(ValueType.Kind.DATE_TIME, type, false, null, null);
+            case "java.lang.Object":
+                return new ValueType(ValueType.Kind.OBJECT, type, false, null, null);
+            case "java.util.Collection":
+            case "java.util.List":
+            case "java.util.ArrayList": {
+                ValueType component = arguments.size() == 1 ? classify(arguments.get(0), context) : null;
+                return component == null ? unsupported(type, context)
+                        : new ValueType(ValueType.Kind.LIST, type, false, null, component);
+            }
+            case "java.util.Map":
+            case "java.util.LinkedHashMap": {
+                boolean stringKeys = arguments.size() == 2
+                        && types.isSameType(arguments.get(0), elements.getTypeElement("java.lang.String").asType());
+                ValueType component = stringKeys ? classify(arguments.get(1), context) : null;
+                return component == null ? unsupported(type, context)
+                        : new ValueType(ValueType.Kind.MAP, type, false, null, component);
+            }
+            default:
+                break;
+        }
+        if (element.getKind() == ElementKind.ENUM) {
+            return new ValueType(ValueType.Kind.ENUM, type, false, element, null);
+        }
+        if (element.getKind() == ElementKind.CLASS && arguments.isEmpty()) {
+            enqueue(element);
+            return new ValueType(ValueType.Kind.BEAN, type, false, element, null);
+        }
+        return unsupported(type, context);
+    }
+
+    private ValueType unsupported(TypeMirror type, Element context) {
+        error(context, "Type " + type + " is not supported by the generated codecs");
+        return null;
+    }
+
+    private TypeMirror returnType(DeclaredType declared, ExecutableElement method) {
+        return ((ExecutableType) types.asMemberOf(declared, method)).getReturnType();
+    }
+
+    private boolean hasPublicNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (!e.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * SQSEvent.SQSMessage becomes SQSEvent_SQSMessageCodec
+     */
+    private static String codecName(TypeElement type) {
+        StringBuilder sb = new StringBuilder();
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            sb.insert(0, sb.length() == 0 ? e.getSimpleName() : e.getSimpleName() + "_");
+        }
+        return sb.append("Codec").toString();
+    }
+
+    /**
+     * Derives a property name from an accessor name without its prefix, the way java.beans.Introspector does
+     */
+    static String propertyName(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static boolean hasAnnotation(Element element, String annotation) {
+        return annotation(element, annotation) != null;
+    }
+
+    private static String annotationValue(Element element, String annotation) {
+        AnnotationMirror mirror = annotation(element, annotation);
+        if (mirror == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : mirror.getElementValues().entrySet()) {
+            if (e.getKey().getSimpleName().contentEquals("value")) {
+                String value = (String) e.getValue().getValue();
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    private static AnnotationMirror annotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private void error(Element element, String message) {
+        failed = true;
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
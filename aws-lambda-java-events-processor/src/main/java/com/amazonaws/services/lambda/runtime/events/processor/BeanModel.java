@@ -0,0 +1,69 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.TypeElement;
+
+/**
+ * A type a codec is generated for, and its JSON properties
+ */
+final class BeanModel {
+
+    static final class Property {
+        final String json;
+        // type the value is read as; differs from writeType only for constructor parameters
+        final ValueType readType;
+        final ValueType writeType;
+        final String getter;
+        final String setter;
+        final int creatorIndex;
+        // for properties with a getter and a setter: the setter's parameter type as written in source,
+        // and whether a subclass can override both
+        final String setterParameter;
+        final boolean overridable;
+        // for a base64 property kept encoded until first use: the name of the methods holding the base64 text,
+        // read through <encoded>() and set with <encoded>(ByteBuffer, PayloadArena); else null
+        final String encoded;
+
+        Property(String json, ValueType readType, ValueType writeType, String getter, String setter, int creatorIndex,
+                 String setterParameter, boolean overridable, String encoded) {
+            this.json = json;
+            this.readType = readType;
+            this.writeType = writeType;
+            this.getter = getter;
+            this.setter = setter;
+            this.creatorIndex = creatorIndex;
+            this.setterParameter = setterParameter;
+            this.overridable = overridable;
+            this.encoded = encoded;
+        }
+    }
+
+    final TypeElement type;
+    final String binaryName;
+    final String codecName;
+    // enclosing type of a non-static member class, whose instance is needed to create one
+    final TypeElement outer;
+    // number of constructor parameters, -1 for types created with their no-arg constructor
+    final int creatorArity;
+    final List<Property> properties = new ArrayList<Property>();
+
+    BeanModel(TypeElement type, String binaryName, String codecName, TypeElement outer, int creatorArity) {
+        this.type = type;
+        this.binaryName = binaryName;
+        this.codecName = codecName;
+        this.outer = outer;
+        this.creatorArity = creatorArity;
+    }
+
+    boolean hasCreator() {
+        return creatorArity >= 0;
+    }
+
+    String typeName() {
+        return type.getQualifiedName().toString();
+    }
+}
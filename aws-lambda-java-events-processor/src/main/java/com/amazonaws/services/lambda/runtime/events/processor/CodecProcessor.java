@@ -0,0 +1,204 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates streaming JSON codecs for the types listed on a {@code GenerateCodecs} annotation, so that
+ * events are bound without reflection. The processor only depends on the JDK; the annotation and the
+ * runtime the generated code calls into live in the events library.
+ */
+public final class CodecProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.amazonaws.services.lambda.runtime.events.json.GenerateCodecs";
+    static final String REGISTRY = "GeneratedCodecs";
+    static final String VIEW_REGISTRY = "GeneratedViews";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        Set<String> packages = new HashSet<String>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : round.getElementsAnnotatedWith(annotation)) {
+                TypeElement annotated = (TypeElement) element;
+                String packageName = processingEnv.getElementUtils().getPackageOf(annotated).getQualifiedName().toString();
+                if (!packages.add(packageName)) {
+                    error(annotated, "Only one class per package can be annotated with @GenerateCodecs");
+                    continue;
+                }
+                generate(annotated, packageName);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement annotated, String packageName) {
+        AnnotationMirror mirror = null;
+        for (AnnotationMirror m : annotated.getAnnotationMirrors()) {
+            if (((TypeElement) m.getAnnotationType().asElement()).getQualifiedName().contentEquals(ANNOTATION)) {
+                mirror = m;
+            }
+        }
+        Map<String, AnnotationValue> values = values(mirror);
+
+        List<TypeElement> roots = new ArrayList<TypeElement>();
+        for (AnnotationValue value : list(values.get("value"))) {
+            roots.add(typeElement(value));
+        }
+        Set<String> upperCamelCase = new HashSet<String>();
+        for (AnnotationValue value : list(values.get("upperCamelCase"))) {
+            upperCamelCase.add(typeElement(value).getQualifiedName().toString());
+        }
+        Map<String, Map<String, BeanIntrospector.PropertyOverride>> overrides =
+                new HashMap<String, Map<String, BeanIntrospector.PropertyOverride>>();
+        for (AnnotationValue value : list(values.get("properties"))) {
+            Map<String, AnnotationValue> property = values((AnnotationMirror) value.getValue());
+            String type = typeElement(property.get("type")).getQualifiedName().toString();
+            Map<String, BeanIntrospector.PropertyOverride> byName = overrides.get(type);
+            if (byName == null) {
+                byName = new HashMap<String, BeanIntrospector.PropertyOverride>();
+                overrides.put(type, byName);
+            }
+            byName.put(((String) property.get("name").getValue()).toLowerCase(Locale.ROOT),
+                    new BeanIntrospector.PropertyOverride((String) property.get("json").getValue(),
+                            (Boolean) property.get("ignore").getValue(), (String) property.get("encoded").getValue()));
+        }
+
+        List<TypeElement> viewRoots = new ArrayList<TypeElement>();
+        for (AnnotationValue value : list(values.get("views"))) {
+            viewRoots.add(typeElement(value));
+        }
+        List<TypeElement> allRoots = new ArrayList<TypeElement>(roots);
+        for (TypeElement viewRoot : viewRoots) {
+            if (!allRoots.contains(viewRoot)) {
+                allRoots.add(viewRoot);
+            }
+        }
+
+        BeanIntrospector introspector = new BeanIntrospector(processingEnv.getElementUtils(), processingEnv.getTypeUtils(),
+                processingEnv.getMessager(), upperCamelCase, overrides);
+        Collection<BeanModel> beans = introspector.introspect(allRoots);
+        if (beans == null) {
+            return;
+        }
+        CodecSourceWriter writer = new CodecSourceWriter(packageName, beans);
+        for (BeanModel bean : beans) {
+            write(packageName + "." + bean.codecName, writer.codec(bean), annotated);
+        }
+        write(packageName + "." + REGISTRY, writer.registry(REGISTRY, annotated.getSimpleName().toString()), annotated);
+
+        Map<String, BeanModel> views = views(annotated, viewRoots, beans);
+        if (views == null) {
+            return;
+        }
+        for (BeanModel bean : views.values()) {
+            write(packageName + "." + CodecSourceWriter.viewName(bean), writer.view(bean, views.keySet()), annotated);
+        }
+        write(packageName + "." + VIEW_REGISTRY,
+                writer.viewRegistry(VIEW_REGISTRY, annotated.getSimpleName().toString(), views.values()), annotated);
+    }
+
+    /**
+     * Finds the types that get lazy views: the view roots, and the viewable types of their object properties
+     * and list elements
+     * @return the types by qualified name, or null if a root cannot have a view
+     */
+    private Map<String, BeanModel> views(TypeElement annotated, List<TypeElement> viewRoots, Collection<BeanModel> beans) {
+        Map<String, BeanModel> byName = new HashMap<String, BeanModel>();
+        for (BeanModel bean : beans) {
+            byName.put(bean.typeName(), bean);
+        }
+        Map<String, BeanModel> views = new LinkedHashMap<String, BeanModel>();
+        Deque<BeanModel> pending = new ArrayDeque<BeanModel>();
+        for (TypeElement root : viewRoots) {
+            BeanModel bean = byName.get(root.getQualifiedName().toString());
+            if (!CodecSourceWriter.viewable(bean)) {
+                error(annotated, "Cannot generate a view for " + bean.typeName()
+                        + ": it needs a no-arg constructor and non-final accessors for at most 64 properties");
+                return null;
+            }
+            pending.add(bean);
+        }
+        while (!pending.isEmpty()) {
+            BeanModel bean = pending.remove();
+            if (views.put(bean.typeName(), bean) != null) {
+                continue;
+            }
+            for (BeanModel.Property property : bean.properties) {
+                ValueType type = property.readType.kind == ValueType.Kind.LIST ? property.readType.component : property.readType;
+                if (type.kind == ValueType.Kind.BEAN) {
+                    BeanModel nested = byName.get(type.element.getQualifiedName().toString());
+                    if (CodecSourceWriter.viewable(nested) && !views.containsKey(nested.typeName())) {
+                        pending.add(nested);
+                    }
+                }
+            }
+        }
+        return views;
+    }
+
+    private void write(String name, String source, TypeElement origin) {
+        try (Writer out = processingEnv.getFiler().createSourceFile(name, origin).openWriter()) {
+            out.write(source);
+        } catch (IOException e) {
+            error(origin, "Cannot write " + name + ": " + e);
+        }
+    }
+
+    private Map<String, AnnotationValue> values(AnnotationMirror mirror) {
+        Map<String, AnnotationValue> values = new HashMap<String, AnnotationValue>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(e.getKey().getSimpleName().toString(), e.getValue());
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<AnnotationValue> list(AnnotationValue value) {
+        return (List<AnnotationValue>) value.getValue();
+    }
+
+    private static TypeElement typeElement(AnnotationValue value) {
+        return (TypeElement) ((DeclaredType) (TypeMirror) value.getValue()).asElement();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,605 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.processor;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
+
+/**
+ * Writes the source of a codec class and of the registry
+ */
+final class CodecSourceWriter {
+
+    private final String packageName;
+    private final Map<String, BeanModel> beans = new LinkedHashMap<String, BeanModel>();
+
+    private StringBuilder out;
+    private int indent;
+    // helper methods of the codec being written, by value type, and their source
+    private Map<String, Integer> helpers;
+    private StringBuilder helperSource;
+
+    CodecSourceWriter(String packageName, Collection<BeanModel> beans) {
+        this.packageName = packageName;
+        for (BeanModel bean : beans) {
+            this.beans.put(bean.typeName(), bean);
+        }
+    }
+
+    String registry(String registryName, String origin) {
+        begin();
+        line("/**");
+        line(" * Codecs generated for the types listed on " + origin + ", looked up by binary class name so that");
+        line(" * only the codecs in use, and the classes they bind, are ever loaded");
+        line(" */");
+        open("final class " + registryName);
+        line("private " + registryName + "() {}");
+        line("");
+        open("static final String[] TYPE_NAMES =");
+        for (BeanModel bean : beans.values()) {
+            if (bean.outer == null) {
+                line("\"" + bean.binaryName + "\",");
+            }
+        }
+        close("};");
+        line("");
+        open("static JsonCodec<?> forName(String binaryName)");
+        open("switch (binaryName)");
+        for (BeanModel bean : beans.values()) {
+            if (bean.outer == null) {
+                line("case \"" + bean.binaryName + "\":");
+                line("    return " + bean.codecName + ".INSTANCE;");
+            }
+        }
+        line("default:");
+        line("    return null;");
+        close("}");
+        close("}");
+        close("}");
+        return out.toString();
+    }
+
+    String codec(BeanModel bean) {
+        begin();
+        helpers = new LinkedHashMap<String, Integer>();
+        helperSource = new StringBuilder();
+        String type = bean.typeName();
+        boolean inner = bean.outer != null;
+
+        line("/**");
+        line(" * Reads and writes {@link " + type + "}");
+        line(" */");
+        open("final class " + bean.codecName + (inner ? "" : " implements ProjectableCodec<" + type + ">"));
+        line("static final " + bean.codecName + " INSTANCE = new " + bean.codecName + "();");
+        line("");
+        StringBuilder names = new StringBuilder();
+        for (BeanModel.Property property : bean.properties) {
+            names.append(names.length() == 0 ? "" : ", ").append(quote(property.json));
+        }
+        line("static final JsonNames NAMES = JsonNames.of(" + names + ");");
+        line("");
+        line("private " + bean.codecName + "() {}");
+        line("");
+
+        if (inner) {
+            open("public " + type + " read(JsonReader reader, " + bean.outer.getQualifiedName() + " outer) throws IOException");
+        } else {
+            line("@Override");
+            open("public " + type + " read(JsonReader reader) throws IOException");
+            line("return read(reader, null);");
+            close("}");
+            line("");
+            line("@Override");
+            open("public JsonNames names()");
+            line("return NAMES;");
+            close("}");
+            line("");
+            line("@Override");
+            open("public ProjectableCodec<?> nested(int property)");
+            open("switch (property)");
+            for (int i = 0; i < bean.properties.size(); i++) {
+                BeanModel nested = nestedBean(bean.properties.get(i).readType);
+                if (nested != null && nested.outer == null) {
+                    line("case " + i + ":");
+                    line("    return " + nested.codecName + ".INSTANCE;");
+                }
+            }
+            line("default:");
+            line("    return null;");
+            close("}");
+            close("}");
+            line("");
+            line("@Override");
+            open("public " + type + " read(JsonReader reader, Projection.Node node) throws IOException");
+        }
+        open("if (reader.nextIfNull())");
+        line("return null;");
+        close("}");
+        if (bean.hasCreator()) {
+            for (int i = 0; i < bean.properties.size(); i++) {
+                ValueType readType = bean.properties.get(i).readType;
+                line(readType.name() + " p" + i + " = " + defaultValue(readType) + ";");
+            }
+        } else {
+            line(type + " value = " + (inner ? "outer.new " + bean.type.getSimpleName() : "new " + type) + "();");
+        }
+        line("reader.beginObject();");
+        open("while (reader.hasNext())");
+        if (inner) {
+            open("switch (reader.nextName(NAMES))");
+        } else {
+            line("int property = reader.nextName(NAMES);");
+            line("// properties left out of the projection are skipped like unknown ones");
+            open("switch (node == null || property < 0 || node.selected[property] ? property : -1)");
+        }
+        for (int i = 0; i < bean.properties.size(); i++) {
+            BeanModel.Property property = bean.properties.get(i);
+            line("case " + i + ":");
+            indent++;
+            String read = read(property.readType, !bean.hasCreator(), inner ? "null" : "node == null ? null : node.children[" + i + "]");
+            String assign = bean.hasCreator() ? "p" + i + " = " + read + ";" : "value." + property.setter + "(" + read + ");";
+            if (property.encoded != null) {
+                assign = "value." + property.encoded + "(reader.nextBase64Text(), reader.getPayloadArena());";
+            }
+            if (property.readType.primitive) {
+                open("if (!reader.nextIfNull())");
+                line(assign);
+                close("}");
+            } else {
+                line(assign);
+            }
+            line("break;");
+            indent--;
+        }
+        line("default:");
+        line("    reader.skipValue();");
+        close("}");
+        close("}");
+        line("reader.endObject();");
+        if (bean.hasCreator()) {
+            StringBuilder arguments = new StringBuilder();
+            for (int index = 0; index < bean.creatorArity; index++) {
+                for (int i = 0; i < bean.properties.size(); i++) {
+                    if (bean.properties.get(i).creatorIndex == index) {
+                        arguments.append(index == 0 ? "" : ", ").append("p").append(i);
+                    }
+                }
+            }
+            line(type + " value = new " + type + "(" + arguments + ");");
+            for (int i = 0; i < bean.properties.size(); i++) {
+                BeanModel.Property property = bean.properties.get(i);
+                if (property.setter != null) {
+                    line((property.readType.primitive ? "" : "if (p" + i + " != null) ")
+                            + "value." + property.setter + "(p" + i + ");");
+                }
+            }
+        }
+        line("return value;");
+        close("}");
+        line("");
+
+        if (!inner) {
+            line("@Override");
+        }
+        open("public void write(JsonWriter writer, " + type + " value) throws IOException");
+        open("if (value == null)");
+        line("writer.nullValue();");
+        line("return;");
+        close("}");
+        line("writer.beginObject();");
+        for (int i = 0; i < bean.properties.size(); i++) {
+            BeanModel.Property property = bean.properties.get(i);
+            if (property.getter == null) {
+                continue;
+            }
+            if (property.writeType.primitive) {
+                line("writer.name(NAMES, " + i + ");");
+                line(write(property.writeType, "value." + property.getter + "()") + ";");
+            } else {
+                boolean encoded = property.encoded != null;
+                line(property.writeType.name() + " v" + i + " = value." + (encoded ? property.encoded : property.getter) + "();");
+                open("if (v" + i + " != null)");
+                line("writer.name(NAMES, " + i + ");");
+                line((encoded ? "writer.base64Value(v" + i + ")" : write(property.writeType, "v" + i)) + ";");
+                close("}");
+            }
+        }
+        line("writer.endObject();");
+        close("}");
+        out.append(helperSource);
+        close("}");
+        return out.toString();
+    }
+
+    /**
+     * @return true if a lazy view can be generated for the type: a class created with its no-arg constructor,
+     * whose properties can all be overridden and tracked in one long
+     */
+    static boolean viewable(BeanModel bean) {
+        if (bean.hasCreator() || bean.outer != null || bean.type.getModifiers().contains(Modifier.FINAL)
+                || bean.properties.size() > 64) {
+            return false;
+        }
+        for (BeanModel.Property property : bean.properties) {
+            if (!property.overridable) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String viewName(BeanModel bean) {
+        return bean.codecName.substring(0, bean.codecName.length() - "Codec".length()) + "View";
+    }
+
+    String viewRegistry(String registryName, String origin, Collection<BeanModel> views) {
+        begin();
+        line("/**");
+        line(" * Lazy views generated for the types listed on " + origin + ", looked up by binary class name");
+        line(" */");
+        open("final class " + registryName);
+        line("private " + registryName + "() {}");
+        line("");
+        open("static final String[] TYPE_NAMES =");
+        for (BeanModel bean : views) {
+            line("\"" + bean.binaryName + "\",");
+        }
+        close("};");
+        line("");
+        open("static Object forName(String binaryName, JsonIndex index, int value)");
+        open("switch (binaryName)");
+        for (BeanModel bean : views) {
+            line("case \"" + bean.binaryName + "\":");
+            line("    return new " + viewName(bean) + "(index, value);");
+        }
+        line("default:");
+        line("    return null;");
+        close("}");
+        close("}");
+        close("}");
+        return out.toString();
+    }
+
+    /**
+     * Writes a subclass of the type that decodes each property from a {@code JsonIndex} the first time
+     * its getter is called, unless its setter was called first
+     * @param views names of the types that have views, used for nested objects
+     */
+    String view(BeanModel bean, Set<String> views) {
+        begin();
+        helpers = new LinkedHashMap<String, Integer>();
+        helperSource = new StringBuilder();
+        String type = bean.typeName();
+        String name = viewName(bean);
+
+        line("/**");
+        line(" * Lazy view of {@link " + type + "} over a {@code JsonIndex}");
+        line(" */");
+        open("final class " + name + " extends " + type + " implements JsonView");
+        line("private static final long serialVersionUID = 1L;");
+        line("");
+        line("private final JsonIndex index;");
+        line("// the value of each property, -1 when absent");
+        line("private final int[] members;");
+        line("// bit per property, set once it is decoded or set");
+        line("private long decoded;");
+        line("");
+        open(name + "(JsonIndex index, int value)");
+        line("this.index = index;");
+        line("this.members = index.members(value, " + bean.codecName + ".NAMES);");
+        close("}");
+
+        for (int i = 0; i < bean.properties.size(); i++) {
+            BeanModel.Property property = bean.properties.get(i);
+            String bit = "0x" + Long.toHexString(1L << i) + "L";
+            line("");
+            line("@Override");
+            open("public " + property.writeType.name() + " " + property.getter + "()");
+            open("if ((decoded & " + bit + ") == 0)");
+            line("decoded |= " + bit + ";");
+            open("if (members[" + i + "] >= 0)");
+            line("super." + property.setter + "(decode" + i + "(members[" + i + "]));");
+            close("}");
+            close("}");
+            line("return super." + property.getter + "();");
+            close("}");
+            line("");
+            line("@Override");
+            open("public void " + property.setter + "(" + property.setterParameter + " value)");
+            line("decoded |= " + bit + ";");
+            line("super." + property.setter + "(value);");
+            close("}");
+        }
+
+        for (int i = 0; i < bean.properties.size(); i++) {
+            BeanModel.Property property = bean.properties.get(i);
+            ValueType type0 = property.readType;
+            line("");
+            open("private " + type0.name() + " decode" + i + "(int value)");
+            if (type0.kind == ValueType.Kind.BEAN && views.contains(type0.element.getQualifiedName().toString())) {
+                line("return index.isNull(value) ? null : new " + viewName(beans.get(type0.element.getQualifiedName().toString()))
+                        + "(index, value);");
+            } else if (type0.kind == ValueType.Kind.LIST && type0.component.kind == ValueType.Kind.BEAN
+                    && views.contains(type0.component.element.getQualifiedName().toString())) {
+                String element = type0.component.name();
+                open("if (index.isNull(value))");
+                line("return null;");
+                close("}");
+                line("java.util.List<" + element + "> list = new java.util.ArrayList<>();");
+                open("for (int element = index.firstChild(value); element >= 0; element = index.next(element))");
+                line("list.add(index.isNull(element) ? null : new "
+                        + viewName(beans.get(type0.component.element.getQualifiedName().toString())) + "(index, element));");
+                close("}");
+                line("return list;");
+            } else {
+                open("try");
+                line("JsonReader reader = index.reader(value);");
+                line("return " + (type0.primitive ? "reader.nextIfNull() ? " + defaultValue(type0) + " : " : "")
+                        + read(type0, false, "null") + ";");
+                close("} catch (IOException e) {");
+                indent++;
+                line("throw new java.io.UncheckedIOException(\"Cannot read " + property.json + "\", e);");
+                close("}");
+            }
+            close("}");
+        }
+
+        line("");
+        line("@Override");
+        open("public void materialize()");
+        for (BeanModel.Property property : bean.properties) {
+            line(property.getter + "();");
+        }
+        close("}");
+        line("");
+        line("@Override");
+        open("public boolean equals(Object obj)");
+        line("materialize();");
+        open("if (obj instanceof JsonView)");
+        line("((JsonView) obj).materialize();");
+        close("}");
+        line("return super.equals(obj);");
+        close("}");
+        line("");
+        line("@Override");
+        open("public int hashCode()");
+        line("materialize();");
+        line("return super.hashCode();");
+        close("}");
+        line("");
+        line("@Override");
+        open("public String toString()");
+        line("materialize();");
+        line("return super.toString();");
+        close("}");
+        out.append(helperSource);
+        close("}");
+        return out.toString();
+    }
+
+    /**
+     * @return the bean a property holds, directly or as the elements or values of a collection, or null
+     */
+    private BeanModel nestedBean(ValueType type) {
+        ValueType value = type.component != null ? type.component : type;
+        return value.kind == ValueType.Kind.BEAN ? beans.get(value.element.getQualifiedName().toString()) : null;
+    }
+
+    /**
+     * @param node expression for the projection of the value, null to read all of it
+     * @return an expression reading a value of the type
+     */
+    private String read(ValueType type, boolean innerAllowed, String node) {
+        switch (type.kind) {
+            case STRING:
+                return "reader.nextString()";
+            case BOOLEAN:
+                return boxed(type, "Boolean", "reader.nextBoolean()");
+            case INT:
+                return boxed(type, "Integer", "reader.nextInt()");
+            case LONG:
+                return boxed(type, "Long", "reader.nextLong()");
+            case FLOAT:
+                return boxed(type, "Float", "(float) reader.nextDouble()");
+            case DOUBLE:
+                return boxed(type, "Double", "reader.nextDouble()");
+            case BYTE_BUFFER:
+                return "reader.nextBase64()";
+            case DATE:
+                return "JsonValues.readDate(reader)";
+            case DATE_TIME:
+                return "JsonValues.readDateTime(reader)";
+            case OBJECT:
+                return "reader.nextValue()";
+            case BEAN: {
+                BeanModel bean = beans.get(type.element.getQualifiedName().toString());
+                if (bean.outer != null) {
+                    if (!innerAllowed) {
+                        throw new IllegalStateException("Inner class " + type.name() + " outside of its enclosing class");
+                    }
+                    return bean.codecName + ".INSTANCE.read(reader, value)";
+                }
+                return bean.codecName + ".INSTANCE.read(reader, " + node + ")";
+            }
+            default:
+                return "read" + helper(type) + "(reader, " + node + ")";
+        }
+    }
+
+    /**
+     * @return a statement writing the value of an expression of the type
+     */
+    private String write(ValueType type, String value) {
+        switch (type.kind) {
+            case DATE:
+                return "JsonValues.writeDate(writer, " + value + ")";
+            case DATE_TIME:
+                return "JsonValues.writeDateTime(writer, " + value + ")";
+            case BEAN:
+                return beans.get(type.element.getQualifiedName().toString()).codecName + ".INSTANCE.write(writer, " + value + ")";
+            case ENUM:
+            case LIST:
+            case MAP:
+            case ARRAY:
+                return "write" + helper(type) + "(writer, " + value + ")";
+            default:
+                return "writer.value(" + value + ")";
+        }
+    }
+
+    private static String boxed(ValueType type, String box, String read) {
+        return type.primitive ? read : "reader.nextIfNull() ? null : " + box + ".valueOf(" + read + ")";
+    }
+
+    /**
+     * Returns the number of the helper methods reading and writing the type, generating them the first time
+     */
+    private int helper(ValueType type) {
+        String key = type.kind + " " + type.name();
+        Integer existing = helpers.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int n = helpers.size();
+        helpers.put(key, n);
+
+        // helpers go after the read and write methods; write them with their own buffer
+        StringBuilder saved = out;
+        int savedIndent = indent;
+        out = new StringBuilder();
+        indent = 1;
+        String name = type.name();
+        line("");
+        switch (type.kind) {
+            case ENUM:
+                open("private static " + name + " read" + n + "(JsonReader reader, Projection.Node node) throws IOException");
+                line("String name = reader.nextString();");
+                line("return name == null ? null : " + name + ".valueOf(name);");
+                close("}");
+                line("");
+                open("private static void write" + n + "(JsonWriter writer, " + name + " value) throws IOException");
+                line("writer.value(value == null ? null : value.name());");
+                close("}");
+                break;
+            case LIST:
+            case ARRAY: {
+                boolean array = type.kind == ValueType.Kind.ARRAY;
+                String element = type.component.name();
+                String list = "java.util.List<" + element + ">";
+                open("private static " + name + " read" + n + "(JsonReader reader, Projection.Node node) throws IOException");
+                open("if (reader.nextIfNull())");
+                line("return null;");
+                close("}");
+                line((array ? list : name) + " list = new java.util.ArrayList<>();");
+                line("reader.beginArray();");
+                open("while (reader.hasNext())");
+                line("list.add(" + read(type.component, false, "node") + ");");
+                close("}");
+                line("reader.endArray();");
+                line("return " + (array ? "list.toArray(new " + element + "[0])" : "list") + ";");
+                close("}");
+                line("");
+                open("private static void write" + n + "(JsonWriter writer, " + name + " values) throws IOException");
+                open("if (values == null)");
+                line("writer.nullValue();");
+                line("return;");
+                close("}");
+                line("writer.beginArray();");
+                open("for (" + element + " element : values)");
+                line(write(type.component, "element") + ";");
+                close("}");
+                line("writer.endArray();");
+                close("}");
+                break;
+            }
+            case MAP: {
+                String value = type.component.name();
+                open("private static " + name + " read" + n + "(JsonReader reader, Projection.Node node) throws IOException");
+                open("if (reader.nextIfNull())");
+                line("return null;");
+                close("}");
+                line(name + " map = new java.util.LinkedHashMap<>();");
+                line("reader.beginObject();");
+                open("while (reader.hasNext())");
+                line("String key = reader.nextName();");
+                line("map.put(key, " + read(type.component, false, "node") + ");");
+                close("}");
+                line("reader.endObject();");
+                line("return map;");
+                close("}");
+                line("");
+                open("private static void write" + n + "(JsonWriter writer, " + name + " values) throws IOException");
+                open("if (values == null)");
+                line("writer.nullValue();");
+                line("return;");
+                close("}");
+                line("writer.beginObject();");
+                open("for (java.util.Map.Entry<String, " + value + "> entry : values.entrySet())");
+                line("writer.name(entry.getKey());");
+                line(write(type.component, "entry.getValue()") + ";");
+                close("}");
+                line("writer.endObject();");
+                close("}");
+                break;
+            }
+            default:
+                throw new IllegalArgumentException(type.kind.toString());
+        }
+        helperSource.append(out);
+        out = saved;
+        indent = savedIndent;
+        return n;
+    }
+
+    private static String defaultValue(ValueType type) {
+        if (!type.primitive) {
+            return "null";
+        }
+        return type.kind == ValueType.Kind.BOOLEAN ? "false" : "0";
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    private void begin() {
+        out = new StringBuilder();
+        indent = 0;
+        line("/* Generated by " + CodecProcessor.class.getName() + ", do not edit */");
+        line("");
+        line("package " + packageName + ";");
+        line("");
+        line("import java.io.IOException;");
+        line("");
+    }
+
+    private void open(String line) {
+        line(line + " {");
+        indent++;
+    }
+
+    private void close(String line) {
+        indent--;
+        line(line);
+    }
+
+    private void line(String line) {
+        if (!line.isEmpty()) {
+            for (int i = 0; i < indent; i++) {
+                out.append("    ");
+            }
+        }
+        out.append(line).append('\n');
+    }
+}
@@ -0,0 +1,46 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.processor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * How a property type maps to JSON
+ */
+final class ValueType {
+
+    enum Kind {
+        STRING, BOOLEAN, INT, LONG, FLOAT, DOUBLE, BYTE_BUFFER, DATE, DATE_TIME, OBJECT, ENUM, BEAN, LIST, MAP, ARRAY
+    }
+
+    final Kind kind;
+    final TypeMirror type;
+    final boolean primitive;
+    // the enum or bean type
+    final TypeElement element;
+    // the elements of a list or array, the values of a map
+    final ValueType component;
+
+    ValueType(Kind kind, TypeMirror type, boolean primitive, TypeElement element, ValueType component) {
+        this.kind = kind;
+        this.type = type;
+        this.primitive = primitive;
+        this.element = element;
+        this.component = component;
+    }
+
+    /**
+     * @return the type as written in source
+     */
+    String name() {
+        return type.toString();
+    }
+
+    /**
+     * @return true if a helper method reads and writes values of this type
+     */
+    boolean needsHelper() {
+        return kind == Kind.ENUM || kind == Kind.LIST || kind == Kind.MAP || kind == Kind.ARRAY;
+    }
+}
@@ -1,9 +1,17 @@
 /* Copyright 2015 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
 
 package com.amazonaws.services.lambda.runtime.events;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.List;
 
+import com.amazonaws.services.lambda.runtime.events.json.Base64Buffers;
+import com.amazonaws.services.lambda.runtime.events.json.CompressedPayloads;
+import com.amazonaws.services.lambda.runtime.events.json.PayloadArena;
+
 /**
  * Represents an Amazon Kinesis event.
  */
@@ -14,7 +22,9 @@ public class KinesisEvent implements Serializable, Cloneable {
     private List<KinesisEventRecord> records;
 
     /**
-     * The unit of data of an Amazon Kinesis stream
+     * The unit of data of an Amazon Kinesis stream. Records read with {@code EventCodecs} keep their data as
+     * base64 text until {@link #getData()} is first called, so handlers that route on the partition key or pass
+     * the data on unchanged never decode it.
      */
     public static class Record extends com.amazonaws.services.kinesis.model.Record {
 
@@ -22,6 +32,12 @@ public class KinesisEvent implements Serializable, Cloneable {
 
         private String kinesisSchemaVersion;
 
+        // the data as base64 text, until setData() is called
+        private transient ByteBuffer encodedData;
+        // where the text is decoded to, null for the heap
+        private transient PayloadArena encodedDataArena;
+        private transient boolean dataDecoded;
+
         /**
          * default constructor
          * (Not available in v1)
@@ -44,6 +60,126 @@ public class KinesisEvent implements Serializable, Cloneable {
             this.kinesisSchemaVersion = kinesisSchemaVersion;
         }
 
+        /**
+         * Gets the data, decoding it from base64 on the first call when the record holds it encoded
+         * @return the data blob
+         * @throws IllegalArgumentException if the encoded data is not valid base64
+         */
+        @Override
+        public ByteBuffer getData() {
+            if (!dataDecoded && encodedData != null) {
+                ByteBuffer text = encodedData.duplicate();
+                super.setData(encodedDataArena != null ? encodedDataArena.decodeBase64(text) : Base64Buffers.decode(text));
+                dataDecoded = true;
+            }
+            return super.getData();
+        }
+
+        /**
+         * Sets the data, replacing any encoded form
+         * @param data the data blob
+         */
+        @Override
+        public void setData(ByteBuffer data) {
+            super.setData(data);
+            encodedData = null;
+            encodedDataArena = null;
+        }
+
+        /**
+         * Gets the data as base64 text, without decoding it if the record holds it encoded, for handlers that
+         * pass the data on unchanged. Changes made to the buffer returned by {@link #getData()} are not reflected.
+         * @return a read-only buffer of base64 text, or null if there is no data
+         */
+        public ByteBuffer encodedData() {
+            if (encodedData != null) {
+                return encodedData.asReadOnlyBuffer();
+            }
+            ByteBuffer data = super.getData();
+            return data == null ? null : Base64Buffers.encode(data.duplicate()).asReadOnlyBuffer();
+        }
+
+        /**
+         * Gets the size of the data without decoding it, estimated from the length of the base64 text while the
+         * record holds it encoded, for weighing records
+         * @return the size in bytes, 0 if there is no data
+         */
+        public int dataLength() {
+            if (!dataDecoded && encodedData != null) {
+                return encodedData.remaining() / 4 * 3;
+            }
+            ByteBuffer data = super.getData();
+            return data == null ? 0 : data.remaining();
+        }
+
+        /**
+         * Sets the data as base64 text, decoded to the heap on the first call to {@link #getData()}
+         * @param encodedData the remaining bytes of the buffer, which must not be modified afterwards
+         */
+        public void encodedData(ByteBuffer encodedData) {
+            encodedData(encodedData, null);
+        }
+
+        /**
+         * Sets the data as base64 text, decoded on the first call to {@link #getData()}
+         * @param encodedData the remaining bytes of the buffer, which must not be modified afterwards
+         * @param arena the arena to decode into, which must be open when the data is first read; null for the heap
+         */
+        public void encodedData(ByteBuffer encodedData, PayloadArena arena) {
+            super.setData(null);
+            this.encodedData = encodedData == null ? null : encodedData.slice();
+            this.encodedDataArena = arena;
+            this.dataDecoded = false;
+        }
+
+        /**
+         * Opens the data, decompressing it if it is gzip, or zstd when a decompressor is registered with
+         * {@link CompressedPayloads}
+         * @return a stream to close once read, or null if there is no data
+         * @throws IOException if the data is zstd and no decompressor is registered, or its header is invalid
+         */
+        public InputStream openData() throws IOException {
+            ByteBuffer data = getData();
+            return data == null ? null : CompressedPayloads.open(data);
+        }
+
+        /**
+         * Decompresses the data, as {@link #openData()} does
+         * @return a new buffer of the decompressed data, the data itself if it is not compressed, or null if there
+         * is no data
+         * @throws IOException if the data cannot be decompressed
+         */
+        public ByteBuffer decompressData() throws IOException {
+            ByteBuffer data = getData();
+            return data == null ? null : CompressedPayloads.decompress(data);
+        }
+
+        /**
+         * Opens the data as a known format, such as zlib, which has no magic number to recognize it by
+         * @return a stream to close once read, or null if there is no data
+         * @throws IOException if the format is zstd and no decompressor is registered, or the header is invalid
+         */
+        public InputStream openData(CompressedPayloads.Format format) throws IOException {
+            ByteBuffer data = getData();
+            return data == null ? null : CompressedPayloads.open(data, format);
+        }
+
+        /**
+         * Decompresses the data as a known format, as {@link #openData(CompressedPayloads.Format)} does
+         * @return a new buffer of the decompressed data, or null if there is no data
+         * @throws IOException if the data cannot be decompressed
+         */
+        public ByteBuffer decompressData(CompressedPayloads.Format format) throws IOException {
+            ByteBuffer data = getData();
+            return data == null ? null : CompressedPayloads.decompress(data, format);
+        }
+
+        // decodes data still held encoded before serialization writes any field, superclass fields included
+        private Object writeReplace() throws ObjectStreamException {
+            getData();
+            return this;
+        }
+
         /**
          * Returns a string representation of this object; useful for testing and debugging.
          *
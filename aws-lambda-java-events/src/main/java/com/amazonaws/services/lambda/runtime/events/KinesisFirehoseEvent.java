@@ -13,6 +13,8 @@
 
 package com.amazonaws.services.lambda.runtime.events;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
@@ -20,6 +22,8 @@ import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
+import com.amazonaws.services.lambda.runtime.events.json.CompressedPayloads;
+
 /**
  * Created by adsuresh on 7/13/17.
  */
@@ -104,6 +108,48 @@ public class KinesisFirehoseEvent implements Serializable, Cloneable {
             return this.data;
         }
 
+        /**
+         * Opens the data, decompressing it if it is gzip, or zstd when a decompressor is registered with
+         * {@link CompressedPayloads}
+         * @return a stream to close once read, or null if there is no data
+         * @throws IOException if the data is zstd and no decompressor is registered, or its header is invalid
+         */
+        public InputStream openData() throws IOException {
+            ByteBuffer data = getData();
+            return data == null ? null : CompressedPayloads.open(data);
+        }
+
+        /**
+         * Decompresses the data, as {@link #openData()} does
+         * @return a new buffer of the decompressed data, the data itself if it is not compressed, or null if there
+         * is no data
+         * @throws IOException if the data cannot be decompressed
+         */
+        public ByteBuffer decompressData() throws IOException {
+            ByteBuffer data = getData();
+            return data == null ? null : CompressedPayloads.decompress(data);
+        }
+
+        /**
+         * Opens the data as a known format, such as zlib, which has no magic number to recognize it by
+         * @return a stream to close once read, or null if there is no data
+         * @throws IOException if the format is zstd and no decompressor is registered, or the header is invalid
+         */
+        public InputStream openData(CompressedPayloads.Format format) throws IOException {
+            ByteBuffer data = getData();
+            return data == null ? null : CompressedPayloads.open(data, format);
+        }
+
+        /**
+         * Decompresses the data as a known format, as {@link #openData(CompressedPayloads.Format)} does
+         * @return a new buffer of the decompressed data, or null if there is no data
+         * @throws IOException if the data cannot be decompressed
+         */
+        public ByteBuffer decompressData(CompressedPayloads.Format format) throws IOException {
+            ByteBuffer data = getData();
+            return data == null ? null : CompressedPayloads.decompress(data, format);
+        }
+
         /**
          * @return record id
          */
@@ -4,11 +4,15 @@
 
 package com.amazonaws.services.lambda.runtime.events;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
+import com.amazonaws.services.lambda.runtime.events.json.CompressedPayloads;
+
 /**
  * Represents an Amazon SQS event.
  */
@@ -271,6 +275,53 @@ public class SQSEvent implements Serializable, Cloneable {
             this.body = body;
         }
 
+        /**
+         * Opens the body, decompressing it if it is base64 of gzip, or of zstd when a decompressor is registered
+         * with {@link CompressedPayloads}; any other body reads as its UTF-8 bytes
+         * @return a stream to close once read, or null if there is no body
+         * @throws IOException if the body is zstd and no decompressor is registered, or its header is invalid
+         */
+        public InputStream openBody() throws IOException {
+            return body == null ? null : CompressedPayloads.open(CompressedPayloads.textBytes(body));
+        }
+
+        /**
+         * Decompresses the body, as {@link #openBody()} does
+         * @return a new buffer of the decompressed body, or of its UTF-8 bytes if it is not compressed, or null if
+         * there is no body
+         * @throws IOException if the body cannot be decompressed
+         */
+        public ByteBuffer decompressBody() throws IOException {
+            return body == null ? null : CompressedPayloads.decompress(CompressedPayloads.textBytes(body));
+        }
+
+        /**
+         * Opens the body as base64 of a known format, such as zlib, which has no magic number to recognize it by;
+         * {@link CompressedPayloads.Format#NONE} reads the body's UTF-8 bytes
+         * @return a stream to close once read, or null if there is no body
+         * @throws IOException if the body is not base64, or the format is zstd and no decompressor is registered
+         */
+        public InputStream openBody(CompressedPayloads.Format format) throws IOException {
+            return body == null ? null : CompressedPayloads.open(textBytes(format), format);
+        }
+
+        /**
+         * Decompresses the body as base64 of a known format, as {@link #openBody(CompressedPayloads.Format)} does
+         * @return a new buffer of the decompressed body, or null if there is no body
+         * @throws IOException if the body is not base64 or cannot be decompressed
+         */
+        public ByteBuffer decompressBody(CompressedPayloads.Format format) throws IOException {
+            return body == null ? null : CompressedPayloads.decompress(textBytes(format), format);
+        }
+
+        private ByteBuffer textBytes(CompressedPayloads.Format format) throws IOException {
+            try {
+                return CompressedPayloads.textBytes(body, format);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Message body is not base64", e);
+            }
+        }
+
         /**
          * Gets the md5 of body
          * @return md5OfBody
@@ -0,0 +1,187 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Response of a Kinesis or DynamoDB Streams handler that reports partial batch failures: the shard is retried from
+ * the lowest listed sequence number.
+ */
+public class StreamsEventResponse implements Serializable, Cloneable {
+
+    private static final long serialVersionUID = 3232053116472095907L;
+
+    private List<BatchItemFailure> batchItemFailures;
+
+    /**
+     * A record that was not processed
+     */
+    public static class BatchItemFailure implements Serializable, Cloneable {
+
+        private static final long serialVersionUID = 1473983466096085881L;
+
+        private String itemIdentifier;
+
+        /**
+         * default constructor
+         */
+        public BatchItemFailure() {}
+
+        /**
+         * @param itemIdentifier The sequence number of the record
+         */
+        public BatchItemFailure(String itemIdentifier) {
+            this.itemIdentifier = itemIdentifier;
+        }
+
+        /**
+         * @return The sequence number of the record
+         */
+        public String getItemIdentifier() {
+            return itemIdentifier;
+        }
+
+        /**
+         * @param itemIdentifier The sequence number of the record
+         */
+        public void setItemIdentifier(String itemIdentifier) {
+            this.itemIdentifier = itemIdentifier;
+        }
+
+        /**
+         * @param itemIdentifier The sequence number of the record
+         * @return BatchItemFailure
+         */
+        public BatchItemFailure withItemIdentifier(String itemIdentifier) {
+            setItemIdentifier(itemIdentifier);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("{");
+            if (getItemIdentifier() != null)
+                sb.append("itemIdentifier: ").append(getItemIdentifier());
+            sb.append("}");
+            return sb.toString();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (obj == null)
+                return false;
+
+            if (obj instanceof BatchItemFailure == false)
+                return false;
+            BatchItemFailure other = (BatchItemFailure) obj;
+            if (other.getItemIdentifier() == null ^ this.getItemIdentifier() == null)
+                return false;
+            if (other.getItemIdentifier() != null && other.getItemIdentifier().equals(this.getItemIdentifier()) == false)
+                return false;
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int hashCode = 1;
+
+            hashCode = prime * hashCode + ((getItemIdentifier() == null) ? 0 : getItemIdentifier().hashCode());
+            return hashCode;
+        }
+
+        @Override
+        public BatchItemFailure clone() {
+            try {
+                return (BatchItemFailure) super.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("Got a CloneNotSupportedException from Object.clone()", e);
+            }
+        }
+    }
+
+    /**
+     * default constructor
+     */
+    public StreamsEventResponse() {}
+
+    /**
+     * @param batchItemFailures the records that were not processed
+     */
+    public StreamsEventResponse(List<BatchItemFailure> batchItemFailures) {
+        this.batchItemFailures = batchItemFailures;
+    }
+
+    /**
+     * @return the records that were not processed
+     */
+    public List<BatchItemFailure> getBatchItemFailures() {
+        return batchItemFailures;
+    }
+
+    /**
+     * @param batchItemFailures the records that were not processed
+     */
+    public void setBatchItemFailures(List<BatchItemFailure> batchItemFailures) {
+        this.batchItemFailures = batchItemFailures;
+    }
+
+    /**
+     * @param batchItemFailures the records that were not processed
+     * @return StreamsEventResponse
+     */
+    public StreamsEventResponse withBatchItemFailures(List<BatchItemFailure> batchItemFailures) {
+        setBatchItemFailures(batchItemFailures);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        if (getBatchItemFailures() != null)
+            sb.append("batchItemFailures: ").append(getBatchItemFailures().toString());
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+
+        if (obj instanceof StreamsEventResponse == false)
+            return false;
+        StreamsEventResponse other = (StreamsEventResponse) obj;
+        if (other.getBatchItemFailures() == null ^ this.getBatchItemFailures() == null)
+            return false;
+        if (other.getBatchItemFailures() != null && other.getBatchItemFailures().equals(this.getBatchItemFailures()) == false)
+            return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int hashCode = 1;
+
+        hashCode = prime * hashCode + ((getBatchItemFailures() == null) ? 0 : getBatchItemFailures().hashCode());
+        return hashCode;
+    }
+
+    @Override
+    public StreamsEventResponse clone() {
+        try {
+            return (StreamsEventResponse) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Got a CloneNotSupportedException from Object.clone()", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.batch;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What became of each record of a batch. Every record is in exactly one of the lists, which keep batch order.
+ *
+ * @param <T> The record type
+ */
+public final class BatchResult<T> {
+
+    /**
+     * A record its handler threw for
+     *
+     * @param <T> The record type
+     */
+    public static final class Failure<T> {
+        private final T record;
+        private final Throwable cause;
+
+        Failure(T record, Throwable cause) {
+            this.record = record;
+            this.cause = cause;
+        }
+
+        public T getRecord() {
+            return record;
+        }
+
+        public Throwable getCause() {
+            return cause;
+        }
+
+        @Override
+        public String toString() {
+            return "Failure{" + cause + "}";
+        }
+    }
+
+    private final List<T> completed;
+    private final List<Failure<T>> failed;
+    private final List<T> unprocessed;
+    private final boolean timedOut;
+
+    BatchResult(List<T> completed, List<Failure<T>> failed, List<T> unprocessed, boolean timedOut) {
+        this.completed = Collections.unmodifiableList(completed);
+        this.failed = Collections.unmodifiableList(failed);
+        this.unprocessed = Collections.unmodifiableList(unprocessed);
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * @return the records handled without error
+     */
+    public List<T> getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return the records whose handler threw
+     */
+    public List<Failure<T>> getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return the records not handled: those after a failure with the same ordering key, and those not
+     * started or still running when the deadline passed
+     */
+    public List<T> getUnprocessed() {
+        return unprocessed;
+    }
+
+    /**
+     * @return true if the deadline passed before every record was handled
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * @return true if every record completed
+     */
+    public boolean isComplete() {
+        return failed.isEmpty() && unprocessed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{completed: " + completed.size() + ", failed: " + failed.size()
+                + ", unprocessed: " + unprocessed.size() + ", timedOut: " + timedOut + "}";
+    }
+}
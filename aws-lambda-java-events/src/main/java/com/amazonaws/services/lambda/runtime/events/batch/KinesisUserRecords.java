@@ -0,0 +1,403 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.batch;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+
+/**
+ * Reads the user records the Kinesis Producer Library packs into one Kinesis record when it aggregates, without a
+ * protobuf runtime and without copying: the data of each user record is a slice of the Kinesis record's data.
+ * A record that is not aggregated reads as a single user record, the way the Kinesis Client Library treats it.
+ *
+ * <pre>
+ * KinesisUserRecords userRecords = new KinesisUserRecords(true);
+ * for (KinesisEvent.KinesisEventRecord record : event.getRecords()) {
+ *     userRecords.reset(record.getKinesis());
+ *     while (userRecords.next()) {
+ *         handle(userRecords.partitionKey(), userRecords.data());
+ *     }
+ * }
+ * </pre>
+ *
+ * A reader is not thread-safe. Resetting it to the next record reuses its tables.
+ */
+public final class KinesisUserRecords {
+
+    // an aggregated record is the magic, an AggregatedRecord protobuf message, then the MD5 digest of the message
+    private static final byte[] MAGIC = {(byte) 0xF3, (byte) 0x89, (byte) 0x9A, (byte) 0xC2};
+    private static final int DIGEST_LENGTH = 16;
+
+    // field numbers of AggregatedRecord
+    private static final int PARTITION_KEY_TABLE = 1;
+    private static final int EXPLICIT_HASH_KEY_TABLE = 2;
+    private static final int RECORDS = 3;
+    // field numbers of Record
+    private static final int PARTITION_KEY_INDEX = 1;
+    private static final int EXPLICIT_HASH_KEY_INDEX = 2;
+    private static final int DATA = 3;
+
+    private static final int VARINT = 0;
+    private static final int FIXED64 = 1;
+    private static final int LENGTH_DELIMITED = 2;
+    private static final int FIXED32 = 5;
+
+    private static final ThreadLocal<MessageDigest> MD5 = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("MD5 is not available", e);
+            }
+        }
+    };
+
+    private final boolean verifyDigest;
+
+    private KinesisEvent.Record record;
+    private ByteBuffer data;
+    private boolean aggregated;
+    // where the parser is in data
+    private int offset;
+
+    // the start and end of each table string in data, and the strings once decoded
+    private int[] keys = new int[32];
+    private String[] keyStrings = new String[16];
+    private int keyCount;
+    private int[] hashKeys = new int[8];
+    private String[] hashKeyStrings = new String[4];
+    private int hashKeyCount;
+
+    // per user record: partition key index, explicit hash key index or -1, data start and data end
+    private int[] records = new int[64];
+    private int count;
+    private int current;
+
+    /**
+     * @param verifyDigest whether to check the MD5 digest of aggregated records; a record whose digest does not
+     * match reads as a single user record, as the Kinesis Client Library does
+     */
+    public KinesisUserRecords(boolean verifyDigest) {
+        this.verifyDigest = verifyDigest;
+    }
+
+    /**
+     * @return a reader over the user records of a Kinesis record, verifying its digest
+     * @throws IllegalArgumentException if the record is aggregated but malformed
+     */
+    public static KinesisUserRecords of(KinesisEvent.Record record) {
+        return new KinesisUserRecords(true).reset(record);
+    }
+
+    /**
+     * @return whether data starts the way an aggregated record does
+     */
+    public static boolean isAggregated(ByteBuffer data) {
+        if (data == null || data.remaining() < MAGIC.length + DIGEST_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data.get(data.position() + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the reader before the first user record of another Kinesis record
+     * @param record the record, whose data must not change while its user records are read
+     * @return this reader
+     * @throws IllegalArgumentException if the record is aggregated but malformed
+     */
+    public KinesisUserRecords reset(KinesisEvent.Record record) {
+        this.record = record;
+        this.data = record.getData();
+        Arrays.fill(keyStrings, 0, keyCount, null);
+        Arrays.fill(hashKeyStrings, 0, hashKeyCount, null);
+        keyCount = 0;
+        hashKeyCount = 0;
+        count = 0;
+        current = -1;
+        aggregated = isAggregated(data) && (!verifyDigest || digestMatches());
+        if (aggregated) {
+            parse();
+        } else if (data != null) {
+            add(-1, -1, data.position(), data.limit());
+        }
+        return this;
+    }
+
+    /**
+     * @return whether the current Kinesis record holds aggregated user records
+     */
+    public boolean isAggregated() {
+        return aggregated;
+    }
+
+    /**
+     * @return the number of user records in the current Kinesis record
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Moves to the next user record
+     * @return false once there are no more
+     */
+    public boolean next() {
+        if (current + 1 >= count) {
+            current = count;
+            return false;
+        }
+        current++;
+        return true;
+    }
+
+    /**
+     * @return the data of the user record, a slice sharing the Kinesis record's data
+     */
+    public ByteBuffer data() {
+        int i = check() * 4;
+        ByteBuffer slice = data.duplicate();
+        ((Buffer) slice).limit(records[i + 3]).position(records[i + 2]);
+        return slice.slice();
+    }
+
+    public int dataLength() {
+        int i = check() * 4;
+        return records[i + 3] - records[i + 2];
+    }
+
+    /**
+     * @return the partition key of the user record, which for aggregated records is not the Kinesis record's
+     */
+    public String partitionKey() {
+        int index = records[check() * 4];
+        if (index < 0) {
+            return record.getPartitionKey();
+        }
+        if (keyStrings[index] == null) {
+            keyStrings[index] = string(keys[index * 2], keys[index * 2 + 1]);
+        }
+        return keyStrings[index];
+    }
+
+    /**
+     * @return the explicit hash key the producer gave the user record, or null
+     */
+    public String explicitHashKey() {
+        int index = records[check() * 4 + 1];
+        if (index < 0) {
+            return null;
+        }
+        if (hashKeyStrings[index] == null) {
+            hashKeyStrings[index] = string(hashKeys[index * 2], hashKeys[index * 2 + 1]);
+        }
+        return hashKeyStrings[index];
+    }
+
+    /**
+     * @return the sequence number of the Kinesis record, shared by all its user records
+     */
+    public String sequenceNumber() {
+        return record.getSequenceNumber();
+    }
+
+    /**
+     * @return the position of the user record within the Kinesis record, which together with the sequence number
+     * identifies it
+     */
+    public long subSequenceNumber() {
+        return check();
+    }
+
+    private int check() {
+        if (current < 0 || current >= count) {
+            throw new IllegalStateException("No current user record");
+        }
+        return current;
+    }
+
+    private boolean digestMatches() {
+        int end = data.limit() - DIGEST_LENGTH;
+        ByteBuffer message = data.duplicate();
+        ((Buffer) message).limit(end).position(data.position() + MAGIC.length);
+        MessageDigest md5 = MD5.get();
+        md5.reset();
+        md5.update(message);
+        byte[] digest = md5.digest();
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            if (digest[i] != data.get(end + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void parse() {
+        int end = data.limit() - DIGEST_LENGTH;
+        offset = data.position() + MAGIC.length;
+        while (offset < end) {
+            long tag = readVarint(end);
+            int field = (int) (tag >>> 3);
+            int wireType = (int) tag & 7;
+            if (wireType != LENGTH_DELIMITED) {
+                skip(wireType, end);
+                continue;
+            }
+            int length = readLength(end);
+            if (field == PARTITION_KEY_TABLE) {
+                keys = addRange(keys, keyCount++, offset, offset + length);
+                if (keyCount > keyStrings.length) {
+                    keyStrings = Arrays.copyOf(keyStrings, keyStrings.length * 2);
+                }
+            } else if (field == EXPLICIT_HASH_KEY_TABLE) {
+                hashKeys = addRange(hashKeys, hashKeyCount++, offset, offset + length);
+                if (hashKeyCount > hashKeyStrings.length) {
+                    hashKeyStrings = Arrays.copyOf(hashKeyStrings, hashKeyStrings.length * 2);
+                }
+            } else if (field == RECORDS) {
+                parseRecord(offset + length);
+            }
+            offset += length;
+        }
+        // the tables may follow the records that refer to them
+        for (int i = 0; i < count; i++) {
+            if (records[i * 4] >= keyCount) {
+                throw malformed("partition key index " + records[i * 4] + " is outside the table");
+            }
+            if (records[i * 4 + 1] >= hashKeyCount) {
+                throw malformed("explicit hash key index " + records[i * 4 + 1] + " is outside the table");
+            }
+        }
+    }
+
+    private void parseRecord(int end) {
+        int start = offset;
+        int key = -1;
+        int hashKey = -1;
+        int dataStart = -1;
+        int dataEnd = -1;
+        while (offset < end) {
+            long tag = readVarint(end);
+            int field = (int) (tag >>> 3);
+            int wireType = (int) tag & 7;
+            if (field == PARTITION_KEY_INDEX && wireType == VARINT) {
+                key = readIndex(end);
+            } else if (field == EXPLICIT_HASH_KEY_INDEX && wireType == VARINT) {
+                hashKey = readIndex(end);
+            } else if (field == DATA && wireType == LENGTH_DELIMITED) {
+                int length = readLength(end);
+                dataStart = offset;
+                dataEnd = offset + length;
+                offset = dataEnd;
+            } else {
+                skip(wireType, end);
+            }
+        }
+        if (key < 0 || dataStart < 0) {
+            throw malformed("user record " + count + " has no partition key index or data");
+        }
+        add(key, hashKey, dataStart, dataEnd);
+        offset = start;
+    }
+
+    private void add(int key, int hashKey, int dataStart, int dataEnd) {
+        if (count * 4 == records.length) {
+            records = Arrays.copyOf(records, records.length * 2);
+        }
+        int i = count++ * 4;
+        records[i] = key;
+        records[i + 1] = hashKey;
+        records[i + 2] = dataStart;
+        records[i + 3] = dataEnd;
+    }
+
+    private static int[] addRange(int[] ranges, int index, int start, int end) {
+        if (index * 2 == ranges.length) {
+            ranges = Arrays.copyOf(ranges, ranges.length * 2);
+        }
+        ranges[index * 2] = start;
+        ranges[index * 2 + 1] = end;
+        return ranges;
+    }
+
+    private long readVarint(int end) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (offset >= end) {
+                throw malformed("truncated varint");
+            }
+            byte b = data.get(offset++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw malformed("varint longer than 10 bytes");
+    }
+
+    private int readIndex(int end) {
+        long index = readVarint(end);
+        if (index < 0 || index > Integer.MAX_VALUE / 4) {
+            throw malformed("table index " + Long.toUnsignedString(index) + " is out of range");
+        }
+        return (int) index;
+    }
+
+    private int readLength(int end) {
+        long length = readVarint(end);
+        if (length < 0 || length > end - offset) {
+            throw malformed("field length " + Long.toUnsignedString(length) + " exceeds the message");
+        }
+        return (int) length;
+    }
+
+    private void skip(int wireType, int end) {
+        int length;
+        switch (wireType) {
+            case VARINT:
+                readVarint(end);
+                return;
+            case FIXED64:
+                length = 8;
+                break;
+            case LENGTH_DELIMITED:
+                length = readLength(end);
+                break;
+            case FIXED32:
+                length = 4;
+                break;
+            default:
+                throw malformed("unsupported wire type " + wireType);
+        }
+        if (length > end - offset) {
+            throw malformed("truncated field");
+        }
+        offset += length;
+    }
+
+    private String string(int start, int end) {
+        if (data.hasArray()) {
+            return new String(data.array(), data.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = data.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private IllegalArgumentException malformed(String reason) {
+        return new IllegalArgumentException("Malformed aggregated record " + record.getSequenceNumber() + ": " + reason);
+    }
+}
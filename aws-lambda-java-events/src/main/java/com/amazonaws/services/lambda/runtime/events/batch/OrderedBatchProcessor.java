@@ -0,0 +1,250 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.batch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+
+/**
+ * Processes the records of a batch on several threads while keeping the order the event source guarantees:
+ * records are grouped by ordering key, each group is handled in batch order by one thread at a time, and
+ * groups run in parallel. A failure stops the rest of its group, so a later record never overtakes an
+ * earlier one with the same key.
+ *
+ * <pre>
+ * private static final OrderedBatchProcessor&lt;KinesisEvent.KinesisEventRecord&gt; PROCESSOR =
+ *         OrderedBatchProcessor.kinesis(8);
+ *
+ * public Void handleRequest(KinesisEvent event, Context context) {
+ *     BatchResult&lt;KinesisEvent.KinesisEventRecord&gt; result = PROCESSOR.process(event.getRecords(), this::apply, context);
+ *     ...
+ * }
+ * </pre>
+ *
+ * No record is started once the invocation's remaining time drops below the deadline margin, and
+ * {@code process} returns by then. A record still running at that point is reported unprocessed; its
+ * handler is not interrupted and may still finish afterwards.
+ *
+ * The worker threads are daemons created with the processor, so keep one processor per function instance
+ * rather than one per invocation. A processor can be used by several threads at once.
+ *
+ * @param <T> The record type
+ */
+public final class OrderedBatchProcessor<T> {
+
+    /**
+     * The time kept back from the invocation deadline to report the result, 1 second
+     */
+    public static final long DEFAULT_DEADLINE_MARGIN_MILLIS = 1000;
+
+    // record states, which start at 0 until the record is started
+    private static final int RUNNING = 1;
+    private static final int COMPLETED = 2;
+    private static final int FAILED = 3;
+
+    private final Function<? super T, ?> orderingKey;
+    private final int parallelism;
+    private final long deadlineMarginNanos;
+    private final ExecutorService workers;
+
+    /**
+     * @param orderingKey the key records are ordered by, see {@link OrderingKeys}
+     * @param parallelism the number of worker threads
+     * @param deadlineMarginMillis the time kept back from the invocation deadline
+     */
+    public OrderedBatchProcessor(Function<? super T, ?> orderingKey, int parallelism, long deadlineMarginMillis) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (deadlineMarginMillis < 0) {
+            throw new IllegalArgumentException("deadlineMarginMillis must not be negative: " + deadlineMarginMillis);
+        }
+        this.orderingKey = orderingKey;
+        this.parallelism = parallelism;
+        this.deadlineMarginNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMarginMillis);
+        this.workers = Executors.newFixedThreadPool(parallelism, new WorkerFactory());
+    }
+
+    /**
+     * @return a processor ordering Kinesis records by partition key
+     */
+    public static OrderedBatchProcessor<KinesisEvent.KinesisEventRecord> kinesis(int parallelism) {
+        return new OrderedBatchProcessor<KinesisEvent.KinesisEventRecord>(OrderingKeys.kinesisPartitionKey(),
+                parallelism, DEFAULT_DEADLINE_MARGIN_MILLIS);
+    }
+
+    /**
+     * @return a processor ordering DynamoDB stream records by item key
+     */
+    public static OrderedBatchProcessor<DynamodbEvent.DynamodbStreamRecord> dynamodb(int parallelism) {
+        return new OrderedBatchProcessor<DynamodbEvent.DynamodbStreamRecord>(OrderingKeys.dynamodbKeys(),
+                parallelism, DEFAULT_DEADLINE_MARGIN_MILLIS);
+    }
+
+    /**
+     * @return a processor ordering SQS messages by FIFO message group; messages of standard queues are
+     * not ordered
+     */
+    public static OrderedBatchProcessor<SQSEvent.SQSMessage> sqs(int parallelism) {
+        return new OrderedBatchProcessor<SQSEvent.SQSMessage>(OrderingKeys.sqsMessageGroupId(),
+                parallelism, DEFAULT_DEADLINE_MARGIN_MILLIS);
+    }
+
+    /**
+     * Processes a batch within the remaining time of an invocation
+     */
+    public BatchResult<T> process(List<T> records, RecordHandler<? super T> handler, Context context) {
+        return process(records, handler, context.getRemainingTimeInMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Processes a batch, starting no record and returning once the timeout less the deadline margin has passed
+     */
+    public BatchResult<T> process(List<T> records, RecordHandler<? super T> handler, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout) - deadlineMarginNanos;
+        Run<T> run = new Run<T>(records, handler, group(records), deadline);
+        int tasks = Math.min(parallelism, run.groups.size());
+        CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            workers.execute(run.worker(done));
+        }
+        boolean finished = false;
+        try {
+            long remaining = deadline - System.nanoTime();
+            finished = remaining > 0 && done.await(remaining, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        run.stopped = true;
+        return run.result(!finished && tasks > 0);
+    }
+
+    /**
+     * @return the record indexes of each ordering key, in batch order; unordered records are groups of one
+     */
+    private List<int[]> group(List<T> records) {
+        List<int[]> groups = new ArrayList<int[]>();
+        Map<Object, Integer> byKey = new HashMap<Object, Integer>();
+        int[] sizes = new int[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            Object key = orderingKey.apply(records.get(i));
+            Integer group = key == null ? null : byKey.get(key);
+            if (group == null) {
+                group = groups.size();
+                groups.add(new int[1]);
+                if (key != null) {
+                    byKey.put(key, group);
+                }
+            }
+            int[] indexes = groups.get(group);
+            if (sizes[group] == indexes.length) {
+                indexes = Arrays.copyOf(indexes, indexes.length * 2);
+                groups.set(group, indexes);
+            }
+            indexes[sizes[group]++] = i;
+        }
+        for (int g = 0; g < groups.size(); g++) {
+            groups.set(g, Arrays.copyOf(groups.get(g), sizes[g]));
+        }
+        return groups;
+    }
+
+    /**
+     * The state of one call to process, shared by its workers
+     */
+    private static final class Run<T> {
+        final List<T> records;
+        final RecordHandler<? super T> handler;
+        final List<int[]> groups;
+        final long deadline;
+        final AtomicInteger nextGroup = new AtomicInteger();
+        final AtomicIntegerArray states;
+        final AtomicReferenceArray<Throwable> causes;
+        volatile boolean stopped;
+
+        Run(List<T> records, RecordHandler<? super T> handler, List<int[]> groups, long deadline) {
+            this.records = records;
+            this.handler = handler;
+            this.groups = groups;
+            this.deadline = deadline;
+            this.states = new AtomicIntegerArray(records.size());
+            this.causes = new AtomicReferenceArray<Throwable>(records.size());
+        }
+
+        Runnable worker(final CountDownLatch done) {
+            return new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int g = nextGroup.getAndIncrement(); g < groups.size(); g = nextGroup.getAndIncrement()) {
+                            for (int i : groups.get(g)) {
+                                if (stopped || System.nanoTime() - deadline >= 0) {
+                                    return;
+                                }
+                                states.set(i, RUNNING);
+                                try {
+                                    handler.handle(records.get(i));
+                                    states.set(i, COMPLETED);
+                                } catch (Throwable e) {
+                                    // errors too, or the record would be left running and reported as unprocessed
+                                    causes.set(i, e);
+                                    states.set(i, FAILED);
+                                    break;
+                                }
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            };
+        }
+
+        BatchResult<T> result(boolean timedOut) {
+            List<T> completed = new ArrayList<T>();
+            List<BatchResult.Failure<T>> failed = new ArrayList<BatchResult.Failure<T>>();
+            List<T> unprocessed = new ArrayList<T>();
+            for (int i = 0; i < records.size(); i++) {
+                int state = states.get(i);
+                if (state == COMPLETED) {
+                    completed.add(records.get(i));
+                } else if (state == FAILED) {
+                    failed.add(new BatchResult.Failure<T>(records.get(i), causes.get(i)));
+                } else {
+                    unprocessed.add(records.get(i));
+                }
+            }
+            return new BatchResult<T>(completed, failed, unprocessed, timedOut);
+        }
+    }
+
+    private static final class WorkerFactory implements ThreadFactory {
+        private static final AtomicInteger PROCESSORS = new AtomicInteger();
+        private final int processor = PROCESSORS.incrementAndGet();
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "batch-processor-" + processor + "-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
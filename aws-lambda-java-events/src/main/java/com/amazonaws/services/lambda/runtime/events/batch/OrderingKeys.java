@@ -0,0 +1,68 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.batch;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+
+/**
+ * The keys records of the ordered event sources are delivered in order for. Records with the same key are
+ * processed one after the other, in batch order; a null key means the record is not ordered with any other.
+ */
+public final class OrderingKeys {
+
+    private OrderingKeys() {}
+
+    /**
+     * @return the partition key of Kinesis records
+     */
+    public static Function<KinesisEvent.KinesisEventRecord, Object> kinesisPartitionKey() {
+        return new Function<KinesisEvent.KinesisEventRecord, Object>() {
+            @Override
+            public Object apply(KinesisEvent.KinesisEventRecord record) {
+                return record.getKinesis() == null ? null : record.getKinesis().getPartitionKey();
+            }
+        };
+    }
+
+    /**
+     * @return the primary key attributes of DynamoDB stream records, compared by value
+     */
+    public static Function<DynamodbEvent.DynamodbStreamRecord, Object> dynamodbKeys() {
+        return new Function<DynamodbEvent.DynamodbStreamRecord, Object>() {
+            @Override
+            public Object apply(DynamodbEvent.DynamodbStreamRecord record) {
+                return record.getDynamodb() == null ? null : record.getDynamodb().getKeys();
+            }
+        };
+    }
+
+    /**
+     * @return the message group of SQS FIFO messages, null for standard queues
+     */
+    public static Function<SQSEvent.SQSMessage, Object> sqsMessageGroupId() {
+        return new Function<SQSEvent.SQSMessage, Object>() {
+            @Override
+            public Object apply(SQSEvent.SQSMessage message) {
+                Map<String, String> attributes = message.getAttributes();
+                return attributes == null ? null : attributes.get("MessageGroupId");
+            }
+        };
+    }
+
+    /**
+     * @return no ordering: every record can be processed concurrently with every other
+     */
+    public static <T> Function<T, Object> none() {
+        return new Function<T, Object>() {
+            @Override
+            public Object apply(T record) {
+                return null;
+            }
+        };
+    }
+}
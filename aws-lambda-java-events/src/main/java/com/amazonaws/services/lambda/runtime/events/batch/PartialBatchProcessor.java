@@ -0,0 +1,143 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+
+/**
+ * Processes the records of a batch concurrently with an {@link OrderedBatchProcessor} and reports the records that
+ * failed or were not reached as partial batch failures, so that only those are retried. The function's event
+ * source mapping must have {@code ReportBatchItemFailures} enabled.
+ *
+ * <pre>
+ * private static final PartialBatchProcessor&lt;SQSEvent.SQSMessage, SQSBatchResponse&gt; PROCESSOR =
+ *         PartialBatchProcessor.sqs(8);
+ *
+ * public SQSBatchResponse handleRequest(SQSEvent event, Context context) {
+ *     return PROCESSOR.process(event.getRecords(), this::handle, context);
+ * }
+ * </pre>
+ *
+ * Messages of standard SQS queues all run concurrently. Kinesis records, DynamoDB stream records and messages of
+ * FIFO queues stop at the first failure of their key, and the records after it are reported too.
+ *
+ * @param <T> The record type
+ * @param <R> The response type
+ */
+public final class PartialBatchProcessor<T, R> {
+
+    private final OrderedBatchProcessor<T> processor;
+    private final Function<? super BatchResult<T>, ? extends R> response;
+
+    /**
+     * @param processor runs the records
+     * @param response builds the response from the result of a batch
+     */
+    public PartialBatchProcessor(OrderedBatchProcessor<T> processor, Function<? super BatchResult<T>, ? extends R> response) {
+        this.processor = processor;
+        this.response = response;
+    }
+
+    public static PartialBatchProcessor<SQSEvent.SQSMessage, SQSBatchResponse> sqs(int parallelism) {
+        return new PartialBatchProcessor<SQSEvent.SQSMessage, SQSBatchResponse>(OrderedBatchProcessor.sqs(parallelism),
+                new Function<BatchResult<SQSEvent.SQSMessage>, SQSBatchResponse>() {
+                    @Override
+                    public SQSBatchResponse apply(BatchResult<SQSEvent.SQSMessage> result) {
+                        return sqsResponse(result);
+                    }
+                });
+    }
+
+    public static PartialBatchProcessor<KinesisEvent.KinesisEventRecord, StreamsEventResponse> kinesis(int parallelism) {
+        return new PartialBatchProcessor<KinesisEvent.KinesisEventRecord, StreamsEventResponse>(
+                OrderedBatchProcessor.kinesis(parallelism),
+                new Function<BatchResult<KinesisEvent.KinesisEventRecord>, StreamsEventResponse>() {
+                    @Override
+                    public StreamsEventResponse apply(BatchResult<KinesisEvent.KinesisEventRecord> result) {
+                        return kinesisResponse(result);
+                    }
+                });
+    }
+
+    public static PartialBatchProcessor<DynamodbEvent.DynamodbStreamRecord, StreamsEventResponse> dynamodb(int parallelism) {
+        return new PartialBatchProcessor<DynamodbEvent.DynamodbStreamRecord, StreamsEventResponse>(
+                OrderedBatchProcessor.dynamodb(parallelism),
+                new Function<BatchResult<DynamodbEvent.DynamodbStreamRecord>, StreamsEventResponse>() {
+                    @Override
+                    public StreamsEventResponse apply(BatchResult<DynamodbEvent.DynamodbStreamRecord> result) {
+                        return dynamodbResponse(result);
+                    }
+                });
+    }
+
+    /**
+     * Processes a batch within the remaining time of an invocation
+     * @return the response listing the records to retry
+     */
+    public R process(List<T> records, RecordHandler<? super T> handler, Context context) {
+        return response.apply(processor.process(records, handler, context));
+    }
+
+    /**
+     * Processes a batch within a timeout, less the deadline margin
+     * @return the response listing the records to retry
+     */
+    public R process(List<T> records, RecordHandler<? super T> handler, long timeout, TimeUnit unit) {
+        return response.apply(processor.process(records, handler, timeout, unit));
+    }
+
+    /**
+     * @return a response listing the message ids of the failed and unprocessed messages
+     */
+    public static SQSBatchResponse sqsResponse(BatchResult<SQSEvent.SQSMessage> result) {
+        List<SQSBatchResponse.BatchItemFailure> failures = new ArrayList<SQSBatchResponse.BatchItemFailure>();
+        for (SQSEvent.SQSMessage message : retried(result)) {
+            failures.add(new SQSBatchResponse.BatchItemFailure(message.getMessageId()));
+        }
+        return new SQSBatchResponse(failures);
+    }
+
+    /**
+     * @return a response listing the sequence numbers of the failed and unprocessed records
+     */
+    public static StreamsEventResponse kinesisResponse(BatchResult<KinesisEvent.KinesisEventRecord> result) {
+        List<StreamsEventResponse.BatchItemFailure> failures = new ArrayList<StreamsEventResponse.BatchItemFailure>();
+        for (KinesisEvent.KinesisEventRecord record : retried(result)) {
+            failures.add(new StreamsEventResponse.BatchItemFailure(record.getKinesis().getSequenceNumber()));
+        }
+        return new StreamsEventResponse(failures);
+    }
+
+    /**
+     * @return a response listing the sequence numbers of the failed and unprocessed records
+     */
+    public static StreamsEventResponse dynamodbResponse(BatchResult<DynamodbEvent.DynamodbStreamRecord> result) {
+        List<StreamsEventResponse.BatchItemFailure> failures = new ArrayList<StreamsEventResponse.BatchItemFailure>();
+        for (DynamodbEvent.DynamodbStreamRecord record : retried(result)) {
+            failures.add(new StreamsEventResponse.BatchItemFailure(record.getDynamodb().getSequenceNumber()));
+        }
+        return new StreamsEventResponse(failures);
+    }
+
+    /**
+     * @return the failed and unprocessed records
+     */
+    private static <T> List<T> retried(BatchResult<T> result) {
+        List<T> records = new ArrayList<T>(result.getFailed().size() + result.getUnprocessed().size());
+        for (BatchResult.Failure<T> failure : result.getFailed()) {
+            records.add(failure.getRecord());
+        }
+        records.addAll(result.getUnprocessed());
+        return records;
+    }
+}
@@ -0,0 +1,17 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.batch;
+
+/**
+ * Processes one record of a batch
+ *
+ * @param <T> The record type
+ */
+public interface RecordHandler<T> {
+
+    /**
+     * @param record the record
+     * @throws Exception to fail the record
+     */
+    void handle(T record) throws Exception;
+}
@@ -0,0 +1,207 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.batch;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisFirehoseEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+
+/**
+ * The records of a batch as a stream whose parallel splits carry about the same number of payload bytes rather
+ * than the same number of records, so that one large message does not leave a thread with most of the work.
+ * Records stop being handed out once the invocation's remaining time drops below the deadline margin; the
+ * records never handed out are listed by {@link #getUnissued()} once the stream has completed.
+ *
+ * <pre>
+ * RecordSequence&lt;SQSEvent.SQSMessage&gt; messages = RecordSequence.sqs(event, context);
+ * messages.parallelStream().forEach(this::handle);
+ * List&lt;SQSEvent.SQSMessage&gt; retry = messages.getUnissued();
+ * </pre>
+ *
+ * A sequence can be streamed once.
+ *
+ * @param <T> The record type
+ */
+public final class RecordSequence<T> {
+
+    private final List<T> records;
+    // total weight of the records before each index
+    private final long[] offsets;
+    private final long deadline;
+    private final boolean[] issued;
+    private volatile boolean streamed;
+
+    private RecordSequence(List<T> records, ToLongFunction<? super T> weight, long deadline) {
+        this.records = records;
+        this.offsets = new long[records.size() + 1];
+        for (int i = 0; i < records.size(); i++) {
+            // every record counts, whatever its payload, so empty records are still spread by number
+            offsets[i + 1] = offsets[i] + Math.max(1, weight.applyAsLong(records.get(i)));
+        }
+        this.deadline = deadline;
+        this.issued = new boolean[records.size()];
+    }
+
+    /**
+     * @param records the records, which must not change while they are streamed
+     * @param weight the size of a record's payload, in bytes
+     * @param timeout the time after which no record is handed out
+     */
+    public static <T> RecordSequence<T> of(List<T> records, ToLongFunction<? super T> weight, long timeout, TimeUnit unit) {
+        return new RecordSequence<T>(records, weight, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * @param records the records, which must not change while they are streamed
+     * @param weight the size of a record's payload, in bytes
+     * @param context the invocation, whose remaining time less the default deadline margin bounds the stream
+     */
+    public static <T> RecordSequence<T> of(List<T> records, ToLongFunction<? super T> weight, Context context) {
+        return of(records, weight,
+                context.getRemainingTimeInMillis() - OrderedBatchProcessor.DEFAULT_DEADLINE_MARGIN_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the messages of an SQS event, weighed by body length
+     */
+    public static RecordSequence<SQSEvent.SQSMessage> sqs(SQSEvent event, Context context) {
+        return of(event.getRecords(), new ToLongFunction<SQSEvent.SQSMessage>() {
+            @Override
+            public long applyAsLong(SQSEvent.SQSMessage message) {
+                return message.getBody() == null ? 0 : message.getBody().length();
+            }
+        }, context);
+    }
+
+    /**
+     * @return the records of a Kinesis event, weighed by data size, without decoding data still held as base64
+     */
+    public static RecordSequence<KinesisEvent.KinesisEventRecord> kinesis(KinesisEvent event, Context context) {
+        return of(event.getRecords(), new ToLongFunction<KinesisEvent.KinesisEventRecord>() {
+            @Override
+            public long applyAsLong(KinesisEvent.KinesisEventRecord record) {
+                return record.getKinesis() == null ? 0 : record.getKinesis().dataLength();
+            }
+        }, context);
+    }
+
+    /**
+     * @return the records of a Kinesis Firehose event, weighed by data size
+     */
+    public static RecordSequence<KinesisFirehoseEvent.Record> firehose(KinesisFirehoseEvent event, Context context) {
+        return of(event.getRecords(), new ToLongFunction<KinesisFirehoseEvent.Record>() {
+            @Override
+            public long applyAsLong(KinesisFirehoseEvent.Record record) {
+                return size(record.getData());
+            }
+        }, context);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * @throws IllegalStateException if the sequence has already been streamed
+     */
+    public Spliterator<T> spliterator() {
+        if (streamed) {
+            throw new IllegalStateException("The sequence has already been streamed");
+        }
+        streamed = true;
+        return new WeightedSpliterator(0, records.size());
+    }
+
+    /**
+     * @return the records not handed out because the deadline passed, in batch order; only complete once the
+     * stream's terminal operation has returned
+     */
+    public List<T> getUnissued() {
+        List<T> unissued = new ArrayList<T>();
+        for (int i = 0; i < issued.length; i++) {
+            if (!issued[i]) {
+                unissued.add(records.get(i));
+            }
+        }
+        return unissued;
+    }
+
+    private static long size(ByteBuffer data) {
+        return data == null ? 0 : data.remaining();
+    }
+
+    private boolean pastDeadline() {
+        return System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Hands out the records in [index, end), splitting at the middle of their weight
+     */
+    private final class WeightedSpliterator implements Spliterator<T> {
+        private int index;
+        private final int end;
+
+        WeightedSpliterator(int index, int end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= end || pastDeadline()) {
+                return false;
+            }
+            issued[index] = true;
+            action.accept(records.get(index++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (end - index < 2 || pastDeadline()) {
+                return null;
+            }
+            long half = (offsets[index] + offsets[end]) / 2;
+            // first index whose records before it weigh at least half, kept inside the range
+            int low = index + 1;
+            int high = end - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (offsets[mid] < half) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            Spliterator<T> prefix = new WeightedSpliterator(index, low);
+            index = low;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            // not SIZED: the deadline can end the sequence early
+            return ORDERED;
+        }
+    }
+}
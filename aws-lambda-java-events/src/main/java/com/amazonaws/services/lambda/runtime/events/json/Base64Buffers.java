@@ -0,0 +1,354 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Standard base64 straight between buffers, for the binary payloads of events, without the intermediate arrays
+ * {@link java.util.Base64} allocates for direct buffers. Decoding accepts text with or without padding.
+ *
+ * The bulk of the work goes through {@link java.util.Base64}'s array loops, which recent JDKs compile to vector
+ * instructions: heap buffers directly, other ranges in fixed-size chunks through per-thread scratch arrays, since
+ * those loops only take whole arrays. The rest, such as the last partial chunk, takes a table-driven loop: each
+ * character is looked up in a table already shifted into place for its position in a group of four, so a group
+ * costs four loads, three ORs and one sign check for invalid characters, and encoding writes two characters per
+ * table load.
+ */
+public final class Base64Buffers {
+
+    private static final byte[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+
+    // the 6-bit value of each character shifted into place for each position of a group, -1 for invalid characters
+    private static final int[] DECODE0 = new int[256];
+    private static final int[] DECODE1 = new int[256];
+    private static final int[] DECODE2 = new int[256];
+    private static final int[] DECODE3 = new int[256];
+
+    // the two characters encoding each 12-bit value
+    private static final byte[] ENCODE_HIGH = new byte[1 << 12];
+    private static final byte[] ENCODE_LOW = new byte[1 << 12];
+
+    // chunks handed to java.util.Base64: whole groups without padding
+    private static final int TEXT_CHUNK = 4096;
+    private static final int DATA_CHUNK = TEXT_CHUNK / 4 * 3;
+
+    private static final ThreadLocal<byte[][]> SCRATCH = new ThreadLocal<byte[][]>() {
+        @Override
+        protected byte[][] initialValue() {
+            return new byte[][] {new byte[TEXT_CHUNK], new byte[DATA_CHUNK]};
+        }
+    };
+
+    static {
+        Arrays.fill(DECODE0, -1);
+        Arrays.fill(DECODE1, -1);
+        Arrays.fill(DECODE2, -1);
+        Arrays.fill(DECODE3, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE0[ALPHABET[i]] = i << 18;
+            DECODE1[ALPHABET[i]] = i << 12;
+            DECODE2[ALPHABET[i]] = i << 6;
+            DECODE3[ALPHABET[i]] = i;
+        }
+        for (int i = 0; i < ENCODE_HIGH.length; i++) {
+            ENCODE_HIGH[i] = ALPHABET[i >>> 6];
+            ENCODE_LOW[i] = ALPHABET[i & 0x3F];
+        }
+    }
+
+    private Base64Buffers() {}
+
+    /**
+     * @return the number of bytes the remaining text decodes to
+     * @throws IllegalArgumentException if the length is impossible for base64
+     */
+    public static int decodedLength(ByteBuffer text) {
+        if (text.hasArray()) {
+            int from = text.arrayOffset() + text.position();
+            return decodedLength(text.array(), from, from + text.remaining());
+        }
+        int from = text.position();
+        int end = text.limit();
+        if (end > from && text.get(end - 1) == '=') {
+            end--;
+            if (end > from && text.get(end - 1) == '=') {
+                end--;
+            }
+            checkPadded(text.remaining());
+        }
+        return decodedLength(end - from);
+    }
+
+    /**
+     * Decodes the remaining text into dst, advancing the position of both
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the text is not valid base64, leaving both positions unchanged
+     * @throws BufferOverflowException if dst has less room than {@link #decodedLength}
+     */
+    public static int decode(ByteBuffer text, ByteBuffer dst) {
+        int length = decodedLength(text);
+        if (dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        if (text.hasArray() && dst.hasArray()) {
+            decode(text.array(), text.arrayOffset() + text.position(), length, dst.array(), dst.arrayOffset() + dst.position());
+        } else {
+            decode(text, text.position(), length, dst, dst.position());
+        }
+        ((Buffer) text).position(text.limit());
+        ((Buffer) dst).position(dst.position() + length);
+        return length;
+    }
+
+    /**
+     * Decodes the remaining text into a new heap buffer, advancing the text's position
+     * @return the decoded bytes, positioned at 0
+     * @throws IllegalArgumentException if the text is not valid base64
+     */
+    public static ByteBuffer decode(ByteBuffer text) {
+        if (text.hasArray()) {
+            return Base64.getDecoder().decode(text);
+        }
+        ByteBuffer decoded = ByteBuffer.allocate(decodedLength(text));
+        decode(text, decoded);
+        ((Buffer) decoded).flip();
+        return decoded;
+    }
+
+    /**
+     * @return the length of the padded text encoding a number of bytes
+     */
+    public static int encodedLength(int length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    /**
+     * Encodes the remaining bytes of data into dst as padded text, advancing the position of both
+     * @return the number of characters written
+     * @throws BufferOverflowException if dst has less room than {@link #encodedLength}
+     */
+    public static int encode(ByteBuffer data, ByteBuffer dst) {
+        int length = encodedLength(data.remaining());
+        if (dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        if (dst.hasArray()) {
+            encode(data, data.position(), data.limit(), dst.array(), dst.arrayOffset() + dst.position());
+        } else {
+            encode(data, data.position(), data.limit(), dst, dst.position());
+        }
+        ((Buffer) data).position(data.limit());
+        ((Buffer) dst).position(dst.position() + length);
+        return length;
+    }
+
+    /**
+     * Encodes the remaining bytes of data into a new heap buffer, advancing the position of data
+     * @return the padded text, positioned at 0
+     */
+    public static ByteBuffer encode(ByteBuffer data) {
+        if (data.hasArray()) {
+            return Base64.getEncoder().encode(data);
+        }
+        ByteBuffer text = ByteBuffer.allocate(encodedLength(data.remaining()));
+        encode(data, text);
+        ((Buffer) text).flip();
+        return text;
+    }
+
+    static int decodedLength(byte[] text, int from, int to) {
+        int end = to;
+        if (to > from && text[end - 1] == '=') {
+            end--;
+            if (end > from && text[end - 1] == '=') {
+                end--;
+            }
+            checkPadded(to - from);
+        }
+        return decodedLength(end - from);
+    }
+
+    private static void checkPadded(int length) {
+        if ((length & 3) != 0) {
+            throw new IllegalArgumentException("Padded input length is not a multiple of 4");
+        }
+    }
+
+    private static int decodedLength(int chars) {
+        if ((chars & 3) == 1) {
+            throw new IllegalArgumentException("Last unit does not have enough valid bits");
+        }
+        return chars / 4 * 3 + Math.max(0, (chars & 3) - 1);
+    }
+
+    /**
+     * Decodes text into length bytes of dst, the length being given by {@link #decodedLength(byte[], int, int)}
+     */
+    static void decode(byte[] text, int from, int length, byte[] dst, int offset) {
+        int p = from;
+        int q = offset;
+        if (length >= DATA_CHUNK) {
+            byte[][] scratch = SCRATCH.get();
+            for (int end = offset + length - DATA_CHUNK; q <= end; p += TEXT_CHUNK, q += DATA_CHUNK) {
+                System.arraycopy(text, p, scratch[0], 0, TEXT_CHUNK);
+                checkChunk(Base64.getDecoder().decode(scratch[0], scratch[1]));
+                System.arraycopy(scratch[1], 0, dst, q, DATA_CHUNK);
+            }
+        }
+        for (int end = offset + length - 2; q < end; p += 4, q += 3) {
+            int bits = DECODE0[text[p] & 0xFF] | DECODE1[text[p + 1] & 0xFF] | DECODE2[text[p + 2] & 0xFF]
+                    | DECODE3[text[p + 3] & 0xFF];
+            if (bits < 0) {
+                throw invalid(text[p], text[p + 1], text[p + 2], text[p + 3]);
+            }
+            dst[q] = (byte) (bits >> 16);
+            dst[q + 1] = (byte) (bits >> 8);
+            dst[q + 2] = (byte) bits;
+        }
+        int tail = offset + length - q;
+        if (tail > 0) {
+            int bits = DECODE0[text[p] & 0xFF] | DECODE1[text[p + 1] & 0xFF] | (tail == 2 ? DECODE2[text[p + 2] & 0xFF] : 0);
+            if (bits < 0) {
+                throw invalid(text[p], text[p + 1], tail == 2 ? text[p + 2] : (byte) 'A');
+            }
+            dst[q] = (byte) (bits >> 16);
+            if (tail == 2) {
+                dst[q + 1] = (byte) (bits >> 8);
+            }
+        }
+    }
+
+    private static void decode(ByteBuffer text, int from, int length, ByteBuffer dst, int offset) {
+        int p = from;
+        int q = offset;
+        if (length >= DATA_CHUNK) {
+            byte[][] scratch = SCRATCH.get();
+            ByteBuffer in = text.duplicate();
+            ByteBuffer out = dst.duplicate();
+            ((Buffer) in).position(p);
+            ((Buffer) out).position(q);
+            for (int end = offset + length - DATA_CHUNK; q <= end; p += TEXT_CHUNK, q += DATA_CHUNK) {
+                in.get(scratch[0]);
+                checkChunk(Base64.getDecoder().decode(scratch[0], scratch[1]));
+                out.put(scratch[1]);
+            }
+        }
+        for (int end = offset + length - 2; q < end; p += 4, q += 3) {
+            int bits = DECODE0[text.get(p) & 0xFF] | DECODE1[text.get(p + 1) & 0xFF] | DECODE2[text.get(p + 2) & 0xFF]
+                    | DECODE3[text.get(p + 3) & 0xFF];
+            if (bits < 0) {
+                throw invalid(text.get(p), text.get(p + 1), text.get(p + 2), text.get(p + 3));
+            }
+            dst.put(q, (byte) (bits >> 16)).put(q + 1, (byte) (bits >> 8)).put(q + 2, (byte) bits);
+        }
+        int tail = offset + length - q;
+        if (tail > 0) {
+            int bits = DECODE0[text.get(p) & 0xFF] | DECODE1[text.get(p + 1) & 0xFF]
+                    | (tail == 2 ? DECODE2[text.get(p + 2) & 0xFF] : 0);
+            if (bits < 0) {
+                throw invalid(text.get(p), text.get(p + 1), tail == 2 ? text.get(p + 2) : (byte) 'A');
+            }
+            dst.put(q, (byte) (bits >> 16));
+            if (tail == 2) {
+                dst.put(q + 1, (byte) (bits >> 8));
+            }
+        }
+    }
+
+    /**
+     * Encodes data[from, to) as padded text into dst
+     * @return the number of characters written
+     */
+    static int encode(ByteBuffer data, int from, int to, byte[] dst, int offset) {
+        int i = from;
+        int q = offset;
+        if (to - i >= DATA_CHUNK) {
+            byte[][] scratch = SCRATCH.get();
+            ByteBuffer in = data.duplicate();
+            ((Buffer) in).position(i);
+            for (; to - i >= DATA_CHUNK; i += DATA_CHUNK, q += TEXT_CHUNK) {
+                in.get(scratch[1]);
+                Base64.getEncoder().encode(scratch[1], scratch[0]);
+                System.arraycopy(scratch[0], 0, dst, q, TEXT_CHUNK);
+            }
+        }
+        if (data.hasArray()) {
+            byte[] src = data.array();
+            int shift = data.arrayOffset();
+            for (int end = to - 2; i < end; i += 3, q += 4) {
+                int bits = (src[shift + i] & 0xFF) << 16 | (src[shift + i + 1] & 0xFF) << 8 | (src[shift + i + 2] & 0xFF);
+                dst[q] = ENCODE_HIGH[bits >>> 12];
+                dst[q + 1] = ENCODE_LOW[bits >>> 12];
+                dst[q + 2] = ENCODE_HIGH[bits & 0xFFF];
+                dst[q + 3] = ENCODE_LOW[bits & 0xFFF];
+            }
+        } else {
+            for (int end = to - 2; i < end; i += 3, q += 4) {
+                int bits = (data.get(i) & 0xFF) << 16 | (data.get(i + 1) & 0xFF) << 8 | (data.get(i + 2) & 0xFF);
+                dst[q] = ENCODE_HIGH[bits >>> 12];
+                dst[q + 1] = ENCODE_LOW[bits >>> 12];
+                dst[q + 2] = ENCODE_HIGH[bits & 0xFFF];
+                dst[q + 3] = ENCODE_LOW[bits & 0xFFF];
+            }
+        }
+        if (i < to) {
+            int bits = (data.get(i) & 0xFF) << 16 | (i + 1 < to ? (data.get(i + 1) & 0xFF) << 8 : 0);
+            dst[q] = ENCODE_HIGH[bits >>> 12];
+            dst[q + 1] = ENCODE_LOW[bits >>> 12];
+            dst[q + 2] = i + 1 < to ? ENCODE_HIGH[bits & 0xFFF] : (byte) '=';
+            dst[q + 3] = '=';
+            q += 4;
+        }
+        return q - offset;
+    }
+
+    private static void encode(ByteBuffer data, int from, int to, ByteBuffer dst, int offset) {
+        int i = from;
+        int q = offset;
+        if (to - i >= DATA_CHUNK) {
+            byte[][] scratch = SCRATCH.get();
+            ByteBuffer in = data.duplicate();
+            ByteBuffer out = dst.duplicate();
+            ((Buffer) in).position(i);
+            ((Buffer) out).position(q);
+            for (; to - i >= DATA_CHUNK; i += DATA_CHUNK, q += TEXT_CHUNK) {
+                in.get(scratch[1]);
+                Base64.getEncoder().encode(scratch[1], scratch[0]);
+                out.put(scratch[0]);
+            }
+        }
+        for (int end = to - 2; i < end; i += 3, q += 4) {
+            int bits = (data.get(i) & 0xFF) << 16 | (data.get(i + 1) & 0xFF) << 8 | (data.get(i + 2) & 0xFF);
+            dst.put(q, ENCODE_HIGH[bits >>> 12]).put(q + 1, ENCODE_LOW[bits >>> 12])
+                    .put(q + 2, ENCODE_HIGH[bits & 0xFFF]).put(q + 3, ENCODE_LOW[bits & 0xFFF]);
+        }
+        if (i < to) {
+            int bits = (data.get(i) & 0xFF) << 16 | (i + 1 < to ? (data.get(i + 1) & 0xFF) << 8 : 0);
+            dst.put(q, ENCODE_HIGH[bits >>> 12]).put(q + 1, ENCODE_LOW[bits >>> 12])
+                    .put(q + 2, i + 1 < to ? ENCODE_HIGH[bits & 0xFFF] : (byte) '=').put(q + 3, (byte) '=');
+        }
+    }
+
+    private static void checkChunk(int decoded) {
+        // java.util.Base64 takes padding as the end of its array, but a chunk is never the end of the text
+        if (decoded != DATA_CHUNK) {
+            throw invalid((byte) '=');
+        }
+    }
+
+    private static IllegalArgumentException invalid(byte... group) {
+        for (byte b : group) {
+            if (DECODE3[b & 0xFF] < 0) {
+                return new IllegalArgumentException("Illegal base64 character " + Integer.toHexString(b & 0xFF));
+            }
+        }
+        return new IllegalArgumentException("Illegal base64 text");
+    }
+}
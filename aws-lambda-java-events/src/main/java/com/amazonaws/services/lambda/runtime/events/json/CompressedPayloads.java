@@ -0,0 +1,499 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses record payloads: gzip and zlib with {@link Inflater}s pooled across records and invocations, zstd
+ * through a {@link Decompressor} the application registers, since the JDK has none.
+ *
+ * <pre>
+ * try (InputStream in = CompressedPayloads.open(record.getData())) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * Only gzip and zstd are recognized from their magic numbers; other payloads are read as they are. zlib has no
+ * magic number, and its two header bytes are common at the start of plain text and protobuf, so zlib payloads are
+ * only decompressed when {@link Format#ZLIB} is asked for.
+ */
+public final class CompressedPayloads {
+
+    /**
+     * The formats recognized
+     */
+    public enum Format {
+        NONE,
+        GZIP,
+        ZLIB,
+        ZSTD
+    }
+
+    /**
+     * Decompresses a format the JDK cannot, such as {@code com.github.luben.zstd.ZstdInputStream::new}
+     */
+    public interface Decompressor {
+        InputStream decompress(InputStream compressed) throws IOException;
+    }
+
+    // inflaters and input chunks kept for reuse between invocations
+    private static final int MAX_POOLED = 16;
+    // compressed bytes handed to an inflater at a time, for payloads without a backing array
+    private static final int INPUT_CHUNK = 8192;
+    // the largest output a gzip trailer is trusted to size a buffer for
+    private static final int MAX_SIZE_HINT = 16 << 20;
+
+    private static final int GZIP_FEXTRA = 4;
+    private static final int GZIP_FNAME = 8;
+    private static final int GZIP_FCOMMENT = 16;
+    private static final int GZIP_FHCRC = 2;
+
+    private static final Pool<Inflater> INFLATERS = new Pool<Inflater>() {
+        @Override
+        Inflater create() {
+            // headers and trailers are read here, so the inflater only sees the deflate stream
+            return new Inflater(true);
+        }
+
+        @Override
+        void discard(Inflater inflater) {
+            inflater.end();
+        }
+    };
+
+    private static final Pool<byte[]> INPUT_CHUNKS = new Pool<byte[]>() {
+        @Override
+        byte[] create() {
+            return new byte[INPUT_CHUNK];
+        }
+    };
+
+    private static volatile Decompressor zstd;
+
+    private CompressedPayloads() {}
+
+    /**
+     * Registers the decompressor for zstd payloads, which are rejected until one is set
+     * @param decompressor the decompressor, null to reject zstd payloads again
+     */
+    public static void setZstdDecompressor(Decompressor decompressor) {
+        zstd = decompressor;
+    }
+
+    /**
+     * @return the format the remaining bytes of data start with, GZIP, ZSTD or NONE
+     */
+    public static Format detect(ByteBuffer data) {
+        int p = data.position();
+        int n = data.remaining();
+        if (n >= 4 && data.get(p) == 0x28 && data.get(p + 1) == (byte) 0xB5 && data.get(p + 2) == 0x2F
+                && data.get(p + 3) == (byte) 0xFD) {
+            return Format.ZSTD;
+        }
+        if (n >= 2 && data.get(p) == 0x1F && data.get(p + 1) == (byte) 0x8B) {
+            return Format.GZIP;
+        }
+        return Format.NONE;
+    }
+
+    /**
+     * Opens the remaining bytes of data, decompressing them in the format they start with, leaving the buffer's
+     * position unchanged
+     * @return a stream to close once read, which returns its inflater to the pool
+     * @throws IOException if the data is zstd and no decompressor is registered
+     */
+    public static InputStream open(ByteBuffer data) throws IOException {
+        return open(data, detect(data));
+    }
+
+    /**
+     * Opens the remaining bytes of data, decompressing them in a given format, leaving the buffer's position
+     * unchanged
+     * @return a stream to close once read, which returns its inflater to the pool
+     * @throws IOException if the format is zstd and no decompressor is registered, or the header is invalid
+     */
+    public static InputStream open(ByteBuffer data, Format format) throws IOException {
+        switch (format) {
+            case GZIP:
+            case ZLIB:
+                return new InflatingStream(data.duplicate(), format == Format.GZIP);
+            case ZSTD:
+                Decompressor decompressor = zstd;
+                if (decompressor == null) {
+                    throw new IOException("No decompressor for zstd payloads, see CompressedPayloads.setZstdDecompressor");
+                }
+                return decompressor.decompress(new BufferStream(data.duplicate()));
+            default:
+                return new BufferStream(data.duplicate());
+        }
+    }
+
+    /**
+     * Decompresses the remaining bytes of data in the format they start with, leaving the buffer's position
+     * unchanged
+     * @return a new heap buffer of the decompressed bytes, or a view of data itself when it is not compressed
+     * @throws IOException if the data is corrupt, or zstd without a registered decompressor
+     */
+    public static ByteBuffer decompress(ByteBuffer data) throws IOException {
+        return decompress(data, detect(data));
+    }
+
+    /**
+     * Decompresses the remaining bytes of data in a given format, leaving the buffer's position unchanged
+     * @return a new heap buffer of the decompressed bytes, or a view of data itself for {@link Format#NONE}
+     * @throws IOException if the data is corrupt, or the format is zstd and no decompressor is registered
+     */
+    public static ByteBuffer decompress(ByteBuffer data, Format format) throws IOException {
+        if (format == Format.NONE) {
+            return data.duplicate();
+        }
+        InputStream in = open(data, format);
+        try {
+            byte[] out = new byte[sizeHint(data, format)];
+            int length = 0;
+            while (true) {
+                if (length == out.length) {
+                    // full, possibly with an exact size hint: only grow if there is more
+                    int b = in.read();
+                    if (b < 0) {
+                        break;
+                    }
+                    out = Arrays.copyOf(out, out.length * 2);
+                    out[length++] = (byte) b;
+                }
+                int n = in.read(out, length, out.length - length);
+                if (n < 0) {
+                    break;
+                }
+                length += n;
+            }
+            return ByteBuffer.wrap(out, 0, length);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Gets the bytes of a payload carried as text, such as an SQS message body: compressed payloads are sent as
+     * base64, so text that is base64 of gzip or zstd is decoded, and any other text is UTF-8 encoded
+     * @return the bytes, to {@link #open} or {@link #decompress}
+     */
+    public static ByteBuffer textBytes(String text) {
+        // the first two groups are enough to recognize a format, before decoding the whole text
+        if (text.length() >= 8 && text.length() % 4 == 0) {
+            try {
+                ByteBuffer prefix = Base64Buffers.decode(ByteBuffer.wrap(text.substring(0, 8).getBytes(StandardCharsets.ISO_8859_1)));
+                if (detect(prefix) != Format.NONE) {
+                    return Base64Buffers.decode(ByteBuffer.wrap(text.getBytes(StandardCharsets.ISO_8859_1)));
+                }
+            } catch (IllegalArgumentException e) {
+                // not base64
+            }
+        }
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the bytes of a payload carried as text in a known format: the UTF-8 encoding of the text for
+     * {@link Format#NONE}, otherwise the base64 it holds
+     * @return the bytes, to open or decompress in that format
+     * @throws IllegalArgumentException if the format is compressed and the text is not base64
+     */
+    public static ByteBuffer textBytes(String text, Format format) {
+        if (format == Format.NONE) {
+            return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return Base64Buffers.decode(ByteBuffer.wrap(text.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    private static boolean isZlibHeader(int cmf, int flg) {
+        // deflate with a window of at most 32 KB, and the check bits
+        return (cmf & 0x0F) == 8 && (cmf >>> 4) <= 7 && (cmf << 8 | flg) % 31 == 0;
+    }
+
+    private static int sizeHint(ByteBuffer data, Format format) {
+        int n = data.remaining();
+        if (format == Format.GZIP && n >= 18) {
+            // the trailer holds the size of the last member, modulo 2^32
+            int limit = data.limit();
+            long size = (data.get(limit - 4) & 0xFF) | (data.get(limit - 3) & 0xFF) << 8
+                    | (data.get(limit - 2) & 0xFF) << 16 | (data.get(limit - 1) & 0xFFL) << 24;
+            if (size > 0 && size <= MAX_SIZE_HINT) {
+                return (int) size;
+            }
+        }
+        return (int) Math.min(MAX_SIZE_HINT, Math.max(64, n * 4L));
+    }
+
+    /**
+     * Inflates gzip or zlib from a buffer, checking the trailers; gzip may have several members
+     */
+    private static final class InflatingStream extends InputStream {
+        private final ByteBuffer input;
+        private final boolean gzip;
+        private final Checksum checksum;
+        private Inflater inflater;
+        // compressed bytes copied from input when it has no array
+        private byte[] chunk;
+        private byte[] single;
+        private long memberSize;
+        private boolean eof;
+
+        InflatingStream(ByteBuffer input, boolean gzip) throws IOException {
+            this.input = input;
+            this.gzip = gzip;
+            this.checksum = gzip ? new CRC32() : new Adler32();
+            if (gzip) {
+                readGzipHeader();
+            } else {
+                readZlibHeader();
+            }
+            this.inflater = INFLATERS.take();
+            if (!input.hasArray()) {
+                this.chunk = INPUT_CHUNKS.take();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (single == null) {
+                single = new byte[1];
+            }
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (inflater == null) {
+                throw new IOException("Stream closed");
+            }
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (!eof) {
+                int n;
+                try {
+                    n = inflater.inflate(b, off, len);
+                } catch (DataFormatException e) {
+                    throw new ZipException(e.getMessage() == null ? "Invalid deflate data" : e.getMessage());
+                }
+                if (n > 0) {
+                    checksum.update(b, off, n);
+                    memberSize += n;
+                    return n;
+                }
+                if (inflater.finished()) {
+                    endMember();
+                } else if (inflater.needsDictionary()) {
+                    throw new ZipException("Preset dictionaries are not supported");
+                } else if (inflater.needsInput()) {
+                    if (!input.hasRemaining()) {
+                        throw new EOFException("Unexpected end of compressed data");
+                    }
+                    feed();
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() {
+            if (inflater != null) {
+                inflater.reset();
+                INFLATERS.give(inflater);
+                inflater = null;
+                if (chunk != null) {
+                    INPUT_CHUNKS.give(chunk);
+                    chunk = null;
+                }
+            }
+        }
+
+        private void feed() {
+            if (chunk == null) {
+                inflater.setInput(input.array(), input.arrayOffset() + input.position(), input.remaining());
+                ((Buffer) input).position(input.limit());
+            } else {
+                int n = Math.min(chunk.length, input.remaining());
+                input.get(chunk, 0, n);
+                inflater.setInput(chunk, 0, n);
+            }
+        }
+
+        private void endMember() throws IOException {
+            // give back what the inflater read past the end of the deflate stream
+            ((Buffer) input).position(input.position() - inflater.getRemaining());
+            if (gzip) {
+                long crc = readLittleEndianInt();
+                long size = readLittleEndianInt();
+                if (crc != checksum.getValue() || size != (memberSize & 0xFFFFFFFFL)) {
+                    throw new ZipException("Corrupt gzip trailer");
+                }
+            } else {
+                long adler = (long) u8() << 24 | u8() << 16 | u8() << 8 | u8();
+                if (adler != checksum.getValue()) {
+                    throw new ZipException("Corrupt zlib trailer");
+                }
+            }
+            if (gzip && input.remaining() >= 2 && input.get(input.position()) == 0x1F
+                    && input.get(input.position() + 1) == (byte) 0x8B) {
+                inflater.reset();
+                checksum.reset();
+                memberSize = 0;
+                readGzipHeader();
+            } else {
+                // anything after the last member is ignored, as GZIPInputStream does
+                eof = true;
+            }
+        }
+
+        private void readGzipHeader() throws IOException {
+            if (u8() != 0x1F || u8() != 0x8B) {
+                throw new ZipException("Not in gzip format");
+            }
+            if (u8() != 8) {
+                throw new ZipException("Unsupported gzip compression method");
+            }
+            int flags = u8();
+            // modification time, extra flags and operating system
+            skip(6);
+            if ((flags & GZIP_FEXTRA) != 0) {
+                skip(u8() | u8() << 8);
+            }
+            if ((flags & GZIP_FNAME) != 0) {
+                while (u8() != 0) {
+                    // skip the file name
+                }
+            }
+            if ((flags & GZIP_FCOMMENT) != 0) {
+                while (u8() != 0) {
+                    // skip the comment
+                }
+            }
+            if ((flags & GZIP_FHCRC) != 0) {
+                skip(2);
+            }
+        }
+
+        private void readZlibHeader() throws IOException {
+            int cmf = u8();
+            int flg = u8();
+            if (!isZlibHeader(cmf, flg)) {
+                throw new ZipException("Not in zlib format");
+            }
+            if ((flg & 0x20) != 0) {
+                throw new ZipException("Preset dictionaries are not supported");
+            }
+        }
+
+        private long readLittleEndianInt() throws IOException {
+            return u8() | u8() << 8 | u8() << 16 | (long) u8() << 24;
+        }
+
+        private int u8() throws IOException {
+            if (!input.hasRemaining()) {
+                throw new EOFException("Unexpected end of compressed data");
+            }
+            return input.get() & 0xFF;
+        }
+
+        private void skip(int n) throws IOException {
+            if (input.remaining() < n) {
+                throw new EOFException("Unexpected end of compressed data");
+            }
+            ((Buffer) input).position(input.position() + n);
+        }
+    }
+
+    /**
+     * Reads a buffer's remaining bytes
+     */
+    private static final class BufferStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            ((Buffer) buffer).position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * A bounded pool shared by all threads
+     */
+    private abstract static class Pool<T> {
+        private final ConcurrentLinkedQueue<T> items = new ConcurrentLinkedQueue<T>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        abstract T create();
+
+        void discard(T item) {}
+
+        T take() {
+            T item = items.poll();
+            if (item == null) {
+                return create();
+            }
+            size.decrementAndGet();
+            return item;
+        }
+
+        void give(T item) {
+            if (size.incrementAndGet() <= MAX_POOLED) {
+                items.offer(item);
+            } else {
+                size.decrementAndGet();
+                discard(item);
+            }
+        }
+    }
+}
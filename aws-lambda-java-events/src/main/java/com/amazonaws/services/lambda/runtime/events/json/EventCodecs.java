@@ -0,0 +1,162 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2ProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2ProxyResponseEvent;
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent;
+import com.amazonaws.services.lambda.runtime.events.CloudWatchLogsEvent;
+import com.amazonaws.services.lambda.runtime.events.CodeCommitEvent;
+import com.amazonaws.services.lambda.runtime.events.CognitoEvent;
+import com.amazonaws.services.lambda.runtime.events.ConfigEvent;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.IoTButtonEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsFirehoseInputPreprocessingEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsInputPreprocessingResponse;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryResponse;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsStreamsInputPreprocessingEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisFirehoseEvent;
+import com.amazonaws.services.lambda.runtime.events.LexEvent;
+import com.amazonaws.services.lambda.runtime.events.S3Event;
+import com.amazonaws.services.lambda.runtime.events.SNSEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+
+/**
+ * Reads and writes the event classes with codecs generated at build time, without reflection.
+ * Property names are matched case-insensitively and unknown properties are skipped, the way the
+ * Lambda Java runtime binds events; null properties are left out when writing.
+ *
+ * Codecs for events built on the AWS SDK model classes (S3, Kinesis, DynamoDB) only load those
+ * classes when they are first used, so the SDK stays an optional dependency.
+ */
+@GenerateCodecs(
+        value = {
+                APIGatewayProxyRequestEvent.class,
+                APIGatewayProxyResponseEvent.class,
+                APIGatewayV2ProxyRequestEvent.class,
+                APIGatewayV2ProxyResponseEvent.class,
+                CloudFrontEvent.class,
+                CloudWatchLogsEvent.class,
+                CodeCommitEvent.class,
+                CognitoEvent.class,
+                ConfigEvent.class,
+                DynamodbEvent.class,
+                IoTButtonEvent.class,
+                KinesisAnalyticsFirehoseInputPreprocessingEvent.class,
+                KinesisAnalyticsInputPreprocessingResponse.class,
+                KinesisAnalyticsOutputDeliveryEvent.class,
+                KinesisAnalyticsOutputDeliveryResponse.class,
+                KinesisAnalyticsStreamsInputPreprocessingEvent.class,
+                KinesisEvent.class,
+                KinesisFirehoseEvent.class,
+                LexEvent.class,
+                S3Event.class,
+                SNSEvent.class,
+                SQSBatchResponse.class,
+                SQSEvent.class,
+                ScheduledEvent.class,
+                StreamsEventResponse.class
+        },
+        views = {
+                APIGatewayProxyRequestEvent.class,
+                CloudFrontEvent.class
+        },
+        upperCamelCase = {
+                SNSEvent.class,
+                SNSEvent.SNSRecord.class,
+                SNSEvent.SNS.class,
+                SNSEvent.MessageAttribute.class,
+                StreamRecord.class,
+                AttributeValue.class
+        },
+        properties = {
+                @GenerateCodecs.Property(type = CloudFrontEvent.class, name = "records", json = "Records"),
+                @GenerateCodecs.Property(type = CodeCommitEvent.class, name = "records", json = "Records"),
+                @GenerateCodecs.Property(type = DynamodbEvent.class, name = "records", json = "Records"),
+                @GenerateCodecs.Property(type = KinesisEvent.class, name = "records", json = "Records"),
+                @GenerateCodecs.Property(type = SQSEvent.class, name = "records", json = "Records"),
+                @GenerateCodecs.Property(type = CodeCommitEvent.Record.class, name = "eventSourceArn", json = "eventSourceARN"),
+                @GenerateCodecs.Property(type = CodeCommitEvent.Record.class, name = "codeCommit", json = "codecommit"),
+                @GenerateCodecs.Property(type = CodeCommitEvent.Record.class, name = "userIdentityArn", json = "userIdentityARN"),
+                @GenerateCodecs.Property(type = SQSEvent.SQSMessage.class, name = "eventSourceArn", json = "eventSourceARN"),
+                @GenerateCodecs.Property(type = CloudWatchLogsEvent.class, name = "awsLogs", json = "awslogs"),
+                @GenerateCodecs.Property(type = ScheduledEvent.class, name = "detailType", json = "detail-type"),
+                @GenerateCodecs.Property(type = KinesisEvent.Record.class, name = "data", encoded = "encodedData"),
+                @GenerateCodecs.Property(type = KinesisFirehoseEvent.Record.class, name = "approximateArrivalEpoch", ignore = true)
+        })
+public final class EventCodecs {
+
+    private static final List<String> SUPPORTED = Collections.unmodifiableList(Arrays.asList(GeneratedCodecs.TYPE_NAMES));
+
+    private EventCodecs() {}
+
+    /**
+     * @return the codec for an event class
+     * @throws IllegalArgumentException if there is no codec for the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonCodec<T> forType(Class<T> type) {
+        JsonCodec<T> codec = (JsonCodec<T>) GeneratedCodecs.forName(type.getName());
+        if (codec == null) {
+            throw new IllegalArgumentException("No codec for " + type.getName());
+        }
+        return codec;
+    }
+
+    public static boolean isSupported(Class<?> type) {
+        return GeneratedCodecs.forName(type.getName()) != null;
+    }
+
+    /**
+     * @return the names of the classes codecs exist for, events and the types they contain
+     */
+    public static List<String> supportedTypeNames() {
+        return SUPPORTED;
+    }
+
+    public static <T> T read(Class<T> type, InputStream in) throws IOException {
+        return forType(type).read(new JsonReader(in));
+    }
+
+    public static <T> T read(Class<T> type, byte[] json) throws IOException {
+        return forType(type).read(new JsonReader(json));
+    }
+
+    /**
+     * Reads an event, decoding its binary payloads into an arena
+     * @param arena the arena, which must stay open while the payloads are used
+     */
+    public static <T> T read(Class<T> type, InputStream in, PayloadArena arena) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        reader.setPayloadArena(arena);
+        return forType(type).read(reader);
+    }
+
+    public static <T> T read(Class<T> type, byte[] json, PayloadArena arena) throws IOException {
+        JsonReader reader = new JsonReader(json);
+        reader.setPayloadArena(arena);
+        return forType(type).read(reader);
+    }
+
+    public static <T> void write(Class<T> type, T value, OutputStream out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        forType(type).write(writer, value);
+        writer.flush();
+    }
+}
@@ -0,0 +1,75 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.amazonaws.services.lambda.runtime.serialization.PojoSerializer;
+import com.amazonaws.services.lambda.runtime.serialization.PojoSerializerFactory;
+
+/**
+ * Serves the {@link EventCodecs} to {@link com.amazonaws.services.lambda.runtime.serialization.PojoSerializers},
+ * so the event classes are bound without reflection. Each thread reuses one reader and one writer, and with
+ * them their buffers.
+ */
+public final class EventSerializerFactory implements PojoSerializerFactory {
+
+    private static final ThreadLocal<JsonReader> READER = new ThreadLocal<JsonReader>();
+    private static final ThreadLocal<JsonWriter> WRITER = new ThreadLocal<JsonWriter>();
+
+    private static final InputStream EMPTY = new InputStream() {
+        @Override
+        public int read() {
+            return -1;
+        }
+    };
+
+    @Override
+    public <T> PojoSerializer<T> getSerializer(Class<T> type) {
+        return EventCodecs.isSupported(type) ? new CodecSerializer<T>(EventCodecs.forType(type)) : null;
+    }
+
+    private static final class CodecSerializer<T> implements PojoSerializer<T> {
+        private final JsonCodec<T> codec;
+
+        CodecSerializer(JsonCodec<T> codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public T fromJson(InputStream input) throws IOException {
+            JsonReader reader = READER.get();
+            if (reader == null) {
+                reader = new JsonReader(input);
+                READER.set(reader);
+            } else {
+                reader.reset(input);
+            }
+            try {
+                return codec.read(reader);
+            } finally {
+                // do not hold on to the stream between invocations
+                reader.reset(EMPTY);
+            }
+        }
+
+        @Override
+        public void toJson(T value, OutputStream output) throws IOException {
+            JsonWriter writer = WRITER.get();
+            if (writer == null) {
+                writer = new JsonWriter(output);
+                WRITER.set(writer);
+            } else {
+                writer.reset(output);
+            }
+            try {
+                codec.write(writer, value);
+                writer.flush();
+            } finally {
+                writer.reset(null);
+            }
+        }
+    }
+}
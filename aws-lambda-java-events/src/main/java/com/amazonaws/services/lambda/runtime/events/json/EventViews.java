@@ -0,0 +1,70 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent;
+
+/**
+ * Lazy views of large events. The payload is indexed once, without decoding anything, and each property
+ * is decoded the first time its getter is called. A view is an instance of the event class, so handlers
+ * use it through the usual getters and setters; nested objects such as the request context or the
+ * CloudFront request are views as well.
+ *
+ * Views pay off when a handler reads a few properties of an event, such as the path and one header of an
+ * API Gateway request. Malformed property values are only detected when they are decoded, and are thrown
+ * from the getter as {@link java.io.UncheckedIOException}.
+ */
+public final class EventViews {
+
+    private static final Set<String> SUPPORTED = new HashSet<String>(Arrays.asList(GeneratedViews.TYPE_NAMES));
+
+    private EventViews() {}
+
+    public static APIGatewayProxyRequestEvent apiGatewayProxyRequest(byte[] json) throws IOException {
+        return view(APIGatewayProxyRequestEvent.class, json);
+    }
+
+    public static CloudFrontEvent cloudFront(byte[] json) throws IOException {
+        return view(CloudFrontEvent.class, json);
+    }
+
+    public static boolean isSupported(Class<?> type) {
+        return SUPPORTED.contains(type.getName());
+    }
+
+    /**
+     * @param type an event class views are generated for
+     * @param json the event, which must not be modified while the view is in use
+     * @return a view of the event, or null for a JSON null
+     * @throws IllegalArgumentException if there is no view for the class
+     * @throws IOException if the JSON is not well-formed
+     */
+    public static <T> T view(Class<T> type, byte[] json) throws IOException {
+        if (!isSupported(type)) {
+            throw new IllegalArgumentException("No view for " + type.getName());
+        }
+        JsonIndex index = JsonIndex.of(json);
+        if (index.isNull(index.root())) {
+            return null;
+        }
+        return type.cast(GeneratedViews.forName(type.getName(), index, index.root()));
+    }
+
+    public static <T> T view(Class<T> type, InputStream input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = input.read(buffer)) > 0) {
+            bytes.write(buffer, 0, n);
+        }
+        return view(type, bytes.toByteArray());
+    }
+}
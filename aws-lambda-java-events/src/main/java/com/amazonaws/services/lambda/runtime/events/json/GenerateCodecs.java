@@ -0,0 +1,74 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Asks the aws-lambda-java-events-processor annotation processor to generate a {@link JsonCodec} for
+ * each listed type and for every bean type reachable from their properties, plus a package-private
+ * {@code GeneratedCodecs} registry in the package of the annotated class.
+ *
+ * Properties are found the way bean introspection finds them: a getter paired with a setter, or
+ * with a parameter of a constructor annotated with Jackson's {@code @JsonCreator}. Jackson's
+ * {@code @JsonProperty} and {@code @JsonIgnore} on library classes are honored.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateCodecs {
+
+    /**
+     * @return the root types
+     */
+    Class<?>[] value();
+
+    /**
+     * @return types whose JSON property names start with an upper case letter, such as the SNS
+     * records or DynamoDB stream records
+     */
+    Class<?>[] upperCamelCase() default {};
+
+    /**
+     * @return types to also generate lazy views for, with their object properties and list elements that
+     * can be viewed; views are subclasses that decode each property on first access
+     */
+    Class<?>[] views() default {};
+
+    /**
+     * @return JSON names for properties that do not follow their type's naming, and properties to leave out
+     */
+    Property[] properties() default {};
+
+    @Retention(RetentionPolicy.SOURCE)
+    @Target({})
+    @interface Property {
+
+        Class<?> type();
+
+        /**
+         * @return the bean property name, as in {@code eventSourceArn} for {@code getEventSourceArn()}
+         */
+        String name();
+
+        /**
+         * @return the JSON name, empty to derive it from the property name
+         */
+        String json() default "";
+
+        /**
+         * @return true to neither read nor write the property
+         */
+        boolean ignore() default false;
+
+        /**
+         * @return for a ByteBuffer property, the name of the methods that take its base64 text as read, so the type
+         * can decode it on first use; the type sets it with {@code <encoded>(ByteBuffer, PayloadArena)} and it is
+         * written back from {@code <encoded>()}. Not bean accessors, so that reflective binding does not see a
+         * second property. Empty to decode while reading.
+         */
+        String encoded() default "";
+    }
+}
@@ -0,0 +1,29 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes one type as JSON. Implementations are stateless and thread safe.
+ *
+ * @param <T> the type
+ */
+public interface JsonCodec<T> {
+
+    /**
+     * Reads the value the reader is positioned at
+     * @param reader the reader
+     * @return the value, or null for a JSON null
+     * @throws IOException if the input cannot be read or is not valid JSON
+     */
+    T read(JsonReader reader) throws IOException;
+
+    /**
+     * Writes a value, leaving out null properties
+     * @param writer the writer
+     * @param value the value, may be null
+     * @throws IOException if the output cannot be written
+     */
+    void write(JsonWriter writer, T value) throws IOException;
+}
@@ -0,0 +1,282 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Offsets of every value in a JSON document, found in one pass without decoding anything. Values are
+ * numbered in document order, so the first child of a non-empty container directly follows it; each value
+ * knows its next sibling and, inside objects, where its property name is. Lazy views decode a value
+ * from its offsets the first time it is asked for.
+ */
+final class JsonIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // per value: start, end (exclusive), next sibling or -1, name start (after the quote) or -1, name length
+    private static final int START = 0;
+    private static final int END = 1;
+    private static final int NEXT = 2;
+    private static final int NAME = 3;
+    private static final int NAME_LENGTH = 4;
+    private static final int STRIDE = 5;
+
+    private final byte[] json;
+    private int[] values;
+    private int count;
+
+    private JsonIndex(byte[] json, int estimate) {
+        this.json = json;
+        this.values = new int[Math.max(16, estimate) * STRIDE];
+    }
+
+    /**
+     * Indexes a document, which must not be modified afterwards
+     * @throws IOException if the document is not well-formed
+     */
+    static JsonIndex of(byte[] json) throws IOException {
+        // about one value every 24 bytes in typical events
+        JsonIndex index = new JsonIndex(json, json.length / 24);
+        index.scan();
+        return index;
+    }
+
+    /**
+     * @return the document's top-level value
+     */
+    int root() {
+        return 0;
+    }
+
+    boolean isNull(int value) {
+        return json[values[value * STRIDE + START]] == 'n';
+    }
+
+    /**
+     * @return the first element or member of a container, or -1 if it is empty or not a container
+     */
+    int firstChild(int value) {
+        int child = value + 1;
+        return child < count && values[child * STRIDE + START] < values[value * STRIDE + END] ? child : -1;
+    }
+
+    /**
+     * @return the next element or member in the same container, or -1
+     */
+    int next(int value) {
+        return values[value * STRIDE + NEXT];
+    }
+
+    /**
+     * Finds the members of an object that have a name in the table
+     * @return for each name, the member value or -1
+     */
+    int[] members(int object, JsonNames names) {
+        int[] members = new int[names.size()];
+        Arrays.fill(members, -1);
+        for (int child = firstChild(object); child >= 0; child = next(child)) {
+            int nameStart = values[child * STRIDE + NAME];
+            if (nameStart >= 0) {
+                int index = names.indexOf(json, nameStart, values[child * STRIDE + NAME_LENGTH]);
+                if (index >= 0) {
+                    members[index] = child;
+                }
+            }
+        }
+        return members;
+    }
+
+    /**
+     * @return the first member of an object whose name is in the table, or -1
+     */
+    int member(int object, JsonNames names) {
+        for (int child = firstChild(object); child >= 0; child = next(child)) {
+            int nameStart = values[child * STRIDE + NAME];
+            if (nameStart >= 0 && names.indexOf(json, nameStart, values[child * STRIDE + NAME_LENGTH]) >= 0) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds a map entry, whose key is data rather than a property name and so matched exactly
+     * @param key the UTF-8 bytes of the key
+     * @return the last member of an object with that name, the one a decoded map keeps, or -1
+     */
+    int entry(int object, byte[] key) {
+        int found = -1;
+        for (int child = firstChild(object); child >= 0; child = next(child)) {
+            int nameStart = values[child * STRIDE + NAME];
+            if (nameStart >= 0 && values[child * STRIDE + NAME_LENGTH] == key.length
+                    && regionMatches(nameStart, key)) {
+                found = child;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return the text of a string, number or boolean, or null for a null, an object or an array
+     */
+    String text(int value) throws IOException {
+        byte first = json[values[value * STRIDE + START]];
+        if (first == '{' || first == '[' || first == 'n') {
+            return null;
+        }
+        return reader(value).nextString();
+    }
+
+    /**
+     * @return a reader positioned on the value
+     */
+    JsonReader reader(int value) {
+        int start = values[value * STRIDE + START];
+        return new JsonReader(json, start, values[value * STRIDE + END] - start);
+    }
+
+    private boolean regionMatches(int offset, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (json[offset + i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void scan() throws IOException {
+        int[] open = new int[32];
+        // last value added to each open container, to link it to its next sibling
+        int[] last = new int[32];
+        int depth = 0;
+        int nameStart = -1;
+        int nameLength = 0;
+        int p = 0;
+        int end = json.length;
+        boolean expectValue = true;
+        while (true) {
+            p = skipWhitespace(p);
+            if (p == end) {
+                break;
+            }
+            byte b = json[p];
+            if (b == '}' || b == ']') {
+                if (depth == 0 || (b == '}') != (json[values[open[depth - 1] * STRIDE + START]] == '{')) {
+                    throw syntax("Unexpected '" + (char) b + "'", p);
+                }
+                values[open[--depth] * STRIDE + END] = ++p;
+                expectValue = false;
+                continue;
+            }
+            if (b == ',' || b == ':') {
+                p++;
+                expectValue = true;
+                continue;
+            }
+            if (!expectValue) {
+                throw syntax("Expected ',' or a closing bracket", p);
+            }
+            boolean inObject = depth > 0 && json[values[open[depth - 1] * STRIDE + START]] == '{';
+            if (inObject && nameStart < 0) {
+                if (b != '"') {
+                    throw syntax("Expected a property name", p);
+                }
+                nameStart = p + 1;
+                p = skipString(p);
+                nameLength = p - 1 - nameStart;
+                continue;
+            }
+            if (depth == 0 && count > 0) {
+                throw syntax("Unexpected data after the document", p);
+            }
+            int value = add(p, inObject ? nameStart : -1, nameLength);
+            nameStart = -1;
+            if (depth > 0) {
+                if (last[depth - 1] >= 0) {
+                    values[last[depth - 1] * STRIDE + NEXT] = value;
+                }
+                last[depth - 1] = value;
+            }
+            expectValue = false;
+            if (b == '{' || b == '[') {
+                if (depth == open.length) {
+                    open = Arrays.copyOf(open, depth * 2);
+                    last = Arrays.copyOf(last, depth * 2);
+                }
+                open[depth] = value;
+                last[depth++] = -1;
+                p++;
+                expectValue = true;
+            } else {
+                p = b == '"' ? skipString(p) : skipLiteral(p);
+                values[value * STRIDE + END] = p;
+            }
+        }
+        if (count == 0 || depth > 0) {
+            throw syntax("Unexpected end of document", p);
+        }
+    }
+
+    private int add(int start, int nameStart, int nameLength) {
+        if ((count + 1) * STRIDE > values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        int i = count * STRIDE;
+        values[i + START] = start;
+        values[i + END] = -1;
+        values[i + NEXT] = -1;
+        values[i + NAME] = nameStart;
+        values[i + NAME_LENGTH] = nameLength;
+        return count++;
+    }
+
+    private int skipWhitespace(int p) {
+        while (p < json.length) {
+            byte b = json[p];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            p++;
+        }
+        return p;
+    }
+
+    /**
+     * @return the offset after the closing quote of the string starting at p
+     */
+    private int skipString(int p) throws IOException {
+        int start = p++;
+        while (p < json.length) {
+            byte b = json[p++];
+            if (b == '"') {
+                return p;
+            }
+            if (b == '\\') {
+                p++;
+            }
+        }
+        throw syntax("Unterminated string", start);
+    }
+
+    private int skipLiteral(int p) throws IOException {
+        int start = p;
+        while (p < json.length) {
+            byte b = json[p];
+            if (b == ',' || b == '}' || b == ']' || b == ':' || b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                break;
+            }
+            p++;
+        }
+        if (p == start) {
+            throw syntax("Expected a value", p);
+        }
+        return p;
+    }
+
+    private static IOException syntax(String message, int offset) {
+        return new IOException(message + " at offset " + offset);
+    }
+}
@@ -0,0 +1,132 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Fixed set of property names, matched against the raw bytes of the input without creating a String
+ * per name. Matching ignores ASCII case, the way the Lambda runtime binds event properties.
+ */
+public final class JsonNames {
+
+    private final String[] names;
+    private final byte[][] lowerCase;
+    // quoted, escaped and followed by a colon, ready for the writer
+    private final byte[][] encoded;
+    // open addressing hash table of index + 1, 0 marks a free slot
+    private final int[] table;
+    private final int mask;
+
+    private JsonNames(String[] names) {
+        this.names = names.clone();
+        this.lowerCase = new byte[names.length][];
+        this.encoded = new byte[names.length][];
+        int size = Integer.highestOneBit(Math.max(names.length, 1) * 2 + 1) << 1;
+        this.table = new int[size];
+        this.mask = size - 1;
+        for (int i = 0; i < names.length; i++) {
+            byte[] utf8 = names[i].getBytes(StandardCharsets.UTF_8);
+            lowerCase[i] = lowerCase(utf8);
+            encoded[i] = encode(names[i]);
+            if (indexOf(utf8, 0, utf8.length) >= 0) {
+                throw new IllegalArgumentException("Duplicate name, ignoring case: " + names[i]);
+            }
+            int slot = hash(utf8, 0, utf8.length) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+    }
+
+    public static JsonNames of(String... names) {
+        return new JsonNames(names);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String get(int index) {
+        return names[index];
+    }
+
+    /**
+     * @param name the name to look up, in any case
+     * @return the index of the name, or -1
+     */
+    public int indexOf(String name) {
+        byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+        return indexOf(utf8, 0, utf8.length);
+    }
+
+    int indexOf(byte[] bytes, int offset, int length) {
+        int slot = hash(bytes, offset, length) & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            if (matches(lowerCase[entry - 1], bytes, offset, length)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    byte[] encoded(int index) {
+        return encoded[index];
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(names);
+    }
+
+    private static boolean matches(byte[] lowerCase, byte[] bytes, int offset, int length) {
+        if (lowerCase.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (lowerCase[i] != toLowerCase(bytes[offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + toLowerCase(bytes[i]);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static byte toLowerCase(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static byte[] lowerCase(byte[] bytes) {
+        byte[] lower = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            lower[i] = toLowerCase(bytes[i]);
+        }
+        return lower;
+    }
+
+    private static byte[] encode(String name) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(name.length() + 3);
+        try {
+            JsonWriter writer = new JsonWriter(out);
+            writer.string(name);
+            writer.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        out.write(':');
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,873 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull parser over UTF-8 JSON, either a byte array or a stream read through a buffer that grows only
+ * as far as the longest single token. Property names can be matched against a {@link JsonNames}
+ * table straight from the input bytes.
+ *
+ * Scalars are coerced the way the Lambda runtime binds events: numbers and booleans can be read as
+ * strings, and quoted numbers and booleans as numbers and booleans.
+ */
+public final class JsonReader implements Closeable {
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private InputStream in;
+    private byte[] buf;
+    private int pos;
+    private int limit;
+    // bytes dropped from the front of the buffer so far, for error offsets
+    private long discarded;
+    // how far the last fill() moved the buffer contents towards its start
+    private int lastShift;
+    // start of a value being captured, which fill() keeps in the buffer; -1 when not capturing
+    private int mark = -1;
+    // the bytes of the last value read by nextUtf8()
+    byte[] utf8;
+    int utf8Start;
+    int utf8Length;
+
+    private PayloadArena arena;
+
+    private int[] stack = new int[32];
+    private int depth;
+    private JsonToken peeked;
+
+    public JsonReader(InputStream in) {
+        this(in, 8192);
+    }
+
+    public JsonReader(InputStream in, int bufferSize) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("bufferSize must be at least 16: " + bufferSize);
+        }
+        this.in = in;
+        this.buf = new byte[bufferSize];
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    public JsonReader(byte[] json) {
+        this(json, 0, json.length);
+    }
+
+    /**
+     * Reads a document held in a byte array, which is neither copied nor modified
+     */
+    public JsonReader(byte[] json, int offset, int length) {
+        this.in = null;
+        this.buf = json;
+        this.pos = offset;
+        this.limit = offset + length;
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Discards all state and starts reading a new document from another stream, keeping the buffer
+     * @param in the stream to read
+     * @return this reader
+     * @throws IllegalStateException if this reader was created over a byte array
+     */
+    public JsonReader reset(InputStream in) {
+        if (this.in == null) {
+            throw new IllegalStateException("Cannot reset a reader over a byte array");
+        }
+        this.in = in;
+        pos = 0;
+        limit = 0;
+        discarded = 0;
+        lastShift = 0;
+        mark = -1;
+        depth = 0;
+        peeked = null;
+        stack[depth++] = EMPTY_DOCUMENT;
+        return this;
+    }
+
+    public JsonToken peek() throws IOException {
+        if (peeked == null) {
+            peeked = doPeek();
+        }
+        return peeked;
+    }
+
+    /**
+     * @return true while the current object or array has more members
+     */
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        pos++;
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        depth--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        pos++;
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        depth--;
+    }
+
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        return readString();
+    }
+
+    /**
+     * Reads a property name and looks it up, ignoring case, without creating a String for it
+     * @param names the names to match
+     * @return the index of the name in the table, or -1 if it is not there
+     * @throws IOException if the input cannot be read or the next token is not a name
+     */
+    public int nextName(JsonNames names) throws IOException {
+        expect(JsonToken.NAME);
+        int p = pos + 1;
+        while (true) {
+            if (p == limit) {
+                boolean more = fill(pos);
+                p -= lastShift;
+                if (!more) {
+                    throw syntax("Unterminated string");
+                }
+                continue;
+            }
+            byte b = buf[p];
+            if (b == '"') {
+                int index = names.indexOf(buf, pos + 1, p - pos - 1);
+                pos = p + 1;
+                return index;
+            }
+            if (b == '\\') {
+                return names.indexOf(readString());
+            }
+            p++;
+        }
+    }
+
+    /**
+     * @return the string, the text of a number or boolean, or null for a JSON null
+     */
+    public String nextString() throws IOException {
+        switch (peek()) {
+            case STRING:
+                peeked = null;
+                return readString();
+            case NUMBER: {
+                int end = numberEnd();
+                String text = new String(buf, pos, end - pos, StandardCharsets.ISO_8859_1);
+                pos = end;
+                peeked = null;
+                return text;
+            }
+            case BOOLEAN:
+                return Boolean.toString(nextBoolean());
+            case NULL:
+                nextIfNull();
+                return null;
+            default:
+                throw unexpected("a string");
+        }
+    }
+
+    /**
+     * Consumes a JSON null if the reader is positioned at one
+     * @return true if a null was consumed
+     */
+    public boolean nextIfNull() throws IOException {
+        if (peek() != JsonToken.NULL) {
+            return false;
+        }
+        literal(NULL);
+        return true;
+    }
+
+    public boolean nextBoolean() throws IOException {
+        switch (peek()) {
+            case BOOLEAN:
+                if (buf[pos] == 't') {
+                    literal(TRUE);
+                    return true;
+                }
+                literal(FALSE);
+                return false;
+            case STRING: {
+                String s = nextString();
+                if ("true".equalsIgnoreCase(s)) {
+                    return true;
+                }
+                if ("false".equalsIgnoreCase(s)) {
+                    return false;
+                }
+                throw syntax("Expected a boolean but was \"" + s + "\"");
+            }
+            default:
+                throw unexpected("a boolean");
+        }
+    }
+
+    public long nextLong() throws IOException {
+        switch (peek()) {
+            case NUMBER: {
+                int end = numberEnd();
+                long value = parseLong(pos, end);
+                pos = end;
+                peeked = null;
+                return value;
+            }
+            case STRING: {
+                String s = nextString().trim();
+                try {
+                    return isIntegral(s) ? Long.parseLong(s) : (long) Double.parseDouble(s);
+                } catch (NumberFormatException e) {
+                    throw syntax("Expected a number but was \"" + s + "\"");
+                }
+            }
+            default:
+                throw unexpected("a number");
+        }
+    }
+
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if ((int) value != value) {
+            throw syntax("Number " + value + " does not fit an int");
+        }
+        return (int) value;
+    }
+
+    public double nextDouble() throws IOException {
+        JsonToken token = peek();
+        if (token != JsonToken.NUMBER && token != JsonToken.STRING) {
+            throw unexpected("a number");
+        }
+        String s = nextString().trim();
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            throw syntax("Expected a number but was \"" + s + "\"");
+        }
+    }
+
+    /**
+     * Reads a number as an Integer, Long or BigInteger when it has no fraction or exponent, or a
+     * Double otherwise
+     */
+    public Number nextNumber() throws IOException {
+        if (peek() != JsonToken.NUMBER) {
+            throw unexpected("a number");
+        }
+        String s = nextString();
+        if (isIntegral(s)) {
+            if (s.length() <= 18) {
+                long value = Long.parseLong(s);
+                return (int) value == value ? Integer.valueOf((int) value) : Long.valueOf(value);
+            }
+            BigInteger value = new BigInteger(s);
+            return value.bitLength() < 64 ? Long.valueOf(value.longValue()) : value;
+        }
+        return Double.valueOf(s);
+    }
+
+    /**
+     * Decodes a base64 string straight from the input
+     * @return a heap buffer, or a slice of the payload arena, holding the decoded bytes; null for a JSON null
+     */
+    public ByteBuffer nextBase64() throws IOException {
+        if (!nextUtf8()) {
+            return null;
+        }
+        try {
+            if (arena != null) {
+                return arena.decodeBase64(ByteBuffer.wrap(utf8, utf8Start, utf8Length));
+            }
+            return Base64Buffers.decode(ByteBuffer.wrap(utf8, utf8Start, utf8Length));
+        } catch (IllegalArgumentException e) {
+            throw syntax("Invalid base64: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a base64 string without decoding it
+     * @return the base64 text: a slice of the document when it was read from a byte array and holds no escapes,
+     * otherwise a copy, in the payload arena when there is one; null for a JSON null
+     */
+    public ByteBuffer nextBase64Text() throws IOException {
+        if (!nextUtf8()) {
+            return null;
+        }
+        if (in == null && utf8 == buf) {
+            return ByteBuffer.wrap(buf, utf8Start, utf8Length).slice();
+        }
+        ByteBuffer text = arena != null ? arena.allocate(utf8Length) : ByteBuffer.allocate(utf8Length);
+        text.put(utf8, utf8Start, utf8Length);
+        ((Buffer) text).flip();
+        return text;
+    }
+
+    /**
+     * Makes {@link #nextBase64()} decode into slices of an arena rather than new heap buffers
+     * @param arena the arena, or null for heap buffers
+     */
+    public void setPayloadArena(PayloadArena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * @return the arena binary payloads are decoded into, or null
+     */
+    public PayloadArena getPayloadArena() {
+        return arena;
+    }
+
+    /**
+     * Reads a string, or the text of a number or boolean, without building a String: its UTF-8 bytes are
+     * left in {@code utf8[utf8Start, utf8Start + utf8Length)} until the reader moves on. Strings without
+     * escapes are not copied.
+     * @return false for a JSON null
+     */
+    boolean nextUtf8() throws IOException {
+        switch (peek()) {
+            case STRING:
+                break;
+            case NUMBER: {
+                int end = numberEnd();
+                utf8 = buf;
+                utf8Start = pos;
+                utf8Length = end - pos;
+                pos = end;
+                peeked = null;
+                return true;
+            }
+            case NULL:
+                nextIfNull();
+                return false;
+            default: {
+                byte[] text = nextString().getBytes(StandardCharsets.UTF_8);
+                utf8 = text;
+                utf8Start = 0;
+                utf8Length = text.length;
+                return true;
+            }
+        }
+        peeked = null;
+        int p = pos + 1;
+        while (true) {
+            if (p == limit) {
+                boolean more = fill(pos);
+                p -= lastShift;
+                if (!more) {
+                    throw syntax("Unterminated string");
+                }
+                continue;
+            }
+            byte b = buf[p];
+            if (b == '"') {
+                utf8 = buf;
+                utf8Start = pos + 1;
+                utf8Length = p - pos - 1;
+                pos = p + 1;
+                return true;
+            }
+            if (b == '\\') {
+                // escapes are rare in the values read this way; take the slow path
+                byte[] text = readString().getBytes(StandardCharsets.UTF_8);
+                utf8 = text;
+                utf8Start = 0;
+                utf8Length = text.length;
+                return true;
+            }
+            p++;
+        }
+    }
+
+    /**
+     * Reads any value as maps, lists, strings, numbers, booleans and nulls
+     */
+    public Object nextValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT: {
+                Map<String, Object> map = new LinkedHashMap<String, Object>();
+                beginObject();
+                while (hasNext()) {
+                    String name = nextName();
+                    map.put(name, nextValue());
+                }
+                endObject();
+                return map;
+            }
+            case BEGIN_ARRAY: {
+                List<Object> list = new ArrayList<Object>();
+                beginArray();
+                while (hasNext()) {
+                    list.add(nextValue());
+                }
+                endArray();
+                return list;
+            }
+            case STRING:
+                return nextString();
+            case NUMBER:
+                return nextNumber();
+            case BOOLEAN:
+                return nextBoolean();
+            case NULL:
+                nextIfNull();
+                return null;
+            default:
+                throw unexpected("a value");
+        }
+    }
+
+    /**
+     * Skips the next value, including everything nested in it, without decoding it
+     */
+    public void skipValue() throws IOException {
+        int nesting = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    nesting++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    nesting++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    nesting--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    nesting--;
+                    break;
+                case NAME:
+                case STRING:
+                    peeked = null;
+                    skipString();
+                    break;
+                case NUMBER:
+                    pos = numberEnd();
+                    peeked = null;
+                    break;
+                case BOOLEAN:
+                    nextBoolean();
+                    break;
+                case NULL:
+                    nextIfNull();
+                    break;
+                default:
+                    throw unexpected("a value");
+            }
+        } while (nesting > 0);
+    }
+
+    /**
+     * Reads the next value, including everything nested in it, as JSON text without decoding it
+     * @return a copy of the value's UTF-8 bytes
+     */
+    public byte[] nextRawValue() throws IOException {
+        peek();
+        mark = pos;
+        try {
+            skipValue();
+            return Arrays.copyOfRange(buf, mark, pos);
+        } finally {
+            mark = -1;
+        }
+    }
+
+    /**
+     * Closes the underlying stream, if any
+     */
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        }
+    }
+
+    private JsonToken doPeek() throws IOException {
+        int scope = stack[depth - 1];
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace(true);
+                if (c == ']') {
+                    return JsonToken.END_ARRAY;
+                }
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace(true);
+                if (c == ']') {
+                    return JsonToken.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntax("Expected ',' or ']'");
+                }
+                c = nextNonWhitespace(true);
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace(true);
+                if (c == '}') {
+                    return JsonToken.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntax("Expected ',' or '}'");
+                    }
+                    c = nextNonWhitespace(true);
+                }
+                if (c != '"') {
+                    throw syntax("Expected a name");
+                }
+                stack[depth - 1] = DANGLING_NAME;
+                pos--;
+                return JsonToken.NAME;
+            case DANGLING_NAME:
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace(true) != ':') {
+                    throw syntax("Expected ':'");
+                }
+                c = nextNonWhitespace(true);
+                break;
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                c = nextNonWhitespace(true);
+                break;
+            default:
+                if (nextNonWhitespace(false) == -1) {
+                    return JsonToken.END_DOCUMENT;
+                }
+                throw syntax("Expected end of input");
+        }
+        // peek leaves the first byte of a value in place
+        pos--;
+        switch (c) {
+            case '{':
+                return JsonToken.BEGIN_OBJECT;
+            case '[':
+                return JsonToken.BEGIN_ARRAY;
+            case '"':
+                return JsonToken.STRING;
+            case 't':
+            case 'f':
+                return JsonToken.BOOLEAN;
+            case 'n':
+                return JsonToken.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return JsonToken.NUMBER;
+                }
+                throw syntax("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void expect(JsonToken token) throws IOException {
+        if (peek() != token) {
+            throw unexpected(token.toString());
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    private int nextNonWhitespace(boolean required) throws IOException {
+        while (true) {
+            if (pos == limit && !fill(pos)) {
+                if (required) {
+                    throw syntax("Unexpected end of input");
+                }
+                return -1;
+            }
+            int c = buf[pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Reads the string starting at the quote under pos
+     */
+    private String readString() throws IOException {
+        int p = pos + 1;
+        boolean ascii = true;
+        while (true) {
+            if (p == limit) {
+                boolean more = fill(pos);
+                p -= lastShift;
+                if (!more) {
+                    throw syntax("Unterminated string");
+                }
+                continue;
+            }
+            byte b = buf[p];
+            if (b == '"') {
+                String s = new String(buf, pos + 1, p - pos - 1,
+                        ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+                pos = p + 1;
+                return s;
+            }
+            if (b == '\\') {
+                pos++;
+                return readEscapedString(p);
+            }
+            if (b < 0) {
+                ascii = false;
+            }
+            p++;
+        }
+    }
+
+    /**
+     * Continues reading a string at its first escape; pos marks the start of the pending run of
+     * unescaped bytes
+     */
+    private String readEscapedString(int p) throws IOException {
+        StringBuilder sb = new StringBuilder(Math.max(16, 2 * (p - pos)));
+        while (true) {
+            if (p == limit) {
+                boolean more = fill(pos);
+                p -= lastShift;
+                if (!more) {
+                    throw syntax("Unterminated string");
+                }
+                continue;
+            }
+            byte b = buf[p];
+            if (b == '"') {
+                sb.append(new String(buf, pos, p - pos, StandardCharsets.UTF_8));
+                pos = p + 1;
+                return sb.toString();
+            }
+            if (b != '\\') {
+                p++;
+                continue;
+            }
+            sb.append(new String(buf, pos, p - pos, StandardCharsets.UTF_8));
+            pos = p;
+            p = require(p, 2);
+            byte e = buf[p + 1];
+            switch (e) {
+                case '"': sb.append('"'); break;
+                case '\\': sb.append('\\'); break;
+                case '/': sb.append('/'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u': {
+                    p = require(p, 6);
+                    int code = 0;
+                    for (int i = p + 2; i < p + 6; i++) {
+                        int digit = Character.digit(buf[i], 16);
+                        if (digit < 0) {
+                            throw syntax("Invalid unicode escape");
+                        }
+                        code = code << 4 | digit;
+                    }
+                    sb.append((char) code);
+                    p += 4;
+                    break;
+                }
+                default:
+                    throw syntax("Invalid escape '\\" + (char) e + "'");
+            }
+            p += 2;
+            pos = p;
+        }
+    }
+
+    private void skipString() throws IOException {
+        int p = pos + 1;
+        while (true) {
+            if (p >= limit) {
+                // p is past limit when the byte after a backslash is not loaded yet
+                int over = p - limit;
+                pos = limit;
+                if (!fill(pos)) {
+                    throw syntax("Unterminated string");
+                }
+                p = pos + over;
+                continue;
+            }
+            byte b = buf[p];
+            if (b == '"') {
+                pos = p + 1;
+                return;
+            }
+            p += b == '\\' ? 2 : 1;
+        }
+    }
+
+    /**
+     * Returns the end of the number starting at pos, loading all of it into the buffer
+     */
+    private int numberEnd() throws IOException {
+        int p = pos;
+        while (true) {
+            if (p == limit) {
+                boolean more = fill(pos);
+                p -= lastShift;
+                if (!more) {
+                    return p;
+                }
+                continue;
+            }
+            byte b = buf[p];
+            if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                p++;
+            } else {
+                return p;
+            }
+        }
+    }
+
+    private long parseLong(int start, int end) throws IOException {
+        boolean negative = buf[start] == '-';
+        int i = negative ? start + 1 : start;
+        if (end - i > 0 && end - i <= 18) {
+            long value = 0;
+            for (; i < end; i++) {
+                int digit = buf[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+            }
+            if (i == end) {
+                return negative ? -value : value;
+            }
+        }
+        String s = new String(buf, start, end - start, StandardCharsets.ISO_8859_1);
+        try {
+            return isIntegral(s) ? Long.parseLong(s) : (long) Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            throw syntax("Invalid number " + s);
+        }
+    }
+
+    private static boolean isIntegral(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void literal(byte[] literal) throws IOException {
+        int p = require(pos, literal.length);
+        for (int i = 0; i < literal.length; i++) {
+            if (buf[p + i] != literal[i]) {
+                throw syntax("Invalid literal");
+            }
+        }
+        pos = p + literal.length;
+        peeked = null;
+    }
+
+    /**
+     * Loads at least n bytes from p on, keeping everything from pos
+     * @return p, moved along with the buffer contents
+     */
+    private int require(int p, int n) throws IOException {
+        while (limit - p < n) {
+            boolean more = fill(pos);
+            p -= lastShift;
+            if (!more) {
+                throw syntax("Unexpected end of input");
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Moves the bytes from keep on to the start of the buffer, growing it if they fill it, and reads
+     * more input after them
+     * @return false at the end of the input
+     */
+    private boolean fill(int keep) throws IOException {
+        lastShift = 0;
+        if (in == null) {
+            return false;
+        }
+        if (mark >= 0 && mark < keep) {
+            keep = mark;
+        }
+        if (keep > 0) {
+            System.arraycopy(buf, keep, buf, 0, limit - keep);
+            limit -= keep;
+            pos -= keep;
+            discarded += keep;
+            lastShift = keep;
+            if (mark >= 0) {
+                mark -= keep;
+            }
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n <= 0) {
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+
+    private IOException unexpected(String expected) throws IOException {
+        return syntax("Expected " + expected + " but was " + peek());
+    }
+
+    private IOException syntax(String message) {
+        return new IOException(message + " at offset " + (discarded + pos));
+    }
+}
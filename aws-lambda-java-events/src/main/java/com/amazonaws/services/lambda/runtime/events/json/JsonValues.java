@@ -0,0 +1,104 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+/**
+ * Conversions for the date types found in events, used by the generated codecs
+ */
+final class JsonValues {
+
+    private JsonValues() {}
+
+    /**
+     * Reads fractional epoch seconds, the way Kinesis and DynamoDB streams send timestamps
+     */
+    static Date readDate(JsonReader reader) throws IOException {
+        long millis = readEpochMillis(reader, Long.MIN_VALUE);
+        return millis == Long.MIN_VALUE ? null : new Date(millis);
+    }
+
+    /**
+     * Reads fractional epoch seconds as epoch milliseconds, truncating any finer fraction
+     * @param absent the value returned for a JSON null
+     */
+    static long readEpochMillis(JsonReader reader, long absent) throws IOException {
+        if (!reader.nextUtf8()) {
+            return absent;
+        }
+        byte[] bytes = reader.utf8;
+        int end = reader.utf8Start + reader.utf8Length;
+        // plain digits with an optional fraction, the usual form, without going through BigDecimal
+        long millis = 0;
+        int p = reader.utf8Start;
+        while (p < end && bytes[p] >= '0' && bytes[p] <= '9') {
+            millis = millis * 10 + (bytes[p++] - '0');
+        }
+        int integerDigits = p - reader.utf8Start;
+        int fractionDigits = 0;
+        if (p < end && bytes[p] == '.') {
+            p++;
+            while (p < end && bytes[p] >= '0' && bytes[p] <= '9') {
+                if (fractionDigits < 3) {
+                    millis = millis * 10 + (bytes[p] - '0');
+                    fractionDigits++;
+                }
+                p++;
+            }
+        }
+        if (p == end && integerDigits > 0 && integerDigits <= 15) {
+            for (; fractionDigits < 3; fractionDigits++) {
+                millis *= 10;
+            }
+            return millis;
+        }
+        String text = new String(bytes, reader.utf8Start, reader.utf8Length, StandardCharsets.UTF_8);
+        try {
+            return new BigDecimal(text.trim()).movePointRight(3).longValue();
+        } catch (NumberFormatException e) {
+            throw new IOException("Expected epoch seconds but was \"" + text + "\"");
+        }
+    }
+
+    static void writeDate(JsonWriter writer, Date value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+            return;
+        }
+        long millis = value.getTime();
+        if (millis % 1000 == 0) {
+            writer.value(millis / 1000);
+        } else {
+            writer.value(BigDecimal.valueOf(millis, 3));
+        }
+    }
+
+    /**
+     * Reads an ISO-8601 string, or epoch milliseconds, as a UTC date time
+     */
+    static DateTime readDateTime(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NUMBER) {
+            return new DateTime(reader.nextLong(), DateTimeZone.UTC);
+        }
+        String text = reader.nextString();
+        if (text == null) {
+            return null;
+        }
+        try {
+            return new DateTime(text, DateTimeZone.UTC);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Expected an ISO-8601 date time but was \"" + text + "\"");
+        }
+    }
+
+    static void writeDateTime(JsonWriter writer, DateTime value) throws IOException {
+        writer.value(value == null ? null : value.toString());
+    }
+}
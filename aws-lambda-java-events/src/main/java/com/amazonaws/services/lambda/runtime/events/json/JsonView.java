@@ -0,0 +1,14 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+/**
+ * Implemented by the generated lazy views
+ */
+interface JsonView {
+
+    /**
+     * Decodes every property not decoded yet, so that the fields of the viewed class are all set
+     */
+    void materialize();
+}
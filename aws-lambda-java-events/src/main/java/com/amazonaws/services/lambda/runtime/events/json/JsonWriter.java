@@ -0,0 +1,394 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Streaming JSON writer that encodes UTF-8 straight into a byte buffer. It inserts separators but
+ * does not validate nesting. A writer can be {@link #reset(OutputStream) reset} and reused to avoid
+ * reallocating its buffer for every document.
+ */
+public final class JsonWriter implements Flushable {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] NULL = "null".getBytes();
+    private static final byte[] TRUE = "true".getBytes();
+    private static final byte[] FALSE = "false".getBytes();
+
+    private OutputStream out;
+    private final byte[] buf;
+    private int count;
+    // first[depth] is true until the current object or array has its first member
+    private boolean[] first = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter(OutputStream out) {
+        this(out, 8192);
+    }
+
+    public JsonWriter(OutputStream out, int bufferSize) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("bufferSize must be at least 16: " + bufferSize);
+        }
+        this.out = out;
+        this.buf = new byte[bufferSize];
+    }
+
+    /**
+     * Discards unflushed output and state, and directs further output to another stream
+     * @param out the new destination
+     * @return this writer
+     */
+    public JsonWriter reset(OutputStream out) {
+        this.out = out;
+        this.count = 0;
+        this.depth = 0;
+        this.afterName = false;
+        return this;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        write('{');
+        push();
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        write('}');
+        depth--;
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        write('[');
+        push();
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        write(']');
+        depth--;
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        separator();
+        string(name);
+        write(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Writes a name from a table, already encoded
+     * @param names the table
+     * @param index index of the name in the table
+     * @return this writer
+     * @throws IOException if the output cannot be written
+     */
+    public JsonWriter name(JsonNames names, int index) throws IOException {
+        separator();
+        write(names.encoded(index));
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        string(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        if (value == Long.MIN_VALUE) {
+            raw(Long.toString(value));
+            return this;
+        }
+        ensure(20);
+        if (value < 0) {
+            buf[count++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = count + digits - 1; i >= count; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        count += digits;
+        return this;
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("JSON has no representation for " + value);
+        }
+        beforeValue();
+        raw(Double.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        write(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return value(value.longValue());
+        }
+        beforeValue();
+        raw(value.toString());
+        return this;
+    }
+
+    public JsonWriter value(Boolean value) throws IOException {
+        return value == null ? nullValue() : value(value.booleanValue());
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer as a base64 string, leaving its position unchanged
+     * @param value the bytes, may be null
+     * @return this writer
+     * @throws IOException if the output cannot be written
+     */
+    public JsonWriter value(ByteBuffer value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        write('"');
+        int limit = value.limit();
+        for (int i = value.position(); i < limit; ) {
+            ensure(4);
+            // whole groups of three bytes, so padding only ends the last chunk
+            int chunk = Math.min(limit - i, (buf.length - count) / 4 * 3);
+            count += Base64Buffers.encode(value, i, i + chunk, buf, count);
+            i += chunk;
+        }
+        write('"');
+        return this;
+    }
+
+    /**
+     * Writes base64 text that is already encoded, such as a payload passed through undecoded, as a string,
+     * leaving the buffer's position unchanged
+     * @param text the ASCII base64 text, may be null
+     * @return this writer
+     * @throws IOException if the output cannot be written
+     */
+    public JsonWriter base64Value(ByteBuffer text) throws IOException {
+        if (text == null) {
+            return nullValue();
+        }
+        beforeValue();
+        write('"');
+        int limit = text.limit();
+        for (int i = text.position(); i < limit; i++) {
+            if (count + 6 > buf.length) {
+                flushBuffer();
+            }
+            byte b = text.get(i);
+            if (b >= 0x20 && b != '"' && b != '\\') {
+                buf[count++] = b;
+            } else if (b >= 0) {
+                escape((char) b);
+            } else {
+                buf[count++] = '?';
+            }
+        }
+        write('"');
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        write(NULL);
+        return this;
+    }
+
+    /**
+     * Writes strings, numbers, booleans, maps, collections and arrays of objects, as found in free-form
+     * event fields; any other object is written as its toString()
+     * @param value the value, may be null
+     * @return this writer
+     * @throws IOException if the output cannot be written
+     */
+    public JsonWriter value(Object value) throws IOException {
+        if (value == null || value instanceof String) {
+            return value((String) value);
+        }
+        if (value instanceof Number) {
+            return value((Number) value);
+        }
+        if (value instanceof Boolean) {
+            return value((Boolean) value);
+        }
+        if (value instanceof ByteBuffer) {
+            return value((ByteBuffer) value);
+        }
+        if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(e.getKey())).value(e.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof Collection) {
+            beginArray();
+            for (Object o : (Collection<?>) value) {
+                value(o);
+            }
+            return endArray();
+        }
+        if (value instanceof Object[]) {
+            return value(Arrays.asList((Object[]) value));
+        }
+        return value(value.toString());
+    }
+
+    /**
+     * Writes buffered output to the stream and flushes it
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    void string(String s) throws IOException {
+        write('"');
+        int len = s.length();
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (count + 12 > buf.length) {
+                flushBuffer();
+            }
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    buf[count++] = (byte) c;
+                } else {
+                    escape(c);
+                }
+            } else if (c < 0x800) {
+                buf[count++] = (byte) (0xC0 | c >> 6);
+                buf[count++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[count++] = (byte) (0xF0 | cp >> 18);
+                buf[count++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                buf[count++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                buf[count++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                buf[count++] = '?';
+            } else {
+                buf[count++] = (byte) (0xE0 | c >> 12);
+                buf[count++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buf[count++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        write('"');
+    }
+
+    private void escape(char c) {
+        buf[count++] = '\\';
+        switch (c) {
+            case '"': buf[count++] = '"'; break;
+            case '\\': buf[count++] = '\\'; break;
+            case '\n': buf[count++] = 'n'; break;
+            case '\r': buf[count++] = 'r'; break;
+            case '\t': buf[count++] = 't'; break;
+            case '\b': buf[count++] = 'b'; break;
+            case '\f': buf[count++] = 'f'; break;
+            default:
+                buf[count++] = 'u';
+                buf[count++] = '0';
+                buf[count++] = '0';
+                buf[count++] = HEX[c >> 4];
+                buf[count++] = HEX[c & 0xF];
+        }
+    }
+
+    private void push() {
+        if (++depth == first.length) {
+            first = Arrays.copyOf(first, depth * 2);
+        }
+        first[depth] = true;
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+        } else {
+            separator();
+        }
+    }
+
+    private void separator() throws IOException {
+        if (depth > 0) {
+            if (first[depth]) {
+                first[depth] = false;
+            } else {
+                write(',');
+            }
+        }
+    }
+
+    private void raw(String ascii) throws IOException {
+        for (int i = 0; i < ascii.length(); i++) {
+            write(ascii.charAt(i));
+        }
+    }
+
+    private void write(int b) throws IOException {
+        if (count == buf.length) {
+            flushBuffer();
+        }
+        buf[count++] = (byte) b;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (bytes.length > buf.length - count) {
+            flushBuffer();
+            if (bytes.length > buf.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buf, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensure(int n) throws IOException {
+        if (n > buf.length - count) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buf, 0, count);
+            count = 0;
+        }
+    }
+}
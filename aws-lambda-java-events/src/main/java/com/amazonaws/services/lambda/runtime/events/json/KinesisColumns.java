@@ -0,0 +1,688 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+
+/**
+ * A Kinesis batch stored column by column instead of as one object graph per record: sequence numbers as
+ * 192-bit unsigned integers in a {@code long[]}, arrival timestamps as epoch milliseconds in a {@code long[]},
+ * partition keys and the other strings as indexes into a dictionary, and every record's data in one byte
+ * array with an offset per record. Reading a batch this way allocates a handful of arrays whatever its size,
+ * and scans over a column touch contiguous memory.
+ *
+ * <pre>
+ * KinesisColumns batch = KinesisColumns.read(input);
+ * long[] bytesByKey = new long[batch.dictionarySize()];
+ * for (int i = 0; i &lt; batch.size(); i++) {
+ *     bytesByKey[batch.partitionKeyId(i)] += batch.dataLength(i);
+ * }
+ * </pre>
+ *
+ * Records are numbered in batch order. A null data blob is stored as an empty one. Instances are immutable.
+ */
+public final class KinesisColumns implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The arrival timestamp of records that have none
+     */
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    // string columns, stored per record as dictionary indexes or -1 for null
+    private static final int PARTITION_KEY = 0;
+    private static final int EVENT_SOURCE_ARN = 1;
+    private static final int SHARD_ID = 2;
+    private static final int EVENT_NAME = 3;
+    private static final int EVENT_SOURCE = 4;
+    private static final int EVENT_VERSION = 5;
+    private static final int AWS_REGION = 6;
+    private static final int INVOKE_IDENTITY_ARN = 7;
+    private static final int SCHEMA_VERSION = 8;
+    private static final int ENCRYPTION_TYPE = 9;
+    private static final int STRING_COLUMNS = 10;
+
+    // sequence numbers are 56 decimal digits, which take 186 bits
+    private static final int SEQUENCE_WORDS = 3;
+
+    private static final JsonNames RECORDS = JsonNames.of("Records");
+    private static final JsonNames RECORD_NAMES = JsonNames.of("kinesis", "eventSourceARN", "eventID", "eventName",
+            "eventSource", "eventVersion", "awsRegion", "invokeIdentityArn");
+    private static final JsonNames KINESIS_NAMES = JsonNames.of("partitionKey", "sequenceNumber",
+            "approximateArrivalTimestamp", "data", "kinesisSchemaVersion", "encryptionType");
+
+    private final int size;
+    private final long[] sequenceNumbers;
+    // sequence numbers that are null or not canonical decimal integers of at most 192 bits, by record
+    private final Map<Integer, String> irregularSequenceNumbers;
+    private final long[] arrivalTimestamps;
+    private final byte[] data;
+    private final int[] dataOffsets;
+    private final String[] dictionary;
+    private final int[] strings;
+    // event ids other than the shard id and sequence number joined by a colon, by record
+    private final Map<Integer, String> irregularEventIds;
+
+    private KinesisColumns(Builder builder) {
+        this.size = builder.size;
+        // the columns keep the builder's spare capacity rather than being copied
+        this.sequenceNumbers = builder.sequenceNumbers;
+        this.irregularSequenceNumbers = builder.irregularSequenceNumbers;
+        this.arrivalTimestamps = builder.arrivalTimestamps;
+        this.data = builder.data;
+        this.dataOffsets = builder.dataOffsets;
+        this.dictionary = builder.dictionary();
+        this.strings = builder.strings;
+        this.irregularEventIds = builder.irregularEventIds;
+    }
+
+    /**
+     * Reads the records of a Kinesis event straight into columns, without building record objects
+     */
+    public static KinesisColumns read(InputStream in) throws IOException {
+        return read(new JsonReader(in));
+    }
+
+    public static KinesisColumns read(byte[] json) throws IOException {
+        return read(new JsonReader(json));
+    }
+
+    /**
+     * Stores the records of an event that has already been read
+     */
+    public static KinesisColumns of(KinesisEvent event) {
+        Builder builder = new Builder();
+        if (event.getRecords() != null) {
+            for (KinesisEvent.KinesisEventRecord record : event.getRecords()) {
+                builder.begin();
+                if (record != null) {
+                    KinesisEvent.Record kinesis = record.getKinesis();
+                    if (kinesis != null) {
+                        builder.string(PARTITION_KEY, kinesis.getPartitionKey());
+                        builder.sequenceNumber(kinesis.getSequenceNumber());
+                        if (kinesis.getApproximateArrivalTimestamp() != null) {
+                            builder.arrivalTimestamp(kinesis.getApproximateArrivalTimestamp().getTime());
+                        }
+                        builder.data(kinesis.getData());
+                        builder.string(SCHEMA_VERSION, kinesis.getKinesisSchemaVersion());
+                        builder.string(ENCRYPTION_TYPE, kinesis.getEncryptionType());
+                    }
+                    builder.string(EVENT_SOURCE_ARN, record.getEventSourceARN());
+                    builder.eventId(record.getEventID());
+                    builder.string(EVENT_NAME, record.getEventName());
+                    builder.string(EVENT_SOURCE, record.getEventSource());
+                    builder.string(EVENT_VERSION, record.getEventVersion());
+                    builder.string(AWS_REGION, record.getAwsRegion());
+                    builder.string(INVOKE_IDENTITY_ARN, record.getInvokeIdentityArn());
+                }
+                builder.end();
+            }
+        }
+        return new KinesisColumns(builder);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String sequenceNumber(int record) {
+        checkIndex(record);
+        return regular(record) ? regularSequenceNumber(record).toString() : irregularSequenceNumbers.get(record);
+    }
+
+    /**
+     * Compares the sequence numbers of two records numerically, nulls first
+     */
+    public int compareSequenceNumbers(int first, int second) {
+        checkIndex(first);
+        checkIndex(second);
+        if (regular(first) && regular(second)) {
+            for (int w = 0; w < SEQUENCE_WORDS; w++) {
+                int c = Long.compareUnsigned(sequenceNumbers[first * SEQUENCE_WORDS + w],
+                        sequenceNumbers[second * SEQUENCE_WORDS + w]);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        }
+        BigInteger a = sequenceNumberValue(first);
+        BigInteger b = sequenceNumberValue(second);
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    /**
+     * @return epoch milliseconds, or {@link #NO_TIMESTAMP}
+     */
+    public long arrivalTimestamp(int record) {
+        checkIndex(record);
+        return arrivalTimestamps[record];
+    }
+
+    public String partitionKey(int record) {
+        return string(record, PARTITION_KEY);
+    }
+
+    /**
+     * @return the dictionary index of the partition key, the same for every record with that key, or -1 for none
+     */
+    public int partitionKeyId(int record) {
+        checkIndex(record);
+        return strings[record * STRING_COLUMNS + PARTITION_KEY];
+    }
+
+    /**
+     * @return the number of distinct strings in the batch, an upper bound of the partition key ids
+     */
+    public int dictionarySize() {
+        return dictionary.length;
+    }
+
+    public String dictionaryValue(int id) {
+        return dictionary[id];
+    }
+
+    public String eventSourceArn(int record) {
+        return string(record, EVENT_SOURCE_ARN);
+    }
+
+    /**
+     * @return the shard the record was read from, taken from its event id
+     */
+    public String shardId(int record) {
+        return string(record, SHARD_ID);
+    }
+
+    public String eventId(int record) {
+        String shardId = shardId(record);
+        if (shardId != null) {
+            return shardId + ":" + sequenceNumber(record);
+        }
+        return irregularEventIds.get(record);
+    }
+
+    /**
+     * @return the offset of the record's data in {@link #dataBuffer()}
+     */
+    public int dataOffset(int record) {
+        checkIndex(record);
+        return dataOffsets[record];
+    }
+
+    public int dataLength(int record) {
+        checkIndex(record);
+        return dataOffsets[record + 1] - dataOffsets[record];
+    }
+
+    /**
+     * @return a read-only buffer over the record's data
+     */
+    public ByteBuffer data(int record) {
+        checkIndex(record);
+        return ByteBuffer.wrap(data, dataOffsets[record], dataOffsets[record + 1] - dataOffsets[record])
+                .slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * @return a read-only buffer over the data of every record, one after the other
+     */
+    public ByteBuffer dataBuffer() {
+        return ByteBuffer.wrap(data, 0, dataOffsets[size]).asReadOnlyBuffer();
+    }
+
+    /**
+     * Builds the record object, for code that needs one
+     */
+    public KinesisEvent.KinesisEventRecord record(int record) {
+        checkIndex(record);
+        KinesisEvent.Record kinesis = new KinesisEvent.Record();
+        kinesis.setPartitionKey(partitionKey(record));
+        kinesis.setSequenceNumber(sequenceNumber(record));
+        if (arrivalTimestamps[record] != NO_TIMESTAMP) {
+            kinesis.setApproximateArrivalTimestamp(new Date(arrivalTimestamps[record]));
+        }
+        kinesis.setData(ByteBuffer.wrap(Arrays.copyOfRange(data, dataOffsets[record], dataOffsets[record + 1])));
+        kinesis.setKinesisSchemaVersion(string(record, SCHEMA_VERSION));
+        kinesis.setEncryptionType(string(record, ENCRYPTION_TYPE));
+        KinesisEvent.KinesisEventRecord eventRecord = new KinesisEvent.KinesisEventRecord();
+        eventRecord.setKinesis(kinesis);
+        eventRecord.setEventSourceARN(eventSourceArn(record));
+        eventRecord.setEventID(eventId(record));
+        eventRecord.setEventName(string(record, EVENT_NAME));
+        eventRecord.setEventSource(string(record, EVENT_SOURCE));
+        eventRecord.setEventVersion(string(record, EVENT_VERSION));
+        eventRecord.setAwsRegion(string(record, AWS_REGION));
+        eventRecord.setInvokeIdentityArn(string(record, INVOKE_IDENTITY_ARN));
+        return eventRecord;
+    }
+
+    @Override
+    public String toString() {
+        return "KinesisColumns{records: " + size + ", dataBytes: " + dataOffsets[size] + ", dictionary: " + dictionary.length + "}";
+    }
+
+    private String string(int record, int column) {
+        checkIndex(record);
+        int id = strings[record * STRING_COLUMNS + column];
+        return id < 0 ? null : dictionary[id];
+    }
+
+    /**
+     * @return true if the record's sequence number is stored in the long columns
+     */
+    private boolean regular(int record) {
+        return irregularSequenceNumbers.isEmpty() || !irregularSequenceNumbers.containsKey(record);
+    }
+
+    private BigInteger regularSequenceNumber(int record) {
+        byte[] bytes = new byte[SEQUENCE_WORDS * 8];
+        for (int w = 0; w < SEQUENCE_WORDS; w++) {
+            long word = sequenceNumbers[record * SEQUENCE_WORDS + w];
+            for (int b = 0; b < 8; b++) {
+                bytes[w * 8 + b] = (byte) (word >>> (56 - b * 8));
+            }
+        }
+        return new BigInteger(1, bytes);
+    }
+
+    /**
+     * @return the sequence number as an integer, or null if it is null or not a number
+     */
+    private BigInteger sequenceNumberValue(int record) {
+        if (regular(record)) {
+            return regularSequenceNumber(record);
+        }
+        String text = irregularSequenceNumbers.get(record);
+        try {
+            return text == null ? null : new BigInteger(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void checkIndex(int record) {
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException("Record " + record + " of " + size);
+        }
+    }
+
+    private static KinesisColumns read(JsonReader reader) throws IOException {
+        Builder builder = new Builder();
+        if (!reader.nextIfNull()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName(RECORDS) != 0) {
+                    reader.skipValue();
+                } else if (!reader.nextIfNull()) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        readRecord(reader, builder);
+                    }
+                    reader.endArray();
+                }
+            }
+            reader.endObject();
+        }
+        return new KinesisColumns(builder);
+    }
+
+    private static void readRecord(JsonReader reader, Builder builder) throws IOException {
+        builder.begin();
+        if (!reader.nextIfNull()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName(RECORD_NAMES)) {
+                    case 0:
+                        readKinesis(reader, builder);
+                        break;
+                    case 1:
+                        builder.string(EVENT_SOURCE_ARN, reader);
+                        break;
+                    case 2:
+                        builder.eventId(reader);
+                        break;
+                    case 3:
+                        builder.string(EVENT_NAME, reader);
+                        break;
+                    case 4:
+                        builder.string(EVENT_SOURCE, reader);
+                        break;
+                    case 5:
+                        builder.string(EVENT_VERSION, reader);
+                        break;
+                    case 6:
+                        builder.string(AWS_REGION, reader);
+                        break;
+                    case 7:
+                        builder.string(INVOKE_IDENTITY_ARN, reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        builder.end();
+    }
+
+    private static void readKinesis(JsonReader reader, Builder builder) throws IOException {
+        if (reader.nextIfNull()) {
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName(KINESIS_NAMES)) {
+                case 0:
+                    builder.string(PARTITION_KEY, reader);
+                    break;
+                case 1:
+                    builder.sequenceNumber(reader);
+                    break;
+                case 2:
+                    builder.arrivalTimestamp(JsonValues.readEpochMillis(reader, NO_TIMESTAMP));
+                    break;
+                case 3:
+                    builder.data(reader);
+                    break;
+                case 4:
+                    builder.string(SCHEMA_VERSION, reader);
+                    break;
+                case 5:
+                    builder.string(ENCRYPTION_TYPE, reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Accumulates the columns one record at a time. Strings read from JSON are interned and parsed from
+     * their bytes, so that only the first occurrence of each dictionary entry builds a String.
+     */
+    private static final class Builder {
+        int size;
+        long[] sequenceNumbers = new long[16 * SEQUENCE_WORDS];
+        long[] arrivalTimestamps = new long[16];
+        int[] strings = new int[16 * STRING_COLUMNS];
+        int[] dataOffsets = new int[17];
+        byte[] data = new byte[4096];
+        final Map<Integer, String> irregularSequenceNumbers = new HashMap<Integer, String>();
+        final Map<Integer, String> irregularEventIds = new HashMap<Integer, String>();
+
+        // the dictionary: UTF-8 bytes and hash of each entry, its String once built, and an open-addressing
+        // table of entry index + 1
+        byte[][] entries = new byte[16][];
+        int[] hashes = new int[16];
+        String[] values = new String[16];
+        int entryCount;
+        int[] table = new int[32];
+
+        // the current record's sequence number and event id, resolved when it ends; length -1 for null
+        byte[] sequenceText = new byte[64];
+        int sequenceLength;
+        byte[] eventIdText = new byte[128];
+        int eventIdLength;
+        // base 2^32 digits of the sequence number being parsed, least significant first
+        final long[] digits = new long[SEQUENCE_WORDS * 2];
+
+        void begin() {
+            if (size == arrivalTimestamps.length) {
+                int capacity = size * 2;
+                sequenceNumbers = Arrays.copyOf(sequenceNumbers, capacity * SEQUENCE_WORDS);
+                arrivalTimestamps = Arrays.copyOf(arrivalTimestamps, capacity);
+                strings = Arrays.copyOf(strings, capacity * STRING_COLUMNS);
+                dataOffsets = Arrays.copyOf(dataOffsets, capacity + 1);
+            }
+            Arrays.fill(strings, size * STRING_COLUMNS, (size + 1) * STRING_COLUMNS, -1);
+            arrivalTimestamps[size] = NO_TIMESTAMP;
+            dataOffsets[size + 1] = dataOffsets[size];
+            sequenceLength = -1;
+            eventIdLength = -1;
+        }
+
+        void string(int column, JsonReader reader) throws IOException {
+            strings[size * STRING_COLUMNS + column] =
+                    reader.nextUtf8() ? intern(reader.utf8, reader.utf8Start, reader.utf8Length, null) : -1;
+        }
+
+        void string(int column, String value) {
+            int id = -1;
+            if (value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                id = intern(bytes, 0, bytes.length, value);
+            }
+            strings[size * STRING_COLUMNS + column] = id;
+        }
+
+        void sequenceNumber(JsonReader reader) throws IOException {
+            if (reader.nextUtf8()) {
+                sequenceText = copy(reader, sequenceText);
+                sequenceLength = reader.utf8Length;
+            } else {
+                sequenceLength = -1;
+            }
+        }
+
+        void sequenceNumber(String value) {
+            if (value != null) {
+                sequenceText = value.getBytes(StandardCharsets.UTF_8);
+                sequenceLength = sequenceText.length;
+            }
+        }
+
+        void eventId(JsonReader reader) throws IOException {
+            if (reader.nextUtf8()) {
+                eventIdText = copy(reader, eventIdText);
+                eventIdLength = reader.utf8Length;
+            } else {
+                eventIdLength = -1;
+            }
+        }
+
+        void eventId(String value) {
+            if (value != null) {
+                eventIdText = value.getBytes(StandardCharsets.UTF_8);
+                eventIdLength = eventIdText.length;
+            }
+        }
+
+        void arrivalTimestamp(long millis) {
+            arrivalTimestamps[size] = millis;
+        }
+
+        /**
+         * Decodes base64 data straight into the data column
+         */
+        void data(JsonReader reader) throws IOException {
+            int start = dataOffsets[size];
+            int length = 0;
+            if (reader.nextUtf8()) {
+                try {
+                    length = Base64Buffers.decodedLength(reader.utf8, reader.utf8Start, reader.utf8Start + reader.utf8Length);
+                    if (start + length > data.length) {
+                        data = Arrays.copyOf(data, Math.max(data.length * 2, start + length));
+                    }
+                    Base64Buffers.decode(reader.utf8, reader.utf8Start, length, data, start);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Invalid base64 data: " + e.getMessage(), e);
+                }
+            }
+            dataOffsets[size + 1] = start + length;
+        }
+
+        void data(ByteBuffer value) {
+            int start = dataOffsets[size];
+            int length = value == null ? 0 : value.remaining();
+            if (start + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, start + length));
+            }
+            if (value != null) {
+                value.duplicate().get(data, start, length);
+            }
+            dataOffsets[size + 1] = start + length;
+        }
+
+        void end() {
+            boolean regular = sequenceLength >= 0
+                    && parseSequenceNumber(sequenceText, 0, sequenceLength, sequenceNumbers, size * SEQUENCE_WORDS);
+            if (!regular) {
+                irregularSequenceNumbers.put(size, sequenceLength < 0 ? null : text(sequenceText, 0, sequenceLength));
+                Arrays.fill(sequenceNumbers, size * SEQUENCE_WORDS, (size + 1) * SEQUENCE_WORDS, 0);
+            }
+            if (eventIdLength >= 0) {
+                int colon = eventIdLength - 1;
+                while (colon >= 0 && eventIdText[colon] != ':') {
+                    colon--;
+                }
+                if (regular && colon >= 0 && eventIdLength - colon - 1 == sequenceLength
+                        && equal(sequenceText, sequenceLength, eventIdText, colon + 1)) {
+                    strings[size * STRING_COLUMNS + SHARD_ID] = intern(eventIdText, 0, colon, null);
+                } else {
+                    irregularEventIds.put(size, text(eventIdText, 0, eventIdLength));
+                }
+            }
+            size++;
+        }
+
+        String[] dictionary() {
+            String[] dictionary = new String[entryCount];
+            for (int id = 0; id < entryCount; id++) {
+                dictionary[id] = values[id] != null ? values[id] : text(entries[id], 0, entries[id].length);
+            }
+            return dictionary;
+        }
+
+        /**
+         * @return the index of the dictionary entry with these bytes, added if missing
+         */
+        private int intern(byte[] bytes, int start, int length, String value) {
+            int hash = 1;
+            for (int i = start; i < start + length; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            int mask = table.length - 1;
+            for (int slot = (hash ^ hash >>> 16) & mask; ; slot = (slot + 1) & mask) {
+                int id = table[slot] - 1;
+                if (id < 0) {
+                    id = add(Arrays.copyOfRange(bytes, start, start + length), hash, value);
+                    table[slot] = id + 1;
+                    if (entryCount * 2 > table.length) {
+                        rehash();
+                    }
+                    return id;
+                }
+                if (hashes[id] == hash && entries[id].length == length && equal(entries[id], length, bytes, start)) {
+                    if (values[id] == null) {
+                        values[id] = value;
+                    }
+                    return id;
+                }
+            }
+        }
+
+        private int add(byte[] entry, int hash, String value) {
+            if (entryCount == entries.length) {
+                entries = Arrays.copyOf(entries, entryCount * 2);
+                hashes = Arrays.copyOf(hashes, entryCount * 2);
+                values = Arrays.copyOf(values, entryCount * 2);
+            }
+            entries[entryCount] = entry;
+            hashes[entryCount] = hash;
+            values[entryCount] = value;
+            return entryCount++;
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int id = 0; id < entryCount; id++) {
+                int slot = (hashes[id] ^ hashes[id] >>> 16) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = id + 1;
+            }
+        }
+
+        /**
+         * @return true if the first length bytes of a equal the length bytes of b from start
+         */
+        private static boolean equal(byte[] a, int length, byte[] b, int start) {
+            for (int i = 0; i < length; i++) {
+                if (a[i] != b[start + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static byte[] copy(JsonReader reader, byte[] into) {
+            if (into.length < reader.utf8Length) {
+                into = new byte[reader.utf8Length];
+            }
+            System.arraycopy(reader.utf8, reader.utf8Start, into, 0, reader.utf8Length);
+            return into;
+        }
+
+        private static String text(byte[] bytes, int start, int length) {
+            return new String(bytes, start, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Stores a canonical decimal sequence number as words, most significant first
+         * @return false if the number is empty, not canonical or too large
+         */
+        private boolean parseSequenceNumber(byte[] text, int start, int length, long[] words, int at) {
+            if (length == 0 || (length > 1 && text[start] == '0')) {
+                return false;
+            }
+            Arrays.fill(digits, 0);
+            // nine decimal digits at a time, which fit a base 2^32 digit
+            int end = start + length;
+            for (int i = start; i < end; ) {
+                int chunkEnd = Math.min(end, i + 9);
+                long chunk = 0;
+                long scale = 1;
+                for (; i < chunkEnd; i++) {
+                    int digit = text[i] - '0';
+                    if (digit < 0 || digit > 9) {
+                        return false;
+                    }
+                    chunk = chunk * 10 + digit;
+                    scale *= 10;
+                }
+                long carry = chunk;
+                for (int d = 0; d < digits.length; d++) {
+                    long value = digits[d] * scale + carry;
+                    digits[d] = value & 0xFFFFFFFFL;
+                    carry = value >>> 32;
+                }
+                if (carry != 0) {
+                    return false;
+                }
+            }
+            for (int w = 0; w < SEQUENCE_WORDS; w++) {
+                int low = (SEQUENCE_WORDS - 1 - w) * 2;
+                words[at + w] = digits[low + 1] << 32 | digits[low];
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.Closeable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Memory for the binary payloads of one batch: record data decoded with an arena goes into large shared
+ * chunks instead of one heap buffer per record, and the chunks go back to a pool when the arena is closed at
+ * the end of the invocation. Large Kinesis and Firehose batches then stop churning the heap.
+ *
+ * <pre>
+ * try (PayloadArena arena = PayloadArena.direct()) {
+ *     KinesisFirehoseEvent event = EventCodecs.read(KinesisFirehoseEvent.class, input, arena);
+ *     ...
+ * }
+ * </pre>
+ *
+ * The buffers handed out are slices of the chunks and must not be used once the arena is closed, since the
+ * memory is reused by later batches. The threads handling a batch can share its arena, for payloads decoded
+ * on first use; the pool is shared by all arenas.
+ */
+public final class PayloadArena implements Closeable {
+
+    /**
+     * The size of the pooled chunks, 1 MB
+     */
+    public static final int CHUNK_SIZE = 1 << 20;
+
+    // chunks kept for reuse, of each kind, bounding the memory held between invocations to 8 MB
+    private static final int MAX_POOLED_CHUNKS = 8;
+
+    private static final Pool DIRECT_POOL = new Pool(true);
+    private static final Pool HEAP_POOL = new Pool(false);
+
+    private final Pool pool;
+    private final List<ByteBuffer> chunks = new ArrayList<ByteBuffer>();
+    private ByteBuffer current;
+    private long allocated;
+    private boolean closed;
+
+    private PayloadArena(Pool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return an arena of pooled direct memory, outside the Java heap
+     */
+    public static PayloadArena direct() {
+        return new PayloadArena(DIRECT_POOL);
+    }
+
+    /**
+     * @return an arena of pooled heap chunks
+     */
+    public static PayloadArena heap() {
+        return new PayloadArena(HEAP_POOL);
+    }
+
+    /**
+     * @return a buffer of the given capacity, positioned at 0
+     * @throws IllegalStateException if the arena is closed
+     */
+    public synchronized ByteBuffer allocate(int size) {
+        if (closed) {
+            throw new IllegalStateException("The arena is closed");
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative: " + size);
+        }
+        allocated += size;
+        if (current != null && current.remaining() >= size) {
+            return slice(current, size);
+        }
+        if (size > CHUNK_SIZE) {
+            // too large for a chunk, and with no room left to share
+            ByteBuffer own = pool.allocate(size);
+            chunks.add(own);
+            return slice(own, size);
+        }
+        ByteBuffer chunk = pool.take();
+        chunks.add(chunk);
+        ByteBuffer slice = slice(chunk, size);
+        // carry on from whichever chunk has more room left, so the tail after a large payload is used
+        if (current == null || chunk.remaining() > current.remaining()) {
+            current = chunk;
+        }
+        return slice;
+    }
+
+    /**
+     * Decodes the remaining bytes of a buffer of base64 text into a buffer of this arena, leaving the text's
+     * position unchanged
+     * @return the decoded bytes, positioned at 0
+     * @throws IllegalArgumentException if the text is not valid base64
+     * @throws IllegalStateException if the arena is closed
+     */
+    public ByteBuffer decodeBase64(ByteBuffer text) {
+        ByteBuffer decoded = allocate(Base64Buffers.decodedLength(text));
+        Base64Buffers.decode(text.duplicate(), decoded);
+        ((Buffer) decoded).flip();
+        return decoded;
+    }
+
+    /**
+     * @return the bytes handed out so far
+     */
+    public synchronized long allocatedBytes() {
+        return allocated;
+    }
+
+    /**
+     * Returns the chunks to the pool; buffers handed out by the arena must not be used afterwards
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer chunk : chunks) {
+            if (chunk.capacity() == CHUNK_SIZE) {
+                pool.give(chunk);
+            }
+        }
+        chunks.clear();
+        current = null;
+    }
+
+    private static ByteBuffer slice(ByteBuffer chunk, int size) {
+        ByteBuffer slice = chunk.duplicate();
+        ((Buffer) slice).limit(chunk.position() + size);
+        ((Buffer) chunk).position(chunk.position() + size);
+        return slice.slice();
+    }
+
+    private static final class Pool {
+        private final boolean direct;
+        private final ConcurrentLinkedQueue<ByteBuffer> chunks = new ConcurrentLinkedQueue<ByteBuffer>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        Pool(boolean direct) {
+            this.direct = direct;
+        }
+
+        ByteBuffer take() {
+            ByteBuffer chunk = chunks.poll();
+            if (chunk == null) {
+                return allocate(CHUNK_SIZE);
+            }
+            size.decrementAndGet();
+            ((Buffer) chunk).clear();
+            return chunk;
+        }
+
+        void give(ByteBuffer chunk) {
+            if (size.incrementAndGet() <= MAX_POOLED_CHUNKS) {
+                chunks.offer(chunk);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+
+        ByteBuffer allocate(int capacity) {
+            return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.IOException;
+
+/**
+ * Implemented by the generated codecs, to read the properties a {@link Projection} selects
+ */
+interface ProjectableCodec<T> extends JsonCodec<T> {
+
+    /**
+     * @return the JSON names of the properties, by property index
+     */
+    JsonNames names();
+
+    /**
+     * @return the codec of the objects a property holds, directly or in a list, array or map, or null if
+     * it does not hold objects
+     */
+    ProjectableCodec<?> nested(int property);
+
+    /**
+     * @param node the properties to read, or null for all of them
+     */
+    T read(JsonReader reader, Projection.Node node) throws IOException;
+}
@@ -0,0 +1,121 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads only some properties of an event. Paths are JSON property names separated by dots, matched
+ * case-insensitively; a path through a list or map applies to each of its elements. Properties that are
+ * not on a path are skipped without being decoded, and left null.
+ *
+ * <pre>
+ * static final Projection&lt;SQSEvent&gt; BODIES = Projection.of(SQSEvent.class, "Records.messageId", "Records.body");
+ * static final Projection&lt;DynamodbEvent&gt; KEYS = Projection.of(DynamodbEvent.class, "Records.dynamodb.Keys");
+ * </pre>
+ *
+ * A projection is compiled once and is thread-safe. It is also a {@link JsonCodec}; writing uses the full
+ * codec, so the properties that were not read are not written.
+ *
+ * @param <T> The type read
+ */
+public final class Projection<T> implements JsonCodec<T> {
+
+    /**
+     * The selected properties of one object, by property index
+     */
+    static final class Node {
+        final boolean[] selected;
+        // projection of the object held by each selected property, null to read all of it
+        final Node[] children;
+
+        Node(int size) {
+            selected = new boolean[size];
+            children = new Node[size];
+        }
+    }
+
+    private final Class<T> type;
+    private final ProjectableCodec<T> codec;
+    private final Node root;
+    private final List<String> paths;
+
+    private Projection(Class<T> type, ProjectableCodec<T> codec, Node root, List<String> paths) {
+        this.type = type;
+        this.codec = codec;
+        this.root = root;
+        this.paths = paths;
+    }
+
+    /**
+     * Compiles a projection
+     * @param type a type {@link EventCodecs} supports
+     * @param paths the properties to read
+     * @throws IllegalArgumentException if there is no codec for the type, or a path names an unknown property
+     * or goes through a property that does not hold objects
+     */
+    public static <T> Projection<T> of(Class<T> type, String... paths) {
+        ProjectableCodec<T> codec = (ProjectableCodec<T>) EventCodecs.forType(type);
+        Node root = new Node(codec.names().size());
+        for (String path : paths) {
+            add(root, codec, path.split("\\.", -1), 0, path);
+        }
+        return new Projection<T>(type, codec, root, Collections.unmodifiableList(new ArrayList<String>(Arrays.asList(paths))));
+    }
+
+    private static void add(Node node, ProjectableCodec<?> codec, String[] segments, int depth, String path) {
+        int property = codec.names().indexOf(segments[depth]);
+        if (property < 0) {
+            throw new IllegalArgumentException("Unknown property \"" + segments[depth] + "\" in " + path);
+        }
+        boolean all = node.selected[property] && node.children[property] == null;
+        node.selected[property] = true;
+        if (depth == segments.length - 1) {
+            node.children[property] = null;
+            return;
+        }
+        if (all) {
+            // a shorter path already selects the whole value
+            return;
+        }
+        ProjectableCodec<?> nested = codec.nested(property);
+        if (nested == null) {
+            throw new IllegalArgumentException("Property \"" + segments[depth] + "\" in " + path + " does not hold objects");
+        }
+        if (node.children[property] == null) {
+            node.children[property] = new Node(nested.names().size());
+        }
+        add(node.children[property], nested, segments, depth + 1, path);
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    public List<String> paths() {
+        return paths;
+    }
+
+    @Override
+    public T read(JsonReader reader) throws IOException {
+        return codec.read(reader, root);
+    }
+
+    public T read(InputStream input) throws IOException {
+        return read(new JsonReader(input));
+    }
+
+    public T read(byte[] json) throws IOException {
+        return read(new JsonReader(json));
+    }
+
+    @Override
+    public void write(JsonWriter writer, T value) throws IOException {
+        codec.write(writer, value);
+    }
+}
@@ -0,0 +1,149 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A test on a few cheap properties of a stream or queue record, evaluated by {@link RecordIterator} on the
+ * record's raw JSON before the record is decoded. Records that do not match are skipped without decoding
+ * their data, images or bodies.
+ *
+ * <pre>
+ * RecordFilter changes = RecordFilter.eventName("INSERT", "MODIFY").and(RecordFilter.ttlDelete().negate());
+ * try (RecordIterator&lt;DynamodbEvent.DynamodbStreamRecord&gt; records = RecordIterator.dynamodb(input, changes)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * Filters are immutable and thread-safe. Property names are matched case-insensitively, map keys such as
+ * message attribute names exactly.
+ */
+public abstract class RecordFilter {
+
+    RecordFilter() {}
+
+    abstract boolean test(JsonIndex index, int record) throws IOException;
+
+    /**
+     * @param test tests the text of a string, number or boolean property, or null if the property is missing,
+     * null, an object or an array
+     * @param path property names from the record down, such as {"kinesis", "partitionKey"}
+     */
+    public static RecordFilter property(Predicate<String> test, String... path) {
+        return path(test, path, -1);
+    }
+
+    /**
+     * @param key the index of the path segment naming a map entry, matched exactly, or -1
+     */
+    private static RecordFilter path(final Predicate<String> test, String[] path, int key) {
+        final JsonNames[] segments = new JsonNames[path.length];
+        final byte[][] keys = new byte[path.length][];
+        for (int i = 0; i < path.length; i++) {
+            if (i == key) {
+                keys[i] = path[i].getBytes(StandardCharsets.UTF_8);
+            } else {
+                segments[i] = JsonNames.of(path[i]);
+            }
+        }
+        return new RecordFilter() {
+            @Override
+            boolean test(JsonIndex index, int record) throws IOException {
+                int value = record;
+                for (int i = 0; i < segments.length && value >= 0; i++) {
+                    value = keys[i] != null ? index.entry(value, keys[i]) : index.member(value, segments[i]);
+                }
+                return test.test(value < 0 ? null : index.text(value));
+            }
+        };
+    }
+
+    /**
+     * @return a filter on the "eventName" of DynamoDB or Kinesis records
+     */
+    public static RecordFilter eventName(String... names) {
+        return property(oneOf(names), "eventName");
+    }
+
+    /**
+     * @return a filter on the "eventSourceARN" of DynamoDB, Kinesis or SQS records
+     */
+    public static RecordFilter eventSourceArn(String... arns) {
+        return property(oneOf(arns), "eventSourceARN");
+    }
+
+    /**
+     * @return a filter on the partition key of Kinesis records
+     */
+    public static RecordFilter partitionKeyPrefix(final String prefix) {
+        return property(new Predicate<String>() {
+            @Override
+            public boolean test(String value) {
+                return value != null && value.startsWith(prefix);
+            }
+        }, "kinesis", "partitionKey");
+    }
+
+    /**
+     * @param name the name of the attribute, which unlike property names is case-sensitive
+     * @return a filter on the string value of a message attribute of SQS records
+     */
+    public static RecordFilter messageAttribute(String name, String... values) {
+        return path(oneOf(values), new String[] {"messageAttributes", name, "stringValue"}, 1);
+    }
+
+    /**
+     * @return a filter matching the DynamoDB records of items deleted by Time To Live
+     */
+    public static RecordFilter ttlDelete() {
+        return eventName("REMOVE")
+                .and(property(oneOf("Service"), "userIdentity", "type"))
+                .and(property(oneOf("dynamodb.amazonaws.com"), "userIdentity", "principalId"));
+    }
+
+    public RecordFilter and(final RecordFilter other) {
+        final RecordFilter self = this;
+        return new RecordFilter() {
+            @Override
+            boolean test(JsonIndex index, int record) throws IOException {
+                return self.test(index, record) && other.test(index, record);
+            }
+        };
+    }
+
+    public RecordFilter or(final RecordFilter other) {
+        final RecordFilter self = this;
+        return new RecordFilter() {
+            @Override
+            boolean test(JsonIndex index, int record) throws IOException {
+                return self.test(index, record) || other.test(index, record);
+            }
+        };
+    }
+
+    public RecordFilter negate() {
+        final RecordFilter self = this;
+        return new RecordFilter() {
+            @Override
+            boolean test(JsonIndex index, int record) throws IOException {
+                return !self.test(index, record);
+            }
+        };
+    }
+
+    private static Predicate<String> oneOf(String... values) {
+        final Set<String> set = new HashSet<String>(Arrays.asList(values));
+        return new Predicate<String>() {
+            @Override
+            public boolean test(String value) {
+                return value != null && set.contains(value);
+            }
+        };
+    }
+}
@@ -0,0 +1,224 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.events.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+
+/**
+ * Reads the records of a batch event one at a time from the input stream of a
+ * {@code RequestStreamHandler}, instead of materializing the whole event. Only the record being
+ * returned and the reader's buffer are held in memory, whatever the size of the batch.
+ *
+ * <pre>
+ * try (RecordIterator&lt;SQSEvent.SQSMessage&gt; messages = RecordIterator.sqs(input)) {
+ *     while (messages.hasNext()) {
+ *         process(messages.next());
+ *     }
+ * }
+ * </pre>
+ *
+ * Properties of the event other than its records are skipped. Read errors are thrown as
+ * {@link UncheckedIOException}.
+ *
+ * @param <T> The record type
+ */
+public final class RecordIterator<T> implements Iterator<T>, Closeable {
+
+    private static final JsonNames RECORDS = JsonNames.of("Records");
+
+    private final JsonReader reader;
+    private final JsonCodec<T> codec;
+    private final RecordFilter filter;
+    private boolean started;
+    private boolean finished;
+    // with a filter, the next matching record, read ahead by hasNext()
+    private T pending;
+    private boolean hasPending;
+    private int skipped;
+
+    private RecordIterator(JsonReader reader, JsonCodec<T> codec, RecordFilter filter) {
+        this.reader = reader;
+        this.codec = codec;
+        this.filter = filter;
+    }
+
+    public static RecordIterator<KinesisEvent.KinesisEventRecord> kinesis(InputStream input) {
+        return of(input, KinesisEvent.KinesisEventRecord.class);
+    }
+
+    public static RecordIterator<SQSEvent.SQSMessage> sqs(InputStream input) {
+        return of(input, SQSEvent.SQSMessage.class);
+    }
+
+    public static RecordIterator<DynamodbEvent.DynamodbStreamRecord> dynamodb(InputStream input) {
+        return of(input, DynamodbEvent.DynamodbStreamRecord.class);
+    }
+
+    /**
+     * Iterates over the "Records" array of any event, matched case-insensitively
+     * @param input the event JSON
+     * @param recordType a type {@link EventCodecs} supports
+     * @return an iterator over the records
+     * @throws IllegalArgumentException if there is no codec for the record type
+     */
+    public static <T> RecordIterator<T> of(InputStream input, Class<T> recordType) {
+        return new RecordIterator<T>(new JsonReader(input), EventCodecs.forType(recordType), null);
+    }
+
+    public static RecordIterator<KinesisEvent.KinesisEventRecord> kinesis(InputStream input, RecordFilter filter) {
+        return of(input, KinesisEvent.KinesisEventRecord.class, filter);
+    }
+
+    public static RecordIterator<SQSEvent.SQSMessage> sqs(InputStream input, RecordFilter filter) {
+        return of(input, SQSEvent.SQSMessage.class, filter);
+    }
+
+    public static RecordIterator<DynamodbEvent.DynamodbStreamRecord> dynamodb(InputStream input, RecordFilter filter) {
+        return of(input, DynamodbEvent.DynamodbStreamRecord.class, filter);
+    }
+
+    /**
+     * Iterates over the records of any event that match a filter. Each record is indexed without decoding
+     * it and only decoded if the filter matches.
+     * @param input the event JSON
+     * @param recordType a type {@link EventCodecs} supports
+     * @param filter the records to return
+     * @return an iterator over the matching records
+     * @throws IllegalArgumentException if there is no codec for the record type
+     */
+    public static <T> RecordIterator<T> of(InputStream input, Class<T> recordType, RecordFilter filter) {
+        return new RecordIterator<T>(new JsonReader(input), EventCodecs.forType(recordType), filter);
+    }
+
+    /**
+     * Iterates over the "Records" array of any event, reading only the properties a projection of the
+     * record type selects
+     * @param input the event JSON
+     * @param projection the record properties to read
+     * @return an iterator over the records
+     */
+    public static <T> RecordIterator<T> of(InputStream input, Projection<T> projection) {
+        return new RecordIterator<T>(new JsonReader(input), projection, null);
+    }
+
+    /**
+     * Iterates over the records of any event that match a filter, reading only the properties a projection
+     * selects
+     * @param input the event JSON
+     * @param projection the record properties to read
+     * @param filter the records to return
+     * @return an iterator over the matching records
+     */
+    public static <T> RecordIterator<T> of(InputStream input, Projection<T> projection, RecordFilter filter) {
+        return new RecordIterator<T>(new JsonReader(input), projection, filter);
+    }
+
+    /**
+     * @return the number of records the filter has rejected so far
+     */
+    public int skipped() {
+        return skipped;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (hasPending) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            if (!started) {
+                started = true;
+                if (!seekRecords()) {
+                    finished = true;
+                    return false;
+                }
+            }
+            while (reader.hasNext()) {
+                if (filter == null) {
+                    return true;
+                }
+                byte[] raw = reader.nextRawValue();
+                JsonIndex index = JsonIndex.of(raw);
+                if (filter.test(index, index.root())) {
+                    pending = codec.read(new JsonReader(raw));
+                    hasPending = true;
+                    return true;
+                }
+                skipped++;
+            }
+            reader.endArray();
+            // records are usually the only property, but read to the end so the document is validated
+            while (reader.hasNext()) {
+                reader.nextName();
+                reader.skipValue();
+            }
+            reader.endObject();
+            finished = true;
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (hasPending) {
+            T record = pending;
+            pending = null;
+            hasPending = false;
+            return record;
+        }
+        try {
+            return codec.read(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the input stream
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        pending = null;
+        hasPending = false;
+        reader.close();
+    }
+
+    /**
+     * Moves to the first element of the records array
+     * @return false if the event has no records
+     */
+    private boolean seekRecords() throws IOException {
+        if (reader.nextIfNull()) {
+            return false;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName(RECORDS) != 0) {
+                reader.skipValue();
+            } else if (!reader.nextIfNull()) {
+                reader.beginArray();
+                return true;
+            }
+        }
+        reader.endObject();
+        return false;
+    }
+}
@@ -0,0 +1,145 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.jul;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.text.MessageFormat;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Formats a java.util.logging record, including its stack trace, as one
+ * {@code <LEVEL> <logger> - <message>} record. JUL levels are printed with the
+ * names used by the other Lambda logging libraries: SEVERE as ERROR, WARNING as
+ * WARN, CONFIG and FINE as DEBUG, FINER and FINEST as TRACE.
+ *
+ * Unlike {@link Formatter#formatMessage(LogRecord)} this formatter takes no lock;
+ * every thread formats into its own reused buffer.
+ */
+public class LambdaFormatter extends Formatter {
+
+    static final int BUF_SIZE = 256;
+    static final int MAX_CAPACITY = 8192;
+
+    private static final String LINE_SEP = System.getProperty("line.separator", "\n");
+
+    // Taken out while a record is being formatted, so that a nested call made from an
+    // argument's toString() gets a buffer of its own.
+    private final ThreadLocal<StringBuilder> buffers = new ThreadLocal<StringBuilder>();
+
+    @Override
+    public String format(LogRecord record) {
+        StringBuilder sb = buffers.get();
+        if (sb == null) {
+            sb = new StringBuilder(BUF_SIZE);
+        } else {
+            buffers.set(null);
+        }
+        try {
+            formatTo(record, sb);
+            return sb.toString();
+        } finally {
+            if (sb.capacity() <= MAX_CAPACITY) {
+                sb.setLength(0);
+                buffers.set(sb);
+            }
+        }
+    }
+
+    /**
+     * Appends the formatted record to a buffer
+     * @param record the record to format
+     * @param sb the buffer to append to
+     */
+    public void formatTo(LogRecord record, final StringBuilder sb) {
+        String levelName = levelName(record.getLevel());
+        sb.append(levelName);
+        for (int i = levelName.length(); i < 5; i++) {
+            sb.append(' ');
+        }
+        String loggerName = record.getLoggerName();
+        if (loggerName != null) {
+            sb.append(' ').append(loggerName, loggerName.lastIndexOf('.') + 1, loggerName.length());
+        }
+        sb.append(" - ");
+        appendMessage(record, sb);
+        sb.append(LINE_SEP);
+        Throwable thrown = record.getThrown();
+        if (thrown != null) {
+            PrintWriter writer = new PrintWriter(new Writer() {
+                @Override
+                public void write(char[] cbuf, int off, int len) {
+                    sb.append(cbuf, off, len);
+                }
+
+                @Override
+                public void write(String str, int off, int len) {
+                    sb.append(str, off, off + len);
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            }, false);
+            thrown.printStackTrace(writer);
+            writer.flush();
+        }
+    }
+
+    private static void appendMessage(LogRecord record, StringBuilder sb) {
+        String format = record.getMessage();
+        if (format == null) {
+            sb.append((String) null);
+            return;
+        }
+        ResourceBundle bundle = record.getResourceBundle();
+        if (bundle != null) {
+            try {
+                format = bundle.getString(format);
+            } catch (MissingResourceException e) {
+                // fall back to the key, as Formatter.formatMessage does
+            }
+        }
+        Object[] parameters = record.getParameters();
+        if (parameters == null || parameters.length == 0 || !hasPlaceholder(format)) {
+            sb.append(format);
+            return;
+        }
+        try {
+            sb.append(MessageFormat.format(format, parameters));
+        } catch (Exception e) {
+            sb.append(format);
+        }
+    }
+
+    // Same heuristic as Formatter.formatMessage
+    private static boolean hasPlaceholder(String format) {
+        return format.indexOf("{0") >= 0 || format.indexOf("{1") >= 0
+                || format.indexOf("{2") >= 0 || format.indexOf("{3") >= 0;
+    }
+
+    static String levelName(Level level) {
+        int value = level.intValue();
+        if (value >= Level.SEVERE.intValue()) {
+            return "ERROR";
+        }
+        if (value >= Level.WARNING.intValue()) {
+            return "WARN";
+        }
+        if (value >= Level.INFO.intValue()) {
+            return "INFO";
+        }
+        if (value >= Level.FINE.intValue()) {
+            return "DEBUG";
+        }
+        return "TRACE";
+    }
+}
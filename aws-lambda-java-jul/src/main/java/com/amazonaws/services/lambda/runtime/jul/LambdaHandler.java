@@ -0,0 +1,143 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.jul;
+
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import com.amazonaws.services.lambda.runtime.logging.LogLevel;
+
+/**
+ * java.util.logging Handler that writes each record to the Lambda runtime logger.
+ *
+ * Unlike ConsoleHandler it does not synchronize publish(), and a multi-line
+ * message or stack trace stays one CloudWatch event. Install it during function
+ * initialization with {@link #install()}, or list it in logging.properties:
+ *
+ * <pre>
+ * handlers=com.amazonaws.services.lambda.runtime.jul.LambdaHandler
+ * com.amazonaws.services.lambda.runtime.jul.LambdaHandler.level=INFO
+ * </pre>
+ *
+ * When the function has a log level configured (see {@link LambdaRuntime#getLogLevel()}),
+ * it takes precedence over the level in logging.properties.
+ */
+public class LambdaHandler extends Handler {
+
+    private final LambdaLogger logger = LambdaRuntime.getLogger();
+
+    public LambdaHandler() {
+        super();
+        LogManager manager = LogManager.getLogManager();
+        String prefix = getClass().getName();
+        Level level = toLevel(LambdaRuntime.getLogLevel());
+        if (level == null) {
+            level = parseLevel(manager.getProperty(prefix + ".level"), Level.ALL);
+        }
+        setLevel(level);
+        setFormatter(createFormatter(manager.getProperty(prefix + ".formatter")));
+    }
+
+    /**
+     * Replaces the handlers of the root logger with a LambdaHandler. When the function
+     * has a log level configured, the root logger is set to it as well, so that disabled
+     * statements are rejected before a LogRecord is created.
+     * @return the installed handler
+     */
+    public static LambdaHandler install() {
+        Logger root = LogManager.getLogManager().getLogger("");
+        for (Handler handler : root.getHandlers()) {
+            root.removeHandler(handler);
+        }
+        LambdaHandler handler = new LambdaHandler();
+        root.addHandler(handler);
+        Level level = toLevel(LambdaRuntime.getLogLevel());
+        if (level != null) {
+            root.setLevel(level);
+        }
+        return handler;
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (!isLoggable(record)) {
+            return;
+        }
+        String message;
+        try {
+            message = getFormatter().format(record);
+        } catch (Exception e) {
+            reportError(null, e, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+        try {
+            logger.log(message);
+        } catch (Exception e) {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Maps a Lambda log level to the equivalent java.util.logging level
+     * @param logLevel Lambda log level
+     * @return the java.util.logging level, or null for UNDEFINED
+     */
+    static Level toLevel(LogLevel logLevel) {
+        switch (logLevel) {
+            case TRACE:
+                return Level.FINEST;
+            case DEBUG:
+                return Level.FINE;
+            case INFO:
+                return Level.INFO;
+            case WARN:
+                return Level.WARNING;
+            case ERROR:
+            case FATAL:
+                return Level.SEVERE;
+            default:
+                return null;
+        }
+    }
+
+    private static Level parseLevel(String value, Level defaultLevel) {
+        if (value == null) {
+            return defaultLevel;
+        }
+        try {
+            return Level.parse(value.trim());
+        } catch (IllegalArgumentException e) {
+            return defaultLevel;
+        }
+    }
+
+    private static Formatter createFormatter(String className) {
+        if (className != null) {
+            try {
+                ClassLoader loader = Thread.currentThread().getContextClassLoader();
+                if (loader == null) {
+                    loader = ClassLoader.getSystemClassLoader();
+                }
+                return (Formatter) loader.loadClass(className.trim()).getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                // fall through to the default formatter, as ConsoleHandler does
+            }
+        }
+        return new LambdaFormatter();
+    }
+}
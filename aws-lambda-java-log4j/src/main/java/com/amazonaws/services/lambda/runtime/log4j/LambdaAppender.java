@@ -15,8 +15,24 @@ import com.amazonaws.services.lambda.runtime.LambdaLogger;
  */
 public class LambdaAppender extends AppenderSkeleton {
 
+    /**
+     * Initial size of the reusable record buffer.
+     */
+    static final int BUF_SIZE = 256;
+
+    /**
+     * Buffers that grew past this size while formatting a large event are
+     * dropped so that one big stack trace does not pin memory for the rest
+     * of the container's life.
+     */
+    static final int MAX_CAPACITY = 8192;
+
     LambdaLogger logger = LambdaRuntime.getLogger();
 
+    // Only touched from append(), which AppenderSkeleton.doAppend calls while
+    // holding the appender's monitor.
+    private StringBuilder buffer = new StringBuilder(BUF_SIZE);
+
     public LambdaAppender() {
         super();
         LambdaRuntimeInternal.setUseLog4jAppender(true);
@@ -24,24 +40,33 @@ public class LambdaAppender extends AppenderSkeleton {
 
     @Override
     protected void append(LoggingEvent event) {
+        StringBuilder record = resetBuffer();
         if(this.layout == null) {
-            logger.log(event.getLevel() + " " + event.getMessage());
-            return;
-        }
-        logger.log(this.layout.format(event));
-        //prints the Throwable from the log
-        if(layout.ignoresThrowable()) {
-            StringBuilder traceString = new StringBuilder();
-            String[] s = event.getThrowableStrRep();
-            if (s != null) {
-                int len = s.length;
-                for(int i = 0; i < len; i++) {
-                    traceString.append(s[i]);
-                    traceString.append(Layout.LINE_SEP);
+            record.append(event.getLevel()).append(' ').append(event.getMessage());
+        } else {
+            record.append(this.layout.format(event));
+            //prints the Throwable from the log as part of the same record
+            if(layout.ignoresThrowable()) {
+                String[] s = event.getThrowableStrRep();
+                if (s != null) {
+                    int len = s.length;
+                    for(int i = 0; i < len; i++) {
+                        record.append(s[i]);
+                        record.append(Layout.LINE_SEP);
+                    }
                 }
             }
-            logger.log(traceString.toString());
         }
+        logger.log(record.toString());
+    }
+
+    private StringBuilder resetBuffer() {
+        if(buffer.capacity() > MAX_CAPACITY) {
+            buffer = new StringBuilder(BUF_SIZE);
+        } else {
+            buffer.setLength(0);
+        }
+        return buffer;
     }
 
     public void close() {
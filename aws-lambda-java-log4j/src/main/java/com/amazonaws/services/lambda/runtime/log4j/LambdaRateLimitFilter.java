@@ -0,0 +1,102 @@
+package com.amazonaws.services.lambda.runtime.log4j;
+
+import org.apache.log4j.spi.Filter;
+import org.apache.log4j.spi.LoggingEvent;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+/**
+ * LambdaRateLimitFilter protects the function from hot loops that flood the log.
+ *
+ * Every logger gets a token bucket of burst events refilled at rate events per
+ * second; events beyond that are dropped. When deduplicate is set, consecutive
+ * events of a logger with the same message are collapsed: the first is logged and
+ * the rest are counted and reported as a single "previous message repeated N times"
+ * record.
+ *
+ * The volume suppressed during an invocation is reported when the next invocation
+ * starts logging, or earlier if the handler calls {@link #reportSuppressed()} before
+ * returning. Example log4j.properties configuration:
+ *
+ * <pre>
+ * log4j.appender.LAMBDA.filter.1=com.amazonaws.services.lambda.runtime.log4j.LambdaRateLimitFilter
+ * log4j.appender.LAMBDA.filter.1.Rate=100
+ * log4j.appender.LAMBDA.filter.1.Burst=200
+ * </pre>
+ */
+public class LambdaRateLimitFilter extends Filter {
+
+    /**
+     * Key under which the Lambda runtime publishes the request id in the MDC
+     */
+    public static final String REQUEST_ID_KEY = "AWSRequestId";
+
+    private int rate = 100;
+    private int burst;
+    private boolean deduplicate = true;
+    private volatile SuppressionTable table;
+
+    /**
+     * Reports the volume suppressed so far in the current invocation by every
+     * active LambdaRateLimitFilter. Call it at the end of the handler to get the
+     * report in the invocation's own log output.
+     */
+    public static void reportSuppressed() {
+        SuppressionTable.reportAll();
+    }
+
+    @Override
+    public void activateOptions() {
+        SuppressionTable previous = table;
+        table = new SuppressionTable(LambdaRuntime.getLogger(), rate, burst > 0 ? burst : rate * 2, deduplicate,
+                SuppressionTable.DEFAULT_SLOTS);
+        table.register();
+        if (previous != null) {
+            previous.unregister();
+        }
+    }
+
+    @Override
+    public int decide(LoggingEvent event) {
+        SuppressionTable table = this.table;
+        if (table == null) {
+            table = activateIfNeeded();
+        }
+        Object requestId = event.getMDC(REQUEST_ID_KEY);
+        Object message = event.getMessage();
+        return table.tryAcquire(requestId == null ? null : requestId.toString(), event.getLoggerName(),
+                message == null ? null : message.toString()) ? NEUTRAL : DENY;
+    }
+
+    // configured programmatically without a call to activateOptions()
+    private synchronized SuppressionTable activateIfNeeded() {
+        if (table == null) {
+            activateOptions();
+        }
+        return table;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public boolean getDeduplicate() {
+        return deduplicate;
+    }
+
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+}
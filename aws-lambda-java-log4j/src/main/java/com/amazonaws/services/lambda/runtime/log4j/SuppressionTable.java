@@ -0,0 +1,215 @@
+package com.amazonaws.services.lambda.runtime.log4j;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free table of per-logger token buckets and repeated-message counters
+ * backing {@link LambdaRateLimitFilter}.
+ *
+ * Loggers are hashed into a fixed number of slots. Two loggers that share a
+ * slot share a bucket, which only makes limiting slightly stricter for them.
+ * Each bucket is one long holding the last refill time in its high bits and
+ * the remaining tokens in its low bits, so acquiring a token is a single CAS.
+ *
+ * The same class is in aws-lambda-java-log4j2: the two appender modules only share
+ * aws-lambda-java-core, so the copies are kept identical apart from the package.
+ */
+final class SuppressionTable {
+
+    static final int DEFAULT_SLOTS = 256;
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final String LINE_SEP = System.getProperty("line.separator", "\n");
+
+    private static final CopyOnWriteArrayList<SuppressionTable> LIVE = new CopyOnWriteArrayList<SuppressionTable>();
+
+    private static final class Entry {
+        final String loggerName;
+        final String message;
+
+        Entry(String loggerName, String message) {
+            this.loggerName = loggerName;
+            this.message = message;
+        }
+
+        boolean matches(String loggerName, String message) {
+            return (this.message == message || this.message.equals(message))
+                    && (this.loggerName == loggerName || this.loggerName.equals(loggerName));
+        }
+    }
+
+    private final LambdaLogger logger;
+    private final long permitsPerSecond;
+    private final long burst;
+    private final boolean deduplicate;
+    private final int mask;
+    private final long origin = System.nanoTime();
+
+    private final AtomicLongArray buckets;
+    private final AtomicReferenceArray<Entry> lastMessages;
+    private final AtomicLongArray repeats;
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicReference<String> currentRequestId = new AtomicReference<String>();
+
+    SuppressionTable(LambdaLogger logger, int permitsPerSecond, int burst, boolean deduplicate, int slots) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("rate must be positive: " + permitsPerSecond);
+        }
+        if (burst <= 0 || burst > TOKEN_MASK) {
+            throw new IllegalArgumentException("burst must be between 1 and " + TOKEN_MASK + ": " + burst);
+        }
+        this.logger = logger;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.deduplicate = deduplicate;
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.mask = size - 1;
+        this.buckets = new AtomicLongArray(size);
+        this.lastMessages = new AtomicReferenceArray<Entry>(size);
+        this.repeats = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            buckets.set(i, burst);
+        }
+    }
+
+    /**
+     * Makes this table part of the set reported by {@link #reportAll()}
+     */
+    void register() {
+        LIVE.addIfAbsent(this);
+    }
+
+    /**
+     * Reports and removes this table from the set reported by {@link #reportAll()}
+     */
+    void unregister() {
+        LIVE.remove(this);
+        report(currentRequestId.getAndSet(null));
+    }
+
+    /**
+     * Reports suppressed volume of every registered table
+     */
+    static void reportAll() {
+        for (SuppressionTable table : LIVE) {
+            table.report(table.currentRequestId.get());
+        }
+    }
+
+    /**
+     * Decides whether an event may be logged
+     * @param requestId AWS request id of the invocation logging the event, may be null
+     * @param loggerName name of the logger
+     * @param message formatted message of the event, or null to only limit the rate
+     * @return true if the event should be logged
+     */
+    boolean tryAcquire(String requestId, String loggerName, String message) {
+        if (requestId != null) {
+            String current = currentRequestId.get();
+            if (!requestId.equals(current) && currentRequestId.compareAndSet(current, requestId)) {
+                report(current);
+            }
+        }
+        if (loggerName == null) {
+            loggerName = "";
+        }
+        int slot = slot(loggerName);
+        if (deduplicate && message != null && isRepeat(slot, loggerName, message)) {
+            duplicates.incrementAndGet();
+            return false;
+        }
+        if (!tryAcquireToken(slot)) {
+            rateLimited.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isRepeat(int slot, String loggerName, String message) {
+        Entry last = lastMessages.get(slot);
+        if (last != null && last.matches(loggerName, message)) {
+            repeats.incrementAndGet(slot);
+            return true;
+        }
+        if (lastMessages.compareAndSet(slot, last, new Entry(loggerName, message)) && last != null) {
+            long n = repeats.getAndSet(slot, 0);
+            if (n > 0) {
+                logRepeated(last, n);
+            }
+        }
+        return false;
+    }
+
+    private boolean tryAcquireToken(int slot) {
+        long now = (System.nanoTime() - origin) / 1000000L;
+        for (;;) {
+            long current = buckets.get(slot);
+            long refilledAt = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+            long earned = (now - refilledAt) * permitsPerSecond / 1000;
+            if (earned > 0) {
+                if (tokens + earned >= burst) {
+                    tokens = burst;
+                    refilledAt = now;
+                } else {
+                    tokens += earned;
+                    // only advance by the time those whole tokens took to earn
+                    refilledAt += earned * 1000 / permitsPerSecond;
+                }
+            }
+            if (tokens == 0) {
+                return false;
+            }
+            long next = (refilledAt << TOKEN_BITS) | (tokens - 1);
+            if (buckets.compareAndSet(slot, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Logs pending repeat counts and the volume suppressed since the last report
+     * @param requestId the invocation being reported, may be null
+     */
+    void report(String requestId) {
+        for (int i = 0; i <= mask; i++) {
+            Entry last = lastMessages.getAndSet(i, null);
+            long n = repeats.getAndSet(i, 0);
+            if (last != null && n > 0) {
+                logRepeated(last, n);
+            }
+        }
+        long limited = rateLimited.getAndSet(0);
+        long repeated = duplicates.getAndSet(0);
+        if (limited + repeated > 0) {
+            StringBuilder sb = new StringBuilder(128);
+            sb.append("Suppressed ").append(limited + repeated).append(" log events");
+            if (requestId != null) {
+                sb.append(" for request ").append(requestId);
+            }
+            sb.append(" (").append(limited).append(" rate limited, ")
+                    .append(repeated).append(" repeated)").append(LINE_SEP);
+            logger.log(sb.toString());
+        }
+    }
+
+    private void logRepeated(Entry entry, long n) {
+        StringBuilder sb = new StringBuilder(64 + entry.message.length());
+        sb.append(entry.loggerName).append(" - previous message repeated ").append(n)
+                .append(n == 1 ? " time: " : " times: ").append(entry.message).append(LINE_SEP);
+        logger.log(sb.toString());
+    }
+
+    private int slot(String loggerName) {
+        int h = loggerName.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,220 @@
+package com.amazonaws.services.lambda.runtime.log4j2;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.message.Message;
+
+/**
+ * Filter that protects the function from hot loops that flood the log.
+ *
+ * Every logger gets a token bucket of {@code burst} events refilled at {@code rate}
+ * events per second; events beyond that are dropped. When {@code deduplicate} is set,
+ * consecutive events of a logger with the same formatted message are collapsed: the
+ * first is logged and the rest are counted and reported as a single
+ * "previous message repeated N times" record. Checks made before a parameterized
+ * message is formatted, as context-wide filters get, only limit the rate, and calls
+ * below the logger's level are left to the logger to drop.
+ *
+ * The volume suppressed during an invocation is reported when the next invocation
+ * starts logging, or earlier if the handler calls {@link #reportSuppressed()} before
+ * returning. Reports and repeat records are written directly to the Lambda logger.
+ */
+@Plugin(name = LambdaRateLimitFilter.PLUGIN_NAME, category = Node.CATEGORY,
+        elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class LambdaRateLimitFilter extends AbstractFilter {
+
+    public static final String PLUGIN_NAME = "LambdaRateLimit";
+
+    private final int rate;
+    private final int burst;
+    private final boolean deduplicate;
+    private final SuppressionTable table;
+
+    private LambdaRateLimitFilter(int rate, int burst, boolean deduplicate, Result onMatch, Result onMismatch) {
+        super(onMatch, onMismatch);
+        this.rate = rate;
+        this.burst = burst;
+        this.deduplicate = deduplicate;
+        this.table = new SuppressionTable(LambdaRuntime.getLogger(), rate, burst, deduplicate,
+                SuppressionTable.DEFAULT_SLOTS);
+    }
+
+    /**
+     * Method used by log4j2 to create this filter
+     * @param rate events per second allowed for each logger, defaults to 100
+     * @param burst events a logger may log at once before being limited, defaults to twice the rate
+     * @param deduplicate whether to collapse repeated messages, defaults to true
+     * @param onMatch result for events that are let through, defaults to NEUTRAL
+     * @param onMismatch result for suppressed events, defaults to DENY
+     * @return a new LambdaRateLimitFilter
+     */
+    @PluginFactory
+    public static LambdaRateLimitFilter createFilter(
+            @PluginAttribute(value = "rate", defaultInt = 100) int rate,
+            @PluginAttribute(value = "burst", defaultInt = 0) int burst,
+            @PluginAttribute(value = "deduplicate", defaultBoolean = true) boolean deduplicate,
+            @PluginAttribute("onMatch") Result onMatch,
+            @PluginAttribute("onMismatch") Result onMismatch) {
+        return new LambdaRateLimitFilter(rate, burst > 0 ? burst : rate * 2, deduplicate,
+                onMatch == null ? Result.NEUTRAL : onMatch,
+                onMismatch == null ? Result.DENY : onMismatch);
+    }
+
+    /**
+     * Reports the volume suppressed so far in the current invocation by every
+     * active LambdaRateLimitFilter. Call it at the end of the handler to get the
+     * report in the invocation's own log output.
+     */
+    public static void reportSuppressed() {
+        SuppressionTable.reportAll();
+    }
+
+    @Override
+    public void start() {
+        table.register();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        table.unregister();
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    private Result filter(Logger logger, Level level, String message, boolean parameterized) {
+        return disabled(logger, level) ? Result.NEUTRAL : acquire(logger, message, parameterized);
+    }
+
+    private Result acquire(Logger logger, String message, boolean parameterized) {
+        // level-only checks such as isDebugEnabled() carry no message and must not use up tokens
+        if (message == null) {
+            return Result.NEUTRAL;
+        }
+        // a pattern is the same for every event it formats, so it cannot tell repeats apart
+        return table.tryAcquire(ThreadContext.get(LambdaSamplingFilter.REQUEST_ID_KEY), logger.getName(),
+                parameterized ? null : message) ? onMatch : onMismatch;
+    }
+
+    // context-wide filters run before the logger checks the level, so disabled calls must
+    // be left alone rather than use up tokens or break a run of repeats
+    private static boolean disabled(Logger logger, Level level) {
+        return !level.isMoreSpecificThan(logger.getLevel());
+    }
+
+    @Override
+    public Result filter(LogEvent event) {
+        String requestId = event.getContextData().getValue(LambdaSamplingFilter.REQUEST_ID_KEY);
+        Message message = event.getMessage();
+        return table.tryAcquire(requestId, event.getLoggerName(), message == null ? null : message.getFormattedMessage())
+                ? onMatch : onMismatch;
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, Message msg, Throwable t) {
+        // formatted only once the level lets the call through
+        if (disabled(logger, level)) {
+            return Result.NEUTRAL;
+        }
+        return acquire(logger, msg == null ? null : msg.getFormattedMessage(), false);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, Object msg, Throwable t) {
+        if (disabled(logger, level)) {
+            return Result.NEUTRAL;
+        }
+        return acquire(logger, msg == null ? null : msg.toString(), false);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object... params) {
+        return filter(logger, level, msg, params != null && params.length > 0);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0) {
+        return filter(logger, level, msg, true);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1) {
+        return filter(logger, level, msg, true);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2) {
+        return filter(logger, level, msg, true);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3) {
+        return filter(logger, level, msg, true);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4) {
+        return filter(logger, level, msg, true);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4, Object p5) {
+        return filter(logger, level, msg, true);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4, Object p5, Object p6) {
+        return filter(logger, level, msg, true);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4, Object p5, Object p6, Object p7) {
+        return filter(logger, level, msg, true);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4, Object p5, Object p6, Object p7, Object p8) {
+        return filter(logger, level, msg, true);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4, Object p5, Object p6, Object p7, Object p8,
+                         Object p9) {
+        return filter(logger, level, msg, true);
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + ", burst=" + burst + ", deduplicate=" + deduplicate;
+    }
+}
@@ -0,0 +1,236 @@
+package com.amazonaws.services.lambda.runtime.log4j2;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.message.Message;
+
+/**
+ * Filter that lowers the logging threshold for a percentage of Lambda invocations.
+ *
+ * Events at or above {@code level} always match. Events between {@code level} and
+ * {@code sampledLevel} only match while the current invocation has been sampled.
+ * Whether an invocation is sampled is derived from its AWS request id, so the
+ * decision is made once per request and is the same on every thread that logs
+ * for it. Events logged outside an invocation (during init) are not sampled.
+ *
+ * Configure it as a context-wide filter so that it runs before the message is
+ * formatted; requests that are not sampled then pay only a level comparison.
+ */
+@Plugin(name = LambdaSamplingFilter.PLUGIN_NAME, category = Node.CATEGORY,
+        elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class LambdaSamplingFilter extends AbstractFilter {
+
+    public static final String PLUGIN_NAME = "LambdaSampling";
+
+    /**
+     * Key under which the Lambda runtime publishes the request id in the thread context
+     */
+    public static final String REQUEST_ID_KEY = "AWSRequestId";
+
+    /**
+     * Resolution of the sampling percentage, in buckets per 100 percent
+     */
+    private static final int BUCKETS = 10000;
+
+    private final Level level;
+    private final Level sampledLevel;
+    private final int sampledBuckets;
+
+    // Last decision made, shared by all threads. Lambda runs one invocation at a
+    // time, so this almost always hits and no per-request map is needed.
+    private volatile Decision lastDecision = new Decision(null, false);
+
+    private static final class Decision {
+        final String requestId;
+        final boolean sampled;
+
+        Decision(String requestId, boolean sampled) {
+            this.requestId = requestId;
+            this.sampled = sampled;
+        }
+    }
+
+    private LambdaSamplingFilter(Level level, Level sampledLevel, double percentage,
+                                 Result onMatch, Result onMismatch) {
+        super(onMatch, onMismatch);
+        this.level = level;
+        this.sampledLevel = sampledLevel;
+        this.sampledBuckets = (int) Math.round(Math.max(0d, Math.min(100d, percentage)) * (BUCKETS / 100));
+    }
+
+    /**
+     * Method used by log4j2 to create this filter
+     * @param level threshold applied to every invocation, defaults to INFO
+     * @param sampledLevel threshold applied to sampled invocations, defaults to DEBUG
+     * @param percentage percentage of invocations to sample, between 0 and 100
+     * @param onMatch result for events that pass the threshold, defaults to NEUTRAL
+     * @param onMismatch result for events that do not, defaults to DENY
+     * @return a new LambdaSamplingFilter
+     */
+    @PluginFactory
+    public static LambdaSamplingFilter createFilter(
+            @PluginAttribute("level") Level level,
+            @PluginAttribute("sampledLevel") Level sampledLevel,
+            @PluginAttribute(value = "percentage", defaultDouble = 1d) double percentage,
+            @PluginAttribute("onMatch") Result onMatch,
+            @PluginAttribute("onMismatch") Result onMismatch) {
+        return new LambdaSamplingFilter(
+                level == null ? Level.INFO : level,
+                sampledLevel == null ? Level.DEBUG : sampledLevel,
+                percentage,
+                onMatch == null ? Result.NEUTRAL : onMatch,
+                onMismatch == null ? Result.DENY : onMismatch);
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public Level getSampledLevel() {
+        return sampledLevel;
+    }
+
+    private Result filter(Level eventLevel) {
+        if (eventLevel.isMoreSpecificThan(level)) {
+            return onMatch;
+        }
+        if (!isSampleable(eventLevel)) {
+            return onMismatch;
+        }
+        return isSampled(ThreadContext.get(REQUEST_ID_KEY)) ? onMatch : onMismatch;
+    }
+
+    private boolean isSampleable(Level eventLevel) {
+        return sampledBuckets > 0 && eventLevel.isMoreSpecificThan(sampledLevel);
+    }
+
+    /**
+     * Returns whether events for the given request id are logged at the sampled level
+     * @param requestId AWS request id, may be null
+     * @return true if the request is sampled
+     */
+    public boolean isSampled(String requestId) {
+        if (requestId == null) {
+            return false;
+        }
+        Decision decision = lastDecision;
+        if (!requestId.equals(decision.requestId)) {
+            decision = new Decision(requestId, bucket(requestId) < sampledBuckets);
+            lastDecision = decision;
+        }
+        return decision.sampled;
+    }
+
+    private static int bucket(String requestId) {
+        // String.hashCode of a UUID is poorly distributed in its low bits, mix it first
+        int h = requestId.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % BUCKETS;
+    }
+
+    @Override
+    public Result filter(LogEvent event) {
+        Level eventLevel = event.getLevel();
+        if (eventLevel.isMoreSpecificThan(level)) {
+            return onMatch;
+        }
+        if (!isSampleable(eventLevel)) {
+            return onMismatch;
+        }
+        String requestId = event.getContextData().getValue(REQUEST_ID_KEY);
+        return isSampled(requestId) ? onMatch : onMismatch;
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, Message msg, Throwable t) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, Object msg, Throwable t) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object... params) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4, Object p5) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4, Object p5, Object p6) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4, Object p5, Object p6, Object p7) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4, Object p5, Object p6, Object p7, Object p8) {
+        return filter(level);
+    }
+
+    @Override
+    public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1,
+                         Object p2, Object p3, Object p4, Object p5, Object p6, Object p7, Object p8,
+                         Object p9) {
+        return filter(level);
+    }
+
+    @Override
+    public String toString() {
+        return "level=" + level + ", sampledLevel=" + sampledLevel
+                + ", percentage=" + (sampledBuckets * 100d / BUCKETS);
+    }
+}
@@ -0,0 +1,161 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.logback;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.pattern.EnsureExceptionHandling;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.pattern.Converter;
+import ch.qos.logback.core.pattern.PostCompileProcessor;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+/**
+ * Logback appender that writes each event, stack trace included, to the Lambda
+ * runtime logger as one record. It takes no lock, unlike ConsoleAppender.
+ *
+ * With a pattern encoder, the pattern is rendered into a reused per-thread buffer
+ * and handed to the Lambda logger directly, skipping the encoder's conversion to
+ * bytes; other layouts are called as they are. Without an encoder, events are
+ * formatted as {@code <request id> <LEVEL> <logger> - <message>} into the same
+ * buffer, the request id being read from the {@value #REQUEST_ID_KEY} MDC key.
+ */
+public class LambdaAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    /**
+     * MDC key whose value is printed at the start of records when no encoder is set
+     */
+    public static final String REQUEST_ID_KEY = "AWSRequestId";
+
+    static final int BUF_SIZE = 256;
+    static final int MAX_CAPACITY = 8192;
+
+    private static final String LINE_SEP = System.getProperty("line.separator", "\n");
+
+    private LambdaLogger logger = LambdaRuntime.getLogger();
+
+    private Encoder<ILoggingEvent> encoder;
+    private Layout<ILoggingEvent> layout;
+    // the encoder's pattern compiled again, for its converters to write into the buffer
+    private PatternLayout patternLayout;
+    private Converter<ILoggingEvent> converters;
+
+    // Taken out while an event is being formatted, so that a nested event logged
+    // from an argument's toString() gets a buffer of its own.
+    private final ThreadLocal<StringBuilder> buffers = new ThreadLocal<StringBuilder>();
+
+    public Encoder<ILoggingEvent> getEncoder() {
+        return encoder;
+    }
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    @Override
+    public void start() {
+        layout = null;
+        patternLayout = null;
+        converters = null;
+        if (encoder instanceof LayoutWrappingEncoder) {
+            layout = ((LayoutWrappingEncoder<ILoggingEvent>) encoder).getLayout();
+            // a subclass may render differently from its converters
+            if (layout != null && layout.getClass() == PatternLayout.class) {
+                startPatternLayout((PatternLayout) layout);
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (patternLayout != null) {
+            patternLayout.stop();
+        }
+    }
+
+    // PatternLayout builds a new String per event and does not expose its converters,
+    // so the pattern is compiled again to get hold of them
+    private void startPatternLayout(PatternLayout source) {
+        PatternLayout copy = new PatternLayout();
+        copy.setContext(source.getContext() != null ? source.getContext() : getContext());
+        copy.setPattern(source.getPattern());
+        copy.getInstanceConverterMap().putAll(source.getInstanceConverterMap());
+        copy.setPostCompileProcessor(new PostCompileProcessor<ILoggingEvent>() {
+            @Override
+            public void process(Context context, Converter<ILoggingEvent> head) {
+                new EnsureExceptionHandling().process(context, head);
+                converters = head;
+            }
+        });
+        copy.start();
+        if (copy.isStarted() && converters != null) {
+            patternLayout = copy;
+        } else {
+            converters = null;
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (converters != null || layout == null && encoder == null) {
+            logger.log(format(event));
+        } else if (layout != null) {
+            logger.log(layout.doLayout(event));
+        } else {
+            logger.log(encoder.encode(event));
+        }
+    }
+
+    private String format(ILoggingEvent event) {
+        StringBuilder sb = buffers.get();
+        if (sb == null) {
+            sb = new StringBuilder(BUF_SIZE);
+        } else {
+            buffers.set(null);
+        }
+        try {
+            if (converters != null) {
+                for (Converter<ILoggingEvent> c = converters; c != null; c = c.getNext()) {
+                    c.write(sb, event);
+                }
+            } else {
+                formatDefault(sb, event);
+            }
+            return sb.toString();
+        } finally {
+            if (sb.capacity() <= MAX_CAPACITY) {
+                sb.setLength(0);
+                buffers.set(sb);
+            }
+        }
+    }
+
+    private static void formatDefault(StringBuilder sb, ILoggingEvent event) {
+        String requestId = event.getMDCPropertyMap().get(REQUEST_ID_KEY);
+        if (requestId != null) {
+            sb.append(requestId).append(' ');
+        }
+        String levelName = event.getLevel().toString();
+        sb.append(levelName);
+        for (int i = levelName.length(); i < 5; i++) {
+            sb.append(' ');
+        }
+        String loggerName = event.getLoggerName();
+        sb.append(' ').append(loggerName, loggerName.lastIndexOf('.') + 1, loggerName.length());
+        sb.append(" - ").append(event.getFormattedMessage()).append(LINE_SEP);
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            sb.append(ThrowableProxyUtil.asString(throwable));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends event payloads, together with the time they arrived, to a memory-mapped segment file.
+ * Recording an event is a copy into the mapping; the operating system writes pages back to disk
+ * in the background. The mapping grows by doubling, up to 2 GiB per segment.
+ *
+ * The file can be read with {@link EventSegment} once the recorder is closed. Events recorded
+ * before a crash are still readable, up to the last complete one.
+ */
+public final class EventRecorder implements Closeable {
+
+    /**
+     * Initial size of the mapping when none is given
+     */
+    public static final int DEFAULT_CAPACITY = 4 * 1024 * 1024;
+
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final FileChannel channel;
+    private final long startNanos;
+    private MappedByteBuffer buffer;
+    private int position;
+    private long eventCount;
+    private boolean closed;
+
+    private EventRecorder(FileChannel channel, int capacity) throws IOException {
+        this.channel = channel;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        this.startNanos = System.nanoTime();
+        buffer.putInt(0, SegmentFormat.MAGIC);
+        buffer.putInt(4, SegmentFormat.VERSION);
+        buffer.putLong(SegmentFormat.START_EPOCH_MILLIS_OFFSET, System.currentTimeMillis());
+        this.position = SegmentFormat.HEADER_SIZE;
+    }
+
+    /**
+     * Creates a segment file, replacing any existing file at the path
+     * @param file the segment file
+     * @return the recorder
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static EventRecorder create(Path file) throws IOException {
+        return create(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a segment file, replacing any existing file at the path
+     * @param file the segment file
+     * @param initialCapacity initial size of the mapping in bytes
+     * @return the recorder
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static EventRecorder create(Path file, int initialCapacity) throws IOException {
+        if (initialCapacity < SegmentFormat.HEADER_SIZE) {
+            throw new IllegalArgumentException("initialCapacity must be at least "
+                    + SegmentFormat.HEADER_SIZE + ": " + initialCapacity);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new EventRecorder(channel, initialCapacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Records a payload as arriving now
+     * @param payload the raw event bytes
+     * @throws IOException if the mapping cannot grow
+     */
+    public void record(byte[] payload) throws IOException {
+        record(payload, 0, payload.length);
+    }
+
+    public synchronized void record(byte[] payload, int offset, int length) throws IOException {
+        long offsetNanos = System.nanoTime() - startNanos;
+        int entry = reserve(length);
+        ((Buffer) buffer).position(entry + SegmentFormat.ENTRY_HEADER_SIZE);
+        buffer.put(payload, offset, length);
+        commit(entry, length, offsetNanos);
+    }
+
+    /**
+     * Records the remaining bytes of a buffer as arriving now, leaving its position unchanged
+     * @param payload the raw event bytes
+     * @throws IOException if the mapping cannot grow
+     */
+    public synchronized void record(ByteBuffer payload) throws IOException {
+        long offsetNanos = System.nanoTime() - startNanos;
+        int length = payload.remaining();
+        int entry = reserve(length);
+        ((Buffer) buffer).position(entry + SegmentFormat.ENTRY_HEADER_SIZE);
+        buffer.put(payload.duplicate());
+        commit(entry, length, offsetNanos);
+    }
+
+    public synchronized long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Writes recorded events to disk, trims the file to its content and closes it
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            buffer.force();
+            buffer = null;
+            try {
+                channel.truncate(position);
+            } catch (IOException e) {
+                // some platforms refuse to shrink a mapped file; readers stop at the zero fill anyway
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private int reserve(int length) throws IOException {
+        if (closed) {
+            throw new IOException("Recorder is closed");
+        }
+        long end = (long) position + SegmentFormat.ENTRY_HEADER_SIZE + length;
+        if (end > buffer.capacity()) {
+            grow(end);
+        }
+        return position;
+    }
+
+    private void commit(int entry, int length, long offsetNanos) {
+        buffer.putLong(entry + 4, offsetNanos);
+        buffer.putInt(entry, length + 1);
+        position = entry + SegmentFormat.ENTRY_HEADER_SIZE + length;
+        eventCount++;
+    }
+
+    private void grow(long required) throws IOException {
+        if (required > MAX_CAPACITY) {
+            throw new IOException("Segment is full: an event of " + (required - position - SegmentFormat.ENTRY_HEADER_SIZE)
+                    + " bytes does not fit in the remaining " + (MAX_CAPACITY - position) + " bytes");
+        }
+        long capacity = buffer.capacity();
+        while (capacity < required) {
+            capacity = Math.min(capacity * 2, MAX_CAPACITY);
+        }
+        buffer.force();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+}
@@ -0,0 +1,230 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+/**
+ * Feeds recorded events to a handler on the calling thread, one invocation at a time like the
+ * Lambda runtime, and measures each invocation.
+ *
+ * <pre>
+ * EventSegment segment = EventSegment.open(Paths.get("orders.seg"));
+ * ReplayReport report = EventReplayer.builder()
+ *         .withPacing(Pacing.original(4.0))
+ *         .withWarmupInvocations(10000)
+ *         .build()
+ *         .replay(segment, new OrderHandler());
+ * System.out.print(report);
+ * </pre>
+ *
+ * A handler that throws is counted as an error and replay continues with the next event.
+ */
+public final class EventReplayer {
+
+    // waits shorter than this are spun rather than parked, parking overshoots by tens of microseconds
+    private static final long SPIN_NANOS = 100000L;
+
+    private final Pacing pacing;
+    private final int iterations;
+    private final long warmupInvocations;
+    private final String functionName;
+    private final int memoryLimitInMB;
+    private final long timeoutMillis;
+
+    private EventReplayer(Builder builder) {
+        this.pacing = builder.pacing;
+        this.iterations = builder.iterations;
+        this.warmupInvocations = builder.warmupInvocations;
+        this.functionName = builder.functionName;
+        this.memoryLimitInMB = builder.memoryLimitInMB;
+        this.timeoutMillis = builder.timeoutMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Replays events to a stream handler. The input stream reads straight from the segment mapping;
+     * what the handler writes is discarded.
+     * @param events the events, usually an {@link EventSegment}
+     * @param handler the handler
+     * @return the measurements
+     */
+    public ReplayReport replay(List<RecordedEvent> events, final RequestStreamHandler handler) {
+        final ByteBufferInputStream input = new ByteBufferInputStream();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(8192);
+        return run(events, new Invoker() {
+            @Override
+            public void invoke(RecordedEvent event, Context context) throws Exception {
+                input.reset(event.getPayload());
+                output.reset();
+                handler.handleRequest(input, output, context);
+            }
+        });
+    }
+
+    /**
+     * Replays events to a handler, decoding each payload into its input type
+     * @param events the events, usually an {@link EventSegment}
+     * @param handler the handler
+     * @param decoder turns payloads into handler inputs
+     * @param <I> the handler's input type
+     * @return the measurements
+     */
+    public <I> ReplayReport replay(List<RecordedEvent> events, final RequestHandler<I, ?> handler,
+                                   final PayloadDecoder<I> decoder) {
+        return run(events, new Invoker() {
+            @Override
+            public void invoke(RecordedEvent event, Context context) throws Exception {
+                handler.handleRequest(decoder.decode(event.getPayload()), context);
+            }
+        });
+    }
+
+    private ReplayReport run(List<RecordedEvent> events, Invoker invoker) {
+        ReplayContext context = new ReplayContext(functionName, memoryLimitInMB, timeoutMillis);
+        LatencyHistogram serviceTime = new LatencyHistogram();
+        LatencyHistogram responseTime = new LatencyHistogram();
+        int size = events.size();
+        long invocation = 0;
+
+        for (long i = 0; i < warmupInvocations && size > 0; i++) {
+            RecordedEvent event = events.get((int) (i % size));
+            context.begin(invocation++, System.nanoTime());
+            try {
+                invoker.invoke(event, context);
+            } catch (Exception e) {
+                // errors during warm-up are left to the measured run to report
+            }
+        }
+
+        long errors = 0;
+        long payloadBytes = 0;
+        Throwable firstError = null;
+        long start = System.nanoTime();
+        replay:
+        for (int pass = 0; pass < iterations && size > 0; pass++) {
+            long passStart = System.nanoTime();
+            long first = events.get(0).getOffsetNanos();
+            for (int i = 0; i < size; i++) {
+                RecordedEvent event = events.get(i);
+                long due = pacing.isPaced() ? passStart + pacing.dueNanos(event, first, i) : System.nanoTime();
+                if (!awaitNanoTime(due)) {
+                    break replay;
+                }
+                long begin = System.nanoTime();
+                context.begin(invocation++, begin);
+                try {
+                    invoker.invoke(event, context);
+                } catch (Exception e) {
+                    if (errors++ == 0) {
+                        firstError = e;
+                    }
+                }
+                long end = System.nanoTime();
+                serviceTime.record(end - begin);
+                responseTime.record(end - Math.min(due, begin));
+                payloadBytes += event.getPayloadSize();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new ReplayReport(pacing.toString(), serviceTime.getCount(), errors, payloadBytes, elapsed,
+                serviceTime, responseTime, firstError);
+    }
+
+    /**
+     * Waits until System.nanoTime() reaches due
+     * @return false if the thread was interrupted while waiting
+     */
+    private static boolean awaitNanoTime(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_NANOS);
+            }
+        }
+        return true;
+    }
+
+    private interface Invoker {
+        void invoke(RecordedEvent event, Context context) throws Exception;
+    }
+
+    public static final class Builder {
+        private Pacing pacing = Pacing.maxRate();
+        private int iterations = 1;
+        private long warmupInvocations;
+        private String functionName = "replay";
+        private int memoryLimitInMB = 1024;
+        private long timeoutMillis = 900000L;
+
+        private Builder() {}
+
+        /**
+         * @param pacing when events are due, {@link Pacing#maxRate()} by default
+         */
+        public Builder withPacing(Pacing pacing) {
+            if (pacing == null) {
+                throw new IllegalArgumentException("pacing must not be null");
+            }
+            this.pacing = pacing;
+            return this;
+        }
+
+        /**
+         * @param iterations number of passes over the events, 1 by default
+         */
+        public Builder withIterations(int iterations) {
+            if (iterations <= 0) {
+                throw new IllegalArgumentException("iterations must be positive: " + iterations);
+            }
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * @param warmupInvocations unmeasured invocations, at maximum rate, run before the replay
+         *                          so that it measures compiled code; 0 by default
+         */
+        public Builder withWarmupInvocations(long warmupInvocations) {
+            if (warmupInvocations < 0) {
+                throw new IllegalArgumentException("warmupInvocations must not be negative: " + warmupInvocations);
+            }
+            this.warmupInvocations = warmupInvocations;
+            return this;
+        }
+
+        public Builder withFunctionName(String functionName) {
+            this.functionName = functionName;
+            return this;
+        }
+
+        public Builder withMemoryLimitInMB(int memoryLimitInMB) {
+            this.memoryLimitInMB = memoryLimitInMB;
+            return this;
+        }
+
+        /**
+         * @param timeoutMillis the function timeout {@link Context#getRemainingTimeInMillis()} counts down from
+         */
+        public Builder withTimeoutMillis(long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+            return this;
+        }
+
+        public EventReplayer build() {
+            return new EventReplayer(this);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of a segment file written by {@link EventRecorder}. The file is mapped once and
+ * payloads are slices of the mapping, so replaying never copies them onto the heap.
+ */
+public final class EventSegment extends AbstractList<RecordedEvent> implements RandomAccess {
+
+    private final ByteBuffer buffer;
+    private final long startEpochMillis;
+    private final int[] entries;
+    private final int size;
+
+    private EventSegment(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < SegmentFormat.HEADER_SIZE || buffer.getInt(0) != SegmentFormat.MAGIC) {
+            throw new IOException("Not an event segment file");
+        }
+        if (buffer.getInt(4) != SegmentFormat.VERSION) {
+            throw new IOException("Unsupported segment version " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.startEpochMillis = buffer.getLong(SegmentFormat.START_EPOCH_MILLIS_OFFSET);
+
+        int[] index = new int[256];
+        int count = 0;
+        int position = SegmentFormat.HEADER_SIZE;
+        int limit = buffer.capacity();
+        while (position + SegmentFormat.ENTRY_HEADER_SIZE <= limit) {
+            int length = buffer.getInt(position) - 1;
+            if (length < 0 || length > limit - position - SegmentFormat.ENTRY_HEADER_SIZE) {
+                break;
+            }
+            if (count == index.length) {
+                index = Arrays.copyOf(index, count * 2);
+            }
+            index[count++] = position;
+            position += SegmentFormat.ENTRY_HEADER_SIZE + length;
+        }
+        this.entries = index;
+        this.size = count;
+    }
+
+    /**
+     * Maps a segment file
+     * @param file the segment file
+     * @return the segment
+     * @throws IOException if the file cannot be read or is not a segment file
+     */
+    public static EventSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new EventSegment(buffer);
+        }
+    }
+
+    /**
+     * Wall clock time at which the recorder was created; event offsets are relative to it
+     * @return milliseconds since the epoch
+     */
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    @Override
+    public RecordedEvent get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int entry = entries[index];
+        int length = buffer.getInt(entry) - 1;
+        long offsetNanos = buffer.getLong(entry + 4);
+        ByteBuffer payload = buffer.duplicate();
+        ((Buffer) payload).position(entry + SegmentFormat.ENTRY_HEADER_SIZE);
+        ((Buffer) payload).limit(entry + SegmentFormat.ENTRY_HEADER_SIZE + length);
+        return new RecordedEvent(index, offsetNanos, payload.slice().asReadOnlyBuffer());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Time between the first and the last recorded event
+     * @return nanoseconds, 0 for segments with fewer than two events
+     */
+    public long getDurationNanos() {
+        return size < 2 ? 0 : buffer.getLong(entries[size - 1] + 4) - buffer.getLong(entries[0] + 4);
+    }
+}
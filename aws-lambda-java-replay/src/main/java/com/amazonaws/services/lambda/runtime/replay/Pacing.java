@@ -0,0 +1,94 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+/**
+ * When each event of a replay is due
+ */
+public final class Pacing {
+
+    private enum Mode { ORIGINAL, FIXED_RATE, MAX_RATE }
+
+    private static final Pacing MAX_RATE = new Pacing(Mode.MAX_RATE, 0);
+
+    private final Mode mode;
+    private final double value;
+
+    private Pacing(Mode mode, double value) {
+        this.mode = mode;
+        this.value = value;
+    }
+
+    /**
+     * Replays events with the gaps they were recorded with
+     * @return the pacing
+     */
+    public static Pacing original() {
+        return original(1.0);
+    }
+
+    /**
+     * Replays events with the gaps they were recorded with, divided by a speed factor
+     * @param speed 2.0 replays twice as fast as recorded
+     * @return the pacing
+     */
+    public static Pacing original(double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("speed must be positive: " + speed);
+        }
+        return new Pacing(Mode.ORIGINAL, speed);
+    }
+
+    /**
+     * Replays events at evenly spaced intervals
+     * @param eventsPerSecond the target rate
+     * @return the pacing
+     */
+    public static Pacing fixedRate(double eventsPerSecond) {
+        if (!(eventsPerSecond > 0)) {
+            throw new IllegalArgumentException("eventsPerSecond must be positive: " + eventsPerSecond);
+        }
+        return new Pacing(Mode.FIXED_RATE, eventsPerSecond);
+    }
+
+    /**
+     * Replays each event as soon as the previous one completes
+     * @return the pacing
+     */
+    public static Pacing maxRate() {
+        return MAX_RATE;
+    }
+
+    boolean isPaced() {
+        return mode != Mode.MAX_RATE;
+    }
+
+    /**
+     * Returns when an event is due, in nanoseconds after the start of its pass over the segment
+     * @param event the event
+     * @param first offset of the first event of the segment
+     * @param sequence number of the event within the pass
+     */
+    long dueNanos(RecordedEvent event, long first, long sequence) {
+        switch (mode) {
+            case ORIGINAL:
+                return (long) ((event.getOffsetNanos() - first) / value);
+            case FIXED_RATE:
+                return (long) (sequence * 1e9 / value);
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (mode) {
+            case ORIGINAL:
+                return value == 1.0 ? "original" : "original x" + value;
+            case FIXED_RATE:
+                return "fixed " + value + "/s";
+            default:
+                return "max";
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Turns a recorded payload into the input of a {@link com.amazonaws.services.lambda.runtime.RequestHandler}.
+ * Decoding is part of the measured service time, as it is in the Lambda runtime.
+ *
+ * @param <I> the handler's input type
+ */
+public interface PayloadDecoder<I> {
+
+    /**
+     * @param payload read-only raw event bytes
+     * @return the handler input
+     * @throws IOException if the payload cannot be decoded
+     */
+    I decode(ByteBuffer payload) throws IOException;
+}
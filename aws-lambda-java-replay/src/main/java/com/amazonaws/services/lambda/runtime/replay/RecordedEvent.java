@@ -0,0 +1,54 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One event of a segment: its raw payload and when it arrived
+ */
+public final class RecordedEvent {
+
+    private final int index;
+    private final long offsetNanos;
+    private final ByteBuffer payload;
+
+    RecordedEvent(int index, long offsetNanos, ByteBuffer payload) {
+        this.index = index;
+        this.offsetNanos = offsetNanos;
+        this.payload = payload;
+    }
+
+    /**
+     * Position of the event in its segment
+     * @return the zero based index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Time the event arrived, relative to the creation of the recorder
+     * @return nanoseconds
+     */
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    /**
+     * Raw event bytes. The buffer is read-only and backed by the segment mapping.
+     * @return a new buffer positioned at the start of the payload
+     */
+    public ByteBuffer getPayload() {
+        return payload.duplicate();
+    }
+
+    public int getPayloadSize() {
+        return payload.remaining();
+    }
+
+    @Override
+    public String toString() {
+        return "RecordedEvent(index=" + index + ", offsetNanos=" + offsetNanos + ", payloadSize=" + payload.remaining() + ")";
+    }
+}
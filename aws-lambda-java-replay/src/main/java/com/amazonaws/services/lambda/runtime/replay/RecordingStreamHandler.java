@@ -0,0 +1,57 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+/**
+ * Records every invocation payload before passing it on to the wrapped handler, to capture a
+ * live invocation stream for later replay:
+ *
+ * <pre>
+ * public class CapturingHandler extends RecordingStreamHandler {
+ *     public CapturingHandler() throws IOException {
+ *         super(new OrderHandler(), EventRecorder.create(Paths.get("/tmp/orders.seg")));
+ *     }
+ * }
+ * </pre>
+ *
+ * The payload is buffered in full, so the wrapped handler cannot start before the whole input
+ * has been read.
+ */
+public class RecordingStreamHandler implements RequestStreamHandler {
+
+    private final RequestStreamHandler delegate;
+    private final EventRecorder recorder;
+    private byte[] buffer = new byte[8192];
+
+    public RecordingStreamHandler(RequestStreamHandler delegate, EventRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        int length = 0;
+        int n;
+        while ((n = input.read(buffer, length, buffer.length - length)) != -1) {
+            length += n;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, length * 2);
+            }
+        }
+        recorder.record(buffer, 0, length);
+        delegate.handleRequest(new ByteArrayInputStream(buffer, 0, length), output, context);
+    }
+
+    public EventRecorder getRecorder() {
+        return recorder;
+    }
+}
@@ -0,0 +1,92 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+import java.util.UUID;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+/**
+ * Context handed to the handler on every replayed invocation. A single instance is reused; only
+ * the request id and the deadline change between invocations.
+ */
+final class ReplayContext implements Context {
+
+    private final String functionName;
+    private final int memoryLimitInMB;
+    private final long timeoutNanos;
+    private final long requestIdHigh;
+    private String requestId;
+    private long deadlineNanos;
+
+    ReplayContext(String functionName, int memoryLimitInMB, long timeoutMillis) {
+        this.functionName = functionName;
+        this.memoryLimitInMB = memoryLimitInMB;
+        this.timeoutNanos = timeoutMillis * 1000000L;
+        this.requestIdHigh = UUID.randomUUID().getMostSignificantBits();
+    }
+
+    void begin(long invocation, long startNanos) {
+        this.requestId = new UUID(requestIdHigh, invocation).toString();
+        this.deadlineNanos = startNanos + timeoutNanos;
+    }
+
+    @Override
+    public String getAwsRequestId() {
+        return requestId;
+    }
+
+    @Override
+    public String getLogGroupName() {
+        return "/aws/lambda/" + functionName;
+    }
+
+    @Override
+    public String getLogStreamName() {
+        return "replay";
+    }
+
+    @Override
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    @Override
+    public String getFunctionVersion() {
+        return "$LATEST";
+    }
+
+    @Override
+    public String getInvokedFunctionArn() {
+        return "arn:aws:lambda:us-east-1:000000000000:function:" + functionName;
+    }
+
+    @Override
+    public CognitoIdentity getIdentity() {
+        return null;
+    }
+
+    @Override
+    public ClientContext getClientContext() {
+        return null;
+    }
+
+    @Override
+    public int getRemainingTimeInMillis() {
+        return (int) Math.max(0, (deadlineNanos - System.nanoTime()) / 1000000L);
+    }
+
+    @Override
+    public int getMemoryLimitInMB() {
+        return memoryLimitInMB;
+    }
+
+    @Override
+    public LambdaLogger getLogger() {
+        return LambdaRuntime.getLogger();
+    }
+}
@@ -0,0 +1,69 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+import java.nio.file.Paths;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+/**
+ * Replays a segment file against a stream handler from the command line:
+ *
+ * <pre>
+ * java -cp handler.jar:aws-lambda-java-replay.jar com.amazonaws.services.lambda.runtime.replay.ReplayMain \
+ *     orders.seg com.example.OrderHandler --pacing fixed --rate 500 --warmup 10000
+ * </pre>
+ */
+public final class ReplayMain {
+
+    private static final String USAGE = "usage: ReplayMain <segment file> <RequestStreamHandler class>"
+            + " [--pacing original|fixed|max] [--speed <factor>] [--rate <events/s>]"
+            + " [--iterations <n>] [--warmup <n>]";
+
+    private ReplayMain() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        String mode = "max";
+        double speed = 1.0;
+        double rate = 0;
+        EventReplayer.Builder builder = EventReplayer.builder();
+        for (int i = 2; i < args.length; i++) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i] + "\n" + USAGE);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--pacing": mode = value; break;
+                case "--speed": speed = Double.parseDouble(value); break;
+                case "--rate": rate = Double.parseDouble(value); break;
+                case "--iterations": builder.withIterations(Integer.parseInt(value)); break;
+                case "--warmup": builder.withWarmupInvocations(Long.parseLong(value)); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i - 1] + "\n" + USAGE);
+            }
+        }
+        switch (mode) {
+            case "original": builder.withPacing(Pacing.original(speed)); break;
+            case "fixed": builder.withPacing(Pacing.fixedRate(rate)); break;
+            case "max": builder.withPacing(Pacing.maxRate()); break;
+            default: throw new IllegalArgumentException("Unknown pacing " + mode + "\n" + USAGE);
+        }
+
+        Class<?> handlerClass = Class.forName(args[1]);
+        if (!RequestStreamHandler.class.isAssignableFrom(handlerClass)) {
+            throw new IllegalArgumentException(args[1] + " does not implement RequestStreamHandler");
+        }
+        RequestStreamHandler handler = (RequestStreamHandler) handlerClass.getDeclaredConstructor().newInstance();
+        EventSegment segment = EventSegment.open(Paths.get(args[0]));
+        System.out.println(segment.size() + " events recorded over " + segment.getDurationNanos() / 1000000L + " ms");
+        ReplayReport report = builder.build().replay(segment, handler);
+        System.out.print(report);
+        if (report.getFirstError() != null) {
+            System.out.print("first error: ");
+            report.getFirstError().printStackTrace(System.out);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+import java.util.Locale;
+
+/**
+ * Outcome of a replay. Warm-up invocations are not counted.
+ *
+ * Two latencies are kept. Service time runs from the call into the handler to its return.
+ * Response time runs from when the event was due to the handler's return, so when paced replay
+ * falls behind, the queueing delay a real caller would see shows up there instead of being
+ * hidden by the late start.
+ */
+public final class ReplayReport {
+
+    private final String pacing;
+    private final long invocations;
+    private final long errors;
+    private final long payloadBytes;
+    private final long elapsedNanos;
+    private final LatencyHistogram serviceTime;
+    private final LatencyHistogram responseTime;
+    private final Throwable firstError;
+
+    ReplayReport(String pacing, long invocations, long errors, long payloadBytes, long elapsedNanos,
+                 LatencyHistogram serviceTime, LatencyHistogram responseTime, Throwable firstError) {
+        this.pacing = pacing;
+        this.invocations = invocations;
+        this.errors = errors;
+        this.payloadBytes = payloadBytes;
+        this.elapsedNanos = elapsedNanos;
+        this.serviceTime = serviceTime;
+        this.responseTime = responseTime;
+        this.firstError = firstError;
+    }
+
+    public long getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * Invocations in which the handler threw
+     * @return the error count
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * The first exception a handler threw, or null
+     * @return the exception
+     */
+    public Throwable getFirstError() {
+        return firstError;
+    }
+
+    public long getPayloadBytes() {
+        return payloadBytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getInvocationsPerSecond() {
+        return elapsedNanos == 0 ? 0 : invocations * 1e9 / elapsedNanos;
+    }
+
+    public double getBytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : payloadBytes * 1e9 / elapsedNanos;
+    }
+
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public LatencyHistogram getResponseTime() {
+        return responseTime;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "pacing %s: %d invocations, %d errors in %.3f s%n",
+                pacing, invocations, errors, elapsedNanos / 1e9));
+        sb.append(String.format(Locale.ROOT, "throughput: %.1f invocations/s, %.2f MB/s%n",
+                getInvocationsPerSecond(), getBytesPerSecond() / (1024 * 1024)));
+        sb.append(String.format(Locale.ROOT, "%-14s %10s %10s %10s %10s %10s %10s%n",
+                "latency (us)", "mean", "p50", "p90", "p99", "p99.9", "max"));
+        append(sb, "service time", serviceTime);
+        append(sb, "response time", responseTime);
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, String name, LatencyHistogram h) {
+        sb.append(String.format(Locale.ROOT, "%-14s %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n", name,
+                h.getMeanNanos() / 1e3, h.getPercentileNanos(50) / 1e3, h.getPercentileNanos(90) / 1e3,
+                h.getPercentileNanos(99) / 1e3, h.getPercentileNanos(99.9) / 1e3, h.getMaxNanos() / 1e3));
+    }
+}
@@ -0,0 +1,23 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.replay;
+
+/**
+ * Layout of a segment file, all values big-endian:
+ * <pre>
+ * header:  int magic, int version, long startEpochMillis
+ * entry:   int payloadLength + 1, long offsetNanos, byte[payloadLength] payload
+ * </pre>
+ * The file is zero filled past the last entry. The length word of an entry is written after its
+ * payload, so an entry cut short by a crash reads as the end of the segment.
+ */
+final class SegmentFormat {
+
+    static final int MAGIC = 0x4C524543; // "LREC"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_HEADER_SIZE = 12;
+    static final int START_EPOCH_MILLIS_OFFSET = 8;
+
+    private SegmentFormat() {}
+}
@@ -0,0 +1,38 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.slf4j;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.spi.MDCAdapter;
+
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+
+/**
+ * Creates and caches one {@link LambdaSlf4jLogger} per logger name
+ */
+public class LambdaLoggerFactory implements ILoggerFactory {
+
+    private final ConcurrentMap<String, Logger> loggers = new ConcurrentHashMap<String, Logger>();
+    private final LoggerConfiguration configuration;
+    private final MDCAdapter mdcAdapter;
+
+    LambdaLoggerFactory(LoggerConfiguration configuration, MDCAdapter mdcAdapter) {
+        this.configuration = configuration;
+        this.mdcAdapter = mdcAdapter;
+    }
+
+    public Logger getLogger(String name) {
+        Logger logger = loggers.get(name);
+        if (logger != null) {
+            return logger;
+        }
+        Logger created = new LambdaSlf4jLogger(name, configuration.levelFor(name), mdcAdapter,
+                LambdaRuntime.getLogger());
+        Logger existing = loggers.putIfAbsent(name, created);
+        return existing == null ? created : existing;
+    }
+}
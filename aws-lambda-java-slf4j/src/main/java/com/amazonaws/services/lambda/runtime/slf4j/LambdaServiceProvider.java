@@ -0,0 +1,50 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.slf4j;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SLF4JServiceProvider;
+
+/**
+ * SLF4J provider that binds SLF4J directly to the Lambda runtime logger,
+ * without going through another logging framework.
+ * It is found by SLF4J through the service loader; you should not be required
+ * to use this class directly.
+ */
+public class LambdaServiceProvider implements SLF4JServiceProvider {
+
+    /**
+     * Version of the SLF4J API this provider is compiled against
+     */
+    public static final String REQUESTED_API_VERSION = "2.0.99";
+
+    private ILoggerFactory loggerFactory;
+    private IMarkerFactory markerFactory;
+    private MDCAdapter mdcAdapter;
+
+    public ILoggerFactory getLoggerFactory() {
+        return loggerFactory;
+    }
+
+    public IMarkerFactory getMarkerFactory() {
+        return markerFactory;
+    }
+
+    public MDCAdapter getMDCAdapter() {
+        return mdcAdapter;
+    }
+
+    public String getRequestedApiVersion() {
+        return REQUESTED_API_VERSION;
+    }
+
+    public void initialize() {
+        mdcAdapter = new BasicMDCAdapter();
+        markerFactory = new BasicMarkerFactory();
+        loggerFactory = new LambdaLoggerFactory(LoggerConfiguration.load(), mdcAdapter);
+    }
+}
@@ -0,0 +1,95 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.slf4j;
+
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.spi.MDCAdapter;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+
+/**
+ * SLF4J logger that formats each event, including its stack trace, into one
+ * record and writes it to the Lambda runtime logger.
+ *
+ * Records look like {@code <request id> <LEVEL> <logger> - <message>}, where the
+ * request id is read from the {@value #REQUEST_ID_KEY} MDC key and left out when
+ * it is not set. Disabled levels cost one integer comparison.
+ */
+public class LambdaSlf4jLogger extends LegacyAbstractLogger {
+
+    private static final long serialVersionUID = 6327613457843105467L;
+
+    /**
+     * MDC key whose value is printed at the start of every record
+     */
+    public static final String REQUEST_ID_KEY = "AWSRequestId";
+
+    private static final String LINE_SEP = System.getProperty("line.separator", "\n");
+
+    private final int threshold;
+    private final String shortName;
+    private final transient MDCAdapter mdcAdapter;
+    private final transient LambdaLogger logger;
+
+    LambdaSlf4jLogger(String name, int threshold, MDCAdapter mdcAdapter, LambdaLogger logger) {
+        this.name = name;
+        this.threshold = threshold;
+        this.shortName = name.substring(name.lastIndexOf('.') + 1);
+        this.mdcAdapter = mdcAdapter;
+        this.logger = logger;
+    }
+
+    public boolean isTraceEnabled() {
+        return Level.TRACE.toInt() >= threshold;
+    }
+
+    public boolean isDebugEnabled() {
+        return Level.DEBUG.toInt() >= threshold;
+    }
+
+    public boolean isInfoEnabled() {
+        return Level.INFO.toInt() >= threshold;
+    }
+
+    public boolean isWarnEnabled() {
+        return Level.WARN.toInt() >= threshold;
+    }
+
+    public boolean isErrorEnabled() {
+        return Level.ERROR.toInt() >= threshold;
+    }
+
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return null;
+    }
+
+    @Override
+    protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern,
+                                               Object[] arguments, Throwable throwable) {
+        RecordBuffer buffer = RecordBuffer.acquire();
+        try {
+            StringBuilder sb = buffer.builder();
+            String requestId = mdcAdapter == null ? null : mdcAdapter.get(REQUEST_ID_KEY);
+            if (requestId != null) {
+                sb.append(requestId).append(' ');
+            }
+            String levelName = level.name();
+            sb.append(levelName);
+            for (int i = levelName.length(); i < 5; i++) {
+                sb.append(' ');
+            }
+            sb.append(' ').append(shortName).append(" - ");
+            buffer.appendFormatted(messagePattern, arguments);
+            sb.append(LINE_SEP);
+            if (throwable != null) {
+                buffer.appendThrowable(throwable);
+            }
+            logger.log(sb.toString());
+        } finally {
+            buffer.release();
+        }
+    }
+}
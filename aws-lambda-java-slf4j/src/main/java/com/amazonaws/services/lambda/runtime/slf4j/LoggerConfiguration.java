@@ -0,0 +1,78 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.slf4j;
+
+import java.util.Locale;
+
+import org.slf4j.event.Level;
+
+/**
+ * Logging levels read once at startup.
+ *
+ * The default level comes from the aws.lambda.slf4j.defaultLogLevel system
+ * property, then the AWS_LAMBDA_SLF4J_LOG_LEVEL environment variable, and is
+ * INFO otherwise. A logger, or any of its parents, can be given its own level
+ * with an aws.lambda.slf4j.log.&lt;name&gt; system property.
+ */
+final class LoggerConfiguration {
+
+    static final String DEFAULT_LEVEL_PROPERTY = "aws.lambda.slf4j.defaultLogLevel";
+    static final String DEFAULT_LEVEL_ENV = "AWS_LAMBDA_SLF4J_LOG_LEVEL";
+    static final String LOGGER_LEVEL_PREFIX = "aws.lambda.slf4j.log.";
+
+    /**
+     * Threshold that disables every level
+     */
+    static final int OFF = Level.ERROR.toInt() + 10;
+
+    private final int defaultLevel;
+
+    LoggerConfiguration(int defaultLevel) {
+        this.defaultLevel = defaultLevel;
+    }
+
+    static LoggerConfiguration load() {
+        String value = System.getProperty(DEFAULT_LEVEL_PROPERTY);
+        if (value == null) {
+            value = System.getenv(DEFAULT_LEVEL_ENV);
+        }
+        return new LoggerConfiguration(parse(value, Level.INFO.toInt()));
+    }
+
+    /**
+     * Returns the threshold of a logger, looking up its name and then each parent name
+     * @param name logger name
+     * @return integer value of the lowest enabled level
+     */
+    int levelFor(String name) {
+        String current = name;
+        while (current != null) {
+            String value = System.getProperty(LOGGER_LEVEL_PREFIX + current);
+            if (value != null) {
+                return parse(value, defaultLevel);
+            }
+            int dot = current.lastIndexOf('.');
+            current = dot > 0 ? current.substring(0, dot) : null;
+        }
+        return defaultLevel;
+    }
+
+    static int parse(String value, int fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        String level = value.trim().toUpperCase(Locale.ROOT);
+        if ("OFF".equals(level)) {
+            return OFF;
+        }
+        if ("WARNING".equals(level)) {
+            return Level.WARN.toInt();
+        }
+        for (Level candidate : Level.values()) {
+            if (candidate.name().equals(level)) {
+                return candidate.toInt();
+            }
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,153 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.slf4j;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Per-thread buffer a log record is formatted into before it is handed to the
+ * Lambda logger as a single string. Parameterized messages use SLF4J's "{}"
+ * placeholder syntax, including its backslash escapes.
+ */
+final class RecordBuffer {
+
+    static final int BUF_SIZE = 256;
+    static final int MAX_CAPACITY = 8192;
+
+    private static final String DELIMITER = "{}";
+    private static final char ESCAPE = '\\';
+
+    private static final ThreadLocal<RecordBuffer> CURRENT = new ThreadLocal<RecordBuffer>() {
+        @Override
+        protected RecordBuffer initialValue() {
+            return new RecordBuffer();
+        }
+    };
+
+    private StringBuilder sb = new StringBuilder(BUF_SIZE);
+    private boolean inUse;
+    private PrintWriter stackTraceWriter;
+
+    private RecordBuffer() {}
+
+    /**
+     * Returns the calling thread's buffer, emptied, or a fresh one if the
+     * thread is already formatting a record (an argument's toString() logged).
+     */
+    static RecordBuffer acquire() {
+        RecordBuffer buffer = CURRENT.get();
+        if (buffer.inUse) {
+            buffer = new RecordBuffer();
+        } else if (buffer.sb.capacity() > MAX_CAPACITY) {
+            buffer.sb = new StringBuilder(BUF_SIZE);
+        } else {
+            buffer.sb.setLength(0);
+        }
+        buffer.inUse = true;
+        return buffer;
+    }
+
+    void release() {
+        inUse = false;
+    }
+
+    StringBuilder builder() {
+        return sb;
+    }
+
+    void appendFormatted(String pattern, Object[] args) {
+        if (pattern == null) {
+            sb.append((String) null);
+            return;
+        }
+        if (args == null || args.length == 0) {
+            sb.append(pattern);
+            return;
+        }
+        int start = 0;
+        int arg = 0;
+        while (arg < args.length) {
+            int delimiter = pattern.indexOf(DELIMITER, start);
+            if (delimiter == -1) {
+                break;
+            }
+            if (delimiter > 0 && pattern.charAt(delimiter - 1) == ESCAPE) {
+                if (delimiter > 1 && pattern.charAt(delimiter - 2) == ESCAPE) {
+                    // escaped backslash followed by a placeholder
+                    sb.append(pattern, start, delimiter - 1);
+                    appendArgument(args[arg++]);
+                    start = delimiter + 2;
+                } else {
+                    // escaped placeholder, print it as is
+                    sb.append(pattern, start, delimiter - 1).append('{');
+                    start = delimiter + 1;
+                }
+            } else {
+                sb.append(pattern, start, delimiter);
+                appendArgument(args[arg++]);
+                start = delimiter + 2;
+            }
+        }
+        sb.append(pattern, start, pattern.length());
+    }
+
+    private void appendArgument(Object o) {
+        if (o == null) {
+            sb.append("null");
+            return;
+        }
+        try {
+            if (!o.getClass().isArray()) {
+                sb.append(o.toString());
+            } else if (o instanceof Object[]) {
+                sb.append(Arrays.deepToString((Object[]) o));
+            } else if (o instanceof byte[]) {
+                sb.append(Arrays.toString((byte[]) o));
+            } else if (o instanceof short[]) {
+                sb.append(Arrays.toString((short[]) o));
+            } else if (o instanceof int[]) {
+                sb.append(Arrays.toString((int[]) o));
+            } else if (o instanceof long[]) {
+                sb.append(Arrays.toString((long[]) o));
+            } else if (o instanceof float[]) {
+                sb.append(Arrays.toString((float[]) o));
+            } else if (o instanceof double[]) {
+                sb.append(Arrays.toString((double[]) o));
+            } else if (o instanceof char[]) {
+                sb.append(Arrays.toString((char[]) o));
+            } else {
+                sb.append(Arrays.toString((boolean[]) o));
+            }
+        } catch (Throwable t) {
+            sb.append("[FAILED toString()]");
+        }
+    }
+
+    void appendThrowable(Throwable t) {
+        if (stackTraceWriter == null) {
+            stackTraceWriter = new PrintWriter(new Writer() {
+                @Override
+                public void write(char[] cbuf, int off, int len) {
+                    sb.append(cbuf, off, len);
+                }
+
+                @Override
+                public void write(String str, int off, int len) {
+                    sb.append(str, off, off + len);
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            }, false);
+        }
+        t.printStackTrace(stackTraceWriter);
+        stackTraceWriter.flush();
+    }
+}
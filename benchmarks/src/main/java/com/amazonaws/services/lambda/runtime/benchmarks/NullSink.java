@@ -0,0 +1,48 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Swallows everything written to System.out so that benchmarks measure the
+ * logging code rather than the terminal. LambdaRuntime's default logger looks
+ * System.out up on every call, so installing the sink in a @Setup method is
+ * enough to silence it.
+ */
+public final class NullSink {
+    private NullSink() {}
+
+    private static final PrintStream NULL_STREAM = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    });
+
+    private static PrintStream saved;
+
+    /**
+     * Redirects System.out to the null sink
+     */
+    public static synchronized void install() {
+        if (saved == null) {
+            saved = System.out;
+            System.setOut(NULL_STREAM);
+        }
+    }
+
+    /**
+     * Restores the System.out that was active before {@link #install()}
+     */
+    public static synchronized void uninstall() {
+        if (saved != null) {
+            System.setOut(saved);
+            saved = null;
+        }
+    }
+}
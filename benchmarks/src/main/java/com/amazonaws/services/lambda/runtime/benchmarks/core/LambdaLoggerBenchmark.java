@@ -0,0 +1,84 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import com.amazonaws.services.lambda.runtime.benchmarks.NullSink;
+
+/**
+ * Measures the logger returned by LambdaRuntime.getLogger() for strings and
+ * byte arrays of several sizes, single threaded and with four threads contending.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LambdaLoggerBenchmark {
+
+    @Param({"64", "1024"})
+    public int size;
+
+    private LambdaLogger logger;
+    private String message;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        NullSink.install();
+        logger = LambdaRuntime.getLogger();
+        StringBuilder sb = new StringBuilder(size);
+        while (sb.length() < size - 1) {
+            sb.append("log line ");
+        }
+        sb.setLength(size - 1);
+        message = sb.append('\n').toString();
+        bytes = message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        NullSink.uninstall();
+    }
+
+    @Benchmark
+    public void logString() {
+        logger.log(message);
+    }
+
+    @Benchmark
+    public void logBytes() {
+        logger.log(bytes);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void logStringContended() {
+        logger.log(message);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void logBytesContended() {
+        logger.log(bytes);
+    }
+}
@@ -0,0 +1,103 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.events.json.Base64Buffers;
+
+/**
+ * Decodes and encodes one payload with {@link java.util.Base64} and with {@link Base64Buffers}, between heap
+ * buffers and between direct buffers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base64Benchmark {
+
+    @Param({"64", "4096"})
+    public int size;
+
+    private ByteBuffer data;
+    private ByteBuffer text;
+    private ByteBuffer directData;
+    private ByteBuffer directText;
+    private ByteBuffer heapOut;
+    private ByteBuffer directOut;
+
+    @Setup
+    public void setup() {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        data = ByteBuffer.wrap(bytes);
+        text = ByteBuffer.wrap(Base64.getEncoder().encode(bytes));
+        directData = ByteBuffer.allocateDirect(size);
+        directData.put(bytes).flip();
+        directText = ByteBuffer.allocateDirect(text.remaining());
+        directText.put(text.duplicate()).flip();
+        heapOut = ByteBuffer.allocate(text.remaining());
+        directOut = ByteBuffer.allocateDirect(text.remaining());
+    }
+
+    @Benchmark
+    public ByteBuffer jdkDecode() {
+        return Base64.getDecoder().decode(text.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer decode() {
+        return Base64Buffers.decode(text.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer jdkDecodeDirect() {
+        ByteBuffer decoded = Base64.getDecoder().decode(directText.duplicate());
+        directOut.clear();
+        directOut.put(decoded);
+        return directOut;
+    }
+
+    @Benchmark
+    public ByteBuffer decodeDirect() {
+        directOut.clear();
+        Base64Buffers.decode(directText.duplicate(), directOut);
+        return directOut;
+    }
+
+    @Benchmark
+    public ByteBuffer jdkEncode() {
+        return Base64.getEncoder().encode(data.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        heapOut.clear();
+        Base64Buffers.encode(data.duplicate(), heapOut);
+        return heapOut;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeDirect() {
+        directOut.clear();
+        Base64Buffers.encode(directData.duplicate(), directOut);
+        return directOut;
+    }
+}
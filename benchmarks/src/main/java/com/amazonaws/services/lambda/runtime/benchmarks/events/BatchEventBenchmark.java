@@ -0,0 +1,153 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.amazonaws.services.lambda.runtime.events.CodeCommitEvent;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsFirehoseInputPreprocessingEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsOutputDeliveryEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisAnalyticsStreamsInputPreprocessingEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.KinesisFirehoseEvent;
+import com.amazonaws.services.lambda.runtime.events.S3Event;
+import com.amazonaws.services.lambda.runtime.events.SNSEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.json.EventCodecs;
+import com.amazonaws.services.lambda.runtime.events.json.RecordIterator;
+import com.amazonaws.services.s3.event.S3EventNotification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Deserializes and serializes the record-bearing events at several batch sizes.
+ *
+ * Besides ops/s, each benchmark reports a "records" rate. Run with -prof gc and
+ * divide gc.alloc.rate.norm by batchSize to get the bytes allocated per record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchEventBenchmark {
+
+    private static final String RECORDS_OPEN = "{\"Records\":[";
+    private static final String RECORDS_CLOSE = "]}";
+
+    public enum EventType {
+        SQS(SQSEvent.class, SQSEvent.SQSMessage.class, RECORDS_OPEN, EventPayloads.SQS_RECORD, RECORDS_CLOSE),
+        KINESIS(KinesisEvent.class, KinesisEvent.KinesisEventRecord.class, RECORDS_OPEN, EventPayloads.KINESIS_RECORD, RECORDS_CLOSE),
+        DYNAMODB(DynamodbEvent.class, DynamodbEvent.DynamodbStreamRecord.class, RECORDS_OPEN, EventPayloads.DYNAMODB_RECORD, RECORDS_CLOSE),
+        SNS(SNSEvent.class, SNSEvent.SNSRecord.class, RECORDS_OPEN, EventPayloads.SNS_RECORD, RECORDS_CLOSE),
+        S3(S3Event.class, S3EventNotification.S3EventNotificationRecord.class, RECORDS_OPEN, EventPayloads.S3_RECORD, RECORDS_CLOSE),
+        CODECOMMIT(CodeCommitEvent.class, CodeCommitEvent.Record.class, RECORDS_OPEN, EventPayloads.CODECOMMIT_RECORD, RECORDS_CLOSE),
+        KINESIS_FIREHOSE(KinesisFirehoseEvent.class, KinesisFirehoseEvent.Record.class,
+                "{\"invocationId\":\"invoked123\",\"deliveryStreamArn\":\"arn:aws:kinesis:us-east-1:123456789012:deliverystream/aws-lambda-test\","
+                        + "\"region\":\"us-east-1\",\"records\":[",
+                EventPayloads.FIREHOSE_RECORD, RECORDS_CLOSE),
+        KINESIS_ANALYTICS_FIREHOSE(KinesisAnalyticsFirehoseInputPreprocessingEvent.class, KinesisAnalyticsFirehoseInputPreprocessingEvent.Record.class,
+                "{\"invocationId\":\"invocationIdExample\",\"applicationArn\":\"arn:aws:kinesisanalytics:us-east-1:12345678911:application/lambda-test\","
+                        + "\"streamArn\":\"arn:aws:firehose:us-east-1:AAAAAAAAAAAA:deliverystream/lambda-test\",\"records\":[",
+                EventPayloads.ANALYTICS_FIREHOSE_RECORD, RECORDS_CLOSE),
+        KINESIS_ANALYTICS_STREAMS(KinesisAnalyticsStreamsInputPreprocessingEvent.class, KinesisAnalyticsStreamsInputPreprocessingEvent.Record.class,
+                "{\"invocationId\":\"invocationIdExample\",\"applicationArn\":\"arn:aws:kinesisanalytics:us-east-1:12345678911:application/lambda-test\","
+                        + "\"streamArn\":\"arn:aws:kinesis:us-east-1:AAAAAAAAAAAA:stream/lambda-test\",\"records\":[",
+                EventPayloads.ANALYTICS_STREAMS_RECORD, RECORDS_CLOSE),
+        KINESIS_ANALYTICS_OUTPUT(KinesisAnalyticsOutputDeliveryEvent.class, KinesisAnalyticsOutputDeliveryEvent.Record.class,
+                "{\"invocationId\":\"invocationIdExample\",\"applicationArn\":\"arn:aws:kinesisanalytics:us-east-1:12345678911:application/lambda-test\","
+                        + "\"records\":[",
+                EventPayloads.ANALYTICS_OUTPUT_RECORD, RECORDS_CLOSE);
+
+        final Class<?> eventClass;
+        final Class<?> recordClass;
+        final String header;
+        final String recordTemplate;
+        final String footer;
+
+        EventType(Class<?> eventClass, Class<?> recordClass, String header, String recordTemplate, String footer) {
+            this.eventClass = eventClass;
+            this.recordClass = recordClass;
+            this.header = header;
+            this.recordTemplate = recordTemplate;
+            this.footer = footer;
+        }
+    }
+
+    @Param
+    public EventType eventType;
+
+    @Param({"1", "100", "1000"})
+    public int batchSize;
+
+    private ObjectMapper mapper;
+    private byte[] payload;
+    private Object event;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class RecordCounter {
+        public long records;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            records = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = EventMapper.create();
+        payload = EventPayloads.batch(eventType.header, eventType.recordTemplate, eventType.footer, batchSize);
+        event = mapper.readValue(payload, eventType.eventClass);
+    }
+
+    @Benchmark
+    public Object deserialize(RecordCounter counter) throws IOException {
+        counter.records += batchSize;
+        return mapper.readValue(payload, eventType.eventClass);
+    }
+
+    @Benchmark
+    public Object deserializeCodecs(RecordCounter counter) throws IOException {
+        counter.records += batchSize;
+        return EventCodecs.read(eventType.eventClass, payload);
+    }
+
+    /**
+     * Reads the records one at a time, as a stream handler would, without building the event
+     */
+    @Benchmark
+    public void streamRecords(RecordCounter counter, Blackhole blackhole) throws IOException {
+        try (RecordIterator<?> records = RecordIterator.of(new ByteArrayInputStream(payload), eventType.recordClass)) {
+            while (records.hasNext()) {
+                blackhole.consume(records.next());
+                counter.records++;
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(RecordCounter counter) throws IOException {
+        counter.records += batchSize;
+        return mapper.writeValueAsBytes(event);
+    }
+}
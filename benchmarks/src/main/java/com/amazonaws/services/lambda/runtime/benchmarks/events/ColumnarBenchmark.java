@@ -0,0 +1,79 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.json.EventCodecs;
+import com.amazonaws.services.lambda.runtime.events.json.KinesisColumns;
+
+/**
+ * Sums the data bytes of a Kinesis batch per partition key, reading the batch as record objects and as
+ * {@link KinesisColumns}. The batch has 64 distinct partition keys.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnarBenchmark {
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private byte[] payload;
+
+    @Setup
+    public void setup() {
+        String record = EventPayloads.KINESIS_RECORD.replace("\"device-%d\"", "\"device-%04d\"");
+        payload = EventPayloads.batch("{\"Records\":[", record, "]}", batchSize);
+        // fold the keys onto 64 devices
+        String json = new String(payload, java.nio.charset.StandardCharsets.UTF_8);
+        StringBuilder folded = new StringBuilder(json.length());
+        int from = 0;
+        for (int at = json.indexOf("\"device-", from); at >= 0; at = json.indexOf("\"device-", from)) {
+            int device = Integer.parseInt(json.substring(at + 8, at + 12)) % 64;
+            folded.append(json, from, at).append(String.format("\"device-%04d", device));
+            from = at + 12;
+        }
+        payload = folded.append(json.substring(from)).toString().getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<String, Long> records() throws IOException {
+        Map<String, Long> bytesByKey = new HashMap<String, Long>();
+        for (KinesisEvent.KinesisEventRecord record : EventCodecs.read(KinesisEvent.class, payload).getRecords()) {
+            Long bytes = bytesByKey.get(record.getKinesis().getPartitionKey());
+            bytesByKey.put(record.getKinesis().getPartitionKey(),
+                    (bytes == null ? 0 : bytes) + record.getKinesis().getData().remaining());
+        }
+        return bytesByKey;
+    }
+
+    @Benchmark
+    public long[] columns() throws IOException {
+        KinesisColumns batch = KinesisColumns.read(payload);
+        long[] bytesByKey = new long[batch.dictionarySize()];
+        for (int i = 0; i < batch.size(); i++) {
+            bytesByKey[batch.partitionKeyId(i)] += batch.dataLength(i);
+        }
+        return bytesByKey;
+    }
+}
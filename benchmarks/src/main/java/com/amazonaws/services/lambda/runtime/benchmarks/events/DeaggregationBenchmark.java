@@ -0,0 +1,117 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.batch.KinesisUserRecords;
+
+/**
+ * Reads the user records of one KPL-aggregated Kinesis record as slices, with and without checking its digest,
+ * against copying each one's data out the way generated protobuf classes do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeaggregationBenchmark {
+
+    @Param({"500"})
+    public int userRecords;
+
+    @Param({"100", "1000"})
+    public int recordBytes;
+
+    private KinesisEvent.Record record;
+    private final KinesisUserRecords reader = new KinesisUserRecords(false);
+    private final KinesisUserRecords verifyingReader = new KinesisUserRecords(true);
+
+    @Setup
+    public void setup() throws Exception {
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+        for (int i = 0; i < userRecords; i++) {
+            field(message, 1, ("device-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        for (int i = 0; i < userRecords; i++) {
+            ByteArrayOutputStream user = new ByteArrayOutputStream();
+            varint(user, 1 << 3);
+            varint(user, i);
+            field(user, 3, new byte[recordBytes]);
+            field(message, 3, user.toByteArray());
+        }
+        byte[] body = message.toByteArray();
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        data.write(new byte[] {(byte) 0xF3, (byte) 0x89, (byte) 0x9A, (byte) 0xC2});
+        data.write(body);
+        data.write(MessageDigest.getInstance("MD5").digest(body));
+        record = new KinesisEvent.Record();
+        record.setSequenceNumber("49590338271490256608559692538361571095921575989136588898");
+        record.setPartitionKey("aggregate");
+        record.setData(ByteBuffer.wrap(data.toByteArray()));
+    }
+
+    @Benchmark
+    public long slices() {
+        return read(reader);
+    }
+
+    @Benchmark
+    public long slicesVerified() {
+        return read(verifyingReader);
+    }
+
+    @Benchmark
+    public long copies() {
+        reader.reset(record);
+        long bytes = 0;
+        while (reader.next()) {
+            ByteBuffer data = reader.data();
+            byte[] copy = new byte[data.remaining()];
+            data.get(copy);
+            bytes += copy.length + reader.partitionKey().length();
+        }
+        return bytes;
+    }
+
+    private long read(KinesisUserRecords records) {
+        records.reset(record);
+        long bytes = 0;
+        while (records.next()) {
+            bytes += records.data().remaining() + records.partitionKey().length();
+        }
+        return bytes;
+    }
+
+    private static void field(ByteArrayOutputStream out, int number, byte[] value) {
+        varint(out, number << 3 | 2);
+        varint(out, value.length);
+        out.write(value, 0, value.length);
+    }
+
+    private static void varint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,108 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisFirehoseEvent;
+
+/**
+ * Decompresses the gzipped JSON records of a Firehose batch with a GZIPInputStream per record, as handlers do
+ * by hand, against the pooled accessors: into one buffer per record, or streamed through a reused buffer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecompressionBenchmark {
+
+    @Param({"100"})
+    public int batchSize;
+
+    /**
+     * Size of each record before compression
+     */
+    @Param({"1024", "16384"})
+    public int recordBytes;
+
+    private KinesisFirehoseEvent.Record[] records;
+    private final byte[] buffer = new byte[8192];
+
+    @Setup
+    public void setup() throws IOException {
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; json.length() < recordBytes; i++) {
+            json.append("{\"deviceId\":\"").append(i % 97).append("\",\"temperature\":").append(20 + i % 7)
+                    .append(".5,\"ts\":").append(1545084650L + i).append("}\n");
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+        gzip.write(json.substring(0, recordBytes).getBytes(StandardCharsets.UTF_8));
+        gzip.close();
+        records = new KinesisFirehoseEvent.Record[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            records[i] = new KinesisFirehoseEvent.Record();
+            records[i].setData(ByteBuffer.wrap(compressed.toByteArray()));
+        }
+    }
+
+    @Benchmark
+    public long gzipInputStream() throws IOException {
+        long bytes = 0;
+        for (KinesisFirehoseEvent.Record record : records) {
+            ByteBuffer data = record.getData();
+            InputStream in = new GZIPInputStream(new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(), data.remaining()));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (int n; (n = in.read(buffer)) >= 0; ) {
+                out.write(buffer, 0, n);
+            }
+            in.close();
+            bytes += out.toByteArray().length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long decompressData() throws IOException {
+        long bytes = 0;
+        for (KinesisFirehoseEvent.Record record : records) {
+            bytes += record.decompressData().remaining();
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long openData() throws IOException {
+        long bytes = 0;
+        for (KinesisFirehoseEvent.Record record : records) {
+            InputStream in = record.openData();
+            for (int n; (n = in.read(buffer)) >= 0; ) {
+                bytes += n;
+            }
+            in.close();
+        }
+        return bytes;
+    }
+}
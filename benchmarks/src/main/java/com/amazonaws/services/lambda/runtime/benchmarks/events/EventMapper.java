@@ -0,0 +1,88 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import com.amazonaws.services.dynamodbv2.model.OperationType;
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import com.amazonaws.services.dynamodbv2.model.StreamViewType;
+import com.amazonaws.services.kinesis.model.EncryptionType;
+import java.io.IOException;
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+
+/**
+ * Jackson configuration close to the one the Lambda Java runtime binds events with:
+ * case insensitive property names, unknown properties ignored, Joda time support.
+ * Mixins resolve the overloaded enum/String setters of the AWS SDK model classes
+ * some events extend, and {@link Date} fields are read and written as epoch seconds
+ * the way Kinesis and DynamoDB streams send them.
+ */
+final class EventMapper {
+    private EventMapper() {}
+
+    static ObjectMapper create() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.registerModule(new JodaModule());
+        mapper.registerModule(new SimpleModule("EpochSeconds")
+                .addDeserializer(Date.class, new EpochSecondsDeserializer())
+                .addSerializer(Date.class, new EpochSecondsSerializer()));
+        mapper.addMixIn(com.amazonaws.services.kinesis.model.Record.class, KinesisRecordMixin.class);
+        mapper.addMixIn(com.amazonaws.services.dynamodbv2.model.Record.class, DynamodbRecordMixin.class);
+        mapper.addMixIn(StreamRecord.class, StreamRecordMixin.class);
+        return mapper;
+    }
+
+    static final class EpochSecondsDeserializer extends JsonDeserializer<Date> {
+        @Override
+        public Date deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.getCurrentToken();
+            if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+                return new Date((long) (parser.getDoubleValue() * 1000d));
+            }
+            return context.parseDate(parser.getValueAsString());
+        }
+    }
+
+    static final class EpochSecondsSerializer extends JsonSerializer<Date> {
+        @Override
+        public void serialize(Date value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.getTime() / 1000d);
+        }
+    }
+
+    abstract static class KinesisRecordMixin {
+        @JsonProperty("encryptionType") abstract void setEncryptionType(String encryptionType);
+        @JsonIgnore abstract void setEncryptionType(EncryptionType encryptionType);
+    }
+
+    abstract static class DynamodbRecordMixin {
+        @JsonProperty("eventName") abstract void setEventName(String eventName);
+        @JsonIgnore abstract void setEventName(OperationType eventName);
+    }
+
+    abstract static class StreamRecordMixin {
+        @JsonProperty("streamViewType") abstract void setStreamViewType(String streamViewType);
+        @JsonIgnore abstract void setStreamViewType(StreamViewType streamViewType);
+    }
+}
@@ -0,0 +1,189 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Realistic JSON payloads, modelled on the sample events AWS Lambda documents for
+ * each event source. Batch events are built by repeating a record template with a
+ * varying index, so that strings are not all identical.
+ */
+final class EventPayloads {
+    private EventPayloads() {}
+
+    static final String SQS_RECORD = "{\"messageId\":\"059f36b4-87a3-44ab-83d2-6619758%05d\","
+            + "\"receiptHandle\":\"AQEBwJnKyrHigUMZj6rYigCgxlaS3SLy0a+4ohYZwCWWXMROpOTAPvaGZGcFxHG9Q3TmHXgHh9hCqcV"
+            + "TbCBsL7D1T2bEBtFXZtrNcU9fY5AUuGU49y8Y6kS4y6jAE52AbJ5xlhPWFkjfwyHrHRMfAbZEjQbxwFMzEBFFqLdAGYDnrbl\","
+            + "\"body\":\"{\\\"orderId\\\":%d,\\\"status\\\":\\\"CREATED\\\",\\\"amount\\\":129.95}\","
+            + "\"attributes\":{\"ApproximateReceiveCount\":\"1\",\"SentTimestamp\":\"1545082649183\","
+            + "\"SenderId\":\"AIDAIENQZJOLO23YVJ4VO\",\"ApproximateFirstReceiveTimestamp\":\"1545082649185\"},"
+            + "\"messageAttributes\":{\"tenant\":{\"stringValue\":\"tenant-%d\",\"stringListValues\":[],"
+            + "\"binaryListValues\":[],\"dataType\":\"String\"}},"
+            + "\"md5OfBody\":\"e4e68fb7bd0e697a0ae8f1bb342846b3\",\"eventSource\":\"aws:sqs\","
+            + "\"eventSourceARN\":\"arn:aws:sqs:us-east-2:123456789012:my-queue\",\"awsRegion\":\"us-east-2\"}";
+
+    static final String KINESIS_RECORD = "{\"kinesis\":{\"kinesisSchemaVersion\":\"1.0\",\"partitionKey\":\"device-%d\","
+            + "\"sequenceNumber\":\"495903382714902566085596925383615710959215759891365%05d\","
+            + "\"data\":\"eyJkZXZpY2VJZCI6IjQyIiwidGVtcGVyYXR1cmUiOjIxLjUsImh1bWlkaXR5Ijo0MS4yLCJ0cyI6MTU0NTA4NDY1MH0=\","
+            + "\"approximateArrivalTimestamp\":1545084650.987},\"eventSource\":\"aws:kinesis\",\"eventVersion\":\"1.0\","
+            + "\"eventID\":\"shardId-000000000006:495903382714902566085596925383615710959215759891365%05d\","
+            + "\"eventName\":\"aws:kinesis:record\",\"invokeIdentityArn\":\"arn:aws:iam::123456789012:role/lambda-role\","
+            + "\"awsRegion\":\"us-east-2\",\"eventSourceARN\":\"arn:aws:kinesis:us-east-2:123456789012:stream/lambda-stream\"}";
+
+    static final String DYNAMODB_RECORD = "{\"eventID\":\"c4ca4238a0b923820dcc509a6f75849b\",\"eventName\":\"MODIFY\","
+            + "\"eventVersion\":\"1.1\",\"eventSource\":\"aws:dynamodb\",\"awsRegion\":\"us-east-1\","
+            + "\"dynamodb\":{\"ApproximateCreationDateTime\":1479499740,"
+            + "\"Keys\":{\"Id\":{\"N\":\"%d\"}},"
+            + "\"NewImage\":{\"Message\":{\"S\":\"This item has changed\"},\"Id\":{\"N\":\"%d\"},"
+            + "\"Tags\":{\"SS\":[\"blue\",\"green\"]},\"Active\":{\"BOOL\":true}},"
+            + "\"OldImage\":{\"Message\":{\"S\":\"New item!\"},\"Id\":{\"N\":\"%d\"},"
+            + "\"Tags\":{\"SS\":[\"blue\"]},\"Active\":{\"BOOL\":false}},"
+            + "\"SequenceNumber\":\"4421584500000000017450%05d\",\"SizeBytes\":59,"
+            + "\"StreamViewType\":\"NEW_AND_OLD_IMAGES\"},"
+            + "\"eventSourceARN\":\"arn:aws:dynamodb:us-east-1:123456789012:table/ExampleTableWithStream/stream/2015-06-27T00:48:05.899\"}";
+
+    static final String SNS_RECORD = "{\"EventVersion\":\"1.0\",\"EventSubscriptionArn\":"
+            + "\"arn:aws:sns:us-east-2:123456789012:sns-lambda:21be56ed-a058-49f5-8c98-aedd2564c486\","
+            + "\"EventSource\":\"aws:sns\",\"Sns\":{\"SignatureVersion\":\"1\",\"Timestamp\":\"2019-01-02T12:45:07.000Z\","
+            + "\"Signature\":\"tcc6faL2yUC6dgZdmrwh1Y4cGa/ebXEkAi6RibDsvpi+tE/1+82j...65r==\","
+            + "\"SigningCertUrl\":\"https://sns.us-east-2.amazonaws.com/SimpleNotificationService-ac565b8b1a6c5d002d285f9598aa1d9b.pem\","
+            + "\"MessageId\":\"95df01b4-ee98-5cb9-9903-4c221d4%05d\",\"Message\":\"Hello from SNS %d!\","
+            + "\"MessageAttributes\":{\"Test\":{\"Type\":\"String\",\"Value\":\"TestString\"}},"
+            + "\"Type\":\"Notification\",\"UnsubscribeUrl\":\"https://sns.us-east-2.amazonaws.com/?Action=Unsubscribe\","
+            + "\"TopicArn\":\"arn:aws:sns:us-east-2:123456789012:sns-lambda\",\"Subject\":\"TestInvoke\"}}";
+
+    static final String S3_RECORD = "{\"eventVersion\":\"2.1\",\"eventSource\":\"aws:s3\",\"awsRegion\":\"us-east-2\","
+            + "\"eventTime\":\"2019-09-03T19:37:27.192Z\",\"eventName\":\"ObjectCreated:Put\","
+            + "\"userIdentity\":{\"principalId\":\"AWS:AIDAINPONIXQXHT3IKHL2\"},"
+            + "\"requestParameters\":{\"sourceIPAddress\":\"205.255.255.255\"},"
+            + "\"responseElements\":{\"x-amz-request-id\":\"D82B88E5F771F645\","
+            + "\"x-amz-id-2\":\"vlR7PnpV2Ce81l0PRw6jlUpck7Jo5ZsQjryTjKlc5aLWGVHPZLj5NeC6qMa0emYBDXOo6QBU0Wo=\"},"
+            + "\"s3\":{\"s3SchemaVersion\":\"1.0\",\"configurationId\":\"828aa6fc-f7b5-4305-8584-487c791949c1\","
+            + "\"bucket\":{\"name\":\"lambda-artifacts-deafc19498e3f2df\",\"ownerIdentity\":{\"principalId\":\"A3I5XTEXAMAI3E\"},"
+            + "\"arn\":\"arn:aws:s3:::lambda-artifacts-deafc19498e3f2df\"},"
+            + "\"object\":{\"key\":\"b21b84d653bb07b05b1e6b33684dc11b-%d\",\"size\":1305107,"
+            + "\"eTag\":\"b21b84d653bb07b05b1e6b33684dc11b\",\"sequencer\":\"0C0F6F405D6ED2%05d\"}}}";
+
+    static final String FIREHOSE_RECORD = "{\"recordId\":\"49546986683135544286507457936321625675700192471156%05d\","
+            + "\"approximateArrivalTimestamp\":1495072949453,"
+            + "\"data\":\"eyJ0aWNrZXJfc3ltYm9sIjoiUVhaIiwic2VjdG9yIjoiSEVBTFRIQ0FSRSIsImNoYW5nZSI6LTAuMDUsInByaWNlIjo4NC41MX0=\"}";
+
+    static final String CODECOMMIT_RECORD = "{\"awsRegion\":\"us-east-2\",\"codecommit\":{\"references\":"
+            + "[{\"commit\":\"5e493c6f3067653f3d04eca608b4901eb227%04d\",\"ref\":\"refs/heads/master\"}]},"
+            + "\"customData\":\"this is custom data\",\"eventId\":\"5a824061-17ca-46a9-bbf9-114edea%05d\","
+            + "\"eventName\":\"TriggerEventTest\",\"eventPartNumber\":1,\"eventSource\":\"aws:codecommit\","
+            + "\"eventSourceARN\":\"arn:aws:codecommit:us-east-2:123456789012:my-repo\","
+            + "\"eventTime\":\"2016-01-01T23:59:59.000Z\",\"eventTotalParts\":1,"
+            + "\"eventTriggerConfigId\":\"5a824061-17ca-46a9-bbf9-114edeadbeef\",\"eventTriggerName\":\"my-trigger\","
+            + "\"eventVersion\":\"1.0\",\"userIdentityARN\":\"arn:aws:iam::123456789012:root\"}";
+
+    static final String ANALYTICS_FIREHOSE_RECORD = "{\"recordId\":\"49572672223665514422805246926656954630972486059535%05d\","
+            + "\"kinesisFirehoseRecordMetadata\":{\"approximateArrivalTimestamp\":1520280173},"
+            + "\"data\":\"eyJ0aWNrZXJfc3ltYm9sIjoiUVhaIiwic2VjdG9yIjoiSEVBTFRIQ0FSRSIsImNoYW5nZSI6LTAuMDUsInByaWNlIjo4NC41MX0=\"}";
+
+    static final String ANALYTICS_STREAMS_RECORD = "{\"recordId\":\"49572672223665514422805246926656954630972486059535%05d\","
+            + "\"kinesisStreamRecordMetadata\":{\"sequenceNumber\":\"49572672223665514422805246926656954630972486059535%05d\","
+            + "\"partitionKey\":\"partition-%d\",\"shardId\":\"shardId-000000000000\","
+            + "\"approximateArrivalTimestamp\":1520280173},"
+            + "\"data\":\"eyJ0aWNrZXJfc3ltYm9sIjoiUVhaIiwic2VjdG9yIjoiSEVBTFRIQ0FSRSIsImNoYW5nZSI6LTAuMDUsInByaWNlIjo4NC41MX0=\"}";
+
+    static final String ANALYTICS_OUTPUT_RECORD = "{\"recordId\":\"49572672223665514422805246926656954630972486059535%05d\","
+            + "\"lambdaDeliveryRecordMetadata\":{\"retryHint\":0},"
+            + "\"data\":\"eyJ0aWNrZXJfc3ltYm9sIjoiUVhaIiwic2VjdG9yIjoiSEVBTFRIQ0FSRSIsImNoYW5nZSI6LTAuMDUsInByaWNlIjo4NC41MX0=\"}";
+
+    static final String API_GATEWAY_PROXY_REQUEST = "{\"resource\":\"/{proxy+}\",\"path\":\"/orders/42\",\"httpMethod\":\"POST\","
+            + "\"headers\":{\"Accept\":\"application/json\",\"Accept-Encoding\":\"gzip, deflate, br\","
+            + "\"CloudFront-Forwarded-Proto\":\"https\",\"CloudFront-Is-Desktop-Viewer\":\"true\","
+            + "\"CloudFront-Viewer-Country\":\"US\",\"Content-Type\":\"application/json\","
+            + "\"Host\":\"1234567890.execute-api.us-east-1.amazonaws.com\",\"User-Agent\":\"Custom User Agent String\","
+            + "\"Via\":\"1.1 08f323deadbeefa7af34d5feb414ce27.cloudfront.net (CloudFront)\","
+            + "\"X-Amz-Cf-Id\":\"cDehVQoZnx43VYQb9j2-nvCh-9z396Uhbp027Y2JvkCPNLmGJHqlaA==\","
+            + "\"X-Forwarded-For\":\"127.0.0.1, 127.0.0.2\",\"X-Forwarded-Port\":\"443\",\"X-Forwarded-Proto\":\"https\"},"
+            + "\"multiValueHeaders\":{\"Accept\":[\"application/json\"],\"X-Forwarded-For\":[\"127.0.0.1, 127.0.0.2\"]},"
+            + "\"queryStringParameters\":{\"expand\":\"items\"},\"multiValueQueryStringParameters\":{\"expand\":[\"items\"]},"
+            + "\"pathParameters\":{\"proxy\":\"orders/42\"},\"stageVariables\":{\"baz\":\"qux\"},"
+            + "\"requestContext\":{\"accountId\":\"123456789012\",\"resourceId\":\"123456\",\"stage\":\"prod\","
+            + "\"requestId\":\"c6af9ac6-7b61-11e6-9a41-93e8deadbeef\",\"path\":\"/prod/orders/42\","
+            + "\"identity\":{\"cognitoIdentityPoolId\":null,\"accountId\":null,\"cognitoIdentityId\":null,\"caller\":null,"
+            + "\"apiKey\":null,\"sourceIp\":\"127.0.0.1\",\"cognitoAuthenticationType\":null,"
+            + "\"cognitoAuthenticationProvider\":null,\"userArn\":null,\"userAgent\":\"Custom User Agent String\",\"user\":null},"
+            + "\"resourcePath\":\"/{proxy+}\",\"httpMethod\":\"POST\",\"apiId\":\"1234567890\","
+            + "\"authorizer\":{\"principalId\":\"user-42\",\"scope\":\"orders:write\"}},"
+            + "\"body\":\"{\\\"items\\\":[{\\\"sku\\\":\\\"A-1\\\",\\\"qty\\\":2},{\\\"sku\\\":\\\"B-7\\\",\\\"qty\\\":1}]}\"}";
+
+    static final String API_GATEWAY_V2_PROXY_REQUEST = "{\"headers\":{\"Host\":\"abcd123.execute-api.us-east-1.amazonaws.com\","
+            + "\"Sec-WebSocket-Extensions\":\"permessage-deflate; client_max_window_bits\","
+            + "\"Sec-WebSocket-Key\":\"SGVsbG8sIHdvcmxkIQ==\",\"Sec-WebSocket-Version\":\"13\","
+            + "\"X-Amzn-Trace-Id\":\"Root=1-5c4a0b9e-1bd2c4b8deadbeef\",\"X-Forwarded-For\":\"127.0.0.1\","
+            + "\"X-Forwarded-Port\":\"443\",\"X-Forwarded-Proto\":\"https\"},"
+            + "\"multiValueHeaders\":{\"Host\":[\"abcd123.execute-api.us-east-1.amazonaws.com\"]},"
+            + "\"requestContext\":{\"routeKey\":\"$connect\",\"messageId\":null,\"eventType\":\"CONNECT\","
+            + "\"extendedRequestId\":\"TWegAcC4EowCHnA=\",\"requestTime\":\"24/Jan/2019:19:06:38 +0000\","
+            + "\"messageDirection\":\"IN\",\"stage\":\"dev\",\"connectedAt\":1548356798000,\"requestTimeEpoch\":1548356798000,"
+            + "\"identity\":{\"sourceIp\":\"127.0.0.1\",\"userAgent\":\"Mozilla/5.0\"},"
+            + "\"requestId\":\"TWegAcC4EowCHnA=\",\"domainName\":\"abcd123.execute-api.us-east-1.amazonaws.com\","
+            + "\"connectionId\":\"TWegAcC4EowCHnA=\",\"apiId\":\"abcd123\"},\"isBase64Encoded\":false}";
+
+    static final String API_GATEWAY_PROXY_RESPONSE = "{\"statusCode\":200,\"headers\":{\"Content-Type\":\"application/json\","
+            + "\"Cache-Control\":\"no-cache\"},\"body\":\"{\\\"orderId\\\":42,\\\"status\\\":\\\"CREATED\\\"}\"}";
+
+    static final String CLOUDFRONT = "{\"Records\":[{\"cf\":{\"config\":{\"distributionId\":\"EDFDVBD6EXAMPLE\"},"
+            + "\"request\":{\"clientIp\":\"2001:0db8:85a3:0:0:8a2e:0370:7334\",\"uri\":\"/picture.jpg\",\"method\":\"GET\","
+            + "\"httpVersion\":\"2.0\",\"headers\":{\"host\":[{\"key\":\"Host\",\"value\":\"d111111abcdef8.cloudfront.net\"}],"
+            + "\"user-agent\":[{\"key\":\"User-Agent\",\"value\":\"curl/7.51.0\"}],"
+            + "\"accept\":[{\"key\":\"Accept\",\"value\":\"*/*\"}],"
+            + "\"accept-language\":[{\"key\":\"Accept-Language\",\"value\":\"en-US,en;q=0.9\"}]}}}}]}";
+
+    static final String CLOUDWATCH_LOGS = "{\"awslogs\":{\"data\":\"H4sIAAAAAAAAAHWPwQqCQBCGX0Xm7EFtK+smZBEUgXoLCdMhFtKV3akI8d0bLYmibvPPN3wz00CJxmQnTO41whwWQRIctmEcB6sQbFC3CjW3XW8kxpOpP+OC22d1Wml1qZkQGtoMsScxaczKN3plG8zlaHIta5KqWsozoTYw3/djzwhpLwivWFGHGpAFe7DL68JlBUk+l7KSN7tCOEJ4M3/qOI49vMHj+zCKdlFqLaU2ZHV2a4Ct/an0/ivdX8oYc1UVX860fQDQiMdxRQEAAA==\"}}";
+
+    static final String SCHEDULED = "{\"version\":\"0\",\"account\":\"123456789012\",\"region\":\"us-east-2\","
+            + "\"detail\":{\"instance-id\":\"i-0123456789abcdef0\",\"state\":\"running\"},"
+            + "\"detail-type\":\"Scheduled Event\",\"source\":\"aws.events\",\"time\":\"2019-03-01T01:23:45Z\","
+            + "\"id\":\"cdc73f9d-aea9-11e3-9d5a-835b769c0d9c\","
+            + "\"resources\":[\"arn:aws:events:us-east-2:123456789012:rule/my-schedule\"]}";
+
+    static final String CONFIG = "{\"configRuleId\":\"config-rule-0123456\",\"version\":\"1.0\","
+            + "\"configRuleName\":\"periodic-config-rule\",\"configRuleArn\":\"arn:aws:config:us-east-1:012345678912:config-rule/config-rule-0123456\","
+            + "\"invokingEvent\":\"{\\\"configSnapshotId\\\":\\\"00000000-0000-0000-0000-000000000000\\\","
+            + "\\\"s3ObjectKey\\\":\\\"AWSLogs/000000000000/Config/us-east-1/2016/2/24/ConfigSnapshot.json.gz\\\","
+            + "\\\"s3Bucket\\\":\\\"config-bucket\\\",\\\"notificationCreationTime\\\":\\\"2016-02-24T01:37:56.596Z\\\","
+            + "\\\"messageType\\\":\\\"ConfigurationSnapshotDeliveryCompleted\\\",\\\"recordVersion\\\":\\\"1.1\\\"}\","
+            + "\"resultToken\":\"myResultToken\",\"eventLeftScope\":false,\"ruleParameters\":\"{\\\"myKey\\\":\\\"myValue\\\"}\","
+            + "\"executionRoleArn\":\"arn:aws:iam::012345678912:role/config-role\",\"accountId\":\"012345678912\"}";
+
+    static final String IOT_BUTTON = "{\"serialNumber\":\"G030JF055364XVRB\",\"clickType\":\"SINGLE\",\"batteryVoltage\":\"2000mV\"}";
+
+    static final String LEX = "{\"messageVersion\":\"1.0\",\"invocationSource\":\"FulfillmentCodeHook\",\"userId\":\"user-1\","
+            + "\"sessionAttributes\":{\"key\":\"value\"},\"outputDialogMode\":\"Text\","
+            + "\"currentIntent\":{\"name\":\"OrderFlowers\",\"slots\":{\"FlowerType\":\"roses\",\"PickupDate\":\"2030-11-08\","
+            + "\"PickupTime\":\"10:00\"},\"confirmationStatus\":\"None\"},"
+            + "\"bot\":{\"name\":\"OrderFlowers\",\"alias\":\"$LATEST\",\"version\":\"$LATEST\"}}";
+
+    static final String COGNITO = "{\"version\":2,\"eventType\":\"SyncTrigger\",\"region\":\"us-east-1\","
+            + "\"identityPoolId\":\"identityPoolId\",\"identityId\":\"identityId\",\"datasetName\":\"datasetName\","
+            + "\"datasetRecords\":{\"SampleKey1\":{\"oldValue\":\"oldValue1\",\"newValue\":\"newValue1\",\"op\":\"replace\"},"
+            + "\"SampleKey2\":{\"oldValue\":\"oldValue2\",\"newValue\":\"newValue2\",\"op\":\"replace\"}}}";
+
+    /**
+     * Builds a JSON payload made of a header, a record template repeated count times, and a footer.
+     * Every %d and %05d in the template is replaced with the record index.
+     */
+    static byte[] batch(String header, String recordTemplate, String footer, int count) {
+        StringBuilder sb = new StringBuilder(header.length() + footer.length() + count * (recordTemplate.length() + 16));
+        sb.append(header);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(recordTemplate.replace("%05d", String.format("%05d", i)).replace("%04d", String.format("%04d", i % 10000))
+                    .replace("%d", Integer.toString(i)));
+        }
+        sb.append(footer);
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] single(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,72 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.json.RecordFilter;
+import com.amazonaws.services.lambda.runtime.events.json.RecordIterator;
+
+/**
+ * Keeps the Kinesis records whose partition key starts with "device-1", about one in nine of a batch,
+ * by decoding every record and testing it, and by filtering the records before they are decoded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterBenchmark {
+
+    private static final String PREFIX = "device-1";
+    private static final RecordFilter FILTER = RecordFilter.partitionKeyPrefix(PREFIX);
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private byte[] payload;
+
+    @Setup
+    public void setup() {
+        payload = EventPayloads.batch("{\"Records\":[", EventPayloads.KINESIS_RECORD, "]}", batchSize);
+    }
+
+    @Benchmark
+    public void decodeThenTest(Blackhole blackhole) throws IOException {
+        try (RecordIterator<KinesisEvent.KinesisEventRecord> records = RecordIterator.kinesis(new ByteArrayInputStream(payload))) {
+            while (records.hasNext()) {
+                KinesisEvent.KinesisEventRecord record = records.next();
+                if (record.getKinesis().getPartitionKey().startsWith(PREFIX)) {
+                    blackhole.consume(record);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void filterThenDecode(Blackhole blackhole) throws IOException {
+        try (RecordIterator<KinesisEvent.KinesisEventRecord> records =
+                RecordIterator.kinesis(new ByteArrayInputStream(payload), FILTER)) {
+            while (records.hasNext()) {
+                blackhole.consume(records.next());
+            }
+        }
+    }
+}
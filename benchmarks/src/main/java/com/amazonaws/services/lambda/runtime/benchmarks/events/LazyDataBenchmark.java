@@ -0,0 +1,82 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.json.EventCodecs;
+
+/**
+ * Reads a Kinesis batch whose record data stays base64 until first used, and routes it on partition keys
+ * only, decodes every record's data, or writes the batch back out without decoding it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazyDataBenchmark {
+
+    @Param({"1000"})
+    public int batchSize;
+
+    /**
+     * Size of each record's data, before base64
+     */
+    @Param({"64", "4096"})
+    public int recordBytes;
+
+    private byte[] payload;
+
+    @Setup
+    public void setup() {
+        StringBuilder data = new StringBuilder();
+        while (data.length() * 3 / 4 < recordBytes) {
+            data.append("eyJkZXZpY2VJZCI6IjQyIiwidGVtcGVyYXR1cmUiOjIxLjUsImh1bWlkaXR5Ijo0MS4yLCJ0cyI6MTU0NTA4NDY1MH0A");
+        }
+        String record = EventPayloads.KINESIS_RECORD.replace(
+                "eyJkZXZpY2VJZCI6IjQyIiwidGVtcGVyYXR1cmUiOjIxLjUsImh1bWlkaXR5Ijo0MS4yLCJ0cyI6MTU0NTA4NDY1MH0=", data);
+        payload = EventPayloads.batch("{\"Records\":[", record, "]}", batchSize);
+    }
+
+    @Benchmark
+    public int routeOnPartitionKey() throws IOException {
+        int hash = 0;
+        for (KinesisEvent.KinesisEventRecord record : EventCodecs.read(KinesisEvent.class, payload).getRecords()) {
+            hash += record.getKinesis().getPartitionKey().hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public long decodeData() throws IOException {
+        long bytes = 0;
+        for (KinesisEvent.KinesisEventRecord record : EventCodecs.read(KinesisEvent.class, payload).getRecords()) {
+            bytes += record.getKinesis().getData().remaining();
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public int passThrough() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length);
+        EventCodecs.write(KinesisEvent.class, EventCodecs.read(KinesisEvent.class, payload), out);
+        return out.size();
+    }
+}
@@ -0,0 +1,91 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent;
+import com.amazonaws.services.lambda.runtime.events.json.EventCodecs;
+import com.amazonaws.services.lambda.runtime.events.json.EventViews;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads a few properties of an API Gateway request and of a CloudFront event, the way a typical handler
+ * does, after binding the whole event with Jackson, after decoding it with the generated codecs, and
+ * through a lazy view. Run with -prof gc to compare allocation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazyViewBenchmark {
+
+    private ObjectMapper mapper;
+    private byte[] apiGateway;
+    private byte[] cloudFront;
+
+    @Setup
+    public void setup() {
+        mapper = EventMapper.create();
+        apiGateway = EventPayloads.single(EventPayloads.API_GATEWAY_PROXY_REQUEST);
+        cloudFront = EventPayloads.single(EventPayloads.CLOUDFRONT);
+    }
+
+    @Benchmark
+    public void apiGatewayJackson(Blackhole blackhole) throws IOException {
+        readFew(mapper.readValue(apiGateway, APIGatewayProxyRequestEvent.class), blackhole);
+    }
+
+    @Benchmark
+    public void apiGatewayCodecs(Blackhole blackhole) throws IOException {
+        readFew(EventCodecs.read(APIGatewayProxyRequestEvent.class, apiGateway), blackhole);
+    }
+
+    @Benchmark
+    public void apiGatewayView(Blackhole blackhole) throws IOException {
+        readFew(EventViews.apiGatewayProxyRequest(apiGateway), blackhole);
+    }
+
+    @Benchmark
+    public void cloudFrontJackson(Blackhole blackhole) throws IOException {
+        readFew(mapper.readValue(cloudFront, CloudFrontEvent.class), blackhole);
+    }
+
+    @Benchmark
+    public void cloudFrontCodecs(Blackhole blackhole) throws IOException {
+        readFew(EventCodecs.read(CloudFrontEvent.class, cloudFront), blackhole);
+    }
+
+    @Benchmark
+    public void cloudFrontView(Blackhole blackhole) throws IOException {
+        readFew(EventViews.cloudFront(cloudFront), blackhole);
+    }
+
+    private static void readFew(APIGatewayProxyRequestEvent event, Blackhole blackhole) {
+        blackhole.consume(event.getHttpMethod());
+        blackhole.consume(event.getPath());
+        blackhole.consume(event.getRequestContext().getRequestId());
+    }
+
+    private static void readFew(CloudFrontEvent event, Blackhole blackhole) {
+        CloudFrontEvent.Request request = event.getRecords().get(0).getCf().getRequest();
+        blackhole.consume(request.getUri());
+        blackhole.consume(request.getMethod());
+    }
+}
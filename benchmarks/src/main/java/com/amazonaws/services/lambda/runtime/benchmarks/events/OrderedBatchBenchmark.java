@@ -0,0 +1,72 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.batch.BatchResult;
+import com.amazonaws.services.lambda.runtime.events.batch.OrderedBatchProcessor;
+import com.amazonaws.services.lambda.runtime.events.batch.RecordHandler;
+import com.amazonaws.services.lambda.runtime.events.json.EventCodecs;
+
+/**
+ * Handles a Kinesis batch of 1000 records over 1000 partition keys, with a CPU-bound handler, in a loop and
+ * with an {@link OrderedBatchProcessor} of several threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderedBatchBenchmark {
+
+    private static final RecordHandler<KinesisEvent.KinesisEventRecord> HANDLER =
+            new RecordHandler<KinesisEvent.KinesisEventRecord>() {
+                @Override
+                public void handle(KinesisEvent.KinesisEventRecord record) {
+                    Blackhole.consumeCPU(2000);
+                }
+            };
+
+    @Param({"2", "4"})
+    public int parallelism;
+
+    private List<KinesisEvent.KinesisEventRecord> records;
+    private OrderedBatchProcessor<KinesisEvent.KinesisEventRecord> processor;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] payload = EventPayloads.batch("{\"Records\":[", EventPayloads.KINESIS_RECORD, "]}", 1000);
+        records = EventCodecs.read(KinesisEvent.class, payload).getRecords();
+        processor = OrderedBatchProcessor.kinesis(parallelism);
+    }
+
+    @Benchmark
+    public void sequential() throws Exception {
+        for (KinesisEvent.KinesisEventRecord record : records) {
+            HANDLER.handle(record);
+        }
+    }
+
+    @Benchmark
+    public BatchResult<KinesisEvent.KinesisEventRecord> ordered() {
+        return processor.process(records, HANDLER, 1, TimeUnit.MINUTES);
+    }
+}
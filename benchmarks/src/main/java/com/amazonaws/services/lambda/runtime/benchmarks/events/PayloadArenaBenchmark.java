@@ -0,0 +1,73 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisFirehoseEvent;
+import com.amazonaws.services.lambda.runtime.events.json.EventCodecs;
+import com.amazonaws.services.lambda.runtime.events.json.PayloadArena;
+
+/**
+ * Decodes a Firehose batch with a heap buffer per record and with the payloads in a {@link PayloadArena}.
+ * Run with -prof gc to compare heap allocation per batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadArenaBenchmark {
+
+    private static final String HEADER = "{\"invocationId\":\"invoked123\",\"deliveryStreamArn\":"
+            + "\"arn:aws:kinesis:us-east-1:123456789012:deliverystream/aws-lambda-test\",\"region\":\"us-east-1\",\"records\":[";
+
+    @Param({"1000"})
+    public int batchSize;
+
+    /**
+     * Size of each record's data, before base64
+     */
+    @Param({"60", "4096"})
+    public int recordBytes;
+
+    private byte[] payload;
+
+    @Setup
+    public void setup() {
+        StringBuilder data = new StringBuilder();
+        while (data.length() * 3 / 4 < recordBytes) {
+            data.append("eyJ0aWNrZXJfc3ltYm9sIjoiUVhaIiwic2VjdG9yIjoiSEVBTFRIQ0FSRSIsImNoYW5nZSI6LTAuMDUsInByaWNlIjo4NC41MX0A");
+        }
+        String record = "{\"recordId\":\"49546986683135544286507457936321625675700192471156%05d\","
+                + "\"approximateArrivalTimestamp\":1495072949453,\"data\":\"" + data + "\"}";
+        payload = EventPayloads.batch(HEADER, record, "]}", batchSize);
+    }
+
+    @Benchmark
+    public KinesisFirehoseEvent heap() throws IOException {
+        return EventCodecs.read(KinesisFirehoseEvent.class, payload);
+    }
+
+    @Benchmark
+    public void directArena(Blackhole blackhole) throws IOException {
+        try (PayloadArena arena = PayloadArena.direct()) {
+            blackhole.consume(EventCodecs.read(KinesisFirehoseEvent.class, payload, arena));
+        }
+    }
+}
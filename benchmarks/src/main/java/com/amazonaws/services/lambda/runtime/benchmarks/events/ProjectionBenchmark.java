@@ -0,0 +1,73 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.json.EventCodecs;
+import com.amazonaws.services.lambda.runtime.events.json.Projection;
+
+/**
+ * Decodes SQS and DynamoDB batches in full and through projections that keep only the message ids and
+ * bodies, or the item keys. Run with -prof gc to compare allocation per record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+    private static final Projection<SQSEvent> SQS_BODIES =
+            Projection.of(SQSEvent.class, "Records.messageId", "Records.body");
+    private static final Projection<DynamodbEvent> DYNAMODB_KEYS =
+            Projection.of(DynamodbEvent.class, "Records.dynamodb.Keys");
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private byte[] sqs;
+    private byte[] dynamodb;
+
+    @Setup
+    public void setup() {
+        sqs = EventPayloads.batch("{\"Records\":[", EventPayloads.SQS_RECORD, "]}", batchSize);
+        dynamodb = EventPayloads.batch("{\"Records\":[", EventPayloads.DYNAMODB_RECORD, "]}", batchSize);
+    }
+
+    @Benchmark
+    public SQSEvent sqsFull() throws IOException {
+        return EventCodecs.read(SQSEvent.class, sqs);
+    }
+
+    @Benchmark
+    public SQSEvent sqsProjected() throws IOException {
+        return SQS_BODIES.read(sqs);
+    }
+
+    @Benchmark
+    public DynamodbEvent dynamodbFull() throws IOException {
+        return EventCodecs.read(DynamodbEvent.class, dynamodb);
+    }
+
+    @Benchmark
+    public DynamodbEvent dynamodbProjected() throws IOException {
+        return DYNAMODB_KEYS.read(dynamodb);
+    }
+}
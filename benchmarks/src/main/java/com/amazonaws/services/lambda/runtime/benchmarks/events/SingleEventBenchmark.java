@@ -0,0 +1,88 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.events;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2ProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.CloudFrontEvent;
+import com.amazonaws.services.lambda.runtime.events.CloudWatchLogsEvent;
+import com.amazonaws.services.lambda.runtime.events.CognitoEvent;
+import com.amazonaws.services.lambda.runtime.events.ConfigEvent;
+import com.amazonaws.services.lambda.runtime.events.IoTButtonEvent;
+import com.amazonaws.services.lambda.runtime.events.LexEvent;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Deserializes and serializes the events that carry a single request.
+ * Run with -prof gc to get the bytes allocated per event.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SingleEventBenchmark {
+
+    public enum EventType {
+        API_GATEWAY_PROXY_REQUEST(APIGatewayProxyRequestEvent.class, EventPayloads.API_GATEWAY_PROXY_REQUEST),
+        API_GATEWAY_PROXY_RESPONSE(APIGatewayProxyResponseEvent.class, EventPayloads.API_GATEWAY_PROXY_RESPONSE),
+        API_GATEWAY_V2_PROXY_REQUEST(APIGatewayV2ProxyRequestEvent.class, EventPayloads.API_GATEWAY_V2_PROXY_REQUEST),
+        CLOUDFRONT(CloudFrontEvent.class, EventPayloads.CLOUDFRONT),
+        CLOUDWATCH_LOGS(CloudWatchLogsEvent.class, EventPayloads.CLOUDWATCH_LOGS),
+        COGNITO(CognitoEvent.class, EventPayloads.COGNITO),
+        CONFIG(ConfigEvent.class, EventPayloads.CONFIG),
+        IOT_BUTTON(IoTButtonEvent.class, EventPayloads.IOT_BUTTON),
+        LEX(LexEvent.class, EventPayloads.LEX),
+        SCHEDULED(ScheduledEvent.class, EventPayloads.SCHEDULED);
+
+        final Class<?> eventClass;
+        final String payload;
+
+        EventType(Class<?> eventClass, String payload) {
+            this.eventClass = eventClass;
+            this.payload = payload;
+        }
+    }
+
+    @Param
+    public EventType eventType;
+
+    private ObjectMapper mapper;
+    private byte[] payload;
+    private Object event;
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = EventMapper.create();
+        payload = EventPayloads.single(eventType.payload);
+        event = mapper.readValue(payload, eventType.eventClass);
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return mapper.readValue(payload, eventType.eventClass);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(event);
+    }
+}
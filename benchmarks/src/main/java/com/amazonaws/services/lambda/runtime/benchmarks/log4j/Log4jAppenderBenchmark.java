@@ -0,0 +1,87 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.log4j;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.spi.LoggingEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.benchmarks.NullSink;
+import com.amazonaws.services.lambda.runtime.log4j.LambdaAppender;
+
+/**
+ * Measures the log4j 1.2 LambdaAppender with and without a layout, and with a
+ * layout that leaves throwable rendering to the appender, single threaded and
+ * with four threads contending for the appender's lock.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Log4jAppenderBenchmark {
+
+    private LambdaAppender noLayout;
+    private LambdaAppender patternLayout;
+    private LoggingEvent plainEvent;
+    private LoggingEvent throwableEvent;
+
+    @Setup
+    public void setup() {
+        NullSink.install();
+        noLayout = new LambdaAppender();
+        patternLayout = new LambdaAppender();
+        patternLayout.setLayout(new PatternLayout("%d{yyyy-MM-dd HH:mm:ss} %X{AWSRequestId} %-5p %c{1} - %m%n"));
+
+        Logger category = Logger.getLogger(Log4jAppenderBenchmark.class);
+        plainEvent = new LoggingEvent(Logger.class.getName(), category, Level.INFO,
+                "processed record 42 of batch 7", null);
+        throwableEvent = new LoggingEvent(Logger.class.getName(), category, Level.ERROR,
+                "failed to process record 42 of batch 7", new IllegalStateException("boom"));
+        // LoggingEvent caches the rendered stack trace; warm it so every
+        // iteration measures the appender, not Throwable.printStackTrace.
+        throwableEvent.getThrowableStrRep();
+    }
+
+    @TearDown
+    public void tearDown() {
+        NullSink.uninstall();
+    }
+
+    @Benchmark
+    public void noLayout() {
+        noLayout.doAppend(plainEvent);
+    }
+
+    @Benchmark
+    public void layout() {
+        patternLayout.doAppend(plainEvent);
+    }
+
+    @Benchmark
+    public void layoutWithThrowable() {
+        patternLayout.doAppend(throwableEvent);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void layoutContended() {
+        patternLayout.doAppend(plainEvent);
+    }
+}
@@ -0,0 +1,89 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.log4j2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.benchmarks.NullSink;
+import com.amazonaws.services.lambda.runtime.log4j2.LambdaAppender;
+
+/**
+ * Measures the log4j2 LambdaAppender with a pattern layout, for events with and
+ * without a throwable, single threaded and with four threads contending.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Log4j2AppenderBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} %X{AWSRequestId} %-5p %c{1} - %m%n";
+
+    private LambdaAppender appender;
+    private LogEvent plainEvent;
+    private LogEvent throwableEvent;
+
+    @Setup
+    public void setup() {
+        NullSink.install();
+        appender = LambdaAppender.newBuilder()
+                .withName("Lambda")
+                .withLayout(PatternLayout.newBuilder().withPattern(PATTERN).build())
+                .build();
+        appender.start();
+
+        plainEvent = Log4jLogEvent.newBuilder()
+                .setLoggerName(Log4j2AppenderBenchmark.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("processed record 42 of batch 7"))
+                .build();
+        throwableEvent = Log4jLogEvent.newBuilder()
+                .setLoggerName(Log4j2AppenderBenchmark.class.getName())
+                .setLevel(Level.ERROR)
+                .setMessage(new SimpleMessage("failed to process record 42 of batch 7"))
+                .setThrown(new IllegalStateException("boom"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        NullSink.uninstall();
+    }
+
+    @Benchmark
+    public void layout() {
+        appender.append(plainEvent);
+    }
+
+    @Benchmark
+    public void layoutWithThrowable() {
+        appender.append(throwableEvent);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void layoutContended() {
+        appender.append(plainEvent);
+    }
+}
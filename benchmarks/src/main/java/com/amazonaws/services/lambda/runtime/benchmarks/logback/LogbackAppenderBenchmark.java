@@ -0,0 +1,133 @@
+/* Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved. */
+
+package com.amazonaws.services.lambda.runtime.benchmarks.logback;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.ConsoleAppender;
+
+import com.amazonaws.services.lambda.runtime.benchmarks.NullSink;
+import com.amazonaws.services.lambda.runtime.logback.LambdaAppender;
+
+/**
+ * Compares the logback LambdaAppender against logback's ConsoleAppender using
+ * the same pattern, single threaded and with four threads contending.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogbackAppenderBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} %X{AWSRequestId} %-5p %c{1} - %m%n";
+
+    private LoggerContext context;
+    private LambdaAppender lambdaPattern;
+    private LambdaAppender lambdaDefault;
+    private ConsoleAppender<ch.qos.logback.classic.spi.ILoggingEvent> console;
+    private LoggingEvent plainEvent;
+    private LoggingEvent throwableEvent;
+
+    @Setup
+    public void setup() {
+        NullSink.install();
+        context = new LoggerContext();
+        // normally done by logback's SLF4J provider; without it every event looks the MDC up the slow way
+        context.setMDCAdapter(new LogbackMDCAdapter());
+
+        lambdaPattern = new LambdaAppender();
+        lambdaPattern.setContext(context);
+        lambdaPattern.setEncoder(encoder());
+        lambdaPattern.start();
+
+        lambdaDefault = new LambdaAppender();
+        lambdaDefault.setContext(context);
+        lambdaDefault.start();
+
+        console = new ConsoleAppender<ch.qos.logback.classic.spi.ILoggingEvent>();
+        console.setContext(context);
+        console.setEncoder(encoder());
+        console.start();
+
+        Logger logger = context.getLogger(LogbackAppenderBenchmark.class);
+        plainEvent = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+                "processed record {} of batch {}", null, new Object[] {42, 7});
+        throwableEvent = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR,
+                "failed to process record {} of batch {}", new IllegalStateException("boom"), new Object[] {42, 7});
+    }
+
+    private PatternLayoutEncoder encoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    @TearDown
+    public void tearDown() {
+        lambdaPattern.stop();
+        lambdaDefault.stop();
+        console.stop();
+        context.stop();
+        NullSink.uninstall();
+    }
+
+    @Benchmark
+    public void lambdaPattern() {
+        lambdaPattern.doAppend(plainEvent);
+    }
+
+    @Benchmark
+    public void lambdaDefaultFormat() {
+        lambdaDefault.doAppend(plainEvent);
+    }
+
+    @Benchmark
+    public void consolePattern() {
+        console.doAppend(plainEvent);
+    }
+
+    @Benchmark
+    public void lambdaPatternWithThrowable() {
+        lambdaPattern.doAppend(throwableEvent);
+    }
+
+    @Benchmark
+    public void consolePatternWithThrowable() {
+        console.doAppend(throwableEvent);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void lambdaPatternContended() {
+        lambdaPattern.doAppend(plainEvent);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void consolePatternContended() {
+        console.doAppend(plainEvent);
+    }
+}